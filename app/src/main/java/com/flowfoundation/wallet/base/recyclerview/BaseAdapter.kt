@@ -8,13 +8,33 @@ import androidx.recyclerview.widget.AsyncListDiffer
 import androidx.recyclerview.widget.DiffUtil
 import androidx.recyclerview.widget.RecyclerView
 
+/**
+ * @param stableIds use [DiffableItem.diffId] as the stable item id, items that are not a
+ * [DiffableItem] get [RecyclerView.NO_ID]
+ */
 abstract class BaseAdapter<T>(
-    private val diffCallback: DiffUtil.ItemCallback<T> = BaseDiffCallback()
+    private val diffCallback: DiffUtil.ItemCallback<T> = IdentityDiffCallback(),
+    stableIds: Boolean = false,
 ) : RecyclerView.Adapter<RecyclerView.ViewHolder>() {
     private val differ by lazy { AsyncListDiffer(this, diffCallback) }
 
+    // diffId -> item id, ids are handed out in order so they never collide
+    private val itemIds by lazy { HashMap<String, Long>() }
+
+    init {
+        setHasStableIds(stableIds)
+    }
+
     override fun getItemCount(): Int = differ.currentList.size
 
+    override fun getItemId(position: Int): Long {
+        if (!hasStableIds()) {
+            return RecyclerView.NO_ID
+        }
+        val diffId = (getItem(position) as? DiffableItem)?.diffId() ?: return RecyclerView.NO_ID
+        return itemIds.getOrPut(diffId) { itemIds.size.toLong() }
+    }
+
     fun setNewDiffData(newData: List<T>, commitCallback: (() -> Unit)? = null) {
         differ.submitList(newData.toMutableList()) {
             commitCallback?.invoke()
@@ -29,14 +49,3 @@ abstract class BaseAdapter<T>(
         return LayoutInflater.from(this.context).inflate(layoutId, this, false)
     }
 }
-
-private class BaseDiffCallback<T> : DiffUtil.ItemCallback<T>() {
-
-    override fun areItemsTheSame(oldItem: T & Any, newItem: T & Any): Boolean {
-        return false
-    }
-
-    override fun areContentsTheSame(oldItem: T & Any, newItem: T & Any): Boolean {
-        return false
-    }
-}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.flowfoundation.wallet.base.recyclerview
+
+import android.annotation.SuppressLint
+import androidx.recyclerview.widget.DiffUtil
+
+/**
+ * List model with a stable identity, e.g. a token contract id, nft unique id or transaction id.
+ */
+interface DiffableItem {
+
+    fun diffId(): String
+
+    /**
+     * What changed compared to [oldItem] when both have the same [diffId], passed to
+     * `onBindViewHolder(holder, position, payloads)` so only that part is rebound.
+     * Null rebinds the whole item.
+     */
+    fun diffPayload(oldItem: DiffableItem): Any? = null
+}
+
+/**
+ * Compares [DiffableItem]s by class and [DiffableItem.diffId], their contents by equality and
+ * takes the change payload from the new item. Other items are never the same unless
+ * [areOtherItemsTheSame] says so, which makes them rebind on every update.
+ */
+open class IdentityDiffCallback<T> : DiffUtil.ItemCallback<T>() {
+
+    override fun areItemsTheSame(oldItem: T & Any, newItem: T & Any): Boolean {
+        if (oldItem is DiffableItem && newItem is DiffableItem) {
+            return oldItem.javaClass == newItem.javaClass && oldItem.diffId() == newItem.diffId()
+        }
+        return areOtherItemsTheSame(oldItem, newItem)
+    }
+
+    @SuppressLint("DiffUtilEquals")
+    override fun areContentsTheSame(oldItem: T & Any, newItem: T & Any): Boolean {
+        if (oldItem is DiffableItem && newItem is DiffableItem) {
+            return oldItem == newItem
+        }
+        return areOtherContentsTheSame(oldItem, newItem)
+    }
+
+    override fun getChangePayload(oldItem: T & Any, newItem: T & Any): Any? {
+        if (oldItem is DiffableItem && newItem is DiffableItem) {
+            return newItem.diffPayload(oldItem)
+        }
+        return null
+    }
+
+    protected open fun areOtherItemsTheSame(oldItem: T & Any, newItem: T & Any): Boolean = false
+
+    protected open fun areOtherContentsTheSame(oldItem: T & Any, newItem: T & Any): Boolean = false
+}
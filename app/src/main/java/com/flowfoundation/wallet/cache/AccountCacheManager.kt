@@ -3,10 +3,10 @@ package com.flowfoundation.wallet.cache
 import androidx.annotation.WorkerThread
 import com.flowfoundation.wallet.manager.account.Account
 import com.flowfoundation.wallet.utils.*
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.error.AccountError
 import com.flowfoundation.wallet.utils.error.ErrorReporter
 import kotlinx.serialization.builtins.ListSerializer
-import kotlinx.serialization.json.Json
 import java.io.File
 
 object AccountCacheManager{
@@ -57,10 +57,7 @@ object AccountCacheManager{
         }
 
         try {
-            val json = Json {
-                ignoreUnknownKeys = true
-            }
-            val result = json.decodeFromString(ListSerializer(Account.serializer()), str)
+            val result = JsonCodec.json.decodeFromString(ListSerializer(Account.serializer()), str)
             logd(TAG, "Successfully decoded ${result.size} accounts from ${cacheFile.name}")
             
             if (result.isEmpty()) {
@@ -119,11 +116,11 @@ object AccountCacheManager{
     }
 
     private fun cacheSync(data: List<Account>) {
-        val str = Json.encodeToString(ListSerializer(Account.serializer()), data)
+        val str = JsonCodec.json.encodeToString(ListSerializer(Account.serializer()), data)
         
         // Validate JSON before writing
         try {
-            Json.decodeFromString(ListSerializer(Account.serializer()), str)
+            JsonCodec.json.decodeFromString(ListSerializer(Account.serializer()), str)
         } catch (e: Exception) {
             loge(TAG, "Generated invalid JSON, not writing to cache: $e")
             return
@@ -4,12 +4,17 @@ import com.google.gson.annotations.SerializedName
 import com.flowfoundation.wallet.manager.app.chainNetWorkString
 import com.flowfoundation.wallet.manager.app.isMainnet
 import com.flowfoundation.wallet.manager.app.isTestnet
+import com.flowfoundation.wallet.manager.blocklist.BlockListCache
 import com.flowfoundation.wallet.manager.nft.NftCollectionStateCache
 import com.flowfoundation.wallet.manager.price.CurrencyCache
 import com.flowfoundation.wallet.manager.staking.StakingCache
 import com.flowfoundation.wallet.manager.staking.StakingProviderCache
 import com.flowfoundation.wallet.network.model.*
 import com.flowfoundation.wallet.page.profile.subpage.wallet.StorageInfo
+import com.flowfoundation.wallet.page.token.detail.Period
+import com.flowfoundation.wallet.page.token.detail.QuoteCache
+import com.flowfoundation.wallet.page.wallet.model.HomeSnapshot
+import com.flowfoundation.wallet.utils.CACHE_HOME_SNAPSHOT_PATH
 
 
 const val CACHE_NFT_LIST = "nft_list"
@@ -19,6 +24,7 @@ const val ADDRESS_BOOK = "address_book"
 const val RECENT_ADDRESS_BOOK = "recent_address_book"
 const val TOKEN_STATE = "token_state"
 const val NFT_COLLECTION_STATE = "nft_collection_state"
+const val BLOCK_LIST = "block_list"
 
 fun nftListCache(address: String?): CacheManager<NFTListData> {
     return CacheManager("${address}_$CACHE_NFT_LIST".cacheFile(), NFTListData::class.java)
@@ -45,6 +51,11 @@ fun nftCollectionStateCache(): CacheManager<NftCollectionStateCache> {
     return CacheManager(NFT_COLLECTION_STATE, NftCollectionStateCache::class.java)
 }
 
+// the block list is the same on every network
+fun blockListCache(): CacheManager<BlockListCache> {
+    return CacheManager(BLOCK_LIST, BlockListCache::class.java)
+}
+
 fun inboxCache(): CacheManager<InboxResponse> {
     return CacheManager("inbox_response".cacheFile(), InboxResponse::class.java)
 }
@@ -72,6 +83,15 @@ fun stakingCache(): CacheManager<StakingCache> {
     return CacheManager("staking_info_cache".cacheFile(), StakingCache::class.java)
 }
 
+// market prices are the same on every network
+fun quoteCache(market: String, pair: String, period: Period): CacheManager<QuoteCache> {
+    return CacheManager("quote_${market}_${pair}_${period.value}", QuoteCache::class.java)
+}
+
+fun homeSnapshotCache(address: String): CacheManager<HomeSnapshot> {
+    return CacheManager("home_snapshot_$address".cacheFile(), HomeSnapshot::class.java, CACHE_HOME_SNAPSHOT_PATH)
+}
+
 fun storageInfoCache(): CacheManager<StorageInfo> {
     return CacheManager("storage_info".cacheFile(), StorageInfo::class.java)
 }
@@ -1,7 +1,6 @@
 package com.flowfoundation.wallet.cache
 
 import androidx.annotation.WorkerThread
-import com.google.gson.Gson
 import com.flowfoundation.wallet.utils.*
 import java.io.File
 import java.lang.reflect.Type
@@ -9,20 +8,21 @@ import java.lang.reflect.Type
 class CacheManager<T>(
     private val fileName: String,
     private val type: Type,
-    private val cacheDir: File = CACHE_PATH
+    private val cacheDir: File = CACHE_PATH,
+    private val storage: CacheStorage = JsonCacheStorage,
+    private val memoryPolicy: MemoryPolicy = MemoryPolicy.NONE,
+    private val memoryTtl: Long? = null,
 ) {
 
     private val file by lazy { File(cacheDir, fileName) }
 
     @WorkerThread
     fun read(): T? {
-        val str = file.read()
-        if (str.isBlank()) {
-            return null
+        if (memoryPolicy != MemoryPolicy.NONE) {
+            MemoryCache.get<T>(file, memoryTtl)?.let { return it }
         }
-
         return try {
-            return Gson().fromJson(str, type)
+            storage.read<T>(file, type).also { MemoryCache.put(file, it, memoryPolicy) }
         } catch (e: Exception) {
             loge(TAG, "$e \n ::JSON:: $type")
             null
@@ -34,11 +34,16 @@ class CacheManager<T>(
     }
 
     fun cacheSync(data: T) {
-        val str = Gson().toJson(data)
-        str.saveToFile(file)
+        try {
+            storage.write(file, data)
+            MemoryCache.put(file, data, memoryPolicy)
+        } catch (e: Exception) {
+            loge(TAG, "$e \n ::WRITE:: $type")
+        }
     }
 
     fun clear() {
+        MemoryCache.remove(file)
         ioScope { file.delete() }
     }
 
@@ -53,4 +58,4 @@ class CacheManager<T>(
     companion object {
         private val TAG = CacheManager::class.java.simpleName
     }
-}
\ No newline at end of file
+}
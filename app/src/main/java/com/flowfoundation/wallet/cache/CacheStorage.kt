@@ -0,0 +1,57 @@
+package com.flowfoundation.wallet.cache
+
+import androidx.annotation.WorkerThread
+import com.flowfoundation.wallet.utils.JsonCodec
+import java.io.File
+import java.io.OutputStream
+import java.io.OutputStreamWriter
+import java.lang.reflect.Type
+
+/**
+ * Storage engine behind [CacheManager]. Implementations decide the on-disk format,
+ * [CacheManager] only deals with file location and expiry.
+ */
+interface CacheStorage {
+
+    @WorkerThread
+    fun <T> read(file: File, type: Type): T?
+
+    @WorkerThread
+    fun <T> write(file: File, data: T)
+}
+
+/**
+ * The whole file is a plain Gson JSON document.
+ */
+object JsonCacheStorage : CacheStorage {
+
+    override fun <T> read(file: File, type: Type): T? {
+        if (!file.exists() || file.length() == 0L) {
+            return null
+        }
+        return file.bufferedReader().use { JsonCodec.gson.fromJson(it, type) }
+    }
+
+    override fun <T> write(file: File, data: T) {
+        writeAtomically(file) { output ->
+            OutputStreamWriter(output, Charsets.UTF_8).use { JsonCodec.gson.toJson(data, it) }
+        }
+    }
+}
+
+/**
+ * Writes to a temporary file that is renamed over [file], so a crash never leaves a half-written
+ * cache. Every write has its own temporary file, writes of the same cache may run concurrently.
+ */
+private inline fun writeAtomically(file: File, block: (OutputStream) -> Unit) {
+    file.parentFile?.let { if (!it.exists()) it.mkdirs() }
+    val tempFile = File.createTempFile("${file.name}.", ".tmp", file.parentFile)
+    try {
+        tempFile.outputStream().buffered().use { block(it) }
+        if (!tempFile.renameTo(file)) {
+            tempFile.copyTo(file, overwrite = true)
+        }
+    } finally {
+        tempFile.delete()
+    }
+}
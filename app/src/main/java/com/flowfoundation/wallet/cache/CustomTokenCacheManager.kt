@@ -3,8 +3,8 @@ package com.flowfoundation.wallet.cache
 import androidx.annotation.WorkerThread
 import com.flowfoundation.wallet.page.token.custom.model.CustomTokenItem
 import com.flowfoundation.wallet.utils.*
+import com.flowfoundation.wallet.utils.JsonCodec
 import kotlinx.serialization.builtins.ListSerializer
-import kotlinx.serialization.json.Json
 import java.io.File
 
 object CustomTokenCacheManager {
@@ -20,10 +20,7 @@ object CustomTokenCacheManager {
         }
 
         try {
-            val json = Json {
-                ignoreUnknownKeys = true
-            }
-            return json.decodeFromString(ListSerializer(CustomTokenItem.serializer()), str)
+            return JsonCodec.json.decodeFromString(ListSerializer(CustomTokenItem.serializer()), str)
         } catch (e: Exception) {
             loge(TAG, e)
         }
@@ -35,7 +32,7 @@ object CustomTokenCacheManager {
     }
 
     fun cacheSync(data: List<CustomTokenItem>) {
-        val str = Json.encodeToString(ListSerializer(CustomTokenItem.serializer()), data)
+        val str = JsonCodec.json.encodeToString(ListSerializer(CustomTokenItem.serializer()), data)
         str.saveToFile(file)
     }
 
@@ -3,6 +3,7 @@ package com.flowfoundation.wallet.cache
 import androidx.annotation.WorkerThread
 import com.flowfoundation.wallet.manager.token.DisplayTokenListCache
 import com.flowfoundation.wallet.utils.DISPLAY_TOKEN_PATH
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.error.AccountError
 import com.flowfoundation.wallet.utils.error.ErrorReporter
 import com.flowfoundation.wallet.utils.ioScope
@@ -11,7 +12,6 @@ import com.flowfoundation.wallet.utils.read
 import com.flowfoundation.wallet.utils.saveToFile
 import kotlinx.serialization.builtins.MapSerializer
 import kotlinx.serialization.builtins.serializer
-import kotlinx.serialization.json.Json
 import java.io.File
 
 object DisplayTokenCacheManager {
@@ -27,10 +27,7 @@ object DisplayTokenCacheManager {
         }
 
         try {
-            val json = Json {
-                ignoreUnknownKeys = true
-            }
-            return json.decodeFromString(MapSerializer(String.serializer(), DisplayTokenListCache.serializer()), str)
+            return JsonCodec.json.decodeFromString(MapSerializer(String.serializer(), DisplayTokenListCache.serializer()), str)
         } catch (e: Exception) {
             ErrorReporter.reportWithMixpanel(AccountError.DESERIALIZE_DISPLAY_TOKEN_FAILED, e)
             loge(TAG, e)
@@ -45,7 +42,7 @@ object DisplayTokenCacheManager {
     }
 
     fun cacheSync(data: Map<String, DisplayTokenListCache>) {
-        val str = Json.encodeToString(MapSerializer(String.serializer(), DisplayTokenListCache.serializer()), data)
+        val str = JsonCodec.json.encodeToString(MapSerializer(String.serializer(), DisplayTokenListCache.serializer()), data)
         str.saveToFile(file)
     }
 
@@ -0,0 +1,119 @@
+package com.flowfoundation.wallet.cache
+
+import java.io.File
+import java.lang.ref.SoftReference
+import java.util.concurrent.atomic.AtomicLong
+
+enum class MemoryPolicy {
+    /** Always go to disk, the legacy behaviour. */
+    NONE,
+
+    /** Keep the parsed value in the LRU until it is evicted by size. */
+    STRONG,
+
+    /** Like [STRONG] but the value may also be reclaimed by the GC under memory pressure. */
+    SOFT,
+}
+
+/**
+ * Process-wide, size-bounded LRU of parsed cache values sitting in front of the files managed by
+ * [CacheManager]. Entries are keyed by file path and remember the file's modify time, so a file
+ * that was rewritten or deleted behind our back is treated as a miss. The weight of an entry is
+ * the size of its file on disk, a cheap approximation of the parsed object graph.
+ */
+object MemoryCache {
+
+    private const val DEFAULT_MAX_BYTES = 8L * 1024 * 1024
+
+    private class Entry(
+        val value: Any?,
+        val softValue: SoftReference<Any>?,
+        val modifyTime: Long,
+        val bytes: Long,
+    ) {
+        fun get(): Any? = softValue?.get() ?: value
+    }
+
+    private val entries = LinkedHashMap<String, Entry>(16, 0.75f, true)
+    private var currentBytes = 0L
+
+    @Volatile
+    var maxBytes = DEFAULT_MAX_BYTES
+
+    private val hitCount = AtomicLong()
+    private val missCount = AtomicLong()
+    private val evictionCount = AtomicLong()
+
+    fun <T> get(file: File, maxAge: Long? = null): T? {
+        val key = file.path
+        val entry = synchronized(this) { entries[key] }
+        if (entry == null) {
+            missCount.incrementAndGet()
+            return null
+        }
+        val modifyTime = file.lastModified()
+        val value = entry.get()
+        val expired = maxAge != null && System.currentTimeMillis() - entry.modifyTime > maxAge
+        if (value == null || modifyTime != entry.modifyTime || expired) {
+            remove(file)
+            missCount.incrementAndGet()
+            return null
+        }
+        hitCount.incrementAndGet()
+        @Suppress("UNCHECKED_CAST")
+        return value as T
+    }
+
+    fun put(file: File, value: Any?, policy: MemoryPolicy) {
+        if (policy == MemoryPolicy.NONE || value == null) {
+            return
+        }
+        val bytes = file.length()
+        if (bytes > maxBytes) {
+            remove(file)
+            return
+        }
+        val entry = if (policy == MemoryPolicy.SOFT) {
+            Entry(null, SoftReference(value), file.lastModified(), bytes)
+        } else {
+            Entry(value, null, file.lastModified(), bytes)
+        }
+        synchronized(this) {
+            entries.put(file.path, entry)?.let { currentBytes -= it.bytes }
+            currentBytes += bytes
+            trimToSize()
+        }
+    }
+
+    fun remove(file: File) {
+        synchronized(this) {
+            entries.remove(file.path)?.let { currentBytes -= it.bytes }
+        }
+    }
+
+    fun clear() {
+        synchronized(this) {
+            entries.clear()
+            currentBytes = 0
+        }
+    }
+
+    fun stats() = MemoryCacheStats(hitCount.get(), missCount.get(), evictionCount.get(), synchronized(this) { currentBytes })
+
+    private fun trimToSize() {
+        val iterator = entries.entries.iterator()
+        while (currentBytes > maxBytes && iterator.hasNext()) {
+            val eldest = iterator.next()
+            currentBytes -= eldest.value.bytes
+            iterator.remove()
+            evictionCount.incrementAndGet()
+        }
+    }
+}
+
+data class MemoryCacheStats(
+    val hitCount: Long,
+    val missCount: Long,
+    val evictionCount: Long,
+    val bytes: Long,
+)
@@ -3,10 +3,10 @@ package com.flowfoundation.wallet.cache
 import androidx.annotation.WorkerThread
 import com.flowfoundation.wallet.manager.account.UserPrefix
 import com.flowfoundation.wallet.utils.*
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.error.AccountError
 import com.flowfoundation.wallet.utils.error.ErrorReporter
 import kotlinx.serialization.builtins.ListSerializer
-import kotlinx.serialization.json.Json
 import java.io.File
 
 object UserPrefixCacheManager{
@@ -22,10 +22,7 @@ object UserPrefixCacheManager{
         }
 
         try {
-            val json = Json {
-                ignoreUnknownKeys = true
-            }
-            return json.decodeFromString(ListSerializer(UserPrefix.serializer()), str)
+            return JsonCodec.json.decodeFromString(ListSerializer(UserPrefix.serializer()), str)
         } catch (e: Exception) {
             ErrorReporter.reportWithMixpanel(AccountError.DESERIALIZE_PREFIX_FAILED, e)
             loge(TAG, e)
@@ -38,7 +35,7 @@ object UserPrefixCacheManager{
     }
 
     private fun cacheSync(data: List<UserPrefix>) {
-        val str = Json.encodeToString(ListSerializer(UserPrefix.serializer()), data)
+        val str = JsonCodec.json.encodeToString(ListSerializer(UserPrefix.serializer()), data)
         str.saveToFile(file)
     }
 
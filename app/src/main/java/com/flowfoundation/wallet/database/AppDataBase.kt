@@ -3,19 +3,36 @@ package com.flowfoundation.wallet.database
 import androidx.room.Database
 import androidx.room.Room
 import androidx.room.RoomDatabase
+import androidx.room.migration.Migration
+import androidx.sqlite.db.SupportSQLiteDatabase
+import com.flowfoundation.wallet.manager.transaction.TransactionState
 import com.flowfoundation.wallet.utils.Env
 
-@Database(entities = [WebviewRecord::class, Bookmark::class], version = 1, exportSchema = false)
+@Database(entities = [WebviewRecord::class, Bookmark::class, TransactionState::class], version = 2, exportSchema = false)
 abstract class AppDataBase : RoomDatabase() {
     abstract fun webviewRecordDao(): WebviewRecordDao
     abstract fun bookmarkDao(): BookmarkDao
+    abstract fun transactionStateDao(): TransactionStateDao
 
     companion object {
+        private val MIGRATION_1_2 = object : Migration(1, 2) {
+            override fun migrate(db: SupportSQLiteDatabase) {
+                db.execSQL(
+                    "CREATE TABLE IF NOT EXISTS `TransactionState` (`transactionId` TEXT NOT NULL, `time` INTEGER NOT NULL, " +
+                            "`updateTime` INTEGER NOT NULL, `state` INTEGER NOT NULL, `type` INTEGER NOT NULL, `data` TEXT NOT NULL, " +
+                            "`errorMsg` TEXT, `execution` TEXT, PRIMARY KEY(`transactionId`))"
+                )
+                db.execSQL("CREATE INDEX IF NOT EXISTS `index_TransactionState_state` ON `TransactionState` (`state`)")
+                db.execSQL("CREATE INDEX IF NOT EXISTS `index_TransactionState_type` ON `TransactionState` (`type`)")
+                db.execSQL("CREATE INDEX IF NOT EXISTS `index_TransactionState_updateTime` ON `TransactionState` (`updateTime`)")
+            }
+        }
+
         private val dataBase by lazy {
             Room.databaseBuilder(
                 Env.getApp(),
                 AppDataBase::class.java, "database"
-            ).build()
+            ).addMigrations(MIGRATION_1_2).build()
         }
 
         fun database(): AppDataBase = dataBase
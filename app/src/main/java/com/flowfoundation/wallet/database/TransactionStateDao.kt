@@ -0,0 +1,32 @@
+package com.flowfoundation.wallet.database
+
+import androidx.room.*
+import com.flowfoundation.wallet.manager.transaction.TransactionState
+
+@Dao
+interface TransactionStateDao {
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    fun save(state: TransactionState)
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    fun saveAll(states: List<TransactionState>)
+
+    /**
+     * Transactions still being processed (status below [executedState]) or executed without a
+     * resolved execution result yet, matching [TransactionState.isCompletelyFinished].
+     */
+    @Query(
+        "select * from TransactionState where state < :executedState " +
+                "or (state != :expiredState and (execution is null or execution not in ('success', 'failure'))) order by time asc"
+    )
+    fun findUnfinished(executedState: Int, expiredState: Int): List<TransactionState>
+
+    @Query("select * from TransactionState where 1=1 order by updateTime desc limit :limit")
+    fun findRecent(limit: Int): List<TransactionState>
+
+    /**
+     * Drops finished transactions (status at or above [executedState]) last updated before [time].
+     */
+    @Query("delete from TransactionState where state >= :executedState and updateTime < :time")
+    fun deleteFinishedBefore(executedState: Int, time: Long): Int
+}
@@ -4,10 +4,13 @@ import com.google.firebase.auth.ktx.auth
 import com.google.firebase.ktx.Firebase
 import com.google.firebase.messaging.FirebaseMessaging
 import com.flowfoundation.wallet.firebase.messaging.getFirebaseMessagingToken
+import com.flowfoundation.wallet.network.auth.AuthToken
+import com.flowfoundation.wallet.network.auth.AuthTokenSource
 import com.flowfoundation.wallet.network.clearUserCache
 import com.flowfoundation.wallet.utils.ioScope
 import com.flowfoundation.wallet.utils.logd
 import com.flowfoundation.wallet.utils.uiScope
+import java.util.concurrent.TimeUnit
 import kotlin.coroutines.resume
 import kotlin.coroutines.suspendCoroutine
 
@@ -55,26 +58,25 @@ fun firebaseCustomLogin(token: String, onComplete: FirebaseAuthCallback) {
 
 fun firebaseUid() = Firebase.auth.currentUser?.uid
 
-suspend fun getFirebaseJwt(forceRefresh: Boolean = false) = suspendCoroutine { continuation ->
-    ioScope {
+suspend fun getFirebaseJwt(forceRefresh: Boolean = false) = FirebaseAuthTokenSource.fetchToken(forceRefresh)?.token.orEmpty()
+
+object FirebaseAuthTokenSource : AuthTokenSource {
+
+    override fun currentUserId(): String? = firebaseUid()
+
+    override suspend fun fetchToken(forceRefresh: Boolean): AuthToken? {
         val auth = Firebase.auth
         if (auth.currentUser == null) {
             signInAnonymously()
         }
-
-        val user = auth.currentUser
-        if (user == null) {
-            continuation.resume("")
-            return@ioScope
-        }
-
-        user.getIdToken(forceRefresh).addOnCompleteListener { task ->
-            if (task.isSuccessful) {
-                continuation.resume(task.result.token.orEmpty())
-            } else {
-                continuation.resume("")
+        val user = auth.currentUser ?: return null
+        val result = suspendCoroutine { continuation ->
+            user.getIdToken(forceRefresh).addOnCompleteListener { task ->
+                continuation.resume(if (task.isSuccessful) task.result else null)
             }
-        }
+        } ?: return null
+        val token = result.token ?: return null
+        return AuthToken(token, user.uid, TimeUnit.SECONDS.toMillis(result.expirationTimestamp))
     }
 }
 
@@ -19,75 +19,91 @@ import com.flowfoundation.wallet.manager.config.NftCollectionConfig
 import com.flowfoundation.wallet.manager.flow.FlowCadenceApi
 import com.flowfoundation.wallet.manager.nft.NftCollectionStateManager
 import com.flowfoundation.wallet.manager.price.CurrencyManager
+import com.flowfoundation.wallet.manager.startup.StartupGraph
+import com.flowfoundation.wallet.manager.startup.StartupSpan
+import com.flowfoundation.wallet.manager.startup.StartupTask
+import com.flowfoundation.wallet.manager.startup.StartupThread
 import com.flowfoundation.wallet.manager.staking.StakingManager
 import com.flowfoundation.wallet.manager.token.FungibleTokenListManager
 import com.flowfoundation.wallet.manager.transaction.TransactionStateManager
 import com.flowfoundation.wallet.manager.wallet.WalletManager
 import com.flowfoundation.wallet.manager.walletconnect.WalletConnect
 import com.flowfoundation.wallet.mixpanel.MixpanelManager
+import com.flowfoundation.wallet.page.wallet.HomeSnapshotStore
 import com.flowfoundation.wallet.service.MessagingService
 import com.flowfoundation.wallet.utils.getThemeMode
 import com.flowfoundation.wallet.utils.ioScope
 import com.flowfoundation.wallet.utils.logd
+import com.flowfoundation.wallet.utils.loge
 import com.flowfoundation.wallet.utils.safeRun
 import com.flowfoundation.wallet.utils.startServiceSafe
-import com.flowfoundation.wallet.utils.uiScope
 import com.flowfoundation.wallet.wallet.restoreMnemonicV0
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
 
 object LaunchManager {
+    private val TAG = LaunchManager::class.java.simpleName
+
+    private val startupScope = CoroutineScope(SupervisorJob())
 
     fun init(application: Application) {
         application.startServiceSafe(Intent(application, MessagingService::class.java))
         PageLifecycleObserver.init(application)
         safeRun { System.loadLibrary("TrustWalletCore") }
-        ioScope {
+        val accountJob = ioScope {
             safeRun {
                 AccountManager.init() 
-                logd("LaunchManager", "AccountManager initialized successfully")
+                logd(TAG, "AccountManager initialized successfully")
             }
         }
         refreshChainNetwork {
-            safeRun { MixpanelManager.init(application) }
-            safeRun { WalletConnect.init(application) }
-            safeRun { initFirebaseConfig() }
-            safeRun { FlowCadenceApi.refreshConfig() }
-            safeRun { asyncInit() }
-            safeRun { firebaseInitialize(application) }
-            safeRun { instabugInitialize(application) }
-            safeRun { crowdinInitialize(application) }
-            safeRun { setNightMode() }
-            safeRun { runWorker() }
-            safeRun { readCache() }
-            safeRun { runCompatibleScript() }
+            StartupGraph(startupTasks(application, accountJob), onSpan = ::logSpan).start(startupScope)
         }
         AppLifecycleObserver.observe()
     }
 
-    private fun asyncInit() {
-        ioScope {
-            DeviceInfoManager.updateDeviceInfo()
-        }
-    }
-
-    private fun readCache() {
-        safeRun { WalletManager.init() }
-        safeRun { CustomTokenManager.init() }
-        safeRun { NftCollectionConfig.sync() }
-        safeRun { FungibleTokenListManager.init() }
-        safeRun { TransactionStateManager.reload() }
-        safeRun { NftCollectionStateManager.reload() }
-        safeRun { CurrencyManager.init() }
-        safeRun { StakingManager.init() }
-    }
-
-    private fun setNightMode() {
-        uiScope { AppCompatDelegate.setDefaultNightMode(getThemeMode()) }
-    }
+    /**
+     * Only SDKs that have to be set up on the main thread run there; disk reads and the rest run
+     * on IO as soon as their dependencies are done. Each task returns once its work is done, not
+     * once it has launched it, so its dependents see the loaded state.
+     */
+    private fun startupTasks(application: Application, accountJob: Job) = listOf(
+        StartupTask("mixpanel") { MixpanelManager.init(application) },
+        StartupTask("walletConnect", StartupThread.MAIN) { WalletConnect.init(application) },
+        StartupTask("firebase", StartupThread.MAIN) { firebaseInitialize(application) },
+        StartupTask("firebaseConfig", dependencies = listOf("firebase")) { initFirebaseConfig() },
+        StartupTask("flowConfig") { FlowCadenceApi.refreshConfig() },
+        StartupTask("deviceInfo") { DeviceInfoManager.updateDeviceInfo() },
+        StartupTask("instabug", StartupThread.MAIN) { instabugInitialize(application) },
+        StartupTask("crowdin", StartupThread.MAIN) { crowdinInitialize(application) },
+        StartupTask("nightMode", StartupThread.MAIN) { AppCompatDelegate.setDefaultNightMode(getThemeMode()) },
+        StartupTask("cadence", dependencies = listOf("flowConfig")) { CadenceApiManager.init() },
+        StartupTask("userProfile", dependencies = listOf("mixpanel")) { MixpanelManager.identifyUserProfile() },
+        StartupTask("blockList") { BlockManager.initialize() },
+        // the account is read before the chain network, the wallet is loaded from it
+        StartupTask("account") { accountJob.join() },
+        // cached managers read the selected wallet, so they wait for the wallet to be loaded
+        StartupTask("wallet", dependencies = listOf("account")) {
+            WalletManager.init()
+            WalletManager.initializationJob?.join()
+        },
+        StartupTask("customToken", dependencies = listOf("wallet")) { CustomTokenManager.init() },
+        StartupTask("nftConfig", dependencies = listOf("wallet")) { NftCollectionConfig.reloadConfig() },
+        StartupTask("tokenList", dependencies = listOf("wallet", "customToken")) { FungibleTokenListManager.init() },
+        StartupTask("transactionState", dependencies = listOf("wallet")) { TransactionStateManager.reloadSync() },
+        StartupTask("nftState", dependencies = listOf("wallet")) { NftCollectionStateManager.reloadSync() },
+        StartupTask("currency", dependencies = listOf("wallet")) { CurrencyManager.initSync() },
+        StartupTask("staking", dependencies = listOf("wallet")) { StakingManager.initSync() },
+        StartupTask("homeSnapshot", dependencies = listOf("wallet")) {
+            HomeSnapshotStore.preload(WalletManager.selectedWalletAddress())
+        },
+        StartupTask("compatibleScript", dependencies = listOf("wallet")) { runCompatibleScript() },
+    )
 
-    private fun runWorker() {
-        CadenceApiManager.init()
-        MixpanelManager.identifyUserProfile()
-        BlockManager.initialize()
+    private fun logSpan(span: StartupSpan) {
+        logd(TAG, "${span.name} on ${span.threadName} started at ${span.startTime}ms, took ${span.duration}ms")
+        span.error?.let { loge(it) }
     }
 
     /**
@@ -2,6 +2,7 @@ package com.flowfoundation.wallet.manager.account
 
 import android.content.Intent
 import android.widget.Toast
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.gson.annotations.SerializedName
 import com.flowfoundation.wallet.R
 import com.flowfoundation.wallet.cache.AccountCacheManager
@@ -41,7 +42,6 @@ import com.flowfoundation.wallet.utils.uiScope
 import com.flowfoundation.wallet.wallet.Wallet
 import com.google.firebase.auth.ktx.auth
 import com.google.firebase.ktx.Firebase
-import com.google.gson.Gson
 import kotlinx.serialization.Serializable
 import java.lang.ref.WeakReference
 import java.util.concurrent.CopyOnWriteArrayList
@@ -125,7 +125,7 @@ object AccountManager {
                 if (!keyStoreJson.isNullOrBlank()) {
                     logd(TAG, "Restoring wallet from keystore info")
                     try {
-                        val ks = Gson().fromJson(keyStoreJson,
+                        val ks = JsonCodec.gson.fromJson(keyStoreJson,
                             com.flowfoundation.wallet.page.restore.keystore.model.KeystoreAddress::class.java)
 
                         val keyBytes = ks.privateKey
@@ -349,7 +349,7 @@ object AccountManager {
             // Clear any cached wallet passwords or multi-backup data
             try {
                 val emptyPasswordMap = HashMap<String, String>()
-                storeWalletPassword(Gson().toJson(emptyPasswordMap))
+                storeWalletPassword(JsonCodec.gson.toJson(emptyPasswordMap))
                 logd(TAG, "Cleared wallet password cache")
             } catch (e: Exception) {
                 logd(TAG, "Error clearing wallet password cache: ${e.message}")
@@ -1,8 +1,8 @@
 package com.flowfoundation.wallet.manager.account
 
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.firebase.auth.ktx.auth
 import com.google.firebase.ktx.Firebase
-import com.google.gson.Gson
 import com.google.gson.reflect.TypeToken
 import org.onflow.flow.models.hexToBytes
 import com.flowfoundation.wallet.cache.userInfoCache
@@ -102,7 +102,7 @@ private fun passwordMap(): HashMap<String, String> {
     return if (pref.isNullOrBlank()) {
         HashMap()
     } else {
-        Gson().fromJson(pref, object : TypeToken<HashMap<String, String>>() {}.type)
+        JsonCodec.gson.fromJson(pref, object : TypeToken<HashMap<String, String>>() {}.type)
     }
 }
 
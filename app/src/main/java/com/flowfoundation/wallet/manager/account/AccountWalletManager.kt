@@ -2,7 +2,7 @@ package com.flowfoundation.wallet.manager.account
 
 import com.flow.wallet.CryptoProvider
 import com.flow.wallet.keys.SeedPhraseKey
-import com.google.gson.Gson
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.gson.reflect.TypeToken
 import com.flowfoundation.wallet.utils.readWalletPassword
 import com.flowfoundation.wallet.utils.Env.getStorage
@@ -18,7 +18,7 @@ object AccountWalletManager {
         return if (pref.isNullOrBlank()) {
             HashMap()
         } else {
-            Gson().fromJson(pref, object : TypeToken<HashMap<String, String>>() {}.type)
+            JsonCodec.gson.fromJson(pref, object : TypeToken<HashMap<String, String>>() {}.type)
         }
     }
 
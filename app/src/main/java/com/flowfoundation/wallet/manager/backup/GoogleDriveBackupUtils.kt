@@ -3,8 +3,8 @@ package com.flowfoundation.wallet.manager.backup
 import android.content.Intent
 import androidx.annotation.WorkerThread
 import androidx.localbroadcastmanager.content.LocalBroadcastManager
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.api.services.drive.Drive
-import com.google.gson.Gson
 import com.google.gson.reflect.TypeToken
 import com.reown.android.internal.common.crypto.sha256
 import com.flowfoundation.wallet.BuildConfig
@@ -54,7 +54,7 @@ suspend fun uploadGoogleDriveBackup(
                 aesEncrypt(
                     key = AES_KEY,
                     iv = AES_PASSWORD,
-                    message = Gson().toJson(data),
+                    message = JsonCodec.gson.toJson(data),
                 )
             }\"",
         )
@@ -111,7 +111,7 @@ private fun existingData(driveService: Drive): List<BackupItem> {
         logd(TAG, "existingData content:$content")
         val json = aesDecrypt(key = AES_KEY, iv = AES_PASSWORD, message = content)
         logd(TAG, "existingData:$json")
-        Gson().fromJson(json, object : TypeToken<List<BackupItem>>() {}.type)
+        JsonCodec.gson.fromJson(json, object : TypeToken<List<BackupItem>>() {}.type)
     } catch (e: Exception) {
         ErrorReporter.reportWithMixpanel(GoogleBackupError.READ_FILE_ERROR, e)
         loge(e)
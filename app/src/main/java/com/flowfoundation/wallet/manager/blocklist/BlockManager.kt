@@ -1,29 +1,34 @@
 package com.flowfoundation.wallet.manager.blocklist
 
 import android.net.Uri
+import com.flowfoundation.wallet.cache.blockListCache
+import com.flowfoundation.wallet.network.OtherHostService
+import com.flowfoundation.wallet.network.retrofitWithHost
 import com.flowfoundation.wallet.utils.ioScope
 import com.flowfoundation.wallet.utils.logd
 import com.flowfoundation.wallet.utils.loge
-import com.google.gson.Gson
 import com.google.gson.annotations.SerializedName
-import kotlinx.coroutines.sync.Mutex
-import kotlinx.coroutines.sync.withLock
-import java.net.URL
+import java.net.HttpURLConnection
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
 
 object BlockManager {
 
     private val TAG = BlockManager::class.java.simpleName
-    private const val BLOCKLIST_URL = "https://flow-blocklist.vercel.app/api/domain"
+    private const val BLOCKLIST_HOST = "https://flow-blocklist.vercel.app"
     private const val CACHE_EXPIRE_TIME_HOURS = 2L
 
-    private var blockList: Set<String> = emptySet()
-    private var lastFetchTime: Long = 0L
+    @Volatile
+    private var index = DomainSuffixIndex(emptyList())
 
-    private val mutex = Mutex()
+    @Volatile
+    private var cache = BlockListCache()
+
+    private val isFetching = AtomicBoolean(false)
 
     fun initialize() {
         ioScope {
+            blockListCache().read()?.let { updateIndex(it) }
             refreshBlockListIfNeeded(forceRefresh = true)
         }
     }
@@ -32,59 +37,60 @@ object BlockManager {
         refreshBlockListIfNeeded()
 
         try {
-            val uri = Uri.parse(url)
-            val host = uri.host ?: return false
-
-            return mutex.withLock {
-                blockList.any { blockedDomain ->
-                    host == blockedDomain || host.matches(Regex("^[\\w.-]+\\.$blockedDomain$"))
-                }
-            }
+            val host = Uri.parse(url).host ?: return false
+            return index.contains(host)
         } catch (e: Exception) {
             loge(e)
             return false
         }
     }
 
-    private suspend fun refreshBlockListIfNeeded(forceRefresh: Boolean = false) {
-        val needRefresh = mutex.withLock {
-            val currentTime = System.currentTimeMillis()
-            val isExpired = currentTime - lastFetchTime > TimeUnit.HOURS.toMillis(CACHE_EXPIRE_TIME_HOURS)
-            forceRefresh || isExpired || blockList.isEmpty()
-        }
-
-        if (needRefresh) {
+    private fun refreshBlockListIfNeeded(forceRefresh: Boolean = false) {
+        val isExpired = System.currentTimeMillis() - cache.fetchTime > TimeUnit.HOURS.toMillis(CACHE_EXPIRE_TIME_HOURS)
+        if (forceRefresh || isExpired || index.size == 0) {
             fetchBlockList()
         }
     }
 
     private fun fetchBlockList() {
+        if (!isFetching.compareAndSet(false, true)) {
+            return
+        }
         ioScope {
             try {
-                val connection = URL(BLOCKLIST_URL).openConnection()
-                connection.connectTimeout = 10000
-                connection.readTimeout = 15000
-                val text = connection.getInputStream().bufferedReader().use { it.readText() }
-                val response = Gson().fromJson(text, BlockListResponse::class.java)
-                val mergedList = mutableSetOf<String>()
-                
-                response.flow?.let { flowList ->
-                    mergedList.addAll(flowList)
-                }
-                
-                response.evm?.let { evmList ->
-                    mergedList.addAll(evmList)
-                }
-                mutex.withLock {
-                    blockList = mergedList
-                    lastFetchTime = System.currentTimeMillis()
-                    logd(TAG, "Block list updated, total domains: ${blockList.size}")
+                val service = retrofitWithHost(BLOCKLIST_HOST).create(OtherHostService::class.java)
+                val etag = cache.etag.takeIf { index.size > 0 }
+                val response = service.getBlockList(etag)
+                val body = response.body()
+                if (response.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                    saveCache(cache.copy(fetchTime = System.currentTimeMillis()))
+                    logd(TAG, "Block list not modified")
+                } else if (response.isSuccessful && body != null) {
+                    val domains = body.flow.orEmpty() + body.evm.orEmpty()
+                    val newCache = BlockListCache(domains, response.headers()["ETag"], System.currentTimeMillis())
+                    updateIndex(newCache)
+                    saveCache(newCache)
+                    logd(TAG, "Block list updated, total domains: ${index.size}")
+                } else {
+                    loge(TAG, "Failed to fetch block list: ${response.code()}")
                 }
             } catch (e: Exception) {
                 loge(TAG, "Failed to fetch block list: ${e.message}")
+            } finally {
+                isFetching.set(false)
             }
         }
     }
+
+    private fun updateIndex(newCache: BlockListCache) {
+        index = DomainSuffixIndex(newCache.domains.orEmpty())
+        cache = newCache
+    }
+
+    private fun saveCache(newCache: BlockListCache) {
+        cache = newCache
+        blockListCache().cacheSync(newCache)
+    }
 }
 
 data class BlockListResponse(
@@ -92,4 +98,13 @@ data class BlockListResponse(
     val flow: List<String>?,
     @SerializedName("evm")
     val evm: List<String>?
-)
\ No newline at end of file
+)
+
+data class BlockListCache(
+    @SerializedName("domains")
+    val domains: List<String>? = null,
+    @SerializedName("etag")
+    val etag: String? = null,
+    @SerializedName("fetchTime")
+    val fetchTime: Long = 0,
+)
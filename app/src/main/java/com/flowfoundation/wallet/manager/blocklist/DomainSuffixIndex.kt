@@ -0,0 +1,83 @@
+package com.flowfoundation.wallet.manager.blocklist
+
+/**
+ * Immutable set of blocked domains answering whether a host is one of them or a subdomain of one.
+ *
+ * Domains are stored in an open addressing table keyed by [String.hashCode]. A lookup walks the
+ * host from its last character to the first, building the hash of each suffix incrementally, and
+ * probes the table at every label boundary, so it costs O(host length) and allocates nothing.
+ */
+class DomainSuffixIndex(domains: Collection<String>) {
+
+    private val domains: Array<String?>
+    private val hashes: IntArray
+    private val mask: Int
+
+    val size: Int
+
+    init {
+        val normalized = domains.mapNotNullTo(HashSet()) { normalize(it) }
+        size = normalized.size
+        var capacity = MIN_CAPACITY
+        while (capacity < normalized.size * 2) {
+            capacity = capacity shl 1
+        }
+        this.domains = arrayOfNulls(capacity)
+        hashes = IntArray(capacity)
+        mask = capacity - 1
+        normalized.forEach { insert(it) }
+    }
+
+    /**
+     * True if [host] equals a blocked domain or ends with `.` followed by one, ignoring case.
+     */
+    fun contains(host: String): Boolean {
+        if (size == 0 || host.isEmpty()) {
+            return false
+        }
+        var hash = 0
+        var power = 1
+        for (index in host.length - 1 downTo 0) {
+            hash += host[index].lowercaseChar().code * power
+            power *= 31
+            if (index == 0 || host[index - 1] == '.') {
+                if (find(host, index, hash)) {
+                    return true
+                }
+            }
+        }
+        return false
+    }
+
+    private fun find(host: String, start: Int, hash: Int): Boolean {
+        val length = host.length - start
+        var slot = spread(hash) and mask
+        while (true) {
+            val domain = domains[slot] ?: return false
+            if (hashes[slot] == hash && domain.length == length && host.regionMatches(start, domain, 0, length, ignoreCase = true)) {
+                return true
+            }
+            slot = (slot + 1) and mask
+        }
+    }
+
+    private fun insert(domain: String) {
+        val hash = domain.hashCode()
+        var slot = spread(hash) and mask
+        while (domains[slot] != null) {
+            slot = (slot + 1) and mask
+        }
+        domains[slot] = domain
+        hashes[slot] = hash
+    }
+
+    companion object {
+        private const val MIN_CAPACITY = 16
+
+        private fun spread(hash: Int) = hash xor (hash ushr 16)
+
+        private fun normalize(domain: String): String? {
+            return domain.trim().lowercase().removePrefix("*.").trim('.').takeIf { it.isNotEmpty() }
+        }
+    }
+}
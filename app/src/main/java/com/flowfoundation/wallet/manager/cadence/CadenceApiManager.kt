@@ -2,6 +2,7 @@ package com.flowfoundation.wallet.manager.cadence
 
 import com.flowfoundation.wallet.BuildConfig
 import com.flowfoundation.wallet.manager.app.chainNetwork
+import com.flowfoundation.wallet.manager.flowjvm.CadenceScriptTemplates
 import com.flowfoundation.wallet.mixpanel.MixpanelManager
 import com.flowfoundation.wallet.network.ApiService
 import com.flowfoundation.wallet.network.cadenceScriptApi
@@ -10,16 +11,12 @@ import com.flowfoundation.wallet.utils.NETWORK_TESTNET
 import com.flowfoundation.wallet.utils.error.CadenceError
 import com.flowfoundation.wallet.utils.error.ErrorReporter
 import com.flowfoundation.wallet.utils.extensions.toSafeFloat
-import com.flowfoundation.wallet.utils.ioScope
 import com.flowfoundation.wallet.utils.logd
 import com.flowfoundation.wallet.utils.loge
-import com.flowfoundation.wallet.utils.read
-import com.flowfoundation.wallet.utils.readTextFromAssets
-import com.flowfoundation.wallet.utils.saveToFile
-import com.google.gson.Gson
-import okio.ByteString.Companion.decodeBase64
 import okio.ByteString.Companion.decodeHex
-import wallet.core.jni.Hash
+import okio.HashingSink
+import okio.buffer
+import okio.sink
 import wallet.core.jni.PublicKey
 import wallet.core.jni.PublicKeyType
 import java.io.File
@@ -28,110 +25,174 @@ import java.io.File
 object CadenceApiManager {
 
     private val TAG = CadenceApiManager::class.java.simpleName
+    // the JSON bundle downloaded by older versions, converted on first launch
     private const val LOCAL_CADENCE_FILE_NAME = "local_cadence.json"
+    private const val BUNDLE_FILE_NAME = "cadence_scripts.bin"
+    private const val ASSETS_BUNDLE_FILE_NAME = "cadence_scripts_assets.bin"
     private const val ASSETS_CADENCE_FILE_PATH = "config/cadence_api.json"
-    private var cadenceApi: CadenceScriptData? = null
     private const val SIGNATURE_HEADER = "x-signature"
+    private const val ETAG_HEADER = "ETag"
+    private const val HTTP_NOT_MODIFIED = 304
 
-    fun init() {
+    @Volatile
+    private var bundle: CadenceScriptBundle? = null
+    @Volatile
+    private var assetsBundle: CadenceScriptBundle? = null
+
+    /**
+     * Opens the local bundle, then returns once the newer bundle is downloaded or the download
+     * failed.
+     */
+    suspend fun init() {
         loadCadenceFromLocal()
+        fetchCadenceFromNetwork()
     }
 
     private fun loadCadenceFromLocal() {
         try {
             logd(TAG, "loadCadenceFromLocal")
-            val file = File(Env.getApp().filesDir, LOCAL_CADENCE_FILE_NAME)
-            cadenceApi = if (file.exists()) {
-                val fileData = Gson().fromJson(file.read(), CadenceScriptResponse::class.java)
-                fileData.data
-            } else {
-                val assetsData = Gson().fromJson(
-                    readTextFromAssets(ASSETS_CADENCE_FILE_PATH),
-                    CadenceScriptResponse::class.java
-                )
-                assetsData.data
-            }
-            fetchCadenceFromNetwork()
+            bundle = openDownloadedBundle() ?: getAssetsBundle()
         } catch (e: Exception) {
             e.printStackTrace()
             ErrorReporter.reportWithMixpanel(CadenceError.LOAD_SCRIPT_FAILED, e)
-            fetchCadenceFromNetwork()
         }
     }
 
-    private fun saveCadenceToLocal(json: String) {
-        json.saveToFile(File(Env.getApp().filesDir, LOCAL_CADENCE_FILE_NAME))
+    private fun openDownloadedBundle(): CadenceScriptBundle? {
+        val filesDir = Env.getApp().filesDir
+        CadenceScriptBundle.open(File(filesDir, BUNDLE_FILE_NAME))?.let { return it }
+        val legacyFile = File(filesDir, LOCAL_CADENCE_FILE_NAME)
+        if (!legacyFile.exists()) {
+            return null
+        }
+        return try {
+            legacyFile.bufferedReader().use {
+                CadenceScriptBundle.write(it, File(filesDir, BUNDLE_FILE_NAME), tag = "")
+            }
+        } finally {
+            legacyFile.delete()
+        }
     }
 
-    private fun fetchCadenceFromNetwork() {
-        ioScope {
-            try {
-                logd(TAG, "fetchCadenceFromNetwork")
-                val rawResponse = cadenceScriptApi().create(ApiService::class.java).getCadenceScriptWithHeaders()
-                val signature = rawResponse.headers()[SIGNATURE_HEADER]
-                if (signature.isNullOrBlank()) {
-                    loge(TAG, "Empty script signature")
-                    ErrorReporter.reportWithMixpanel(CadenceError.EMPTY_SCRIPT_SIGNATURE)
-                    return@ioScope
-                }
-                logd(TAG, "Signature received: ${signature.take(50)}...")
-                val responseBody = rawResponse.body()?.let { body ->
-                    body.string().also {
-                        body.close()
-                    }
-                } ?: ""
-                logd(TAG, "Response body length: ${responseBody.length}")
-                
-                val isSignatureValid = try {
-                    verifySignature(signature, responseBody.toByteArray())
-                } catch (e: Exception) {
-                    loge(TAG, "Error verifying signature: ${e.message}")
-                    loge(TAG, "Signature (first 100 chars): ${signature.take(100)}")
-                    ErrorReporter.reportWithMixpanel(CadenceError.SIGNATURE_VERIFICATION_ERROR, e)
-                    false
-                }
-                
-                if (!isSignatureValid) {
-                    loge(TAG, "Invalid script signature - continuing with cached scripts")
-                    loge(TAG, "Response preview (first 200 chars): ${responseBody.take(200)}")
-                    ErrorReporter.reportWithMixpanel(CadenceError.INVALID_SCRIPT_SIGNATURE)
-                    // Don't return here - continue with existing cached scripts
-                } else {
-                    // Only update scripts if signature is valid
-                    try {
-                        val response = Gson().fromJson(responseBody, CadenceScriptResponse::class.java)
-                        if (response?.data == null) {
-                            loge(TAG, "Decode script failed - response data is null")
-                            ErrorReporter.reportWithMixpanel(CadenceError.DECODE_SCRIPT_FAILED)
-                            return@ioScope
-                        }
-                        val localVersion = cadenceApi?.version?.toSafeFloat() ?: 0f
-                        val currentVersion = response.data.version.toSafeFloat()
-                        logd(TAG, "cadenceScriptVersion::local::$localVersion::current::$currentVersion")
-                        if (currentVersion > localVersion) {
-                            cadenceApi = response.data
-                            saveCadenceToLocal(Gson().toJson(response))
-                            logd(TAG, "Updated to new script version: $currentVersion")
-                        } else {
-                            logd(TAG, "Current version ($currentVersion) not newer than local ($localVersion), keeping cached scripts")
-                        }
-                    } catch (e: Exception) {
-                        loge(TAG, "Failed to parse response JSON: ${e.message}")
-                        ErrorReporter.reportWithMixpanel(CadenceError.DECODE_SCRIPT_FAILED, e)
-                    }
-                }
+    /**
+     * The bundle shipped in the assets, converted once per app version. It is the fallback for
+     * scripts missing from the downloaded bundle.
+     */
+    @Synchronized
+    private fun getAssetsBundle(): CadenceScriptBundle {
+        assetsBundle?.let { return it }
+        val file = File(Env.getApp().filesDir, ASSETS_BUNDLE_FILE_NAME)
+        val tag = "assets-${BuildConfig.VERSION_CODE}"
+        val opened = CadenceScriptBundle.open(file)
+        val bundle = if (opened != null && opened.tag == tag) {
+            opened
+        } else {
+            // converted by another app version
+            opened?.close()
+            Env.getApp().assets.open(ASSETS_CADENCE_FILE_PATH).bufferedReader().use {
+                CadenceScriptBundle.write(it, file, tag)
+            }
+        }
+        assetsBundle = bundle
+        return bundle
+    }
 
-                // Always report version info (even if signature failed)
+    private suspend fun fetchCadenceFromNetwork() {
+        try {
+            logd(TAG, "fetchCadenceFromNetwork")
+            // only a downloaded bundle carries the ETag of the server response
+            val etag = bundle?.takeIf { it !== assetsBundle }?.tag?.ifBlank { null }
+            val rawResponse = cadenceScriptApi().create(ApiService::class.java).getCadenceScriptWithHeaders(etag)
+            if (rawResponse.code() == HTTP_NOT_MODIFIED) {
+                logd(TAG, "Script bundle not modified, keeping cached scripts")
                 MixpanelManager.cadenceScriptVersion(getCadenceScriptVersion(), getCadenceVersion())
+                return
+            }
+            val signature = rawResponse.headers()[SIGNATURE_HEADER]
+            if (signature.isNullOrBlank()) {
+                loge(TAG, "Empty script signature")
+                ErrorReporter.reportWithMixpanel(CadenceError.EMPTY_SCRIPT_SIGNATURE)
+                return
+            }
+            logd(TAG, "Signature received: ${signature.take(50)}...")
+            val body = rawResponse.body()
+            if (body == null) {
+                loge(TAG, "Decode script failed - response body is null")
+                ErrorReporter.reportWithMixpanel(CadenceError.DECODE_SCRIPT_FAILED)
+                return
+            }
+            // Stream the body to disk and hash it on the way, instead of holding it as a String
+            val tempFile = File(Env.getApp().filesDir, "$LOCAL_CADENCE_FILE_NAME.tmp")
+            val hashingSink = HashingSink.sha256(tempFile.sink())
+            body.use { responseBody ->
+                hashingSink.buffer().use { sink -> sink.writeAll(responseBody.source()) }
+            }
+            logd(TAG, "Response body length: ${tempFile.length()}")
+
+            val isSignatureValid = try {
+                verifySignature(signature, hashingSink.hash.toByteArray())
             } catch (e: Exception) {
-                loge(TAG, "Network fetch failed: ${e.message}")
-                ErrorReporter.reportWithMixpanel(CadenceError.FETCH_SCRIPT_FAILED, e)
-                e.printStackTrace()
+                loge(TAG, "Error verifying signature: ${e.message}")
+                loge(TAG, "Signature (first 100 chars): ${signature.take(100)}")
+                ErrorReporter.reportWithMixpanel(CadenceError.SIGNATURE_VERIFICATION_ERROR, e)
+                false
+            }
+
+            if (!isSignatureValid) {
+                loge(TAG, "Invalid script signature - continuing with cached scripts")
+                ErrorReporter.reportWithMixpanel(CadenceError.INVALID_SCRIPT_SIGNATURE)
+                // Don't return here - continue with existing cached scripts
+            } else {
+                // Only update scripts if signature is valid
+                updateBundle(tempFile, rawResponse.headers()[ETAG_HEADER].orEmpty())
             }
+            tempFile.delete()
+
+            // Always report version info (even if signature failed)
+            MixpanelManager.cadenceScriptVersion(getCadenceScriptVersion(), getCadenceVersion())
+        } catch (e: Exception) {
+            loge(TAG, "Network fetch failed: ${e.message}")
+            ErrorReporter.reportWithMixpanel(CadenceError.FETCH_SCRIPT_FAILED, e)
+            e.printStackTrace()
         }
     }
 
-    private fun verifySignature(signature: String, data: ByteArray): Boolean {
+    private fun updateBundle(downloadedFile: File, etag: String) {
+        val bundleFile = File(Env.getApp().filesDir, BUNDLE_FILE_NAME)
+        val indexFile = File(Env.getApp().filesDir, "$BUNDLE_FILE_NAME.tmp")
+        var newBundle: CadenceScriptBundle? = null
+        try {
+            val downloaded = downloadedFile.bufferedReader().use {
+                CadenceScriptBundle.write(it, indexFile, etag)
+            }
+            newBundle = downloaded
+            val localVersion = bundle?.version?.toSafeFloat() ?: 0f
+            val currentVersion = downloaded.version.toSafeFloat()
+            logd(TAG, "cadenceScriptVersion::local::$localVersion::current::$currentVersion")
+            // the same version is adopted too, the downloaded bundle carries the ETag that lets
+            // the next launches skip the download
+            if (currentVersion >= localVersion) {
+                // the replaced bundle keeps its file open, lookups running on it are not affected
+                if (!indexFile.renameTo(bundleFile)) {
+                    indexFile.copyTo(bundleFile, overwrite = true)
+                }
+                bundle = downloaded
+                newBundle = null
+                CadenceScriptTemplates.clear()
+                logd(TAG, "Updated to script version: $currentVersion")
+            } else {
+                logd(TAG, "Current version ($currentVersion) older than local ($localVersion), keeping cached scripts")
+            }
+        } catch (e: Exception) {
+            loge(TAG, "Failed to parse response JSON: ${e.message}")
+            ErrorReporter.reportWithMixpanel(CadenceError.DECODE_SCRIPT_FAILED, e)
+        } finally {
+            newBundle?.close()
+            indexFile.delete()
+        }
+    }
+
+    private fun verifySignature(signature: String, hashedData: ByteArray): Boolean {
         return try {
             // Validate signature format before decoding
             if (signature.isBlank()) {
@@ -165,7 +226,6 @@ object CadenceApiManager {
                 logd(TAG, "Warning: Unexpected signature length: ${cleanSignature.length} (expected 128)")
             }
             
-            val hashedData = Hash.sha256(data)
             val pubKeyBytes = BuildConfig.X_SIGNATURE_KEY.decodeHex().toByteArray()
             val public = PublicKey(pubKeyBytes, PublicKeyType.NIST256P1EXTENDED)
             
@@ -186,23 +246,32 @@ object CadenceApiManager {
         }
     }
 
-    private fun getCadenceScript(): CadenceScript? {
+    private fun networkName(): String {
         return when (chainNetwork()) {
-            NETWORK_TESTNET -> cadenceApi?.scripts?.testnet
-            else -> cadenceApi?.scripts?.mainnet
+            NETWORK_TESTNET -> "testnet"
+            else -> "mainnet"
+        }
+    }
+
+    private fun getScript(category: String, method: String): String? {
+        return try {
+            bundle?.script(networkName(), category, method)
+        } catch (e: Exception) {
+            loge(TAG, "Failed to read $category script $method: ${e.message}")
+            null
         }
     }
 
     fun getCadenceVersion(): String {
-        return getCadenceScript()?.version.orEmpty()
+        return bundle?.networkVersion(networkName()).orEmpty()
     }
 
     fun getCadenceScriptVersion(): String {
-        return cadenceApi?.version.orEmpty()
+        return bundle?.version.orEmpty()
     }
 
     fun getCadenceBasicScript(method: String): String {
-        val script = getCadenceScript()?.basic?.get(method)?.decodeBase64()?.utf8()
+        val script = getScript("basic", method)
         if (script.isNullOrBlank()) {
             loge(TAG, "Failed to get basic script for method: $method, falling back to assets")
             return getFallbackScriptFromAssets(method, "basic")
@@ -211,11 +280,11 @@ object CadenceApiManager {
     }
 
     fun getCadenceAccountScript(method: String): String {
-        return getCadenceScript()?.account?.get(method)?.decodeBase64()?.utf8() ?: ""
+        return getScript("account", method) ?: ""
     }
 
     fun getCadenceCollectionScript(method: String): String {
-        val script = getCadenceScript()?.collection?.get(method)?.decodeBase64()?.utf8()
+        val script = getScript("collection", method)
         if (script.isNullOrBlank()) {
             loge(TAG, "Failed to get collection script for method: $method, falling back to assets")
             return getFallbackScriptFromAssets(method, "collection")
@@ -224,7 +293,7 @@ object CadenceApiManager {
     }
 
     fun getCadenceFTScript(method: String): String {
-        val script = getCadenceScript()?.ft?.get(method)?.decodeBase64()?.utf8()
+        val script = getScript("ft", method)
         if (script.isNullOrBlank()) {
             loge(TAG, "Failed to get FT script for method: $method, falling back to assets")
             return getFallbackScriptFromAssets(method, "ft")
@@ -233,7 +302,7 @@ object CadenceApiManager {
     }
 
     fun getCadenceContractScript(method: String): String {
-        val script = getCadenceScript()?.contract?.get(method)?.decodeBase64()?.utf8()
+        val script = getScript("contract", method)
         if (script.isNullOrBlank()) {
             loge(TAG, "Failed to get contract script for method: $method, falling back to assets")
             return getFallbackScriptFromAssets(method, "contract")
@@ -242,11 +311,11 @@ object CadenceApiManager {
     }
 
     fun getCadenceDomainScript(method: String): String {
-        return getCadenceScript()?.domain?.get(method)?.decodeBase64()?.utf8() ?: ""
+        return getScript("domain", method) ?: ""
     }
 
     fun getCadenceHybridCustodyScript(method: String): String {
-        val script = getCadenceScript()?.hybridCustody?.get(method)?.decodeBase64()?.utf8()
+        val script = getScript("hybridCustody", method)
         if (script.isNullOrBlank()) {
             loge(TAG, "Failed to get hybridCustody script for method: $method, falling back to assets")
             return getFallbackScriptFromAssets(method, "hybridCustody")
@@ -255,7 +324,7 @@ object CadenceApiManager {
     }
 
     fun getCadenceStakingScript(method: String): String {
-        val script = getCadenceScript()?.staking?.get(method)?.decodeBase64()?.utf8()
+        val script = getScript("staking", method)
         if (script.isNullOrBlank()) {
             loge(TAG, "Failed to get staking script for method: $method, falling back to assets")
             return getFallbackScriptFromAssets(method, "staking")
@@ -264,7 +333,7 @@ object CadenceApiManager {
     }
 
     fun getCadenceStorageScript(method: String): String {
-        val script = getCadenceScript()?.storage?.get(method)?.decodeBase64()?.utf8()
+        val script = getScript("storage", method)
         if (script.isNullOrBlank()) {
             loge(TAG, "Failed to get storage script for method: $method, falling back to assets")
             return getFallbackScriptFromAssets(method, "storage")
@@ -273,7 +342,7 @@ object CadenceApiManager {
     }
 
     fun getCadenceEVMScript(method: String): String {
-        val script = getCadenceScript()?.evm?.get(method)?.decodeBase64()?.utf8()
+        val script = getScript("evm", method)
         if (script.isNullOrBlank()) {
             loge(TAG, "Failed to get EVM script for method: $method, falling back to assets")
             return getFallbackScriptFromAssets(method, "evm")
@@ -282,7 +351,7 @@ object CadenceApiManager {
     }
 
     fun getCadenceNFTScript(method: String): String {
-        val script = getCadenceScript()?.nft?.get(method)?.decodeBase64()?.utf8()
+        val script = getScript("nft", method)
         if (script.isNullOrBlank()) {
             loge(TAG, "Failed to get NFT script for method: $method, falling back to assets")
             return getFallbackScriptFromAssets(method, "nft")
@@ -291,7 +360,7 @@ object CadenceApiManager {
     }
 
     fun getCadenceSwapScript(method: String): String {
-        val script = (getCadenceScript()?.swap?.get(method) as? String)?.decodeBase64()?.utf8()
+        val script = getScript("swap", method)
         if (script.isNullOrBlank()) {
             loge(TAG, "Failed to get swap script for method: $method, falling back to assets")
             return getFallbackScriptFromAssets(method, "swap")
@@ -300,7 +369,7 @@ object CadenceApiManager {
     }
 
     fun getCadenceBridgeScript(method: String): String {
-        val script = getCadenceScript()?.bridge?.get(method)?.decodeBase64()?.utf8()
+        val script = getScript("bridge", method)
         if (script.isNullOrBlank()) {
             loge(TAG, "Failed to get bridge script for method: $method, falling back to assets")
             return getFallbackScriptFromAssets(method, "bridge")
@@ -310,31 +379,7 @@ object CadenceApiManager {
 
     private fun getFallbackScriptFromAssets(method: String, category: String): String {
         return try {
-            val assetsData = Gson().fromJson(
-                readTextFromAssets(ASSETS_CADENCE_FILE_PATH),
-                CadenceScriptResponse::class.java
-            )
-            val script = when (chainNetwork()) {
-                NETWORK_TESTNET -> assetsData.data?.scripts?.testnet
-                else -> assetsData.data?.scripts?.mainnet
-            }
-            
-            val scriptContent = when (category) {
-                "basic" -> script?.basic?.get(method)
-                "collection" -> script?.collection?.get(method)
-                "ft" -> script?.ft?.get(method)
-                "contract" -> script?.contract?.get(method)
-                "evm" -> script?.evm?.get(method)
-                "hybridCustody" -> script?.hybridCustody?.get(method)
-                "staking" -> script?.staking?.get(method)
-                "storage" -> script?.storage?.get(method)
-                "nft" -> script?.nft?.get(method)
-                "swap" -> script?.swap?.get(method) as? String
-                "bridge" -> script?.bridge?.get(method)
-                else -> null
-            }?.decodeBase64()?.utf8()
-            
-            scriptContent ?: run {
+            getAssetsBundle().script(networkName(), category, method) ?: run {
                 loge(TAG, "No fallback script found for method: $method, category: $category")
                 ""
             }
@@ -0,0 +1,253 @@
+package com.flowfoundation.wallet.manager.cadence
+
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
+import java.io.BufferedOutputStream
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.Closeable
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.File
+import java.io.IOException
+import java.io.RandomAccessFile
+import java.io.Reader
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.util.Base64
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * The Cadence script bundle stored as an indexed file, so that opening it only reads a small
+ * offset table and each script is read and decoded the first time it is used.
+ *
+ * The bundle served by the API is about 2 MB of JSON with base64 encoded scripts. [write] converts
+ * it in one streaming pass, with the scripts already decoded, into:
+ *
+ * ```
+ * magic, format version, header length
+ * header: bundle version, tag,
+ *         network count, (network, network version)...,
+ *         script count, ("network/category/method", offset, length)...
+ * script bytes
+ * ```
+ *
+ * [tag] is kept for the caller, e.g. the ETag of the downloaded bundle.
+ */
+class CadenceScriptBundle private constructor(
+    private val channel: FileChannel,
+    val version: String,
+    val tag: String,
+    private val networkVersions: Map<String, String>,
+    private val entries: Map<String, Entry>,
+    private val dataOffset: Long,
+) : Closeable {
+
+    private class Entry(val offset: Int, val length: Int)
+
+    private val scripts = ConcurrentHashMap<String, String>()
+
+    val size: Int
+        get() = entries.size
+
+    fun networkVersion(network: String): String? = networkVersions[network]
+
+    /**
+     * The script text of [method] in [category], or null if the bundle doesn't have it.
+     */
+    fun script(network: String, category: String, method: String): String? {
+        val key = key(network, category, method)
+        scripts[key]?.let { return it }
+        val entry = entries[key] ?: return null
+        val buffer = ByteBuffer.allocate(entry.length)
+        readFully(channel, buffer, dataOffset + entry.offset)
+        val script = String(buffer.array(), Charsets.UTF_8)
+        scripts[key] = script
+        return script
+    }
+
+    override fun close() {
+        channel.close()
+    }
+
+    companion object {
+        private const val MAGIC = 0x43444e43 // "CDNC"
+        private const val FORMAT_VERSION = 1
+        // magic, format version and header length
+        private const val PREFIX_SIZE = 12
+
+        private fun key(network: String, category: String, method: String) = "$network/$category/$method"
+
+        /**
+         * Opens a bundle written by [write], or returns null if [file] is missing, truncated or not
+         * a bundle of the current format. The file stays open for the lifetime of the bundle, which keeps
+         * reading the same data if [file] is replaced by a newer bundle.
+         */
+        fun open(file: File): CadenceScriptBundle? {
+            if (!file.exists()) {
+                return null
+            }
+            val channel = RandomAccessFile(file, "r").channel
+            try {
+                val prefix = ByteBuffer.allocate(PREFIX_SIZE)
+                readFully(channel, prefix, 0)
+                prefix.flip()
+                if (prefix.int != MAGIC || prefix.int != FORMAT_VERSION) {
+                    channel.close()
+                    return null
+                }
+                val header = ByteBuffer.allocate(prefix.int)
+                readFully(channel, header, PREFIX_SIZE.toLong())
+                val input = DataInputStream(ByteArrayInputStream(header.array()))
+                val version = input.readUTF()
+                val tag = input.readUTF()
+                val networkVersions = HashMap<String, String>()
+                repeat(input.readInt()) {
+                    networkVersions[input.readUTF()] = input.readUTF()
+                }
+                val count = input.readInt()
+                val entries = HashMap<String, Entry>(count * 2)
+                var dataLength = 0L
+                repeat(count) {
+                    val key = input.readUTF()
+                    val entry = Entry(input.readInt(), input.readInt())
+                    entries[key] = entry
+                    dataLength += entry.length
+                }
+                val dataOffset = PREFIX_SIZE.toLong() + header.capacity()
+                if (channel.size() != dataOffset + dataLength) {
+                    channel.close()
+                    return null
+                }
+                return CadenceScriptBundle(channel, version, tag, networkVersions, entries, dataOffset)
+            } catch (e: IOException) {
+                channel.close()
+                return null
+            }
+        }
+
+        /**
+         * Converts the script bundle JSON in [source] into an indexed bundle at [target] and opens
+         * it. Scripts that are not base64 strings are left out.
+         */
+        fun write(source: Reader, target: File, tag: String): CadenceScriptBundle {
+            var version: String? = null
+            val networkVersions = LinkedHashMap<String, String>()
+            val scripts = ArrayList<Pair<String, ByteArray>>()
+            JsonReader(source).use { reader ->
+                reader.beginObject()
+                while (reader.hasNext()) {
+                    if (reader.nextName() != "data" || reader.peek() != JsonToken.BEGIN_OBJECT) {
+                        reader.skipValue()
+                        continue
+                    }
+                    reader.beginObject()
+                    while (reader.hasNext()) {
+                        when (reader.nextName()) {
+                            "version" -> version = reader.nextString()
+                            "scripts" -> readNetworks(reader, networkVersions, scripts)
+                            else -> reader.skipValue()
+                        }
+                    }
+                    reader.endObject()
+                }
+                reader.endObject()
+            }
+            if (version == null || scripts.isEmpty()) {
+                throw IOException("Cadence script bundle has no version or scripts")
+            }
+
+            val header = ByteArrayOutputStream()
+            DataOutputStream(header).use { output ->
+                output.writeUTF(version)
+                output.writeUTF(tag)
+                output.writeInt(networkVersions.size)
+                networkVersions.forEach { (network, networkVersion) ->
+                    output.writeUTF(network)
+                    output.writeUTF(networkVersion)
+                }
+                output.writeInt(scripts.size)
+                var offset = 0
+                scripts.forEach { (key, bytes) ->
+                    output.writeUTF(key)
+                    output.writeInt(offset)
+                    output.writeInt(bytes.size)
+                    offset += bytes.size
+                }
+            }
+            // written next to the target and renamed, a crash while writing doesn't leave a bundle
+            // with missing scripts behind
+            val tempFile = File(target.parentFile, "${target.name}.tmp")
+            try {
+                DataOutputStream(BufferedOutputStream(tempFile.outputStream())).use { output ->
+                    output.writeInt(MAGIC)
+                    output.writeInt(FORMAT_VERSION)
+                    output.writeInt(header.size())
+                    header.writeTo(output)
+                    scripts.forEach { (_, bytes) -> output.write(bytes) }
+                }
+                if (!tempFile.renameTo(target)) {
+                    tempFile.copyTo(target, overwrite = true)
+                }
+            } finally {
+                tempFile.delete()
+            }
+            return open(target) ?: throw IOException("Failed to open written Cadence script bundle")
+        }
+
+        private fun readNetworks(
+            reader: JsonReader,
+            networkVersions: MutableMap<String, String>,
+            scripts: MutableList<Pair<String, ByteArray>>,
+        ) {
+            val decoder = Base64.getMimeDecoder()
+            reader.beginObject()
+            while (reader.hasNext()) {
+                val network = reader.nextName()
+                reader.beginObject()
+                while (reader.hasNext()) {
+                    val name = reader.nextName()
+                    when (reader.peek()) {
+                        JsonToken.STRING -> if (name == "version") {
+                            networkVersions[network] = reader.nextString()
+                        } else {
+                            reader.skipValue()
+                        }
+                        JsonToken.BEGIN_OBJECT -> {
+                            reader.beginObject()
+                            while (reader.hasNext()) {
+                                val method = reader.nextName()
+                                if (reader.peek() != JsonToken.STRING) {
+                                    reader.skipValue()
+                                    continue
+                                }
+                                val bytes = try {
+                                    decoder.decode(reader.nextString())
+                                } catch (e: IllegalArgumentException) {
+                                    continue
+                                }
+                                scripts.add(key(network, name, method) to bytes)
+                            }
+                            reader.endObject()
+                        }
+                        else -> reader.skipValue()
+                    }
+                }
+                reader.endObject()
+            }
+            reader.endObject()
+        }
+
+        // positional reads don't move the channel, so concurrent lookups don't interfere
+        private fun readFully(channel: FileChannel, buffer: ByteBuffer, position: Long) {
+            var current = position
+            while (buffer.hasRemaining()) {
+                val read = channel.read(buffer, current)
+                if (read < 0) {
+                    throw IOException("Cadence script bundle is truncated")
+                }
+                current += read
+            }
+        }
+    }
+}
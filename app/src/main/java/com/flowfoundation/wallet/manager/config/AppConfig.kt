@@ -1,9 +1,9 @@
 package com.flowfoundation.wallet.manager.config
 
 import com.flowfoundation.wallet.BuildConfig
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.firebase.ktx.Firebase
 import com.google.firebase.remoteconfig.ktx.remoteConfig
-import com.google.gson.Gson
 import com.google.gson.annotations.SerializedName
 import com.flowfoundation.wallet.manager.app.isTestnet
 import com.flowfoundation.wallet.manager.notification.WalletNotificationManager
@@ -12,10 +12,14 @@ import com.flowfoundation.wallet.utils.ioScope
 import com.flowfoundation.wallet.utils.isDev
 import com.flowfoundation.wallet.utils.isFreeGasPreferenceEnable
 import com.flowfoundation.wallet.utils.isTesting
+import com.flowfoundation.wallet.utils.peekFreeGasPreferenceEnable
 import com.flowfoundation.wallet.utils.safeRun
 
 suspend fun isGasFree() = AppConfig.isFreeGas() && isFreeGasPreferenceEnable()
 
+// for display only, the payer is picked with isGasFree() which waits for the preferences
+fun peekGasFree() = AppConfig.isFreeGas() && peekFreeGasPreferenceEnable()
+
 object AppConfig {
 
     private var config: Config? = null
@@ -85,7 +89,7 @@ object AppConfig {
     private fun reloadConfig(): Config {
         val text = Firebase.remoteConfig.getString("a_config")
         safeRun {
-            config = Gson().fromJson(text, Config::class.java)
+            config = JsonCodec.gson.fromJson(text, Config::class.java)
         }
         return config!!
     }
@@ -93,7 +97,7 @@ object AppConfig {
     private fun reloadFlowAddressRegistry(): FlowAddressRegistry {
         val text = Firebase.remoteConfig.getString("contract_address")
         safeRun {
-            flowAddressRegistry = Gson().fromJson(text, FlowAddressRegistry::class.java)
+            flowAddressRegistry = JsonCodec.gson.fromJson(text, FlowAddressRegistry::class.java)
         }
         return flowAddressRegistry!!
     }
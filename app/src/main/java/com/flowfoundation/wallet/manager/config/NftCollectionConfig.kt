@@ -1,7 +1,7 @@
 package com.flowfoundation.wallet.manager.config
 
 import android.os.Parcelable
-import com.google.gson.Gson
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.gson.annotations.SerializedName
 import com.flowfoundation.wallet.cache.nftCollectionsCache
 import com.flowfoundation.wallet.manager.app.isTestnet
@@ -18,54 +18,40 @@ import kotlinx.parcelize.Parcelize
 
 object NftCollectionConfig {
 
-    private val config = mutableListOf<NftCollection>()
+    // replaced as a whole on reload, lookups never see a partly updated config
+    @Volatile
+    private var index = NftCollectionIndex.EMPTY
 
     fun sync() {
         ioScope { reloadConfig() }
     }
-
+    /**
+     * Lookups only read the current snapshot, which is empty until [sync] loads the config at
+     * startup.
+     */
     fun get(address: String? = null, contractName: String): NftCollection? {
-        if (config.isEmpty()) {
-            reloadConfig()
-        }
-        val list = config.toList()
-
-        if (address == null) {
-            return list.firstOrNull { it.contractName() == contractName }
-        }
-        return list.firstOrNull { it.address == address
-                && it.contractName() == contractName }
+        return index.get(address, contractName)
     }
 
     fun getByNFTIdentifier(nftIdentifier: String): NftCollection? {
-        if (config.isEmpty()) {
-            reloadConfig()
-        }
-        return config.toList().firstOrNull { it.getNFTIdentifier() == nftIdentifier }
+        return index.getByNFTIdentifier(nftIdentifier)
     }
 
     fun getByContractId(contractId: String): NftCollection? {
-        if (config.isEmpty()) {
-            reloadConfig()
-        }
-        return config.toList().firstOrNull { it.contractIdWithCollection() == contractId }
+        return index.getByContractId(contractId)
     }
 
-    fun list() = config.toList()
+    fun list() = index.list
 
-    private fun reloadConfig() {
-        ioScope {
-            config.clear()
-            config.addAll(loadFromCache())
+    suspend fun reloadConfig() {
+        index = NftCollectionIndex(loadFromCache())
 
-            val response = retrofitApi().create(ApiService::class.java).getNFTCollections()
-            if (response.data.isNotEmpty()) {
-                config.clear()
-                config.addAll(response.data)
-                nftCollectionsCache().cache(response)
-            }
-            NftCollectionStateManager.fetchState()
+        val response = retrofitApi().create(ApiService::class.java).getNFTCollections()
+        if (response.data.isNotEmpty()) {
+            index = NftCollectionIndex(response.data)
+            nftCollectionsCache().cache(response)
         }
+        NftCollectionStateManager.fetchState()
     }
 
     private fun loadFromCache(): List<NftCollection> {
@@ -82,7 +68,7 @@ object NftCollectionConfig {
                 "config/nft_collections_mainnet.json"
             }
         )
-        val data = Gson().fromJson(text, NftCollectionListResponse::class.java)
+        val data = JsonCodec.gson.fromJson(text, NftCollectionListResponse::class.java)
         return data.data
     }
 }
@@ -0,0 +1,44 @@
+package com.flowfoundation.wallet.manager.config
+
+/**
+ * An immutable snapshot of the NFT collection config with hash lookups by the keys the app looks
+ * collections up with. When several collections share a key the first one in [list] wins, as
+ * with a linear `firstOrNull` scan.
+ */
+class NftCollectionIndex(val list: List<NftCollection>) {
+
+    private val byContractName = HashMap<String, NftCollection>(list.size * 2)
+    private val byAddressAndContractName = HashMap<String, NftCollection>(list.size * 2)
+    private val byNFTIdentifier = HashMap<String, NftCollection>(list.size * 2)
+    private val byContractId = HashMap<String, NftCollection>(list.size * 2)
+
+    init {
+        list.forEach { collection ->
+            byContractName.putIfAbsent(collection.contractName(), collection)
+            collection.address?.let {
+                byAddressAndContractName.putIfAbsent(addressKey(it, collection.contractName()), collection)
+            }
+            byNFTIdentifier.putIfAbsent(collection.getNFTIdentifier(), collection)
+            byContractId.putIfAbsent(collection.contractIdWithCollection(), collection)
+        }
+    }
+
+    fun isEmpty() = list.isEmpty()
+
+    fun get(address: String?, contractName: String): NftCollection? {
+        if (address == null) {
+            return byContractName[contractName]
+        }
+        return byAddressAndContractName[addressKey(address, contractName)]
+    }
+
+    fun getByNFTIdentifier(nftIdentifier: String): NftCollection? = byNFTIdentifier[nftIdentifier]
+
+    fun getByContractId(contractId: String): NftCollection? = byContractId[contractId]
+
+    private fun addressKey(address: String, contractName: String) = "$address.$contractName"
+
+    companion object {
+        val EMPTY = NftCollectionIndex(emptyList())
+    }
+}
@@ -3,8 +3,8 @@ package com.flowfoundation.wallet.manager.drive
 import android.content.Intent
 import androidx.annotation.WorkerThread
 import androidx.localbroadcastmanager.content.LocalBroadcastManager
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.api.services.drive.Drive
-import com.google.gson.Gson
 import com.google.gson.reflect.TypeToken
 import com.flowfoundation.wallet.BuildConfig
 import com.flowfoundation.wallet.firebase.auth.firebaseUid
@@ -42,7 +42,7 @@ fun uploadMnemonicToGoogleDrive(driveService: Drive, password: String) {
 
         addData(data, password)
 
-        driveServiceHelper.writeStringToFile(FILE_NAME, "\"${aesEncrypt(AES_KEY, message = Gson().toJson(data))}\"")
+        driveServiceHelper.writeStringToFile(FILE_NAME, "\"${aesEncrypt(AES_KEY, message = JsonCodec.gson.toJson(data))}\"")
 
         if (BuildConfig.DEBUG) {
             val readText = driveServiceHelper.readFile(driveServiceHelper.getFileId(FILE_NAME)!!)
@@ -81,7 +81,7 @@ fun deleteMnemonicFromGoogleDrive(driveService: Drive) {
             val username = username()
             data.removeIf { it.username == username }
 
-            driveServiceHelper.writeStringToFile(FILE_NAME, "\"${aesEncrypt(AES_KEY, message = Gson().toJson(data))}\"")
+            driveServiceHelper.writeStringToFile(FILE_NAME, "\"${aesEncrypt(AES_KEY, message = JsonCodec.gson.toJson(data))}\"")
 
             if (BuildConfig.DEBUG) {
                 val readText = driveServiceHelper.readFile(driveServiceHelper.getFileId(FILE_NAME)!!)
@@ -113,7 +113,7 @@ private fun existingData(driveService: Drive): List<DriveItem> {
         logd(TAG, "existingData content:$content")
         val json = aesDecrypt(AES_KEY, message = content)
         logd(TAG, "existingData:$json")
-        Gson().fromJson(json, object : TypeToken<List<DriveItem>>() {}.type)
+        JsonCodec.gson.fromJson(json, object : TypeToken<List<DriveItem>>() {}.type)
     } catch (e: Exception) {
         loge(e)
         throw e
@@ -10,6 +10,7 @@ import com.flowfoundation.wallet.manager.backup.BackupCryptoProvider
 import com.flowfoundation.wallet.manager.backup.BackupItem
 import com.flowfoundation.wallet.manager.flowjvm.lastBlockAccount
 import com.flowfoundation.wallet.utils.Env
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.error.DropboxBackupError
 import com.flowfoundation.wallet.utils.error.ErrorReporter
 import com.flowfoundation.wallet.utils.getPinCode
@@ -18,7 +19,6 @@ import com.flowfoundation.wallet.utils.loge
 import com.flowfoundation.wallet.utils.logw
 import com.flowfoundation.wallet.utils.secret.aesDecrypt
 import com.flowfoundation.wallet.utils.secret.aesEncrypt
-import com.google.gson.Gson
 import com.google.gson.reflect.TypeToken
 import com.reown.android.internal.common.crypto.sha256
 import org.onflow.flow.models.FlowAddress
@@ -58,7 +58,7 @@ suspend fun uploadDropboxBackup(
                 aesEncrypt(
                     key = AES_KEY,
                     iv = AES_PASSWORD,
-                    message = Gson().toJson(data),
+                    message = JsonCodec.gson.toJson(data),
                 )
             }\""
         )
@@ -118,7 +118,7 @@ private fun existingData(dropboxHelper: DropboxServerHelper): List<BackupItem> {
             if (content.isNotEmpty()) {
                 val json = aesDecrypt(key = AES_KEY, iv = AES_PASSWORD, message = content)
                 logd(TAG, "existingData decrypted content:$json")
-                Gson().fromJson(json, object : TypeToken<List<BackupItem>>() {}.type)
+                JsonCodec.gson.fromJson(json, object : TypeToken<List<BackupItem>>() {}.type)
             } else {
                 emptyList<BackupItem>()
             }
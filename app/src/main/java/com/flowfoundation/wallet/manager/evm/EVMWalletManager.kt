@@ -37,6 +37,7 @@ import com.flowfoundation.wallet.network.model.AddressBookContact
 import com.flowfoundation.wallet.network.model.Nft
 import com.flowfoundation.wallet.page.send.transaction.subpage.amount.model.TransactionModel
 import com.flowfoundation.wallet.page.window.bubble.tools.pushBubbleStack
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.error.CadenceError
 import com.flowfoundation.wallet.utils.error.EVMError
 import com.flowfoundation.wallet.utils.error.ErrorReporter
@@ -51,7 +52,6 @@ import kotlinx.serialization.Serializable
 import org.onflow.flow.ChainId
 import org.web3j.crypto.Keys
 import java.math.BigDecimal
-import com.google.gson.Gson
 
 private val TAG = EVMWalletManager::class.java.simpleName
 
@@ -512,7 +512,7 @@ object EVMWalletManager {
                     ),
                     fromAddress = ""
                 )
-                Gson().toJson(transactionModel)
+                JsonCodec.gson.toJson(transactionModel)
             } else {
                 operationName // Fallback to operation name for non-coin transactions
             }
@@ -0,0 +1,73 @@
+package com.flowfoundation.wallet.manager.flow
+
+import org.onflow.flow.infrastructure.Cadence
+
+/**
+ * Short-lived results of read-only Cadence scripts, keyed by network, processed script text and
+ * encoded arguments. Entries expire after the TTL the caller asked for, and every entry whose
+ * arguments mention an account is dropped by [invalidateAddress] once a transaction touching that
+ * account has sealed.
+ */
+class CadenceResultCache(
+    private val maxEntries: Int = DEFAULT_MAX_ENTRIES,
+    private val clock: () -> Long = System::currentTimeMillis,
+) {
+
+    private data class Key(
+        val network: String,
+        val script: String,
+        val arguments: List<String>,
+    )
+
+    private class Entry(
+        val value: Cadence.Value,
+        val expireAt: Long,
+    )
+
+    private val entries = object : LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<Key, Entry>?): Boolean {
+            return size > maxEntries
+        }
+    }
+
+    fun get(network: String, script: String, arguments: List<String>): Cadence.Value? {
+        val key = Key(network, script, arguments)
+        synchronized(entries) {
+            val entry = entries[key] ?: return null
+            if (entry.expireAt <= clock()) {
+                entries.remove(key)
+                return null
+            }
+            return entry.value
+        }
+    }
+
+    fun put(network: String, script: String, arguments: List<String>, value: Cadence.Value, ttl: Long) {
+        if (ttl <= 0) {
+            return
+        }
+        synchronized(entries) {
+            entries[Key(network, script, arguments)] = Entry(value, clock() + ttl)
+        }
+    }
+
+    fun invalidateAddress(address: String) {
+        val normalized = address.removePrefix("0x").lowercase()
+        if (normalized.isBlank()) {
+            return
+        }
+        synchronized(entries) {
+            entries.keys.removeAll { key -> key.arguments.any { it.lowercase().contains(normalized) } }
+        }
+    }
+
+    fun clear() {
+        synchronized(entries) { entries.clear() }
+    }
+
+    fun size() = synchronized(entries) { entries.size }
+
+    companion object {
+        const val DEFAULT_MAX_ENTRIES = 256
+    }
+}
@@ -0,0 +1,68 @@
+package com.flowfoundation.wallet.manager.flow
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import org.onflow.flow.infrastructure.Cadence
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Runs read-only Cadence scripts against the access node.
+ *
+ * Identical scripts (same network, script text and arguments) that are already in flight are
+ * coalesced into a single request, and the number of concurrent requests is bounded so a burst of
+ * queries after a wallet switch does not flood the access node.
+ *
+ * The shared request runs in its own scope, so cancelling one caller does not cancel it for the
+ * others waiting on the same result. Callers passing a positive `cacheTtl` may also be served
+ * from [resultCache] without going to the network at all.
+ */
+class CadenceScriptExecutor(
+    maxConcurrentRequests: Int = DEFAULT_MAX_CONCURRENT_REQUESTS,
+    val resultCache: CadenceResultCache = CadenceResultCache(),
+    private val scope: CoroutineScope = CoroutineScope(SupervisorJob() + Dispatchers.IO),
+    private val executeScript: suspend (script: String, arguments: List<Cadence.Value>) -> Cadence.Value,
+) {
+
+    private data class ScriptKey(
+        val network: String,
+        val script: String,
+        val arguments: List<String>,
+    )
+
+    private val inFlight = ConcurrentHashMap<ScriptKey, Deferred<Cadence.Value>>()
+    private val permits = Semaphore(maxConcurrentRequests)
+
+    suspend fun execute(
+        network: String,
+        script: String,
+        arguments: List<Cadence.Value>,
+        cacheTtl: Long = 0,
+    ): Cadence.Value {
+        val encodedArguments = arguments.map { it.encode() }
+        if (cacheTtl > 0) {
+            resultCache.get(network, script, encodedArguments)?.let { return it }
+        }
+        val key = ScriptKey(network, script, encodedArguments)
+        val request = inFlight.computeIfAbsent(key) {
+            scope.async(start = CoroutineStart.LAZY) {
+                permits.withPermit { executeScript(script, arguments) }
+            }
+        }
+        request.invokeOnCompletion { inFlight.remove(key, request) }
+        return request.await().also {
+            resultCache.put(network, script, encodedArguments, it, cacheTtl)
+        }
+    }
+
+    fun inFlightCount() = inFlight.size
+
+    companion object {
+        const val DEFAULT_MAX_CONCURRENT_REQUESTS = 6
+    }
+}
@@ -1,6 +1,8 @@
 package com.flowfoundation.wallet.manager.flow
 
+import com.flowfoundation.wallet.manager.app.chainNetWorkString
 import com.flowfoundation.wallet.manager.app.isTestnet
+import com.flowfoundation.wallet.manager.flowjvm.CadenceScriptTemplates
 import com.flowfoundation.wallet.manager.flowjvm.FlowAddressRegistry
 import com.flowfoundation.wallet.utils.logd
 import com.flowfoundation.wallet.utils.loge
@@ -21,11 +23,29 @@ object FlowCadenceApi {
     var DEFAULT_CHAIN_ID: ChainId = ChainId.Mainnet
     var DEFAULT_ADDRESS_REGISTRY: AddressRegistry = AddressRegistry()
 
+    private val scriptExecutor by lazy {
+        CadenceScriptExecutor { script, arguments ->
+            get().executeScript(script = script, arguments = arguments.toMutableList())
+        }
+    }
+
+    val transactionPreparer by lazy {
+        TransactionPreparer(
+            fetchAccount = { getAccount(it) },
+            fetchReferenceBlockId = { getBlockHeader(null, sealed = BlockStatus.SEALED).id },
+            onChainSequenceNumber = { account, keyIndex ->
+                account.keys?.find { it.index.toInt() == keyIndex }?.sequenceNumber?.toLong() ?: 0L
+            }
+        )
+    }
+
     fun refreshConfig() {
         logd(TAG, "refreshConfig start")
         logd(TAG, "chainId:${chainId()}")
         DEFAULT_CHAIN_ID = chainId()
         DEFAULT_ADDRESS_REGISTRY = FlowAddressRegistry().addressRegistry()
+        CadenceScriptTemplates.clear()
+        transactionPreparer.clear()
         api = FlowApi(chainId())
     }
 
@@ -47,19 +67,31 @@ object FlowCadenceApi {
         return ret
     }
 
-    suspend fun executeCadenceScript(block: CadenceScriptBuilder.() -> Unit): Cadence.Value {
-        val api = get()
+    /**
+     * @param cacheTtl how long the result of this read-only script may be reused, 0 to always query
+     */
+    suspend fun executeCadenceScript(cacheTtl: Long = 0, block: CadenceScriptBuilder.() -> Unit): Cadence.Value {
         val builder = flowScript(block)
         return try {
-            api.executeScript(
+            scriptExecutor.execute(
+                network = chainNetWorkString(),
                 script = builder.script,
-                arguments = builder.arguments
+                arguments = builder.arguments.toList(),
+                cacheTtl = cacheTtl
             )
         } catch (t: Throwable) {
             throw Error("Error while running script", t)
         }
     }
 
+    /**
+     * Drops cached script results that were queried for [address], called once a transaction
+     * touching the account has sealed.
+     */
+    fun invalidateScriptResults(address: String) {
+        scriptExecutor.resultCache.invalidateAddress(address)
+    }
+
     suspend fun getAccount(address: String, blockHeight: String? = null, sealed: BlockStatus = BlockStatus.FINAL): Account {
         try {
             val account = get().getAccount(address, blockHeight, sealed)
@@ -86,6 +118,10 @@ object FlowCadenceApi {
         return get().sendTransaction(transaction)
     }
 
+    suspend fun getTransactionResult(transactionId: String): TransactionResult {
+        return get().getTransactionResult(transactionId)
+    }
+
     suspend fun waitForSeal(transactionId: String): TransactionResult {
         return get().waitForSeal(transactionId)
     }
@@ -0,0 +1,185 @@
+package com.flowfoundation.wallet.manager.flow
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.launch
+import org.onflow.flow.models.TransactionStatus
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Gathers what a transaction needs from the access node before it can be signed: the proposer
+ * and payer accounts and a reference block.
+ *
+ * The reference block is kept warm and refreshed in the background once it gets old, accounts are
+ * reused for a short while and fetched concurrently, and proposal key sequence numbers are counted
+ * locally per address and key, so back-to-back transactions do not wait for the previous one to
+ * be executed or re-fetch the account. [resync] drops the local state of an account after a
+ * transaction failed, e.g. with a sequence number mismatch.
+ */
+class TransactionPreparer<A : Any>(
+    private val fetchAccount: suspend (address: String) -> A,
+    private val fetchReferenceBlockId: suspend () -> String,
+    private val onChainSequenceNumber: (account: A, keyIndex: Int) -> Long,
+    private val referenceBlockMaxAge: Long = DEFAULT_REFERENCE_BLOCK_MAX_AGE,
+    private val accountMaxAge: Long = DEFAULT_ACCOUNT_MAX_AGE,
+    private val scope: CoroutineScope = CoroutineScope(SupervisorJob() + Dispatchers.IO),
+    private val clock: () -> Long = System::currentTimeMillis,
+) {
+
+    class Preparation<A>(
+        val proposer: A,
+        val payer: A?,
+        val referenceBlockId: String,
+    )
+
+    private val referenceBlock = RefreshingValue(referenceBlockMaxAge, referenceBlockMaxAge / 2) { fetchReferenceBlockId() }
+    private val accounts = ConcurrentHashMap<String, RefreshingValue<A>>()
+
+    // next sequence number to use, keyed by address and key index
+    private val sequenceNumbers = ConcurrentHashMap<String, Long>()
+
+    suspend fun prepare(proposer: String, payer: String?): Preparation<A> = coroutineScope {
+        val referenceBlockId = async { referenceBlockId() }
+        val payerAccount = payer?.takeIf { normalize(it) != normalize(proposer) }?.let { async { account(it) } }
+        val proposerAccount = account(proposer)
+        Preparation(
+            proposer = proposerAccount,
+            payer = payerAccount?.await() ?: proposerAccount.takeIf { payer != null },
+            referenceBlockId = referenceBlockId.await(),
+        )
+    }
+
+    suspend fun referenceBlockId(): String = referenceBlock.get()
+
+    suspend fun account(address: String): A {
+        return accounts.computeIfAbsent(normalize(address)) {
+            RefreshingValue(accountMaxAge, accountMaxAge) { fetchAccount(address) }
+        }.get()
+    }
+
+    /**
+     * Reserves the sequence number for the next transaction proposed with [keyIndex] of [address].
+     * [account] is the account used to sign it, whose on-chain number wins once it has caught up.
+     */
+    fun nextSequenceNumber(address: String, keyIndex: Int, account: A): Long {
+        val onChain = onChainSequenceNumber(account, keyIndex)
+        var reserved = onChain
+        sequenceNumbers.compute(sequenceKey(address, keyIndex)) { _, next ->
+            reserved = maxOf(next ?: 0, onChain)
+            reserved + 1
+        }
+        return reserved
+    }
+
+    /**
+     * Fetches the reference block, and the account of [address] if given, ahead of a transaction.
+     */
+    fun warmUp(address: String? = null) {
+        scope.launch {
+            runCatching { referenceBlockId() }
+            address?.let { runCatching { account(it) } }
+        }
+    }
+
+    fun resync(address: String) {
+        val normalized = normalize(address)
+        accounts.remove(normalized)
+        sequenceNumbers.keys.removeAll { it.startsWith("$normalized/") }
+    }
+
+    /**
+     * Resyncs [proposer] unless the transaction was executed, e.g. an expired transaction never
+     * used its sequence number although the local count moved past it. A transaction that was
+     * executed with an error did use it, the local count is kept then.
+     */
+    fun onTransactionResult(proposer: String, status: TransactionStatus?, errorMessage: String?) {
+        val isExecuted = status == TransactionStatus.SEALED || status == TransactionStatus.EXECUTED
+        if (!isExecuted || isSequenceNumberMismatch(errorMessage)) {
+            resync(proposer)
+        }
+    }
+
+    fun clear() {
+        referenceBlock.invalidate()
+        accounts.clear()
+        sequenceNumbers.clear()
+    }
+
+    private fun sequenceKey(address: String, keyIndex: Int) = "${normalize(address)}/$keyIndex"
+
+    private fun normalize(address: String) = address.removePrefix("0x").lowercase()
+
+    /**
+     * Single-flight value that is served from memory until [maxAge], and refreshed in the
+     * background once it is older than [refreshAfter].
+     */
+    private inner class RefreshingValue<T : Any>(
+        private val maxAge: Long,
+        private val refreshAfter: Long,
+        private val fetch: suspend () -> T,
+    ) {
+        private var value: T? = null
+        private var valueTime = 0L
+        private var request: Deferred<T>? = null
+
+        suspend fun get(): T {
+            val pending = synchronized(this) {
+                val cached = value
+                val age = clock() - valueTime
+                if (cached != null && age < maxAge) {
+                    if (age >= refreshAfter) {
+                        start()
+                    }
+                    return cached
+                }
+                start()
+            }
+            return pending.await()
+        }
+
+        fun invalidate() {
+            synchronized(this) {
+                value = null
+                request = null
+            }
+        }
+
+        private fun start(): Deferred<T> {
+            request?.let { return it }
+            val deferred = scope.async(start = CoroutineStart.LAZY) {
+                try {
+                    fetch().also {
+                        synchronized(this@RefreshingValue) {
+                            value = it
+                            valueTime = clock()
+                        }
+                    }
+                } finally {
+                    synchronized(this@RefreshingValue) { request = null }
+                }
+            }
+            request = deferred
+            deferred.start()
+            return deferred
+        }
+    }
+
+    companion object {
+        // a transaction expires 600 blocks after its reference block, this keeps well within it
+        const val DEFAULT_REFERENCE_BLOCK_MAX_AGE = 60_000L
+        const val DEFAULT_ACCOUNT_MAX_AGE = 5 * 60_000L
+
+        private const val SEQUENCE_NUMBER_ERROR_CODE = "[Error Code: 1007]"
+
+        fun isSequenceNumberMismatch(errorMessage: String?): Boolean {
+            errorMessage ?: return false
+            return errorMessage.contains(SEQUENCE_NUMBER_ERROR_CODE) ||
+                    errorMessage.contains("sequence number", ignoreCase = true)
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.flowfoundation.wallet.manager.flowjvm
+
+import com.flowfoundation.wallet.utils.extensions.toSafeDouble
+import com.flowfoundation.wallet.utils.extensions.toSafeFloat
+import com.flowfoundation.wallet.utils.extensions.toSafeInt
+import org.onflow.flow.infrastructure.Cadence
+
+/**
+ * Reads script results straight from the [Cadence.Value] tree, without encoding them to JSON and
+ * parsing that again.
+ *
+ * Optionals are unwrapped on every read, a nil or a value of another type reads as null or empty.
+ *
+ * ```
+ * result.mapArray { node -> node.asStruct()?.let { StakingNode(nodeID = it.string("nodeID").orEmpty()) } }
+ * ```
+ */
+fun Cadence.Value?.unwrapOptional(): Cadence.Value? {
+    var value = this
+    while (value is Cadence.Value.OptionalValue) {
+        value = value.value
+    }
+    return value
+}
+
+/**
+ * The value of a string, address, number, bool or other simple type as a string.
+ */
+fun Cadence.Value?.asString(): String? {
+    return when (val value = unwrapOptional()?.value) {
+        null, is Cadence.Value, is Cadence.CompositeValue, is Collection<*> -> null
+        else -> value.toString()
+    }
+}
+
+fun Cadence.Value?.asStruct(): CadenceStruct? {
+    val composite = unwrapOptional()?.value as? Cadence.CompositeValue ?: return null
+    return CadenceStruct(composite.fields)
+}
+
+inline fun <T> Cadence.Value?.mapArray(transform: (Cadence.Value) -> T?): List<T> {
+    val array = unwrapOptional() as? Cadence.Value.ArrayValue ?: return emptyList()
+    return array.value.mapNotNull(transform)
+}
+
+inline fun <T> Cadence.Value?.mapEntries(transform: (key: Cadence.Value, value: Cadence.Value) -> T?): List<T> {
+    val dictionary = unwrapOptional() as? Cadence.Value.DictionaryValue ?: return emptyList()
+    return dictionary.value.mapNotNull { transform(it.key, it.value) }
+}
+
+/**
+ * The fields of a struct, resource or event.
+ */
+@JvmInline
+value class CadenceStruct(private val fields: List<Cadence.CompositeAttribute>) {
+
+    operator fun get(name: String): Cadence.Value? {
+        return fields.firstOrNull { it.name == name }?.value
+    }
+
+    fun string(name: String): String? = get(name).asString()
+
+    fun int(name: String): Int = string(name).toSafeInt()
+
+    fun double(name: String): Double = string(name).toSafeDouble()
+
+    fun float(name: String): Float = string(name).toSafeFloat()
+
+    fun struct(name: String): CadenceStruct? = get(name).asStruct()
+}
@@ -25,7 +25,6 @@ import com.flowfoundation.wallet.utils.loge
 import com.flowfoundation.wallet.utils.logv
 import com.flowfoundation.wallet.utils.reportCadenceErrorToDebugView
 import com.flowfoundation.wallet.wallet.toAddress
-import org.onflow.flow.AddressRegistry
 import org.onflow.flow.infrastructure.Cadence
 import org.onflow.flow.infrastructure.Cadence.Companion.string
 import java.math.BigDecimal
@@ -70,7 +69,7 @@ suspend fun cadenceQueryTokenBalanceWithAddress(token: FungibleToken?, address:
     }
     logd(TAG, "cadenceQueryTokenBalanceWithAddress()")
     val script = CadenceScript.CADENCE_GET_BALANCE
-    val result = token.formatCadence(script).executeCadence(script.scriptId) {
+    val result = token.formatCadence(script).executeCadence(script.scriptId, script.resultTtl()) {
         arg { Cadence.address(address) }
     }
     logd(
@@ -671,22 +670,19 @@ suspend fun cadenceBridgeFTFromCOA(
 }
 
 suspend fun CadenceScript.executeCadence(block: CadenceScriptBuilder.() -> Unit): Cadence.Value? {
-    return this.getScript().executeCadence(this.scriptId, block)
+    return CadenceScriptTemplates.template(this).executeCadence(this.scriptId, this.resultTtl(), block)
 }
 
-suspend fun String.executeCadence(scriptId: String, block: CadenceScriptBuilder.() -> Unit): Cadence.Value? {
-    logv(
-        TAG,
-        "executeScript:\n${
-            AddressRegistry().processScript(
-                this,
-                chainId = AddressRegistry().defaultChainId
-            )
-        }"
-    )
+suspend fun String.executeCadence(
+    scriptId: String,
+    cacheTtl: Long = 0,
+    block: CadenceScriptBuilder.() -> Unit
+): Cadence.Value? {
+    val script = CadenceScriptTemplates.process(this)
+    logv(TAG, "executeScript:$scriptId\n$script")
     return try {
-        FlowCadenceApi.executeCadenceScript {
-            script { this@executeCadence.addPlatformInfo().trimIndent() }
+        FlowCadenceApi.executeCadenceScript(cacheTtl) {
+            script(script)
             block()
         }
     } catch (e: Throwable) {
@@ -705,7 +701,7 @@ class ScriptExecutionException(
 ) : Throwable("Error while running script :: \n $script", cause)
 
 suspend fun CadenceScript.transactionByMainWallet(arguments: CadenceArgumentsBuilder.() -> Unit): String? {
-    return this.getScript().transactionByMainWallet(this.scriptId, arguments)
+    return CadenceScriptTemplates.template(this).transactionByMainWallet(this.scriptId, arguments)
 }
 
 suspend fun String.transactionByMainWallet(scriptId: String, arguments: CadenceArgumentsBuilder.() -> Unit): String? {
@@ -736,7 +732,7 @@ suspend fun CadenceScript.transactionWithBridgePayer(arguments: CadenceArguments
         sendBridgeTransaction {
             args.build().forEach { arg(it) }
             walletAddress(walletAddress)
-            script(this@transactionWithBridgePayer.getScript().addPlatformInfo())
+            script(CadenceScriptTemplates.template(this@transactionWithBridgePayer).addPlatformInfo())
             payer(AppConfig.bridgeFeePayer().address)
             scriptId(this@transactionWithBridgePayer.scriptId)
         }
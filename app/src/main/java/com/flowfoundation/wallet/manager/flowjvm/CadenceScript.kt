@@ -1,6 +1,10 @@
 package com.flowfoundation.wallet.manager.flowjvm
 
 import com.flowfoundation.wallet.manager.cadence.CadenceApiManager
+import java.util.concurrent.TimeUnit
+
+private val APY_RESULT_TTL = TimeUnit.HOURS.toMillis(1)
+private val ACCOUNT_RESULT_TTL = TimeUnit.SECONDS.toMillis(10)
 
 
 enum class CadenceScript(val scriptId: String, val type: CadenceScriptType) {
@@ -109,6 +113,34 @@ enum class CadenceScript(val scriptId: String, val type: CadenceScriptType) {
     CADENCE_CLAIM_INBOX_TOKEN("claimFTFromInbox", CadenceScriptType.DOMAIN),
     CADENCE_CLAIM_INBOX_NFT("claimNFTFromInbox", CadenceScriptType.DOMAIN);
 
+    /**
+     * How long the result of this read-only script may be reused, in milliseconds.
+     * 0 disables result caching, which is the case for every transaction and uncached query.
+     */
+    fun resultTtl(): Long {
+        return when (this) {
+            CADENCE_GET_STAKE_APY_BY_WEEK,
+            CADENCE_GET_STAKE_APY_BY_YEAR -> APY_RESULT_TTL
+
+            CADENCE_GET_BALANCE,
+            CADENCE_GET_ALL_FLOW_BALANCE,
+            CADENCE_QUERY_STORAGE_INFO,
+            CADENCE_QUERY_MIN_FLOW_BALANCE,
+            CADENCE_GET_ACCOUNT_INFO,
+            CADENCE_GET_TOKEN_LIST_BALANCE,
+            CADENCE_GET_TOKEN_BALANCE_STORAGE,
+            CADENCE_CHECK_TOKEN_LIST_ENABLED,
+            CADENCE_CHECK_NFT_LIST_ENABLED,
+            CADENCE_GET_NFT_BALANCE_STORAGE,
+            CADENCE_QUERY_STAKE_INFO,
+            CADENCE_GET_DELEGATOR_INFO,
+            CADENCE_CHECK_IS_STAKING_SETUP,
+            CADENCE_CHECK_STAKING_ENABLED -> ACCOUNT_RESULT_TTL
+
+            else -> 0
+        }
+    }
+
     fun getScript(): String {
         return when (type) {
             CadenceScriptType.BASIC -> CadenceApiManager.getCadenceBasicScript(scriptId)
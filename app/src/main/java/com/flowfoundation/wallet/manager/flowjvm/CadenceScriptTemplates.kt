@@ -0,0 +1,84 @@
+package com.flowfoundation.wallet.manager.flowjvm
+
+import com.flowfoundation.wallet.manager.app.chainNetwork
+import com.flowfoundation.wallet.manager.flow.FlowCadenceApi
+
+/**
+ * Resolved Cadence scripts, so the base64 decoding, `<Token>`/`<NFT>` placeholder replacement and
+ * address import substitution run once per (network, script, token/collection) instead of on
+ * every call.
+ *
+ * Both caches are cleared whenever [com.flowfoundation.wallet.manager.cadence.CadenceApiManager]
+ * switches to a new script bundle or the address registry is refreshed.
+ */
+object CadenceScriptTemplates {
+
+    private const val MAX_ENTRIES = 256
+
+    private data class TemplateKey(
+        val network: Int,
+        val scriptId: String,
+        val variant: String,
+    )
+
+    private data class ProcessedKey(
+        val network: Int,
+        val template: String,
+    )
+
+    private val templates = lruMap<TemplateKey, String>()
+    private val processed = lruMap<ProcessedKey, String>()
+
+    /**
+     * The script text of [script] with token/collection placeholders filled by [format].
+     * [variant] must identify everything [format] depends on, see [variantOf].
+     */
+    fun template(script: CadenceScript, variant: String = "", format: (String) -> String = { it }): String {
+        return template(script.scriptId, variant, script::getScript, format)
+    }
+
+    /**
+     * A variant key made of every value a format lambda substitutes, so two tokens or collections
+     * that differ in any path never share a template.
+     */
+    fun variantOf(vararg values: String?): String = values.joinToString("|")
+
+    internal fun template(scriptId: String, variant: String, load: () -> String, format: (String) -> String): String {
+        val key = TemplateKey(chainNetwork(), scriptId, variant)
+        synchronized(templates) { templates[key] }?.let { return it }
+        val template = format(load())
+        // Do not cache an empty script, the bundle might not be loaded yet
+        if (template.isNotBlank()) {
+            synchronized(templates) { templates[key] = template }
+        }
+        return template
+    }
+
+    /**
+     * [template] with platform info and contract imports resolved, ready to be sent to the access
+     * node. Templates returned by [template] are the same instances across calls, so the lookup
+     * only hashes the text once.
+     */
+    fun process(template: String): String {
+        val key = ProcessedKey(chainNetwork(), template)
+        synchronized(processed) { processed[key] }?.let { return it }
+        val script = FlowCadenceApi.DEFAULT_ADDRESS_REGISTRY.processScript(
+            script = template.addPlatformInfo().trimIndent(),
+            chainId = FlowCadenceApi.DEFAULT_CHAIN_ID,
+            addresses = mapOf()
+        )
+        synchronized(processed) { processed[key] = script }
+        return script
+    }
+
+    fun clear() {
+        synchronized(templates) { templates.clear() }
+        synchronized(processed) { processed.clear() }
+    }
+
+    private fun <K, V> lruMap() = object : LinkedHashMap<K, V>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<K, V>?): Boolean {
+            return size > MAX_ENTRIES
+        }
+    }
+}
@@ -39,23 +39,29 @@ fun addressVerify(address: String): Boolean {
 }
 
 fun Nft.formatCadence(cadenceScript: CadenceScript): String {
-    val config = NftCollectionConfig.get(collectionAddress, contractName()) ?: return cadenceScript.getScript()
+    val config = NftCollectionConfig.get(collectionAddress, contractName()) ?: return CadenceScriptTemplates.template(cadenceScript)
     return config.formatCadence(cadenceScript)
 }
 
 fun NftCollection.formatCadence(cadenceScript: CadenceScript): String {
-    return cadenceScript.getScript().replace("<NFT>", contractName ?: "")
-        .replace("<NFTAddress>", address ?: "")
-        .replace("<CollectionStoragePath>", path?.storagePath ?: "")
-        .replace("<CollectionPublic>", path?.publicCollectionName ?: "")
-        .replace("<CollectionPublicPath>", path?.publicPath ?: "")
-        .replace("<Token>", contractName ?: "")
-        .replace("<TokenAddress>", address ?: "")
-        .replace("<TokenCollectionStoragePath>", path?.storagePath ?: "")
-        .replace("<TokenCollectionPublic>", path?.publicCollectionName ?: "")
-        .replace("<TokenCollectionPublicPath>", path?.publicPath ?: "")
-        .replace("<CollectionPublicType>", path?.publicType ?: "")
-        .replace("<CollectionPrivateType>", path?.privateType ?: "")
+    val variant = CadenceScriptTemplates.variantOf(
+        contractName, address, path?.storagePath, path?.publicCollectionName, path?.publicPath,
+        path?.publicType, path?.privateType,
+    )
+    return CadenceScriptTemplates.template(cadenceScript, variant) { script ->
+        script.replace("<NFT>", contractName ?: "")
+            .replace("<NFTAddress>", address ?: "")
+            .replace("<CollectionStoragePath>", path?.storagePath ?: "")
+            .replace("<CollectionPublic>", path?.publicCollectionName ?: "")
+            .replace("<CollectionPublicPath>", path?.publicPath ?: "")
+            .replace("<Token>", contractName ?: "")
+            .replace("<TokenAddress>", address ?: "")
+            .replace("<TokenCollectionStoragePath>", path?.storagePath ?: "")
+            .replace("<TokenCollectionPublic>", path?.publicCollectionName ?: "")
+            .replace("<TokenCollectionPublicPath>", path?.publicPath ?: "")
+            .replace("<CollectionPublicType>", path?.publicType ?: "")
+            .replace("<CollectionPrivateType>", path?.privateType ?: "")
+    }
 }
 
 class CadenceArgumentsBuilder {
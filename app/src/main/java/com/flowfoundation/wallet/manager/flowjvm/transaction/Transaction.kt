@@ -1,7 +1,6 @@
 package com.flowfoundation.wallet.manager.flowjvm.transaction
 
 import com.flow.wallet.CryptoProvider
-import com.google.gson.Gson
 import com.flowfoundation.wallet.manager.config.AppConfig
 import com.flowfoundation.wallet.manager.config.isGasFree
 import com.flowfoundation.wallet.manager.key.CryptoProviderManager
@@ -10,6 +9,7 @@ import com.flowfoundation.wallet.network.BASE_HOST
 import com.flowfoundation.wallet.network.functions.FUNCTION_SIGN_AS_BRIDGE_PAYER
 import com.flowfoundation.wallet.network.functions.FUNCTION_SIGN_AS_PAYER
 import com.flowfoundation.wallet.network.functions.executeHttpFunction
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.error.ErrorReporter
 import com.flowfoundation.wallet.utils.error.InvalidKeyException
 import com.flowfoundation.wallet.utils.error.WalletError
@@ -94,6 +94,7 @@ suspend fun sendTransaction(
             safeRunSuspend {
                 try {
                     val txResult = FlowCadenceApi.waitForSeal(txID)
+                    FlowCadenceApi.transactionPreparer.onTransactionResult(tx.proposalKey.address, txResult.status, txResult.errorMessage)
                     val isSuccess = when (txResult.status) {
                         TransactionStatus.SEALED -> txResult.execution == TransactionExecution.success && txResult.errorMessage.isBlank()
                         TransactionStatus.EXPIRED -> false
@@ -111,6 +112,8 @@ suspend fun sendTransaction(
                     )
                 } catch (e: Exception) {
                     logd(TAG, "Transaction monitoring failed for $txID: ${e.message}")
+                    // the result is unknown, read the sequence number from chain next time
+                    FlowCadenceApi.transactionPreparer.resync(tx.proposalKey.address)
                     MixpanelManager.cadenceTransactionSigned(
                         cadence = tx.script,
                         txId = txID,
@@ -125,6 +128,8 @@ suspend fun sendTransaction(
         return txID
     } catch (e: Exception) {
         loge(e)
+        // the reserved sequence number may not have been used, read it from chain next time
+        transactionBuilder.walletAddress?.let { FlowCadenceApi.transactionPreparer.resync(it) }
         val errorMessage = when (e) {
             is InvalidKeyException -> "Invalid key: ${e.message}"
             is RuntimeException -> "Transaction error: ${e.message}"
@@ -173,6 +178,7 @@ suspend fun sendBridgeTransaction(
             safeRunSuspend {
                 try {
                     val txResult = FlowCadenceApi.waitForSeal(txID)
+                    FlowCadenceApi.transactionPreparer.onTransactionResult(tx.proposalKey.address, txResult.status, txResult.errorMessage)
                     val isSuccess = when (txResult.status) {
                         TransactionStatus.SEALED -> txResult.execution == TransactionExecution.success && txResult.errorMessage.isBlank()
                         TransactionStatus.EXPIRED -> false
@@ -190,6 +196,8 @@ suspend fun sendBridgeTransaction(
                     )
                 } catch (e: Exception) {
                     logd(TAG, "Bridge transaction monitoring failed for $txID: ${e.message}")
+                    // the result is unknown, read the sequence number from chain next time
+                    FlowCadenceApi.transactionPreparer.resync(tx.proposalKey.address)
                     MixpanelManager.cadenceTransactionSigned(
                         cadence = tx.script,
                         txId = txID,
@@ -204,6 +212,8 @@ suspend fun sendBridgeTransaction(
         return txID
     } catch (e: Exception) {
         loge(e)
+        // the reserved sequence number may not have been used, read it from chain next time
+        transactionBuilder.walletAddress?.let { FlowCadenceApi.transactionPreparer.resync(it) }
         val errorMessage = when (e) {
             is InvalidKeyException -> "Invalid key: ${e.message}"
             is RuntimeException -> "Transaction error: ${e.message}"
@@ -263,6 +273,7 @@ suspend fun sendTransactionWithMultiSignature(
         safeRunSuspend {
             try {
                 val txResult = FlowCadenceApi.waitForSeal(txID)
+                FlowCadenceApi.transactionPreparer.onTransactionResult(tx.proposalKey.address, txResult.status, txResult.errorMessage)
                 val isSuccess = when (txResult.status) {
                     TransactionStatus.SEALED -> txResult.execution == TransactionExecution.success && txResult.errorMessage.isBlank()
                     TransactionStatus.EXPIRED -> false
@@ -280,6 +291,8 @@ suspend fun sendTransactionWithMultiSignature(
                 )
             } catch (e: Exception) {
                 logd(TAG, "Multi-signature transaction monitoring failed for $txID: ${e.message}")
+                // the result is unknown, read the sequence number from chain next time
+                FlowCadenceApi.transactionPreparer.resync(tx.proposalKey.address)
                 MixpanelManager.cadenceTransactionSigned(
                     cadence = tx.script,
                     txId = txID,
@@ -304,7 +317,11 @@ suspend fun prepareAndSignWithMultiSignature(
     val proposerAddress = appBuilder.walletAddress?.toAddress()
         ?: throw IllegalArgumentException("Wallet address (proposer) is required for multi-signature.")
     
-    val flowAccount = FlowCadenceApi.getAccount(proposerAddress)
+    val actualPayerAddress = (appBuilder.payer?.removeHexPrefix()
+        ?: (if (isGasFree()) AppConfig.payer().address.removeHexPrefix() else proposerAddress.removeHexPrefix()))
+
+    val preparation = FlowCadenceApi.transactionPreparer.prepare(proposerAddress, actualPayerAddress)
+    val flowAccount = preparation.proposer
     val accountKeys = flowAccount.keys?.toList() 
         ?: throw InvalidKeyException("On-chain account $proposerAddress has no keys")
 
@@ -325,10 +342,8 @@ suspend fun prepareAndSignWithMultiSignature(
         throw InvalidKeyException("None of the provided crypto providers have a matching key on account $proposerAddress.")
     }
 
-    val actualPayerAddress = (appBuilder.payer?.removeHexPrefix()
-        ?: (if (isGasFree()) AppConfig.payer().address.removeHexPrefix() else proposerAddress.removeHexPrefix()))
-
     val authorizers = determineAuthorizers(appBuilder, proposerAddress, actualPayerAddress)
+    val sequenceNumber = FlowCadenceApi.transactionPreparer.nextSequenceNumber(proposerAddress, designatedProposalKey.index.toInt(), flowAccount)
 
     logd(TAG, "prepareAndSignWithMultiSignature: proposer=$proposerAddress, payer=$actualPayerAddress, authorizers=$authorizers")
     logd(TAG, "prepareAndSignWithMultiSignature: KMM Signers for buildAndSign (${kmmSigners.size}): ${kmmSigners.joinToString { it.address + "-" + it.keyIndex }}")
@@ -339,12 +354,12 @@ suspend fun prepareAndSignWithMultiSignature(
         arguments = appBuilder.arguments,
         gasLimit = BigInteger.fromLong(appBuilder.limit?.toLong() ?: 9999L)
     ).apply {
-        withReferenceBlockId(FlowCadenceApi.getBlockHeader(null).id.removeHexPrefix())
+        withReferenceBlockId(preparation.referenceBlockId.removeHexPrefix())
         withPayer(actualPayerAddress)
         withProposalKey(
             address = proposerAddress.removeHexPrefix(),
             keyIndex = designatedProposalKey.index.toInt(),
-            sequenceNumber = BigInteger.fromLong(designatedProposalKey.sequenceNumber.toLong())
+            sequenceNumber = BigInteger.fromLong(sequenceNumber)
         )
         withAuthorizers(authorizers)
         withSigners(kmmSigners)
@@ -545,7 +560,7 @@ suspend fun Transaction.addLocalEnvelopeSignatures(): Transaction {
         keyIndexForSigning = this.proposalKey.keyIndex
         logd(TAG, "Payer is Proposer. Using tx.proposalKey.keyIndex ($keyIndexForSigning) for envelope signature.")
 
-        val payerAccount = FlowCadenceApi.getAccount(this.payer)
+        val payerAccount = FlowCadenceApi.transactionPreparer.account(this.payer)
         val payerAccountKeys = payerAccount.keys?.toList()
             ?: throw InvalidKeyException("Payer account ${this.payer} has no keys for proposal key verification.")
 
@@ -565,7 +580,7 @@ suspend fun Transaction.addLocalEnvelopeSignatures(): Transaction {
         // Payer is different from Proposer - find the provider's key on the payer account
         logd(TAG, "Payer (${this.payer}) is different from Proposer (${this.proposalKey.address}) in addLocalEnvelopeSignatures.")
         
-        val externalPayerAccount = FlowCadenceApi.getAccount(this.payer)
+        val externalPayerAccount = FlowCadenceApi.transactionPreparer.account(this.payer)
         val externalPayerAccountKeys = externalPayerAccount.keys?.toList() 
             ?: throw InvalidKeyException("Specified payer account ${this.payer} has no keys.")
         
@@ -591,7 +606,7 @@ suspend fun Transaction.addLocalEnvelopeSignatures(): Transaction {
 }
 
 suspend fun Transaction.buildPayerSignable(): PayerSignable? {
-    val payerAccount = FlowCadenceApi.getAccount(payer)
+    val payerAccount = FlowCadenceApi.transactionPreparer.account(payer)
     payerAccount.keys ?: return null
 
     val formattedTx = copy(
@@ -626,7 +641,7 @@ suspend fun Transaction.buildPayerSignable(): PayerSignable? {
 }
 
 suspend fun Transaction.buildBridgeFeePayerSignable(): PayerSignable? {
-    val payerAccount = FlowCadenceApi.getAccount(payer)
+    val payerAccount = FlowCadenceApi.transactionPreparer.account(payer)
     payerAccount.keys ?: return null
 
     val formattedTx = copy(
@@ -675,8 +690,11 @@ suspend fun prepare(builder: TransactionBuilder): Transaction {
 
     val walletAddress = builder.walletAddress?.toAddress().orEmpty()
     logd(TAG, "prepare target walletAddress (from builder.walletAddress): $walletAddress")
-    
-    val flowAccount = FlowCadenceApi.getAccount(walletAddress)
+
+    // Determine payer up front so its account is fetched together with the proposer and reference block
+    val payer = builder.payer?.removeHexPrefix() ?: (if (isGasFree()) AppConfig.payer().address.removeHexPrefix() else builder.walletAddress?.removeHexPrefix()).orEmpty()
+    val preparation = FlowCadenceApi.transactionPreparer.prepare(walletAddress, payer)
+    val flowAccount = preparation.proposer
     val currentNetworkName = chainNetWorkString()
     logd(TAG, "Current network for account lookup: $currentNetworkName. Target transaction address: $walletAddress")
 
@@ -708,12 +726,11 @@ suspend fun prepare(builder: TransactionBuilder): Transaction {
     val keyOnChainHashingAlgorithm = currentKey.hashingAlgorithm
     logd(TAG, "Using KMM hashing algorithm ${keyOnChainHashingAlgorithm.name} for key ${currentKey.index} on account $walletAddress")
 
-    // Determine payer and authorizers
-    val payer = builder.payer?.removeHexPrefix() ?: (if (isGasFree()) AppConfig.payer().address.removeHexPrefix() else builder.walletAddress?.removeHexPrefix()).orEmpty()
+    // Determine authorizers
     val authorizers = determineAuthorizers(builder, flowAccount.address, payer)
 
-    // Get reference block ID
-    val referenceBlockId = FlowCadenceApi.getBlockHeader(null).id.removeHexPrefix()
+    val referenceBlockId = preparation.referenceBlockId.removeHexPrefix()
+    val sequenceNumber = FlowCadenceApi.transactionPreparer.nextSequenceNumber(flowAccount.address, currentKey.index.toInt(), flowAccount)
     val script = builder.script.orEmpty()
     logd(TAG, "Cadence script for TransactionBuilder: $script")
 
@@ -752,7 +769,7 @@ suspend fun prepare(builder: TransactionBuilder): Transaction {
     logd(TAG, "  - Gas limit: ${builder.limit}")
     logd(TAG, "  - Reference block ID: $referenceBlockId")
     logd(TAG, "  - Payer: $payer")
-    logd(TAG, "  - Proposal key: address=${flowAccount.address.removeHexPrefix()}, keyIndex=${currentKey.index.toInt()}, seqNum=${currentKey.sequenceNumber.toLong()}")
+    logd(TAG, "  - Proposal key: address=${flowAccount.address.removeHexPrefix()}, keyIndex=${currentKey.index.toInt()}, seqNum=$sequenceNumber")
     logd(TAG, "  - Authorizers: $authorizers")
     logd(TAG, "  - Signer: address=${kmmSigner.address}, keyIndex=${kmmSigner.keyIndex}")
     
@@ -769,7 +786,7 @@ suspend fun prepare(builder: TransactionBuilder): Transaction {
             withProposalKey(
                 address = flowAccount.address.removeHexPrefix(),
                 keyIndex = currentKey.index.toInt(),
-                sequenceNumber = BigInteger.fromLong(currentKey.sequenceNumber.toLong())
+                sequenceNumber = BigInteger.fromLong(sequenceNumber)
             )
             withAuthorizers(authorizers)
             withSigners(listOf(kmmSigner))
@@ -805,7 +822,7 @@ suspend fun Transaction.addFreeGasEnvelope(): Transaction {
     val response = executeHttpFunction(FUNCTION_SIGN_AS_PAYER, signable)
     logd(TAG, "Received envelope signature response: $response")
 
-    val sign = Gson().fromJson(response, SignPayerResponse::class.java).envelopeSigs
+    val sign = JsonCodec.gson.fromJson(response, SignPayerResponse::class.java).envelopeSigs
     logd(TAG, "Parsed envelope signature: $sign")
 
     val newEnvelopeSignature = TransactionSignature(
@@ -822,7 +839,7 @@ suspend fun Transaction.addFreeBridgeFeeEnvelope(): Transaction {
     val response = executeHttpFunction(FUNCTION_SIGN_AS_BRIDGE_PAYER, buildBridgeFeePayerSignable(), BASE_HOST)
     logd(TAG, "response:$response")
 
-    val sign = Gson().fromJson(response, SignPayerResponse::class.java).envelopeSigs
+    val sign = JsonCodec.gson.fromJson(response, SignPayerResponse::class.java).envelopeSigs
 
     val newEnvelopeSignature = TransactionSignature(
         address = sign.address,
@@ -6,6 +6,7 @@ import com.flowfoundation.wallet.manager.account.AccountWalletManager
 import com.flowfoundation.wallet.manager.account.model.LocalSwitchAccount
 import com.flowfoundation.wallet.manager.backup.BackupCryptoProvider
 import com.flowfoundation.wallet.page.restore.keystore.PrivateKeyStoreCryptoProvider
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.wallet.Wallet
 import com.flow.wallet.CryptoProvider
 import com.flow.wallet.keys.PrivateKey
@@ -23,7 +24,6 @@ import org.onflow.flow.ChainId
 import org.onflow.flow.models.HashingAlgorithm
 import org.onflow.flow.models.SigningAlgorithm
 import kotlinx.coroutines.runBlocking
-import com.google.gson.Gson
 import com.google.gson.reflect.TypeToken
 import java.util.HashMap
 import com.flowfoundation.wallet.utils.readWalletPassword
@@ -173,7 +173,7 @@ object CryptoProviderManager {
                     val passwordMap: HashMap<String, String> = if (pref.isBlank()) {
                         HashMap<String, String>()
                     } else {
-                        Gson().fromJson<HashMap<String, String>>(pref, object : TypeToken<HashMap<String, String>>() {}.type)
+                        JsonCodec.gson.fromJson<HashMap<String, String>>(pref, object : TypeToken<HashMap<String, String>>() {}.type)
                     }
                     val multiRestoreCount = passwordMap["multi_restore_count"]?.toIntOrNull() ?: 0
                     val multiRestoreAddress = passwordMap["multi_restore_address"] ?: ""
@@ -365,7 +365,7 @@ object CryptoProviderManager {
                     
                     // Load mnemonics from stored multi-restore data
                     val pref = readWalletPassword()
-                    val passwordMap: HashMap<String, String> = Gson().fromJson<HashMap<String, String>>(pref, object : TypeToken<HashMap<String, String>>() {}.type)
+                    val passwordMap: HashMap<String, String> = JsonCodec.gson.fromJson<HashMap<String, String>>(pref, object : TypeToken<HashMap<String, String>>() {}.type)
                     
                     val mnemonics = mutableListOf<String>()
                     val multiRestoreCount = passwordMap["multi_restore_count"]?.toIntOrNull() ?: 0
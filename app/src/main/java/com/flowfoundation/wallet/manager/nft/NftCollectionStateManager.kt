@@ -20,10 +20,12 @@ object NftCollectionStateManager {
     private val listeners = CopyOnWriteArrayList<WeakReference<NftCollectionStateChangeListener>>()
 
     fun reload() {
-        ioScope {
-            tokenStateList.clear()
-            tokenStateList.addAll(nftCollectionStateCache().read()?.stateList ?: emptyList())
-        }
+        ioScope { reloadSync() }
+    }
+
+    fun reloadSync() {
+        tokenStateList.clear()
+        tokenStateList.addAll(nftCollectionStateCache().read()?.stateList ?: emptyList())
     }
 
     fun fetchState(onFinish: (() -> Unit)? = null) {
@@ -2,6 +2,7 @@ package com.flowfoundation.wallet.manager.notification
 
 import com.flowfoundation.wallet.page.notification.model.ConditionType
 import com.flowfoundation.wallet.page.notification.model.WalletNotification
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.getNotificationReadList
 import com.flowfoundation.wallet.utils.ioScope
 import com.flowfoundation.wallet.utils.logd
@@ -29,7 +30,7 @@ object WalletNotificationManager {
     init {
         ioScope {
             val cachedReadList = getNotificationReadList()
-            val list = Gson().fromJson<List<String>>(cachedReadList, object : TypeToken<List<String>>() {}.type) ?: emptyList()
+            val list = JsonCodec.gson.fromJson<List<String>>(cachedReadList, object : TypeToken<List<String>>() {}.type) ?: emptyList()
             readList.clear()
             readList.addAll(list)
         }
@@ -73,7 +74,7 @@ object WalletNotificationManager {
         }
         readList.add(id)
         ioScope {
-            updateNotificationListPref(Gson().toJson(readList))
+            updateNotificationListPref(JsonCodec.gson.toJson(readList))
         }
     }
 
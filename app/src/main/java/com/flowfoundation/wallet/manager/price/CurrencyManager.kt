@@ -22,11 +22,13 @@ object CurrencyManager {
     fun currencyFlag() = flag
 
     fun init() {
-        ioScope {
-            flag = getCurrencyFlag()
-            currencyMap.putAll(currencyCache().read()?.data?.associate { it.flag to it.price }.orEmpty())
-            fetchInternal(flag)
-        }
+        ioScope { initSync() }
+    }
+
+    suspend fun initSync() {
+        flag = getCurrencyFlag()
+        currencyMap.putAll(currencyCache().read()?.data?.associate { it.flag to it.price }.orEmpty())
+        fetchInternal(flag)
     }
 
     fun currencyPrice(): Float {
@@ -53,15 +55,27 @@ object CurrencyManager {
 
     private fun currencyPriceInternal(flag: String): Float = currencyMap[flag] ?: -1.0f
 
+    /**
+     * Fetches the rate of the selected currency and waits for it, for refreshes that update
+     * several things at once.
+     */
+    suspend fun refresh() {
+        val flag = getCurrencyFlag()
+        this.flag = flag
+        fetchSync(flag)
+    }
+
     private fun fetchInternal(flag: String) {
-        ioScope {
-            val service = retrofit().create(ApiService::class.java)
-            val response = service.currency(findCurrencyFromFlag(flag).name)
-            if (response.data.result > 0) {
-                currencyMap[flag] = response.data.result
-                currencyCache().cache(CurrencyCache(currencyMap.map { CurrencyPrice(it.key, it.value) }))
-                dispatchListener(flag, response.data.result)
-            }
+        ioScope { fetchSync(flag) }
+    }
+
+    private suspend fun fetchSync(flag: String) {
+        val service = retrofit().create(ApiService::class.java)
+        val response = service.currency(findCurrencyFromFlag(flag).name)
+        if (response.data.result > 0) {
+            currencyMap[flag] = response.data.result
+            currencyCache().cache(CurrencyCache(currencyMap.map { CurrencyPrice(it.key, it.value) }))
+            dispatchListener(flag, response.data.result)
         }
     }
 
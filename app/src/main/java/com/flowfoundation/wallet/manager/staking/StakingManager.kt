@@ -44,13 +44,15 @@ object StakingManager {
     private val listeners = mutableListOf<WeakReference<StakingInfoUpdateListener>>()
 
     fun init() {
-        ioScope {
-            val cache = stakingCache().read()
-            stakingInfo = cache?.info ?: StakingInfo()
-            apy = cache?.apy ?: apy
-            apyYear = cache?.apyYear ?: apyYear
-            isSetup = cache?.isSetup ?: isSetup
-        }
+        ioScope { initSync() }
+    }
+
+    fun initSync() {
+        val cache = stakingCache().read()
+        stakingInfo = cache?.info ?: StakingInfo()
+        apy = cache?.apy ?: apy
+        apyYear = cache?.apyYear ?: apyYear
+        isSetup = cache?.isSetup ?: isSetup
     }
 
     fun addStakingInfoUpdateListener(listener: StakingInfoUpdateListener) {
@@ -86,14 +88,16 @@ object StakingManager {
     }
 
     fun refresh() {
-        ioScope {
-            updateApy()
-            isSetup = checkHasBeenSetup()
-            stakingInfo = queryStakingInfo() ?: stakingInfo
-            refreshDelegatorInfo()
-            cache()
-            dispatchListener()
-        }
+        ioScope { refreshSync() }
+    }
+
+    suspend fun refreshSync() {
+        updateApy()
+        isSetup = checkHasBeenSetup()
+        stakingInfo = queryStakingInfo() ?: stakingInfo
+        refreshDelegatorInfo()
+        cache()
+        dispatchListener()
     }
 
     suspend fun setup() = suspendCoroutine { continuation ->
@@ -143,9 +147,7 @@ object StakingManager {
             val response = CadenceScript.CADENCE_QUERY_STAKE_INFO.executeCadence {
                 arg { Cadence.address(address) }
             }
-            val text = response?.encode()
-            logv(TAG, "queryStakingInfo response:$text")
-            parseStakingInfoResult(text)
+            parseStakingInfoResult(response).also { logv(TAG, "queryStakingInfo result:$it") }
         }.onFailure {
             println(it)
             ErrorReporter.reportWithMixpanel(StakingError.STAKING_QUERY_INFO_FAILED, it)
@@ -231,9 +233,10 @@ private suspend fun getDelegatorInfo() = suspendCoroutine { continuation ->
             val address = WalletManager.selectedWalletAddress()
             val response = CadenceScript.CADENCE_GET_DELEGATOR_INFO.executeCadence {
                 arg { Cadence.address(address) }
-            }?.encode()
-            logv(TAG, "getDelegatorInfo response:${response}")
-            continuation.resume(parseStakingDelegatorInfo(response))
+            }
+            val info = parseStakingDelegatorInfo(response)
+            logv(TAG, "getDelegatorInfo result:$info")
+            continuation.resume(info)
         }
     }.getOrElse {
         ErrorReporter.reportWithMixpanel(StakingError.STAKING_GET_DELEGATOR_INFO_FAILED, it)
@@ -2,7 +2,7 @@ package com.flowfoundation.wallet.manager.staking
 
 import android.os.Parcelable
 import android.text.format.DateUtils
-import com.google.gson.Gson
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.gson.annotations.SerializedName
 import com.google.gson.reflect.TypeToken
 import com.flowfoundation.wallet.cache.stakingProviderCache
@@ -34,7 +34,7 @@ internal class StakingProviders {
                 return@ioScope
             }
             val text = URL("https://raw.githubusercontent.com/Outblock/Assets/main/staking/staking.json").readText()
-            val list = runCatching { Gson().fromJson<List<StakingProvider>>(text, object : TypeToken<List<StakingProvider>>() {}.type) }.getOrNull()
+            val list = runCatching { JsonCodec.gson.fromJson<List<StakingProvider>>(text, object : TypeToken<List<StakingProvider>>() {}.type) }.getOrNull()
                 ?: emptyList()
             if (list.isNotEmpty()) {
                 providers.clear()
@@ -51,7 +51,7 @@ internal class StakingProviders {
 
     private fun loadFromAssets(): List<StakingProvider> {
         val text = readTextFromAssets("config/stake_provider.json")
-        return runCatching { Gson().fromJson<List<StakingProvider>>(text, object : TypeToken<List<StakingProvider>>() {}.type) }.getOrNull()
+        return runCatching { JsonCodec.gson.fromJson<List<StakingProvider>>(text, object : TypeToken<List<StakingProvider>>() {}.type) }.getOrNull()
             ?: emptyList()
     }
 }
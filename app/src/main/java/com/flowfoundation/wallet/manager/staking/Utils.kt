@@ -1,31 +1,33 @@
 package com.flowfoundation.wallet.manager.staking
 
 import android.text.format.DateUtils
-import com.flowfoundation.wallet.utils.extensions.toSafeDouble
-import com.google.gson.Gson
-import com.google.gson.annotations.SerializedName
+import com.flowfoundation.wallet.manager.flowjvm.asString
+import com.flowfoundation.wallet.manager.flowjvm.asStruct
+import com.flowfoundation.wallet.manager.flowjvm.mapArray
+import com.flowfoundation.wallet.manager.flowjvm.mapEntries
+import com.flowfoundation.wallet.manager.flowjvm.unwrapOptional
 import com.flowfoundation.wallet.utils.extensions.toSafeInt
+import org.onflow.flow.infrastructure.Cadence
 
 // 2022-10-27 07:00
 const val STAKE_START_TIME = 1666825200000
 
-fun parseStakingInfoResult(json: String?): StakingInfo? {
-    json ?: return null
-    val info = Gson().fromJson(json, StakingInfoInner::class.java)
-    if (info.value?.value == null) {
+fun parseStakingInfoResult(result: Cadence.Value?): StakingInfo? {
+    if (result.unwrapOptional() !is Cadence.Value.ArrayValue) {
         return null
     }
     return StakingInfo(
-        nodes = info.value.value.map { value ->
+        nodes = result.mapArray { value ->
+            val node = value.asStruct() ?: return@mapArray null
             StakingNode(
-                delegatorId = value.getByName("id").toSafeInt(),
-                nodeID = value.getByName("nodeID").orEmpty(),
-                tokensCommitted = value.getByName("tokensCommitted").toSafeDouble(),
-                tokensStaked = value.getByName("tokensStaked").toSafeDouble(),
-                tokensUnstaking = value.getByName("tokensUnstaking").toSafeDouble(),
-                tokensRewarded = value.getByName("tokensRewarded").toSafeDouble(),
-                tokensUnstaked = value.getByName("tokensUnstaked").toSafeDouble(),
-                tokensRequestedToUnstake = value.getByName("tokensRequestedToUnstake").toSafeDouble(),
+                delegatorId = node.int("id"),
+                nodeID = node.string("nodeID").orEmpty(),
+                tokensCommitted = node.double("tokensCommitted"),
+                tokensStaked = node.double("tokensStaked"),
+                tokensUnstaking = node.double("tokensUnstaking"),
+                tokensRewarded = node.double("tokensRewarded"),
+                tokensUnstaked = node.double("tokensUnstaked"),
+                tokensRequestedToUnstake = node.double("tokensRequestedToUnstake"),
             )
         }
     )
@@ -46,101 +48,9 @@ fun stakingEpochEndTime(): Long {
     return stakingEpochStartTime() + gap
 }
 
-fun parseStakingDelegatorInfo(json: String?): Map<String, Int> {
-    json ?: return emptyMap()
-    val info = Gson().fromJson(json, StakingDelegatorInner::class.java)
-    return info.value?.value?.associate { it?.key?.value.orEmpty() to (it?.value?.value?.firstOrNull()?.key?.value?.toSafeInt() ?: 0) }.orEmpty()
-}
-
-data class StakingInfoInner(
-    @SerializedName("type")
-    val type: String?,
-    @SerializedName("value")
-    val value: Value?
-) {
-    data class Value(
-        @SerializedName("type")
-        val type: String?,
-        @SerializedName("value")
-        val value: List<Value1?>?
-    ) {
-
-        data class Value1(
-            @SerializedName("type")
-            val type: String?,
-            @SerializedName("value")
-            val value: Value2?
-        ) {
-            data class Value2(
-                @SerializedName("fields")
-                val fields: List<Field?>?,
-                @SerializedName("id")
-                val id: String?
-            ) {
-
-                data class Field(
-                    @SerializedName("name")
-                    val name: String?,
-                    @SerializedName("value")
-                    val value: Value3?
-                ) {
-                    data class Value3(
-                        @SerializedName("type")
-                        val type: String?,
-                        @SerializedName("value")
-                        val value: String?
-                    )
-                }
-            }
-        }
-    }
-}
-
-fun StakingInfoInner.Value.Value1?.getByName(name: String): String? = this?.value?.fields?.firstOrNull{ it?.name == name }?.value?.value
-
-internal data class StakingDelegatorInner(
-    @SerializedName("type")
-    val type: String?,
-    @SerializedName("value")
-    val value: Value1?
-) {
-    internal data class Value1(
-        @SerializedName("type")
-        val type: String?,
-        @SerializedName("value")
-        val value: List<Value2?>?
-    ) {
-        internal data class Value2(
-            @SerializedName("key")
-            val key: Key?,
-            @SerializedName("value")
-            val value: Value?
-        ) {
-            internal data class Key(
-                @SerializedName("type")
-                val type: String?,
-                @SerializedName("value")
-                val value: String?
-            )
-
-            internal data class Value(
-                @SerializedName("type")
-                val type: String?,
-                @SerializedName("value")
-                val value: List<Value3?>?
-            ) {
-                internal data class Value3(
-                    @SerializedName("key")
-                    val key: Key?
-                ) {
-                    internal data class Key(
-                        @SerializedName("type")
-                        val type: String?,
-                        @SerializedName("value")
-                        val value: String?
-                    )
-                }
-            }
-        }
-    }
+fun parseStakingDelegatorInfo(result: Cadence.Value?): Map<String, Int> {
+    return result.mapEntries { nodeId, delegators ->
+        val delegatorId = (delegators.unwrapOptional() as? Cadence.Value.DictionaryValue)?.value?.firstOrNull()?.key
+        nodeId.asString().orEmpty() to delegatorId.asString().toSafeInt()
+    }.toMap()
 }
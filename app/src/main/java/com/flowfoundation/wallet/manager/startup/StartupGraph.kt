@@ -0,0 +1,114 @@
+package com.flowfoundation.wallet.manager.startup
+
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.launch
+
+enum class StartupThread {
+    // only for initializers that must run on the main thread, everything on it delays the first frame
+    MAIN,
+    IO,
+    DEFAULT,
+}
+
+class StartupTask(
+    val name: String,
+    val thread: StartupThread = StartupThread.IO,
+    val dependencies: List<String> = emptyList(),
+    val block: suspend () -> Unit,
+)
+
+data class StartupSpan(
+    val name: String,
+    val thread: StartupThread,
+    val threadName: String,
+    // milliseconds since the graph was started
+    val startTime: Long,
+    val duration: Long,
+    val error: Throwable? = null,
+)
+
+/**
+ * Runs startup initializers as a dependency graph: each task starts as soon as all of its
+ * [StartupTask.dependencies] have finished, on the dispatcher of its [StartupThread], so
+ * independent tasks run concurrently. A failing task is reported through its span and does not
+ * stop the tasks depending on it, the same as wrapping each initializer in `safeRun`.
+ */
+class StartupGraph(
+    private val tasks: List<StartupTask>,
+    private val dispatchers: Map<StartupThread, CoroutineDispatcher> = DEFAULT_DISPATCHERS,
+    private val onSpan: (StartupSpan) -> Unit = {},
+) {
+
+    init {
+        val names = tasks.map { it.name }
+        require(names.size == names.toSet().size) { "Duplicate startup task in $names" }
+        tasks.forEach { task ->
+            task.dependencies.forEach { require(it in names) { "Unknown dependency $it of ${task.name}" } }
+        }
+        checkAcyclic()
+    }
+
+    fun start(scope: CoroutineScope): Job {
+        val startTime = System.nanoTime()
+        val finished = tasks.associate { it.name to CompletableDeferred<Unit>() }
+        return scope.launch {
+            tasks.forEach { task ->
+                launch(dispatchers.getValue(task.thread)) {
+                    task.dependencies.forEach { finished.getValue(it).await() }
+                    val taskStart = System.nanoTime()
+                    var error: Throwable? = null
+                    try {
+                        task.block()
+                    } catch (e: CancellationException) {
+                        throw e
+                    } catch (e: Throwable) {
+                        error = e
+                    } finally {
+                        finished.getValue(task.name).complete(Unit)
+                    }
+                    val end = System.nanoTime()
+                    onSpan(
+                        StartupSpan(
+                            name = task.name,
+                            thread = task.thread,
+                            threadName = Thread.currentThread().name,
+                            startTime = (taskStart - startTime) / NANOS_PER_MILLI,
+                            duration = (end - taskStart) / NANOS_PER_MILLI,
+                            error = error,
+                        )
+                    )
+                }
+            }
+        }
+    }
+
+    private fun checkAcyclic() {
+        val dependencies = tasks.associate { it.name to it.dependencies }
+        val visited = mutableSetOf<String>()
+        val visiting = mutableSetOf<String>()
+
+        fun visit(name: String) {
+            if (name in visited) return
+            require(visiting.add(name)) { "Startup task $name depends on itself" }
+            dependencies.getValue(name).forEach { visit(it) }
+            visiting.remove(name)
+            visited.add(name)
+        }
+        dependencies.keys.forEach { visit(it) }
+    }
+
+    companion object {
+        private const val NANOS_PER_MILLI = 1_000_000
+
+        private val DEFAULT_DISPATCHERS = mapOf(
+            StartupThread.MAIN to Dispatchers.Main,
+            StartupThread.IO to Dispatchers.IO,
+            StartupThread.DEFAULT to Dispatchers.Default,
+        )
+    }
+}
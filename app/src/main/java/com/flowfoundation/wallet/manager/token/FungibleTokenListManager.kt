@@ -4,8 +4,10 @@ import com.flowfoundation.wallet.cache.DisplayTokenCacheManager
 import com.flowfoundation.wallet.manager.app.chainNetWorkString
 import com.flowfoundation.wallet.manager.evm.EVMWalletManager
 import com.flowfoundation.wallet.manager.flowjvm.CadenceScript
+import com.flowfoundation.wallet.manager.flowjvm.CadenceScriptTemplates
 import com.flowfoundation.wallet.manager.token.model.FungibleToken
 import com.flowfoundation.wallet.manager.wallet.WalletManager
+import com.flowfoundation.wallet.manager.wallet.walletAddress
 import com.flowfoundation.wallet.page.profile.subpage.currency.model.selectedCurrency
 import com.flowfoundation.wallet.page.token.list.CadenceTokenListProvider
 import com.flowfoundation.wallet.page.token.list.EVMTokenListProvider
@@ -22,14 +24,22 @@ import kotlinx.coroutines.launch
 import kotlinx.serialization.Serializable
 import java.lang.ref.WeakReference
 import java.math.BigDecimal
+import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.CopyOnWriteArrayList
 
 object FungibleTokenListManager {
     private val TAG = FungibleTokenListManager::class.java.simpleName
 
-    private val tokenListCache = mutableMapOf<String, DisplayTokenListCache>()
+    private val tokenListCache = ConcurrentHashMap<String, DisplayTokenListCache>()
     private val currentDisplayTokenList = CopyOnWriteArrayList<FungibleToken>()
     private var currentTokenProvider: TokenListProvider? = null
+    private val prefetcher = TokenListPrefetcher { address ->
+        if (EVMWalletManager.isEVMWalletAddress(address)) {
+            EVMTokenListProvider(address)
+        } else {
+            CadenceTokenListProvider(address)
+        }
+    }
 
     private val listeners = CopyOnWriteArrayList<WeakReference<FungibleTokenListUpdateListener>>()
     private val tokenUpdateListeners = CopyOnWriteArrayList<WeakReference<FungibleTokenUpdateListener>>()
@@ -82,71 +92,95 @@ object FungibleTokenListManager {
         }
     }
 
-    private fun getProvider(address: String): TokenListProvider {
-
+    /**
+     * The pooled provider of [address], it already holds a token list once the address was loaded
+     * or prefetched.
+     */
+    fun getProvider(address: String): TokenListProvider {
         val isEVMForAddress = EVMWalletManager.isEVMWalletAddress(address)
-        val existingProvider = currentTokenProvider
-
-        if (existingProvider != null) {
-            val providerCurrentAddress = existingProvider.getWalletAddress()
-
-            if (providerCurrentAddress == address) {
-                if (isEVMForAddress) {
-                    if (existingProvider is EVMTokenListProvider) {
-                        logd(TAG, "Reusing EVMTokenListProvider for address: $address")
-                        return existingProvider
-                    } else {
-                        logd(TAG, "Address matches ($address), target is EVM, but current provider is ${existingProvider::class.simpleName}. Creating new EVMTokenListProvider.")
-                        return EVMTokenListProvider(address)
-                    }
-                } else {
-                    if (existingProvider is CadenceTokenListProvider) {
-                        logd(TAG, "Reusing CadenceTokenListProvider for address: $address")
-                        return existingProvider
-                    } else {
-                        logd(TAG, "Address matches ($address), target is Cadence, but current provider is ${existingProvider::class.simpleName}. Creating new CadenceTokenListProvider.")
-                        return CadenceTokenListProvider(address)
-                    }
-                }
-            } else {
-                logd(TAG, "Provider exists for address $providerCurrentAddress, but requested for $address. Creating new provider.")
-                return if (isEVMForAddress) {
-                    EVMTokenListProvider(address)
-                } else {
-                    CadenceTokenListProvider(address)
-                }
-            }
-        } else {
-            logd(TAG, "No current provider. Creating new provider for $address.")
-            return if (isEVMForAddress) {
-                EVMTokenListProvider(address)
-            } else {
-                CadenceTokenListProvider(address)
-            }
-        }
+        return prefetcher.provider(address) { (it is EVMTokenListProvider) == isEVMForAddress }
     }
 
     fun reload() {
-        scope.launch {
-            val address = WalletManager.selectedWalletAddress()
-            if (address.isBlank()) {
+        scope.launch { reloadSync() }
+    }
+
+    /**
+     * Dispatches the cached token list of the selected account, then fetches the fresh one and
+     * returns once it is dispatched. The other accounts are prefetched in the background.
+     */
+    suspend fun reloadSync() {
+        val address = WalletManager.selectedWalletAddress()
+        if (address.isBlank()) {
+            currentDisplayTokenList.clear()
+            dispatchListeners()
+            logd(TAG, "No selected wallet address, token list cleared.")
+            return
+        }
+
+        tokenListCache[address]?.let { cachedList ->
+            if (cachedList.displayTokenList.isNotEmpty()) {
                 currentDisplayTokenList.clear()
+                currentDisplayTokenList.addAll(cachedList.displayTokenList.distinctBy { it.contractId() })
                 dispatchListeners()
-                logd(TAG, "No selected wallet address, token list cleared.")
-                return@launch
+                logd(TAG, "Loaded token list from cache for address: $address")
             }
+        }
 
-            tokenListCache[address]?.let { cachedList ->
-                if (cachedList.displayTokenList.isNotEmpty()) {
-                    currentDisplayTokenList.clear()
-                    currentDisplayTokenList.addAll(cachedList.displayTokenList.distinctBy { it.contractId() })
-                    dispatchListeners()
-                    logd(TAG, "Loaded token list from cache for address: $address")
-                }
+        updateTokenList(address)
+        scope.launch { prefetchLinkedAccounts(address) }
+    }
+
+    /**
+     * Refreshes the token lists of the other accounts of the wallet (main, child and EVM) so
+     * switching to them renders from [tokenListCache] and a warm provider.
+     */
+    private suspend fun prefetchLinkedAccounts(selectedAddress: String) {
+        val mainAddress = WalletManager.wallet()?.walletAddress() ?: return
+        val addresses = mutableListOf(mainAddress)
+        WalletManager.childAccountList(mainAddress)?.get()?.mapTo(addresses) { it.address }
+        EVMWalletManager.getEVMAddress()?.let { addresses.add(it) }
+        addresses.removeAll { it.equals(selectedAddress, ignoreCase = true) }
+        if (addresses.isEmpty()) {
+            return
+        }
+
+        val freshLists = prefetcher.prefetch(addresses, selectedCurrency(), chainNetWorkString())
+        freshLists.forEach { (address, freshList) ->
+            val oldItem = tokenListCache[address] ?: DisplayTokenListCache()
+            val displayList = if (oldItem.displayTokenList.isEmpty()) {
+                freshList.distinctBy { it.contractId() }
+            } else {
+                mergeDisplayTokens(oldItem.displayTokenList, freshList)
             }
+            tokenListCache[address] = oldItem.copy(displayTokenList = displayList)
+        }
+        if (freshLists.isNotEmpty()) {
+            DisplayTokenCacheManager.cache(tokenListCache)
+            logd(TAG, "Prefetched token lists for ${freshLists.keys}")
+        }
+    }
 
-            updateTokenList(address)
+    /**
+     * Keeps the tokens of [displayList] that are still in [freshList], updated to their fresh
+     * version, and appends [addContractId] if it is only in the fresh list.
+     */
+    private fun mergeDisplayTokens(
+        displayList: List<FungibleToken>,
+        freshList: List<FungibleToken>,
+        addContractId: String? = null
+    ): List<FungibleToken> {
+        val freshTokensMap = freshList.associateBy { it.contractId() }
+        val updatedFinalTokens = displayList.mapNotNull { freshTokensMap[it.contractId()] }.toMutableList()
+        addContractId?.let { targetId ->
+            freshTokensMap[targetId]?.takeIf {
+                displayList.none { it.contractId() == targetId }
+            }?.let { newToken ->
+                updatedFinalTokens.add(newToken)
+                logd(TAG, "Added new token by contractId: $targetId")
+            }
         }
+        return updatedFinalTokens.distinctBy { it.contractId() }
     }
 
     suspend fun updateTokenInfo(contractId: String) {
@@ -181,25 +215,10 @@ object FungibleTokenListManager {
                 logd(TAG, "Initial load from provider for token list for address: $address. Count: ${currentDisplayTokenList.size}")
                 return
             }
-            val freshTokensMap = freshList.associateBy { it.contractId() }
-
-            val updatedFinalTokens = mutableListOf<FungibleToken>()
-            for (existingToken in currentDisplayTokenList) {
-                freshTokensMap[existingToken.contractId()]?.let { updatedVersionOfExistingToken ->
-                    updatedFinalTokens.add(updatedVersionOfExistingToken)
-                }
-            }
-            contractId?.let { targetId ->
-                freshTokensMap[targetId]?.takeIf { freshToken ->
-                    currentDisplayTokenList.none { it.contractId() == targetId }
-                }?.let { newToken ->
-                    updatedFinalTokens.add(newToken)
-                    logd(TAG, "Added new token by contractId: $targetId")
-                }
-            }
+            val updatedFinalTokens = mergeDisplayTokens(currentDisplayTokenList.toList(), freshList, contractId)
 
             currentDisplayTokenList.clear()
-            currentDisplayTokenList.addAll(updatedFinalTokens.distinctBy { it.contractId() })
+            currentDisplayTokenList.addAll(updatedFinalTokens)
             updateDisplayTokenListCache(address)
             logd(TAG, "Successfully updated token list for address: $address. Count: ${currentDisplayTokenList.size}")
             dispatchListeners()
@@ -358,6 +377,8 @@ object FungibleTokenListManager {
 
     fun clear() {
         currentDisplayTokenList.clear()
+        currentTokenProvider = null
+        prefetcher.clear()
     }
 }
 
@@ -372,11 +393,16 @@ interface FungibleTokenUpdateListener {
 
 
 fun FungibleToken.formatCadence(cadenceScript: CadenceScript): String {
-    return cadenceScript.getScript().replace("<Token>", tokenContractName())
-        .replace("<TokenAddress>", tokenAddress())
-        .replace("<TokenReceiverPath>", flowReceiverPath ?: "")
-        .replace("<TokenBalancePath>", flowBalancePath ?: "")
-        .replace("<TokenStoragePath>", flowStoragePath ?: "")
+    val variant = CadenceScriptTemplates.variantOf(
+        tokenContractName(), tokenAddress(), flowReceiverPath, flowBalancePath, flowStoragePath,
+    )
+    return CadenceScriptTemplates.template(cadenceScript, variant) { script ->
+        script.replace("<Token>", tokenContractName())
+            .replace("<TokenAddress>", tokenAddress())
+            .replace("<TokenReceiverPath>", flowReceiverPath ?: "")
+            .replace("<TokenBalancePath>", flowBalancePath ?: "")
+            .replace("<TokenStoragePath>", flowStoragePath ?: "")
+    }
 }
 
 @Serializable
@@ -0,0 +1,78 @@
+package com.flowfoundation.wallet.manager.token
+
+import com.flowfoundation.wallet.manager.token.model.FungibleToken
+import com.flowfoundation.wallet.page.profile.subpage.currency.model.Currency
+import com.flowfoundation.wallet.page.token.list.TokenListProvider
+import com.flowfoundation.wallet.utils.logd
+import com.flowfoundation.wallet.utils.loge
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+
+/**
+ * Keeps one [TokenListProvider] per address alive in a small LRU pool and refreshes the token
+ * lists of several addresses (main, child and EVM accounts) concurrently, so switching to one of
+ * them can render from an already fetched list instead of starting a cold fetch.
+ */
+class TokenListPrefetcher(
+    private val maxProviders: Int = DEFAULT_MAX_PROVIDERS,
+    maxConcurrentFetches: Int = DEFAULT_MAX_CONCURRENT_FETCHES,
+    private val createProvider: (address: String) -> TokenListProvider,
+) {
+    private val TAG = TokenListPrefetcher::class.java.simpleName
+
+    private val providers = object : LinkedHashMap<String, TokenListProvider>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, TokenListProvider>?): Boolean {
+            return size > maxProviders
+        }
+    }
+    private val permits = Semaphore(maxConcurrentFetches)
+
+    /**
+     * The pooled provider of [address], [isValid] decides whether a pooled provider still fits the
+     * address, e.g. after the address turned out to be an EVM address.
+     */
+    fun provider(address: String, isValid: (TokenListProvider) -> Boolean = { true }): TokenListProvider {
+        synchronized(providers) {
+            providers[address]?.takeIf(isValid)?.let { return it }
+            logd(TAG, "create provider for $address")
+            return createProvider(address).also { providers[address] = it }
+        }
+    }
+
+    /**
+     * Fetches the token lists of [addresses] with bounded parallelism. Addresses whose fetch fails
+     * are left out of the result and keep their previous list.
+     */
+    suspend fun prefetch(
+        addresses: Collection<String>,
+        currency: Currency?,
+        network: String?,
+    ): Map<String, List<FungibleToken>> = coroutineScope {
+        addresses.distinct().filter { it.isNotBlank() }.map { address ->
+            async {
+                permits.withPermit {
+                    try {
+                        address to provider(address).getTokenList(address, currency, network)
+                    } catch (e: Exception) {
+                        loge(TAG, "prefetch token list failed for $address: ${e.message}")
+                        null
+                    }
+                }
+            }
+        }.awaitAll().filterNotNull().toMap()
+    }
+
+    fun size() = synchronized(providers) { providers.size }
+
+    fun clear() {
+        synchronized(providers) { providers.clear() }
+    }
+
+    companion object {
+        const val DEFAULT_MAX_PROVIDERS = 8
+        const val DEFAULT_MAX_CONCURRENT_FETCHES = 3
+    }
+}
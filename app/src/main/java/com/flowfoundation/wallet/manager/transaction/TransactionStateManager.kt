@@ -2,18 +2,25 @@ package com.flowfoundation.wallet.manager.transaction
 
 import android.os.Parcelable
 import androidx.annotation.MainThread
-import com.google.gson.Gson
+import androidx.annotation.WorkerThread
+import androidx.room.Entity
+import androidx.room.Ignore
+import androidx.room.Index
+import androidx.room.PrimaryKey
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.gson.annotations.SerializedName
 import org.onflow.flow.models.TransactionStatus
 import com.flowfoundation.wallet.R
 import com.flowfoundation.wallet.base.activity.BaseActivity
 import com.flowfoundation.wallet.cache.CacheManager
+import com.flowfoundation.wallet.database.AppDataBase
 import com.flowfoundation.wallet.manager.account.model.StorageLimitDialogType
 import com.flowfoundation.wallet.manager.config.NftCollection
 import com.flowfoundation.wallet.manager.flow.FlowCadenceApi
 import com.flowfoundation.wallet.manager.nft.NftCollectionStateManager
 import com.flowfoundation.wallet.manager.staking.StakingManager
 import com.flowfoundation.wallet.manager.token.FungibleTokenListManager
+import com.flowfoundation.wallet.manager.wallet.WalletManager
 import com.flowfoundation.wallet.mixpanel.MixpanelManager
 import com.flowfoundation.wallet.network.model.TokenInfo
 import com.flowfoundation.wallet.page.send.nft.NftSendModel
@@ -25,7 +32,7 @@ import com.flowfoundation.wallet.utils.error.ErrorReporter
 import com.flowfoundation.wallet.utils.extensions.res2String
 import com.flowfoundation.wallet.utils.ioScope
 import com.flowfoundation.wallet.utils.logd
-import com.flowfoundation.wallet.utils.safeRunSuspend
+import com.flowfoundation.wallet.utils.loge
 import com.flowfoundation.wallet.utils.toast
 import com.flowfoundation.wallet.utils.uiScope
 import com.flowfoundation.wallet.widgets.webview.fcl.model.AuthzTransaction
@@ -33,22 +40,33 @@ import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.catch
 import kotlinx.coroutines.flow.launchIn
 import kotlinx.coroutines.flow.onEach
+import kotlinx.parcelize.IgnoredOnParcel
 import kotlinx.parcelize.Parcelize
 import org.onflow.flow.infrastructure.parseErrorCode
 import org.onflow.flow.websocket.FlowWebSocketClient
 import org.onflow.flow.websocket.FlowWebSocketTopic
 import org.onflow.flow.websocket.TransactionStatusPayload
 import org.onflow.flow.models.TransactionExecution
+import org.onflow.flow.models.TransactionResult
 import io.ktor.client.HttpClient
 import io.ktor.client.plugins.websocket.WebSockets
 import java.lang.ref.WeakReference
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
 import kotlin.math.abs
 
 object TransactionStateManager {
     private val TAG = TransactionStateManager::class.java.simpleName
 
-    private val cache by lazy { CacheManager<TransactionStateData>("transaction_state", TransactionStateData::class.java) }
+    private const val MAX_LOADED_STATES = 100
+    private val HISTORY_RETENTION = TimeUnit.DAYS.toMillis(30)
 
+    private val dao by lazy { AppDataBase.database().transactionStateDao() }
+
+    // Transactions used to be stored as a single json file, migrated to the database on first load
+    private val legacyCache by lazy { CacheManager<TransactionStateData>("transaction_state", TransactionStateData::class.java) }
+
+    // Recent and unfinished transactions, the full history stays in the database
     private lateinit var stateData: TransactionStateData
 
     private val onStateChangeCallbacks = mutableListOf<WeakReference<OnTransactionStateChange>>()
@@ -59,16 +77,61 @@ object TransactionStateManager {
     private var webSocketClient: FlowWebSocketClient? = null
     private val activeSubscriptions = mutableMapOf<String, String>() // txId -> subscriptionId
 
+    // Single polling loop for every transaction without a WebSocket subscription
+    private val statusPoller by lazy {
+        TransactionStatusPoller(
+            fetchResult = { FlowCadenceApi.getTransactionResult(it) },
+            onResult = { transactionId, result -> onPolledResult(transactionId, result) },
+            onTimeout = { onPollingTimeout(it) },
+            onPassFinished = { onPollingPassFinished() },
+        )
+    }
+
+    // Rows changed by the current polling pass, saved together once the pass finishes
+    private val changedStates = ConcurrentHashMap<String, TransactionState>()
+
     fun reload() {
-        ioScope {
-            stateData = cache.read() ?: TransactionStateData(
-                mutableListOf()
-            )
-            // Start WebSocket monitoring for any existing unfinalized transactions
-            initializeWebSocketMonitoring()
+        ioScope { reloadSync() }
+    }
+
+    @WorkerThread
+    fun reloadSync() {
+        stateData = TransactionStateData(loadStates().toMutableList())
+        // Start WebSocket monitoring for any existing unfinalized transactions
+        initializeWebSocketMonitoring()
+    }
+
+    @WorkerThread
+    private fun loadStates(): List<TransactionState> {
+        try {
+            migrateLegacyCache()
+        } catch (e: Exception) {
+            loge(e)
+        }
+        return try {
+            dao.deleteFinishedBefore(TransactionStatus.EXECUTED.ordinal, System.currentTimeMillis() - HISTORY_RETENTION)
+            val unfinished = dao.findUnfinished(TransactionStatus.EXECUTED.ordinal, TransactionStatus.EXPIRED.ordinal)
+            val recent = dao.findRecent(MAX_LOADED_STATES)
+            (unfinished + recent).distinctBy { it.transactionId }.sortedBy { it.time }
+        } catch (e: Exception) {
+            loge(e)
+            emptyList()
         }
     }
 
+    @WorkerThread
+    private fun migrateLegacyCache() {
+        val legacy = legacyCache.read() ?: return
+        // Gson leaves fields missing from old files null, those rows cannot be stored or shown
+        val states = legacy.data.filter { it.isComplete() }
+        dao.saveAll(states)
+        legacyCache.clear()
+        logd(TAG, "migrated ${states.size} of ${legacy.data.size} transactions to database")
+    }
+
+    @Suppress("SENSELESS_COMPARISON")
+    private fun TransactionState.isComplete() = transactionId != null && data != null
+
     fun recordTransactionScript(txId: String, script: String) {
         txScriptMap[txId] = script
     }
@@ -207,7 +270,7 @@ object TransactionStateManager {
             logd(TAG, "Payload: $payload")
 
             // Parse the transaction status payload
-            val statusPayload = kotlinx.serialization.json.Json.decodeFromJsonElement(
+            val statusPayload = JsonCodec.json.decodeFromJsonElement(
                 TransactionStatusPayload.serializer(),
                 payload
             )
@@ -309,95 +372,67 @@ object TransactionStateManager {
     }
 
     private fun fallbackToPollingForTransaction(transactionId: String) {
-        ioScope {
-            safeRunSuspend {
-                try {
-                    logd(TAG, "Fallback polling: Starting custom polling for $transactionId")
-                    
-                    // Custom polling that waits for BOTH status finalized AND execution resolved
-                    var attempts = 0
-                    val maxAttempts = 60 // 5 minutes max (60 * 5 seconds)
-                    
-                    while (attempts < maxAttempts) {
-                        try {
-                            val ret = FlowCadenceApi.waitForSeal(transactionId)
-                            logd(TAG, "Fallback polling: Attempt ${attempts + 1} for $transactionId - status=${ret.status}, execution=${ret.execution}")
-
-                            val state = getTransactionStateById(transactionId)
-                            if (state != null) {
-                                val statusChanged = ret.status!!.ordinal != state.state
-                                val executionChanged = ret.execution?.name?.lowercase() != state.execution
-                                
-                                if (statusChanged || executionChanged) {
-                                    if (statusChanged) {
-                                        logd(TAG, "Fallback polling: State changed for $transactionId from ${state.state} to ${ret.status!!.ordinal}")
-                                        state.state = ret.status!!.ordinal
-                                    }
-                                    
-                                    if (executionChanged) {
-                                        logd(TAG, "Fallback polling: Execution changed for $transactionId from '${state.execution}' to '${ret.execution?.name?.lowercase()}'")
-                                        state.execution = ret.execution?.name?.lowercase()
-                                    }
-                                    
-                                    // Only set error message if there's an actual error or explicit execution failure
-                                    state.errorMsg = when {
-                                        ret.errorMessage.isNotBlank() -> ret.errorMessage
-                                        ret.execution == TransactionExecution.failure -> 
-                                            "Transaction execution failed"
-                                        else -> ""
-                                    }
-                                    
-                                    updateState(state)
-                                }
-                                
-                                // Check if completely finished
-                                if (state.isCompletelyFinished()) {
-                                    logd(TAG, "Fallback polling: Transaction $transactionId completely finished")
-                                    break
-                                }
-                            }
-                            
-                            // Wait 5 seconds before next check if not finished
-                            delay(5000)
-                            attempts++
-                            
-                        } catch (e: Exception) {
-                            logd(TAG, "Fallback polling attempt ${attempts + 1} failed for $transactionId: ${e.message}")
-                            attempts++
-                            delay(5000)
-                        }
-                    }
-                    
-                    if (attempts >= maxAttempts) {
-                        logd(TAG, "Fallback polling timeout for $transactionId after $maxAttempts attempts")
-                        val state = getTransactionStateById(transactionId)
-                        if (state != null) {
-                            state.state = TransactionStatus.EXPIRED.ordinal
-                            state.errorMsg = "Transaction monitoring timeout"
-                            updateState(state)
-                        }
-                    }
-                    
-                } catch (e: Exception) {
-                    logd(TAG, "Fallback polling failed for $transactionId: ${e.message}")
-                    val state = getTransactionStateById(transactionId)
-                    if (state != null) {
-                        state.state = TransactionStatus.EXPIRED.ordinal
-                        state.errorMsg = e.message
-                        updateState(state)
-                    }
-                }
+        logd(TAG, "Fallback polling: tracking $transactionId")
+        statusPoller.track(transactionId)
+    }
+
+    /**
+     * Applies a polled result, persisting is left to the poller which writes once per pass.
+     * Returns true once the transaction no longer needs to be polled.
+     */
+    private fun onPolledResult(transactionId: String, ret: TransactionResult): Boolean {
+        val state = getTransactionStateById(transactionId) ?: return true
+        val newStatus = ret.status ?: return state.isCompletelyFinished()
+        val newExecution = ret.execution?.name?.lowercase()
+        val statusChanged = newStatus.ordinal != state.state
+        val executionChanged = newExecution != state.execution
+
+        if (statusChanged || executionChanged) {
+            logd(TAG, "Fallback polling: $transactionId status ${state.state} -> ${newStatus.ordinal}, execution '${state.execution}' -> '$newExecution'")
+            state.state = newStatus.ordinal
+            state.execution = newExecution
+
+            // Only set error message if there's an actual error or explicit execution failure
+            state.errorMsg = when {
+                ret.errorMessage.isNotBlank() -> ret.errorMessage
+                ret.execution == TransactionExecution.failure ->
+                    "Transaction execution failed"
+                else -> ""
             }
+
+            updateState(state, persist = false)
+            changedStates[transactionId] = state
         }
+        return state.isCompletelyFinished()
+    }
+
+    private fun onPollingTimeout(transactionId: String) {
+        logd(TAG, "Fallback polling timeout for $transactionId")
+        val state = getTransactionStateById(transactionId) ?: return
+        state.state = TransactionStatus.EXPIRED.ordinal
+        state.errorMsg = "Transaction monitoring timeout"
+        updateState(state, persist = false)
+        changedStates[transactionId] = state
     }
 
-    private fun updateState(state: TransactionState) {
+    private fun onPollingPassFinished() {
+        if (changedStates.isEmpty()) {
+            return
+        }
+        val states = changedStates.keys.mapNotNull { changedStates.remove(it) }
+        dao.saveAll(states)
+    }
+
+    private fun updateState(state: TransactionState, persist: Boolean = true) {
         state.updateTime = System.currentTimeMillis()
-        ioScope { cache.cache(stateData) }
+        if (persist) {
+            ioScope { dao.save(state) }
+        }
         logd(TAG, "updateState:$state")
         dispatchCallback()
         updateBubbleStack(state)
         if (state.isCompletelyFinished()) {
+            invalidateScriptResults(state)
             uiScope {
                 delay(3000)
                 popBubbleStack(state)
@@ -457,6 +492,23 @@ object TransactionStateManager {
         }
     }
 
+    private fun invalidateScriptResults(state: TransactionState) {
+        val address = WalletManager.selectedWalletAddress()
+        FlowCadenceApi.invalidateScriptResults(address)
+        // the cached account of the preparer holds the keys and their sequence numbers
+        if (state.type == TransactionState.TYPE_ADD_PUBLIC_KEY || state.type == TransactionState.TYPE_REVOKE_KEY) {
+            FlowCadenceApi.transactionPreparer.resync(address)
+        }
+        val target = runCatching {
+            when (state.type) {
+                TransactionState.TYPE_TRANSFER_COIN -> state.coinData().target.address
+                TransactionState.TYPE_TRANSFER_NFT, TransactionState.TYPE_NFT -> state.nftData().target.address
+                else -> null
+            }
+        }.getOrNull()
+        target?.let { FlowCadenceApi.invalidateScriptResults(it) }
+    }
+
     private fun dispatchCallback() {
         uiScope {
             onStateChangeCallbacks.removeAll { it.get() == null }
@@ -489,8 +541,10 @@ class TransactionStateData(
     val data: MutableList<TransactionState>,
 )
 
+@Entity(tableName = "TransactionState", indices = [Index("state"), Index("type"), Index("updateTime")])
 @Parcelize
 data class TransactionState(
+    @PrimaryKey
     @SerializedName("transactionId")
     val transactionId: String,
     @SerializedName("time")
@@ -539,17 +593,30 @@ data class TransactionState(
         const val TYPE_MOVE_NFT = 11
     }
 
-    fun coinData() = Gson().fromJson(data, TransactionModel::class.java)
+    /**
+     * [data] never changes, keep the parsed payload around instead of re-parsing it on every access.
+     */
+    @Ignore
+    @IgnoredOnParcel
+    @Transient
+    private var parsedData: Any? = null
+
+    private inline fun <reified R> parseData(): R {
+        (parsedData as? R)?.let { return it }
+        return JsonCodec.gson.fromJson(data, R::class.java).also { parsedData = it }
+    }
+
+    fun coinData() = parseData<TransactionModel>()
 
-    fun nftData() = Gson().fromJson(data, NftSendModel::class.java)
+    fun nftData() = parseData<NftSendModel>()
 
-    fun tokenData() = Gson().fromJson(data, TokenInfo::class.java)
+    fun tokenData() = parseData<TokenInfo>()
 
-    fun nftCollectionData() = Gson().fromJson(data, NftCollection::class.java)
+    fun nftCollectionData() = parseData<NftCollection>()
 
-    fun nftSendData() = Gson().fromJson(data, NftSendModel::class.java)
+    fun nftSendData() = parseData<NftSendModel>()
 
-    fun fclTransactionData() = Gson().fromJson(data, AuthzTransaction::class.java)
+    fun fclTransactionData() = parseData<AuthzTransaction>()
 
     fun contact() = if (type == TYPE_TRANSFER_COIN) coinData().target else nftData().target
 
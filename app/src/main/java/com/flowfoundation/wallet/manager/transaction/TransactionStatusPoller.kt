@@ -0,0 +1,137 @@
+package com.flowfoundation.wallet.manager.transaction
+
+import com.flowfoundation.wallet.utils.logd
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import org.onflow.flow.models.TransactionResult
+import java.util.concurrent.ConcurrentHashMap
+
+private const val TAG = "TransactionStatusPoller"
+
+/**
+ * Poll intervals by transaction age: fast right after submission, when a result is most likely,
+ * then progressively slower until [timeout].
+ */
+data class PollSchedule(
+    val fastInterval: Long = 1000,
+    val fastWindow: Long = 10_000,
+    val normalInterval: Long = 3000,
+    val normalWindow: Long = 60_000,
+    val slowInterval: Long = 10_000,
+    val timeout: Long = 5 * 60 * 1000,
+) {
+    fun interval(age: Long): Long {
+        return when {
+            age < fastWindow -> fastInterval
+            age < normalWindow -> normalInterval
+            else -> slowInterval
+        }
+    }
+}
+
+/**
+ * Tracks every pending transaction that has no WebSocket subscription and polls them from a
+ * single loop. Each pass fetches the results of all transactions that are due, with bounded
+ * concurrency, then sleeps until the next one is due. The loop stops on its own once nothing is
+ * pending.
+ *
+ * [onResult] returns true once the transaction no longer needs to be watched, [onPassFinished] is
+ * invoked after each pass in which at least one transaction was polled.
+ */
+class TransactionStatusPoller(
+    private val fetchResult: suspend (transactionId: String) -> TransactionResult,
+    private val onResult: suspend (transactionId: String, result: TransactionResult) -> Boolean,
+    private val onTimeout: suspend (transactionId: String) -> Unit,
+    private val onPassFinished: suspend () -> Unit = {},
+    private val schedule: PollSchedule = PollSchedule(),
+    maxConcurrentRequests: Int = DEFAULT_MAX_CONCURRENT_REQUESTS,
+    private val scope: CoroutineScope = CoroutineScope(SupervisorJob() + Dispatchers.IO),
+    private val clock: () -> Long = System::currentTimeMillis,
+) {
+
+    private class PendingTransaction(
+        val startTime: Long,
+        @Volatile var nextPollTime: Long,
+    )
+
+    private val pending = ConcurrentHashMap<String, PendingTransaction>()
+    private val permits = Semaphore(maxConcurrentRequests)
+    private val lock = Any()
+    private var loopJob: Job? = null
+
+    fun track(transactionId: String) {
+        val now = clock()
+        pending.putIfAbsent(transactionId, PendingTransaction(now, now))
+        synchronized(lock) {
+            if (loopJob?.isActive != true) {
+                loopJob = scope.launch { pollLoop() }
+            }
+        }
+    }
+
+    fun untrack(transactionId: String) {
+        pending.remove(transactionId)
+    }
+
+    fun isTracking(transactionId: String) = pending.containsKey(transactionId)
+
+    fun pendingCount() = pending.size
+
+    private suspend fun pollLoop() {
+        while (true) {
+            val now = clock()
+            val due = pending.filterValues { it.nextPollTime <= now }.keys
+            if (due.isNotEmpty()) {
+                logd(TAG, "polling ${due.size} of ${pending.size} pending transactions")
+                coroutineScope {
+                    due.map { transactionId -> async { poll(transactionId) } }.awaitAll()
+                }
+                onPassFinished()
+            }
+            val nextPollTime = synchronized(lock) {
+                val next = pending.values.minOfOrNull { it.nextPollTime }
+                if (next == null) {
+                    loopJob = null
+                }
+                next
+            } ?: return
+            delay((nextPollTime - clock()).coerceAtLeast(MIN_DELAY))
+        }
+    }
+
+    private suspend fun poll(transactionId: String) {
+        val transaction = pending[transactionId] ?: return
+        val finished = try {
+            val result = permits.withPermit { fetchResult(transactionId) }
+            onResult(transactionId, result)
+        } catch (e: Exception) {
+            logd(TAG, "poll $transactionId failed: ${e.message}")
+            false
+        }
+        val now = clock()
+        val age = now - transaction.startTime
+        when {
+            finished -> pending.remove(transactionId)
+            age >= schedule.timeout -> {
+                pending.remove(transactionId)
+                onTimeout(transactionId)
+            }
+
+            else -> transaction.nextPollTime = now + schedule.interval(age)
+        }
+    }
+
+    companion object {
+        const val DEFAULT_MAX_CONCURRENT_REQUESTS = 8
+        private const val MIN_DELAY = 10L
+    }
+}
@@ -19,12 +19,12 @@ import com.flowfoundation.wallet.network.model.WalletData
 import com.flowfoundation.wallet.network.model.WalletListData
 import com.flowfoundation.wallet.page.restore.keystore.model.KeystoreAddress
 import com.flowfoundation.wallet.utils.Env.getStorage
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.ioScope
 import com.flowfoundation.wallet.utils.logd
 import com.flowfoundation.wallet.utils.uiScope
 import com.flowfoundation.wallet.utils.updateSelectedWalletAddress
 import com.flowfoundation.wallet.wallet.toAddress
-import com.google.gson.Gson
 import kotlinx.coroutines.TimeoutCancellationException
 import kotlinx.coroutines.flow.first
 import kotlinx.coroutines.runBlocking
@@ -46,8 +46,9 @@ object WalletManager {
     private val initializationLock = Object()
     private var isInitialized = false
 
-    // Add a job reference and callback mechanism
-    private var initializationJob: kotlinx.coroutines.Job? = null
+    // The wallet loading started by init, join it to wait until the wallet is loaded
+    var initializationJob: kotlinx.coroutines.Job? = null
+        private set
     private val walletReadyCallbacks = mutableListOf<() -> Unit>()
 
     private fun triggerWalletReadyCallbacks() {
@@ -105,7 +106,7 @@ object WalletManager {
             logd(TAG, "Initializing keystore-based wallet")
 
             /* 1. Build the key */
-            val ks      = Gson().fromJson(account.keyStoreInfo, KeystoreAddress::class.java)
+            val ks      = JsonCodec.gson.fromJson(account.keyStoreInfo, KeystoreAddress::class.java)
             val keyHex  = ks.privateKey.removePrefix("0x")
                 .also { require(it.length == 64) { "Private key must be 32-byte hex" } }
 
@@ -489,7 +490,7 @@ object WalletManager {
                     logd(TAG, "Updating keystore-based wallet")
 
                     // Parse the keystore info to get the private key
-                    val keystoreAddress = Gson().fromJson(account.keyStoreInfo, KeystoreAddress::class.java)
+                    val keystoreAddress = JsonCodec.gson.fromJson(account.keyStoreInfo, KeystoreAddress::class.java)
                     logd(TAG, "Got private key from keystore info")
 
                     val keyHex = keystoreAddress.privateKey.removePrefix("0x")
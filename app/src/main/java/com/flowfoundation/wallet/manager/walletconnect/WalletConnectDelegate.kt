@@ -9,6 +9,7 @@ import com.flowfoundation.wallet.manager.walletconnect.model.toWcRequest
 import com.flowfoundation.wallet.page.browser.browserInstance
 import com.flowfoundation.wallet.page.wallet.dialog.MoveDialog
 import com.flowfoundation.wallet.page.window.WindowFrame
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.extensions.openInSystemBrowser
 import com.flowfoundation.wallet.utils.ioScope
 import com.flowfoundation.wallet.utils.isShowMoveDialog
@@ -20,7 +21,6 @@ import com.flowfoundation.wallet.widgets.webview.evm.dialog.EvmRequestAccountDia
 import com.flowfoundation.wallet.widgets.webview.evm.model.EVMDialogModel
 import com.flowfoundation.wallet.widgets.webview.fcl.dialog.FclAuthnDialog
 import com.flowfoundation.wallet.widgets.webview.fcl.model.FclDialogModel
-import com.google.gson.Gson
 import com.reown.android.Core
 import com.reown.android.CoreClient
 import com.reown.sign.client.Sign
@@ -162,7 +162,7 @@ internal class WalletConnectDelegate : SignClient.WalletDelegate {
     }
 
     override fun onProposalExpired(proposal: Sign.Model.ExpiredProposal) {
-        logd(TAG, "onProposalExpired() expiredProposal:${Gson().toJson(proposal)}")
+        logd(TAG, "onProposalExpired() expiredProposal:${JsonCodec.gson.toJson(proposal)}")
         // Clean up any associated sessions when proposal expires
         try {
             val activeSessions = SignClient.getListOfActiveSessions()
@@ -190,7 +190,7 @@ internal class WalletConnectDelegate : SignClient.WalletDelegate {
     }
 
     override fun onRequestExpired(request: Sign.Model.ExpiredRequest) {
-        logd(TAG, "onRequestExpired() expiredRequest:${Gson().toJson(request)}")
+        logd(TAG, "onRequestExpired() expiredRequest:${JsonCodec.gson.toJson(request)}")
         uiScope {
             toast(R.string.wallet_connect_request_expired)
         }
@@ -200,12 +200,12 @@ internal class WalletConnectDelegate : SignClient.WalletDelegate {
      * Triggered when the session is deleted by the peer
      */
     override fun onSessionDelete(deletedSession: Sign.Model.DeletedSession) {
-        logd(TAG, "onSessionDelete() deletedSession:${Gson().toJson(deletedSession)}")
+        logd(TAG, "onSessionDelete() deletedSession:${JsonCodec.gson.toJson(deletedSession)}")
         isConnected = false
     }
 
     override fun onSessionExtend(session: Sign.Model.Session) {
-        logd(TAG, "onSessionExtend() extendedSession:${Gson().toJson(session)}")
+        logd(TAG, "onSessionExtend() extendedSession:${JsonCodec.gson.toJson(session)}")
     }
 
     /**
@@ -215,8 +215,8 @@ internal class WalletConnectDelegate : SignClient.WalletDelegate {
         sessionProposal: Sign.Model.SessionProposal,
         verifyContext: Sign.Model.VerifyContext
     ) {
-        logd(TAG, "onSessionProposal() sessionProposal json:${Gson().toJson(sessionProposal)}")
-        logd(TAG, "onSessionProposal() verifyContext json:${Gson().toJson(verifyContext)}")
+        logd(TAG, "onSessionProposal() sessionProposal json:${JsonCodec.gson.toJson(sessionProposal)}")
+        logd(TAG, "onSessionProposal() verifyContext json:${JsonCodec.gson.toJson(verifyContext)}")
         logd(TAG, "onSessionProposal() Starting session proposal handling")
 
         processedRequestIds.clear()
@@ -451,7 +451,7 @@ internal class WalletConnectDelegate : SignClient.WalletDelegate {
             return
         }
 
-        logd(TAG, "onSessionRequest() sessionRequest:${Gson().toJson(sessionRequest)}")
+        logd(TAG, "onSessionRequest() sessionRequest:${JsonCodec.gson.toJson(sessionRequest)}")
 
         val redirect = SignClient.getActiveSessionByTopic(sessionRequest.topic)?.redirect
         if (!redirect.isNullOrEmpty()) {
@@ -475,7 +475,7 @@ internal class WalletConnectDelegate : SignClient.WalletDelegate {
     override fun onSessionSettleResponse(settleSessionResponse: Sign.Model.SettledSessionResponse) {
         logd(
             TAG,
-            "onSessionSettleResponse() settleSessionResponse:${Gson().toJson(settleSessionResponse)}"
+            "onSessionSettleResponse() settleSessionResponse:${JsonCodec.gson.toJson(settleSessionResponse)}"
         )
 
         when (settleSessionResponse) {
@@ -535,7 +535,7 @@ internal class WalletConnectDelegate : SignClient.WalletDelegate {
     override fun onSessionUpdateResponse(sessionUpdateResponse: Sign.Model.SessionUpdateResponse) {
         logd(
             TAG,
-            "onSessionUpdateResponse() sessionUpdateResponse:${Gson().toJson(sessionUpdateResponse)}"
+            "onSessionUpdateResponse() sessionUpdateResponse:${JsonCodec.gson.toJson(sessionUpdateResponse)}"
         )
     }
 
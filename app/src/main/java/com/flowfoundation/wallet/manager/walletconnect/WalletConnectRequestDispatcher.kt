@@ -35,6 +35,7 @@ import com.flowfoundation.wallet.page.token.custom.widget.AddCustomTokenDialog
 import com.flowfoundation.wallet.page.wallet.confirm.WalletConfirmationDialog
 import com.flowfoundation.wallet.page.wallet.proxy.WalletProxyConfirmationDialog
 import com.flowfoundation.wallet.utils.Env
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.ioScope
 import com.flowfoundation.wallet.utils.logd
 import com.flowfoundation.wallet.utils.loge
@@ -99,13 +100,13 @@ suspend fun WCRequest.dispatch() {
 
 suspend fun WCRequest.evmSignTypedData() {
     val activity = topActivity() ?: return
-    val jsonArray = Gson().fromJson(params, JsonArray::class.java)
+    val jsonArray = JsonCodec.gson.fromJson(params, JsonArray::class.java)
     val messageObject = if (jsonArray.get(0).isJsonObject) {
         jsonArray.get(0)
     } else {
         jsonArray.get(1)
     } ?: return
-    val message = Gson().toJson(messageObject)
+    val message = JsonCodec.gson.toJson(messageObject)
     val dataEncoder = StructuredDataEncoder(message)
     val hashData = dataEncoder.hashStructuredData()
     logd(TAG, "hashData::$hashData")
@@ -130,7 +131,7 @@ suspend fun WCRequest.evmSignTypedData() {
 
 private suspend fun WCRequest.evmSendTransaction() {
     val activity = topActivity() ?: return
-    val json = Gson().fromJson<List<EvmTransaction>>(params, object : TypeToken<List<EvmTransaction>>() {}.type)
+    val json = JsonCodec.gson.fromJson<List<EvmTransaction>>(params, object : TypeToken<List<EvmTransaction>>() {}.type)
     val transaction = json.firstOrNull() ?: return
     uiScope {
         val model = EVMTransactionDialogModel(
@@ -163,7 +164,7 @@ private suspend fun WCRequest.evmSendTransaction() {
 
 private suspend fun WCRequest.watchAssets() {
     val activity = topActivity() ?: return
-    val watchAsset = Gson().fromJson(params, WatchAsset::class.java)
+    val watchAsset = JsonCodec.gson.fromJson(params, WatchAsset::class.java)
     if (watchAsset.type.equals("ERC20", ignoreCase = true).not() || watchAsset.options?.address == null) {
         toast(msgRes = R.string.invalid_evm_address)
         return
@@ -184,7 +185,7 @@ private suspend fun WCRequest.watchAssets() {
 
 private suspend fun WCRequest.evmSignMessage() {
     val activity = topActivity() ?: return
-    val json = Gson().fromJson<List<String>>(params, object : TypeToken<List<String>>() {}.type)
+    val json = JsonCodec.gson.fromJson<List<String>>(params, object : TypeToken<List<String>>() {}.type)
     val hexMessage = json.firstOrNull() ?: return
     val message = String(hexMessage.hexToBytes(), Charsets.UTF_8)
     uiScope {
@@ -208,20 +209,20 @@ private suspend fun WCRequest.evmSignMessage() {
 
 private suspend fun WCRequest.respondAddDeviceKey() {
     val activity = topActivity() ?: return
-    val request = Gson().fromJson(params, WCAccountRequest::class.java)
+    val request = JsonCodec.gson.fromJson(params, WCAccountRequest::class.java)
     val accountInfo = request.data
-    WalletConfirmationDialog.show(activity, requestId, topic, Gson().toJson(accountInfo) ?: "")
+    WalletConfirmationDialog.show(activity, requestId, topic, JsonCodec.gson.toJson(accountInfo) ?: "")
 }
 
 private suspend fun WCRequest.respondProxyAccount() {
     val activity = topActivity() ?: return
-    val request = Gson().fromJson(params, WCProxyAccountRequest::class.java)
+    val request = JsonCodec.gson.fromJson(params, WCProxyAccountRequest::class.java)
     val accountInfo = request.data
-    WalletProxyConfirmationDialog.show(activity, requestId, topic, accountInfo?.jwt ?: "", Gson().toJson(accountInfo?.deviceInfo) ?: "")
+    WalletProxyConfirmationDialog.show(activity, requestId, topic, accountInfo?.jwt ?: "", JsonCodec.gson.toJson(accountInfo?.deviceInfo) ?: "")
 }
 
 private suspend fun WCRequest.respondProxySign() {
-    val request = Gson().fromJson(params, WCRequest::class.java)
+    val request = JsonCodec.gson.fromJson(params, WCRequest::class.java)
     request.dispatch()
 }
 
@@ -258,7 +259,7 @@ private suspend fun WCRequest.respondAuthn() {
     logd(TAG, "Using wallet address: $address")
 
     val json = try {
-        Gson().fromJson<List<SignableParams>>(params, object : TypeToken<List<SignableParams>>() {}.type)
+        JsonCodec.gson.fromJson<List<SignableParams>>(params, object : TypeToken<List<SignableParams>>() {}.type)
     } catch (e: Exception) {
         loge(TAG, "Failed to parse params: ${e.message}")
         loge(e)
@@ -380,7 +381,7 @@ private suspend fun WCRequest.respondAuthn() {
 
 private suspend fun WCRequest.respondAuthz() {
     val activity = topActivity() ?: return
-    val json = gson().fromJson<List<Signable>>(params, object : TypeToken<List<Signable>>() {}.type)
+    val json = signableGson.fromJson<List<Signable>>(params, object : TypeToken<List<Signable>>() {}.type)
     val signable = json.firstOrNull() ?: return
     val message = signable.message ?: return
     val address = WalletManager.wallet()?.walletAddress() ?: return
@@ -468,13 +469,13 @@ private suspend fun WCRequest.respondPreAuthz() {
             ),
         )
     )
-    approve(gson().toJson(response))
+    approve(signableGson.toJson(response))
 }
 
 private suspend fun WCRequest.respondUserSign() {
     val activity = topActivity() ?: return
     val address = WalletManager.wallet()?.walletAddress() ?: return
-    val param = gson().fromJson<List<SignableMessage>>(params, object : TypeToken<List<SignableMessage>>() {}.type)?.firstOrNull()
+    val param = signableGson.fromJson<List<SignableMessage>>(params, object : TypeToken<List<SignableMessage>>() {}.type)?.firstOrNull()
     val message = param?.message ?: return
 
     // Clean address for Flow-KMM (remove "0x" prefix)
@@ -509,7 +510,7 @@ private suspend fun WCRequest.respondUserSign() {
 }
 
 private suspend fun WCRequest.respondSignPayer() {
-    val json = gson().fromJson<List<Signable>>(params, object : TypeToken<List<Signable>>() {}.type)
+    val json = signableGson.fromJson<List<Signable>>(params, object : TypeToken<List<Signable>>() {}.type)
     val signable = json.firstOrNull() ?: return
     val voucher = signable.voucher ?: return
 
@@ -551,7 +552,7 @@ private suspend fun WCRequest.respondSignPayer() {
     )
 
     safeRun {
-        val sigs = gson().fromJson(server, SignPayerResponse::class.java).envelopeSigs
+        val sigs = signableGson.fromJson(server, SignPayerResponse::class.java).envelopeSigs
         val response = PollingResponse(
             status = ResponseStatus.APPROVED,
             data = PollingData(
@@ -562,7 +563,7 @@ private suspend fun WCRequest.respondSignPayer() {
                 signature = sigs.sig,
             )
         )
-        approve(gson().toJson(response))
+        approve(signableGson.toJson(response))
         FclAuthzDialog.dismiss()
     }
 }
@@ -571,7 +572,7 @@ private suspend fun WCRequest.respondSignProposer() {
     val activity = topActivity() ?: return
 
     logd(TAG, "respondSignProposer param:${params}")
-    val signable = params.toSignables(gson())
+    val signable = params.toSignables(signableGson)
     val address = WalletManager.wallet()?.walletAddress() ?: return
     val cryptoProvider = CryptoProviderManager.getCurrentCryptoProvider() ?: return
 
@@ -620,7 +621,7 @@ private suspend fun WCRequest.respondSignProposer() {
                         signature = signature
                     )
                 )
-                approve(gson().toJson(response))
+                approve(signableGson.toJson(response))
             } else {
                 reject()
             }
@@ -628,7 +629,9 @@ private suspend fun WCRequest.respondSignProposer() {
     }
 }
 
-private fun gson() = GsonBuilder().registerTypeAdapter(Signable::class.java, SignableDeserializer()).setLenient().create()
+private val signableGson by lazy {
+    GsonBuilder().registerTypeAdapter(Signable::class.java, SignableDeserializer()).setLenient().create()
+}
 
 private class SignableDeserializer : JsonDeserializer<Signable> {
     override fun deserialize(json: JsonElement, typeOfT: Type?, context: JsonDeserializationContext?): Signable {
@@ -644,7 +647,7 @@ private class SignableDeserializer : JsonDeserializer<Signable> {
                 }
             }
         }
-        return Gson().fromJson(obj, Signable::class.java)
+        return JsonCodec.gson.fromJson(obj, Signable::class.java)
     }
 }
 
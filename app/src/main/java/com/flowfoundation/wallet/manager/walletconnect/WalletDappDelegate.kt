@@ -5,7 +5,7 @@ import androidx.localbroadcastmanager.content.LocalBroadcastManager
 import com.flowfoundation.wallet.R
 import com.flowfoundation.wallet.base.activity.BaseActivity
 import com.flowfoundation.wallet.firebase.auth.firebaseUid
-import com.google.gson.Gson
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.reown.sign.client.Sign
 import com.reown.sign.client.SignClient
 import com.flowfoundation.wallet.firebase.auth.getFirebaseJwt
@@ -65,18 +65,18 @@ internal class WalletDappDelegate : SignClient.DappDelegate {
     }
 
     override fun onProposalExpired(proposal: Sign.Model.ExpiredProposal) {
-        logd(TAG, "onProposalExpired() expiredProposal:${Gson().toJson(proposal)}")
+        logd(TAG, "onProposalExpired() expiredProposal:${JsonCodec.gson.toJson(proposal)}")
     }
 
     override fun onRequestExpired(request: Sign.Model.ExpiredRequest) {
-        logd(TAG, "onRequestExpired() expiredRequest:${Gson().toJson(request)}")
+        logd(TAG, "onRequestExpired() expiredRequest:${JsonCodec.gson.toJson(request)}")
     }
 
     /**
      * Triggered when Dapp receives the session approval from wallet
      */
     override fun onSessionApproved(approvedSession: Sign.Model.ApprovedSession) {
-        logd(TAG, "onSessionApproved() ApprovedSession:${Gson().toJson(approvedSession)}")
+        logd(TAG, "onSessionApproved() ApprovedSession:${JsonCodec.gson.toJson(approvedSession)}")
         updateWalletConnectSession(approvedSession)
         sendSyncCallback(true)
         val params = mapOf(
@@ -86,7 +86,7 @@ internal class WalletDappDelegate : SignClient.DappDelegate {
             Sign.Params.Request(
                 sessionTopic = approvedSession.topic,
                 method = WalletConnectMethod.ACCOUNT_INFO.value,
-                params = "[${Gson().toJson(params)}]",
+                params = "[${JsonCodec.gson.toJson(params)}]",
                 chainId = approvedSession.chainId(),
             )
         ) { error ->
@@ -108,7 +108,7 @@ internal class WalletDappDelegate : SignClient.DappDelegate {
      * Triggered when Dapp receives the session delete from wallet
      */
     override fun onSessionDelete(deletedSession: Sign.Model.DeletedSession) {
-        logd(TAG, "onSessionDelete() deletedSession:${Gson().toJson(deletedSession)}")
+        logd(TAG, "onSessionDelete() deletedSession:${JsonCodec.gson.toJson(deletedSession)}")
         isConnected = false
         deviceBackupAddress = ""
     }
@@ -117,28 +117,28 @@ internal class WalletDappDelegate : SignClient.DappDelegate {
      * Triggered when the peer emits events that match the list of events agreed upon session settlement
      */
     override fun onSessionEvent(sessionEvent: Sign.Model.SessionEvent) {
-        logd(TAG, "onSessionEvent() eventSession:${Gson().toJson(sessionEvent)}")
+        logd(TAG, "onSessionEvent() eventSession:${JsonCodec.gson.toJson(sessionEvent)}")
     }
 
     /**
      * Triggered when Dapp receives the session extend from wallet
      */
     override fun onSessionExtend(session: Sign.Model.Session) {
-        logd(TAG, "onSessionExtend() extendedSession:${Gson().toJson(session)}")
+        logd(TAG, "onSessionExtend() extendedSession:${JsonCodec.gson.toJson(session)}")
     }
 
     /**
      * Triggered when Dapp receives the session rejection from wallet
      */
     override fun onSessionRejected(rejectedSession: Sign.Model.RejectedSession) {
-        logd(TAG, "onSessionRejected() rejectedSession:${Gson().toJson(rejectedSession)}")
+        logd(TAG, "onSessionRejected() rejectedSession:${JsonCodec.gson.toJson(rejectedSession)}")
     }
 
     /**
      * Triggered when Dapp receives the session request response from wallet
      */
     override fun onSessionRequestResponse(response: Sign.Model.SessionRequestResponse) {
-        logd(TAG, "onSessionRequestResponse() requestResponseSession:${Gson().toJson(response)}")
+        logd(TAG, "onSessionRequestResponse() requestResponseSession:${JsonCodec.gson.toJson(response)}")
         when (response.method) {
             WalletConnectMethod.ACCOUNT_INFO.value -> accountInfoResponse(response.result)
             WalletConnectMethod.ADD_DEVICE_KEY.value -> addDeviceKeyResponse()
@@ -149,7 +149,7 @@ internal class WalletDappDelegate : SignClient.DappDelegate {
         try {
             val activity = BaseActivity.getCurrentActivity() ?: return
             val rpcResult = jsonRpcResult as Sign.Model.JsonRpcResponse.JsonRpcResult
-            val accountResponse = Gson().fromJson(rpcResult.result, WCWalletResponse::class.java)
+            val accountResponse = JsonCodec.gson.fromJson(rpcResult.result, WCWalletResponse::class.java)
             val account = accountResponse.data ?: return
             deviceBackupAddress = account.walletAddress
             WalletConfirmActivity.launch(
@@ -248,7 +248,7 @@ internal class WalletDappDelegate : SignClient.DappDelegate {
      * Triggered when Dapp receives the session update from wallet
      */
     override fun onSessionUpdate(updatedSession: Sign.Model.UpdatedSession) {
-        logd(TAG, "onSessionUpdate() updatedSession:${Gson().toJson(updatedSession)}")
+        logd(TAG, "onSessionUpdate() updatedSession:${JsonCodec.gson.toJson(updatedSession)}")
     }
 }
 
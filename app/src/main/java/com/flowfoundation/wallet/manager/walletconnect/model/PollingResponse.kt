@@ -1,6 +1,6 @@
 package com.flowfoundation.wallet.manager.walletconnect.model
 
-import com.google.gson.Gson
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.gson.annotations.SerializedName
 import com.google.gson.reflect.TypeToken
 
@@ -28,13 +28,13 @@ data class PollingResponse(
 
     fun local(): Service? {
         local ?: return null
-        val json = Gson().toJson(local)
+        val json = JsonCodec.gson.toJson(local)
 
         return try {
             if (local is ArrayList<*>) {
-                Gson().fromJson<List<Service>>(json, object : TypeToken<List<Service>>() {}.type).first()
+                JsonCodec.gson.fromJson<List<Service>>(json, object : TypeToken<List<Service>>() {}.type).first()
             } else {
-                Gson().fromJson(json, Service::class.java)
+                JsonCodec.gson.fromJson(json, Service::class.java)
             }
         } catch (e: Exception) {
             null
@@ -205,7 +205,7 @@ interface ApiService {
     suspend fun getTokenPrices(): TokenPriceResponse
 
     @GET("/api/v2/scripts")
-    suspend fun getCadenceScriptWithHeaders(): Response<ResponseBody>
+    suspend fun getCadenceScriptWithHeaders(@Header("If-None-Match") etag: String? = null): Response<ResponseBody>
 
     @GET("/api/v3/evm/{evmAddress}/fts")
     suspend fun getEVMTokenBalance(
@@ -1,47 +1,79 @@
 package com.flowfoundation.wallet.network
 
+import com.flowfoundation.wallet.firebase.auth.FirebaseAuthTokenSource
+import com.flowfoundation.wallet.network.auth.AuthTokenProvider
 import com.flowfoundation.wallet.network.interceptor.GzipRequestInterceptor
 import com.flowfoundation.wallet.network.interceptor.GzipResponseInterceptor
 import com.flowfoundation.wallet.network.interceptor.HeaderInterceptor
+import com.flowfoundation.wallet.network.interceptor.TokenAuthenticator
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.isDev
 import com.flowfoundation.wallet.utils.isTesting
 import com.instabug.library.okhttplogger.InstabugOkhttpInterceptor
+import okhttp3.ConnectionPool
+import okhttp3.Dispatcher
 import okhttp3.OkHttpClient
 import okhttp3.logging.HttpLoggingInterceptor
 import retrofit2.Retrofit
 import retrofit2.converter.gson.GsonConverterFactory
 import retrofit2.converter.scalars.ScalarsConverterFactory
+import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.TimeUnit
 
 
 val API_HOST = if (isDev()) "https://dev.lilico.app" else "https://api.lilico.app"
 val BASE_HOST = if (isDev()) "https://web-dev.api.wallet.flow.com" else "https://web.api.wallet.flow.com"
 
+/**
+ * Everything that makes two Retrofit instances different. Clients and Retrofit instances are
+ * cached per key so repeated `retrofit().create(...)` calls reuse the same connections.
+ */
+private data class RetrofitKey(
+    val host: String,
+    val ignoreAuthorization: Boolean,
+    val network: String?,
+    val disableConverter: Boolean,
+    val gzip: Boolean,
+)
+
+/**
+ * All clients are derived from this one via [OkHttpClient.newBuilder], so they share a single
+ * connection pool, dispatcher and TLS session cache (HTTP/2 connections are multiplexed across
+ * every API service talking to the same host).
+ */
+internal val baseClient by lazy {
+    OkHttpClient.Builder()
+        .connectionPool(ConnectionPool(10, 5, TimeUnit.MINUTES))
+        .dispatcher(Dispatcher().apply { maxRequestsPerHost = 10 })
+        .callTimeout(20, TimeUnit.SECONDS)
+        .connectTimeout(20, TimeUnit.SECONDS)
+        .readTimeout(20, TimeUnit.SECONDS)
+        .writeTimeout(20, TimeUnit.SECONDS)
+        .build()
+}
+
+// shared by all clients, so parallel requests wait on the same token fetch
+val authTokenProvider by lazy { AuthTokenProvider(FirebaseAuthTokenSource) }
+
+private val gsonConverterFactory by lazy { GsonConverterFactory.create(JsonCodec.gson) }
+private val scalarsConverterFactory by lazy { ScalarsConverterFactory.create() }
+
+private val clientCache = ConcurrentHashMap<RetrofitKey, OkHttpClient>()
+private val retrofitCache = ConcurrentHashMap<RetrofitKey, Retrofit>()
+
 fun retrofit(
     disableConverter: Boolean = false,
     network: String? = null,
 ): Retrofit {
-    val client = OkHttpClient.Builder().apply {
-        addInterceptor(HeaderInterceptor(network = network))
-        addInterceptor(InstabugOkhttpInterceptor())
-
-        callTimeout(20, TimeUnit.SECONDS)
-        connectTimeout(20, TimeUnit.SECONDS)
-        readTimeout(20, TimeUnit.SECONDS)
-        writeTimeout(20, TimeUnit.SECONDS)
-
-        if (isTesting() || isDev()) {
-            addInterceptor(HttpLoggingInterceptor().apply { level = HttpLoggingInterceptor.Level.BODY })
-        }
-    }.build()
-
-    val builder = Retrofit.Builder()
-    if (disableConverter) {
-        builder.addConverterFactory(ScalarsConverterFactory.create())
-    } else {
-        builder.addConverterFactory(GsonConverterFactory.create())
-    }
-    return builder.baseUrl(API_HOST).client(client).build()
+    return cachedRetrofit(
+        RetrofitKey(
+            host = API_HOST,
+            ignoreAuthorization = false,
+            network = network,
+            disableConverter = disableConverter,
+            gzip = false
+        )
+    )
 }
 
 fun retrofitApi(): Retrofit {
@@ -49,45 +81,58 @@ fun retrofitApi(): Retrofit {
 }
 
 fun cadenceScriptApi(): Retrofit {
-    val client = OkHttpClient.Builder().apply {
-        addInterceptor(HeaderInterceptor(false))
-        addInterceptor(InstabugOkhttpInterceptor())
-        addInterceptor(GzipRequestInterceptor())
-        addInterceptor(GzipResponseInterceptor())
-        callTimeout(20, TimeUnit.SECONDS)
-        connectTimeout(20, TimeUnit.SECONDS)
-        readTimeout(20, TimeUnit.SECONDS)
-        writeTimeout(20, TimeUnit.SECONDS)
-
-        if (isTesting() || isDev()) {
-            addInterceptor(HttpLoggingInterceptor().apply { level = HttpLoggingInterceptor.Level.BODY })
-        }
-    }.build()
-
-    val builder = Retrofit.Builder()
-    builder.addConverterFactory(GsonConverterFactory.create())
-    return builder.baseUrl(BASE_HOST).client(client).build()
+    return cachedRetrofit(
+        RetrofitKey(
+            host = BASE_HOST,
+            ignoreAuthorization = false,
+            network = null,
+            disableConverter = false,
+            gzip = true
+        )
+    )
 }
 
 fun retrofitWithHost(host: String, disableConverter: Boolean = false, ignoreAuthorization: Boolean = true): Retrofit {
-    val client = OkHttpClient.Builder().apply {
-        addInterceptor(HeaderInterceptor(ignoreAuthorization))
-        addInterceptor(InstabugOkhttpInterceptor())
-        callTimeout(20, TimeUnit.SECONDS)
-        connectTimeout(20, TimeUnit.SECONDS)
-        readTimeout(20, TimeUnit.SECONDS)
-        writeTimeout(20, TimeUnit.SECONDS)
+    return cachedRetrofit(
+        RetrofitKey(
+            host = host,
+            ignoreAuthorization = ignoreAuthorization,
+            network = null,
+            disableConverter = disableConverter,
+            gzip = false
+        )
+    )
+}
+
+private fun cachedRetrofit(key: RetrofitKey): Retrofit {
+    return retrofitCache.getOrPut(key) {
+        val converterFactory = if (key.disableConverter) scalarsConverterFactory else gsonConverterFactory
+        Retrofit.Builder()
+            .addConverterFactory(converterFactory)
+            .baseUrl(key.host)
+            .client(cachedClient(key))
+            .build()
+    }
+}
 
-        if (isTesting() || isDev()) {
-            addInterceptor(HttpLoggingInterceptor().apply { level = HttpLoggingInterceptor.Level.BODY })
-        }
-    }.build()
+private fun cachedClient(key: RetrofitKey): OkHttpClient {
+    // The converter does not affect the client, share it between Gson and Scalars retrofits
+    val clientKey = key.copy(disableConverter = false)
+    return clientCache.getOrPut(clientKey) {
+        baseClient.newBuilder().apply {
+            addInterceptor(HeaderInterceptor(authTokenProvider, ignoreAuthorization = key.ignoreAuthorization, network = key.network))
+            if (!key.ignoreAuthorization) {
+                authenticator(TokenAuthenticator(authTokenProvider))
+            }
+            addInterceptor(InstabugOkhttpInterceptor())
+            if (key.gzip) {
+                addInterceptor(GzipRequestInterceptor())
+                addInterceptor(GzipResponseInterceptor())
+            }
 
-    val builder = Retrofit.Builder()
-    if (disableConverter) {
-        builder.addConverterFactory(ScalarsConverterFactory.create())
-    } else {
-        builder.addConverterFactory(GsonConverterFactory.create())
+            if (isTesting() || isDev()) {
+                addInterceptor(HttpLoggingInterceptor().apply { level = HttpLoggingInterceptor.Level.BODY })
+            }
+        }.build()
     }
-    return builder.baseUrl(host).client(client).build()
 }
@@ -1,8 +1,11 @@
 package com.flowfoundation.wallet.network
 
+import com.flowfoundation.wallet.manager.blocklist.BlockListResponse
 import com.flowfoundation.wallet.network.model.InboxResponse
 import com.flowfoundation.wallet.page.restore.keystore.model.KeystoreAddressResponse
+import retrofit2.Response
 import retrofit2.http.GET
+import retrofit2.http.Header
 import retrofit2.http.Path
 
 interface OtherHostService {
@@ -12,4 +15,7 @@ interface OtherHostService {
 
     @GET("/key/{publicKey}")
     suspend fun queryAddress(@Path("publicKey") publicKey: String): KeystoreAddressResponse
+
+    @GET("/api/domain")
+    suspend fun getBlockList(@Header("If-None-Match") etag: String?): Response<BlockListResponse>
 }
\ No newline at end of file
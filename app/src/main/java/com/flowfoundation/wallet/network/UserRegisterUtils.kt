@@ -29,8 +29,10 @@ import com.flowfoundation.wallet.network.model.AccountKey
 import com.flowfoundation.wallet.network.model.LoginRequest
 import com.flowfoundation.wallet.network.model.RegisterRequest
 import com.flowfoundation.wallet.network.model.RegisterResponse
+import com.flowfoundation.wallet.page.wallet.HomeSnapshotStore
 import com.flowfoundation.wallet.page.walletrestore.firebaseLogin
 import com.flowfoundation.wallet.utils.Env
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.cleanBackupMnemonicPreference
 import com.flowfoundation.wallet.utils.clearCacheDir
 import com.flowfoundation.wallet.utils.error.AccountError
@@ -49,7 +51,6 @@ import com.flowfoundation.wallet.wallet.createWalletFromServer
 import com.google.firebase.auth.ktx.auth
 import com.google.firebase.ktx.Firebase
 import com.google.firebase.messaging.FirebaseMessaging
-import com.google.gson.Gson
 import com.google.gson.reflect.TypeToken
 import kotlinx.coroutines.delay
 import org.onflow.flow.ChainId
@@ -265,14 +266,14 @@ private suspend fun registerServer(username: String, prefix: String): RegisterRe
             if (pref.isBlank()) {
                 HashMap<String, String>()
             } else {
-                Gson().fromJson(pref, object : TypeToken<HashMap<String, String>>() {}.type)
+                JsonCodec.gson.fromJson(pref, object : TypeToken<HashMap<String, String>>() {}.type)
             }
         } catch (e: Exception) {
             HashMap<String, String>()
         }
         
         // Store mnemonic globally (this will make it accessible via Wallet.store().mnemonic())
-        storeWalletPassword(Gson().toJson(passwordMap.apply { put("global", mnemonic) }))
+        storeWalletPassword(JsonCodec.gson.toJson(passwordMap.apply { put("global", mnemonic) }))
         logd(TAG, "Stored mnemonic globally for backup support")
         
         // Create a new private key
@@ -402,6 +403,7 @@ suspend fun clearUserCache() {
     NftCollectionStateManager.clear()
     TransactionStateManager.reload()
     StakingManager.clear()
+    HomeSnapshotStore.clear()
     CryptoProviderManager.clear()
     cleanBackupMnemonicPreference()
     delay(1000)
@@ -0,0 +1,140 @@
+package com.flowfoundation.wallet.network.auth
+
+import com.flowfoundation.wallet.utils.logd
+import com.flowfoundation.wallet.utils.loge
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.runBlocking
+import java.util.concurrent.TimeUnit
+
+class AuthToken(
+    val token: String,
+    val userId: String,
+    val expiresAtMillis: Long,
+)
+
+/**
+ * Where [AuthTokenProvider] gets its tokens from, Firebase in the app.
+ */
+interface AuthTokenSource {
+
+    /**
+     * The id of the signed in user, null if nobody is signed in.
+     */
+    fun currentUserId(): String?
+
+    /**
+     * Fetches an ID token of the current user, signing in anonymously first if nobody is signed
+     * in. Returns null if no token could be fetched.
+     */
+    suspend fun fetchToken(forceRefresh: Boolean): AuthToken?
+}
+
+/**
+ * Caches the auth token of the signed in user for the API requests.
+ *
+ * A cached token is returned without suspending while it is valid, and refreshed in the
+ * background once it gets within [refreshMarginMillis] of its expiry. Callers that need a token
+ * while none is cached wait on a single shared fetch. The cache is keyed by user, a sign in or
+ * sign out fetches a token for the new user.
+ */
+class AuthTokenProvider(
+    private val source: AuthTokenSource,
+    private val scope: CoroutineScope = CoroutineScope(SupervisorJob() + Dispatchers.IO),
+    private val refreshMarginMillis: Long = TimeUnit.MINUTES.toMillis(5),
+    private val clock: () -> Long = System::currentTimeMillis,
+) {
+
+    @Volatile
+    private var cached: AuthToken? = null
+
+    private var inFlight: Deferred<AuthToken?>? = null
+    private var isInFlightForced = false
+
+    /**
+     * The current token, or an empty string if none could be fetched.
+     */
+    suspend fun token(): String {
+        validToken()?.let { return it.token }
+        return refreshAsync(forceRefresh = false).await()?.token.orEmpty()
+    }
+
+    /**
+     * [token] for OkHttp threads, which only block when there is no valid token cached.
+     */
+    fun blockingToken(): String {
+        validToken()?.let { return it.token }
+        return runBlocking { token() }
+    }
+
+    /**
+     * A new token after the server rejected [rejectedToken]. Concurrent calls for the same token
+     * share one forced refresh, and a token refreshed since is returned as is.
+     */
+    suspend fun refreshRejected(rejectedToken: String): String {
+        val refresh = synchronized(this) {
+            val current = cached
+            if (current != null && current.token != rejectedToken && isValid(current)) {
+                return current.token
+            }
+            cached = null
+            startRefresh(forceRefresh = true)
+        }
+        return refresh.await()?.token.orEmpty()
+    }
+
+    private fun validToken(): AuthToken? {
+        val token = cached ?: return null
+        if (!isValid(token)) {
+            return null
+        }
+        if (token.expiresAtMillis - clock() < refreshMarginMillis) {
+            // forced, an unforced fetch may return the same token until it is about to expire
+            refreshAsync(forceRefresh = true)
+        }
+        return token
+    }
+
+    private fun isValid(token: AuthToken): Boolean {
+        return token.expiresAtMillis > clock() && token.userId == source.currentUserId()
+    }
+
+    private fun refreshAsync(forceRefresh: Boolean): Deferred<AuthToken?> = synchronized(this) {
+        startRefresh(forceRefresh)
+    }
+
+    // called holding the lock, a forced refresh doesn't join a normal one, that might return the
+    // token that was just rejected
+    private fun startRefresh(forceRefresh: Boolean): Deferred<AuthToken?> {
+        inFlight?.takeIf { it.isActive && (isInFlightForced || !forceRefresh) }?.let { return it }
+        isInFlightForced = forceRefresh
+        return scope.async { fetch(forceRefresh) }.also { inFlight = it }
+    }
+
+    private suspend fun fetch(forceRefresh: Boolean): AuthToken? {
+        val token = try {
+            source.fetchToken(forceRefresh)
+        } catch (e: Exception) {
+            loge(TAG, "fetch token failed: ${e.message}")
+            null
+        }
+        if (token != null && token.token.isNotEmpty()) {
+            logd(TAG, "token refreshed, expires at ${token.expiresAtMillis}")
+            synchronized(this) {
+                // a slower, older fetch doesn't replace a newer token of the same user
+                val current = cached
+                if (current == null || current.userId != token.userId || token.expiresAtMillis >= current.expiresAtMillis) {
+                    cached = token
+                }
+            }
+        }
+        return token
+    }
+
+    companion object {
+        private val TAG = AuthTokenProvider::class.java.simpleName
+    }
+}
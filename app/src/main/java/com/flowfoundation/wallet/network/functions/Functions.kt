@@ -1,8 +1,9 @@
 package com.flowfoundation.wallet.network.functions
 
-import com.google.gson.GsonBuilder
 import com.flowfoundation.wallet.firebase.analytics.reportEvent
+import com.flowfoundation.wallet.network.authTokenProvider
 import com.flowfoundation.wallet.network.interceptor.HeaderInterceptor
+import com.flowfoundation.wallet.network.interceptor.TokenAuthenticator
 import com.flowfoundation.wallet.utils.*
 import com.instabug.library.okhttplogger.InstabugOkhttpInterceptor
 import kotlinx.coroutines.suspendCancellableCoroutine
@@ -42,13 +43,14 @@ private suspend fun executeHttp(host: String, functionName: String, data: Any? =
         readTimeout(10, TimeUnit.SECONDS)
         writeTimeout(10, TimeUnit.SECONDS)
 
-        addInterceptor(HeaderInterceptor())
+        addInterceptor(HeaderInterceptor(authTokenProvider))
+        authenticator(TokenAuthenticator(authTokenProvider))
         addInterceptor(InstabugOkhttpInterceptor())
         if (isTesting()) {
             addInterceptor(HttpLoggingInterceptor().apply { level = HttpLoggingInterceptor.Level.BODY })
         }
     }.build()
-    val body = if (data == null) data else (if (data is String) data else GsonBuilder().serializeNulls().create().toJson(data))
+    val body = if (data == null) data else (if (data is String) data else JsonCodec.gsonWithNulls.toJson(data))
 
     val request = Request.Builder().url("$host$functionName")
         .post(body.orEmpty().toRequestBody("application/json; charset=utf-8".toMediaType()))
@@ -2,8 +2,9 @@ package com.flowfoundation.wallet.network.interceptor
 
 import okhttp3.Interceptor
 import okhttp3.Response
-import okhttp3.ResponseBody.Companion.toResponseBody
-import java.util.zip.GZIPInputStream
+import okhttp3.ResponseBody.Companion.asResponseBody
+import okio.GzipSource
+import okio.buffer
 
 class GzipRequestInterceptor : Interceptor {
     override fun intercept(chain: Interceptor.Chain): Response {
@@ -14,15 +15,23 @@ class GzipRequestInterceptor : Interceptor {
         return chain.proceed(compressedRequest)
     }
 }
+
+/**
+ * Decompresses gzip bodies lazily while they are being read, so the payload is never fully
+ * materialised in memory. The decompressed length is unknown up front, hence the
+ * Content-Encoding/Content-Length headers are dropped and the body reports -1.
+ */
 class GzipResponseInterceptor : Interceptor {
     override fun intercept(chain: Interceptor.Chain): Response {
         val response = chain.proceed(chain.request())
         val body = response.body
         if (body != null && isGzipped(response)) {
-            val gzippedInputStream = GZIPInputStream(body.byteStream())
-            val unzippedBytes = gzippedInputStream.readBytes()
-            val unzippedBody = unzippedBytes.toResponseBody(body.contentType())
-            return response.newBuilder().body(unzippedBody).build()
+            val unzippedBody = GzipSource(body.source()).buffer().asResponseBody(body.contentType(), -1L)
+            return response.newBuilder()
+                .removeHeader("Content-Encoding")
+                .removeHeader("Content-Length")
+                .body(unzippedBody)
+                .build()
         }
         return response
     }
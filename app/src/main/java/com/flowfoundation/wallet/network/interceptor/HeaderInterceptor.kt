@@ -3,12 +3,11 @@ package com.flowfoundation.wallet.network.interceptor
 import android.os.Build
 import com.flowfoundation.wallet.BuildConfig
 import com.flowfoundation.wallet.R
-import com.flowfoundation.wallet.firebase.auth.getFirebaseJwt
 import com.flowfoundation.wallet.manager.app.chainNetWorkString
+import com.flowfoundation.wallet.network.auth.AuthTokenProvider
 import com.flowfoundation.wallet.utils.extensions.capitalizeV2
 import com.flowfoundation.wallet.utils.extensions.res2String
 import com.flowfoundation.wallet.utils.logd
-import kotlinx.coroutines.runBlocking
 import okhttp3.Interceptor
 import okhttp3.Response
 
@@ -22,6 +21,7 @@ private fun deviceName(): String {
 }
 
 class HeaderInterceptor(
+    private val tokenProvider: AuthTokenProvider,
     private val ignoreAuthorization: Boolean = false,
     private val network: String? = null,
 ) : Interceptor {
@@ -31,7 +31,7 @@ class HeaderInterceptor(
             return chain.proceed(chain.request())
         }
 
-        val jwt = runBlocking { getFirebaseJwt() }
+        val jwt = tokenProvider.blockingToken()
 
         logd("HeaderInterceptor", "jwt:$jwt")
         val request = chain.request().newBuilder()
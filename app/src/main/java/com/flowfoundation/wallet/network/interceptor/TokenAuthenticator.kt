@@ -0,0 +1,39 @@
+package com.flowfoundation.wallet.network.interceptor
+
+import com.flowfoundation.wallet.network.auth.AuthTokenProvider
+import com.flowfoundation.wallet.utils.logd
+import kotlinx.coroutines.runBlocking
+import okhttp3.Authenticator
+import okhttp3.Request
+import okhttp3.Response
+import okhttp3.Route
+
+/**
+ * Retries a request the server answered with 401 once, with a refreshed token. Requests failing
+ * together with the same token share one refresh in [AuthTokenProvider.refreshRejected].
+ */
+class TokenAuthenticator(
+    private val tokenProvider: AuthTokenProvider,
+) : Authenticator {
+
+    override fun authenticate(route: Route?, response: Response): Request? {
+        val rejectedToken = response.request.header(AUTHORIZATION)?.removePrefix(BEARER) ?: return null
+        if (response.priorResponse != null) {
+            // already retried with a refreshed token
+            return null
+        }
+        val jwt = runBlocking { tokenProvider.refreshRejected(rejectedToken) }
+        if (jwt.isEmpty() || jwt == rejectedToken) {
+            return null
+        }
+        logd("TokenAuthenticator", "retry ${response.request.url.encodedPath} with a refreshed token")
+        return response.request.newBuilder()
+            .header(AUTHORIZATION, "$BEARER$jwt")
+            .build()
+    }
+
+    companion object {
+        private const val AUTHORIZATION = "Authorization"
+        private const val BEARER = "Bearer "
+    }
+}
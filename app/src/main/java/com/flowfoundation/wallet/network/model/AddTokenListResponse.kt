@@ -2,6 +2,7 @@ package com.flowfoundation.wallet.network.model
 
 import android.os.Parcelable
 import com.flowfoundation.wallet.manager.flowjvm.CadenceScript
+import com.flowfoundation.wallet.manager.flowjvm.CadenceScriptTemplates
 import com.flowfoundation.wallet.utils.svgToPng
 import com.flowfoundation.wallet.wallet.removeAddressPrefix
 import com.google.gson.annotations.SerializedName
@@ -65,9 +66,14 @@ data class TokenExtensions(
 ): Parcelable
 
 fun TokenInfo.formatCadence(cadenceScript: CadenceScript): String {
-    return cadenceScript.getScript().replace("<Token>", contractName.orEmpty())
-        .replace("<TokenAddress>", address)
-        .replace("<TokenReceiverPath>", path?.receiver.orEmpty())
-        .replace("<TokenBalancePath>", path?.balance.orEmpty())
-        .replace("<TokenStoragePath>", path?.vault.orEmpty())
+    val variant = CadenceScriptTemplates.variantOf(
+        contractName, address, path?.receiver, path?.balance, path?.vault,
+    )
+    return CadenceScriptTemplates.template(cadenceScript, variant) { script ->
+        script.replace("<Token>", contractName.orEmpty())
+            .replace("<TokenAddress>", address)
+            .replace("<TokenReceiverPath>", path?.receiver.orEmpty())
+            .replace("<TokenBalancePath>", path?.balance.orEmpty())
+            .replace("<TokenStoragePath>", path?.vault.orEmpty())
+    }
 }
\ No newline at end of file
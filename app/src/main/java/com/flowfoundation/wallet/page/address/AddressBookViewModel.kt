@@ -13,10 +13,14 @@ import com.flowfoundation.wallet.page.address.model.AddressBookCharModel
 import com.flowfoundation.wallet.page.address.model.AddressBookPersonModel
 import com.flowfoundation.wallet.page.send.transaction.TransactionSendActivity
 import com.flowfoundation.wallet.utils.*
+import com.flowfoundation.wallet.utils.search.SearchIndex
 import com.flowfoundation.wallet.wallet.toAddress
 
 class AddressBookViewModel : ViewModel() {
     private val addressBookList = mutableListOf<Any>()
+    private val searchIndex = SearchIndex<AddressBookPersonModel> {
+        listOf(it.data.name(""), it.data.address, it.data.address?.removePrefix("0x"))
+    }
     val addressBookLiveData = MutableLiveData<List<Any>>()
 
     val remoteEmptyLiveData = MutableLiveData<Boolean>()
@@ -59,10 +63,7 @@ class AddressBookViewModel : ViewModel() {
             return
         }
 
-        val localData = addressBookList
-            .filterIsInstance<AddressBookPersonModel>()
-            .map { it.data }
-            .filter { it.name().contains(keyword) || it.address?.contains(keyword) ?: false }
+        val localData = searchIndex.search(keyword).map { it.data }
         addressBookLiveData.postValue(parseAddressBook(localData))
         if (localData.isEmpty()) {
             localEmptyLiveData.postValue(true)
@@ -80,10 +81,7 @@ class AddressBookViewModel : ViewModel() {
             val data = mutableListOf<Any>()
 
             if (includeLocal) {
-                val localData = addressBookList
-                    .filterIsInstance<AddressBookPersonModel>()
-                    .filter { it.data.name().contains(keyword) || it.data.address?.contains(keyword) ?: false }
-                data.addAll(localData)
+                data.addAll(searchIndex.search(keyword))
                 addressBookLiveData.postValue(data)
             }
 
@@ -113,6 +111,7 @@ class AddressBookViewModel : ViewModel() {
             showProgressLiveData.postValue(false)
             val data = addressBookLiveData.value?.toMutableList() ?: return@viewModelIOScope
             addressBookList.removeIf { it is AddressBookPersonModel && it.data == contact }
+            rebuildSearchIndex()
             data.removeIf { it is AddressBookPersonModel && it.data == contact }
             addressBookLiveData.postValue(data)
         }
@@ -151,6 +150,7 @@ class AddressBookViewModel : ViewModel() {
 
                 if (resp.status == 200) {
                     addressBookList.add(AddressBookPersonModel(data = data))
+                    rebuildSearchIndex()
 
                     val list = (addressBookLiveData.value ?: emptyList()).toMutableList()
                     val index = list.indexOfFirst { it is AddressBookPersonModel && it.data.uniqueId() == data.uniqueId() }
@@ -176,9 +176,15 @@ class AddressBookViewModel : ViewModel() {
     private fun updateOriginAddressBook(data: List<Any>) {
         addressBookList.clear()
         addressBookList.addAll(data)
+        rebuildSearchIndex()
         addressBookLiveData.postValue(data)
     }
 
+    private fun rebuildSearchIndex() {
+        searchIndex.clear()
+        searchIndex.addAll(addressBookList.filterIsInstance<AddressBookPersonModel>())
+    }
+
     private suspend fun searchUsers(keyword: String, data: MutableList<Any>) {
         try {
             val service = retrofit().create(ApiService::class.java)
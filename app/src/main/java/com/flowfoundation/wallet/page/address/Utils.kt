@@ -1,13 +1,12 @@
 package com.flowfoundation.wallet.page.address
 
 import android.annotation.SuppressLint
-import androidx.recyclerview.widget.DiffUtil
+import com.flowfoundation.wallet.base.recyclerview.IdentityDiffCallback
 import com.flowfoundation.wallet.manager.flowjvm.cadenceQueryAddressByDomainFind
 import com.flowfoundation.wallet.manager.flowjvm.cadenceQueryAddressByDomainFlowns
 import com.flowfoundation.wallet.network.model.AddressBookContact
 import com.flowfoundation.wallet.network.model.AddressBookDomain
 import com.flowfoundation.wallet.network.model.UserInfoData
-import com.flowfoundation.wallet.page.address.model.AddressBookPersonModel
 
 enum class FlowDomainServer(
     val server: String,
@@ -19,19 +18,13 @@ enum class FlowDomainServer(
     MEOW("meow", "meow", 3),
 }
 
-val addressBookDiffCallback = object : DiffUtil.ItemCallback<Any>() {
-    override fun areItemsTheSame(oldItem: Any, newItem: Any): Boolean {
-        if (oldItem is AddressBookPersonModel && newItem is AddressBookPersonModel) {
-            return oldItem.data == newItem.data
-        }
+val addressBookDiffCallback = object : IdentityDiffCallback<Any>() {
+    override fun areOtherItemsTheSame(oldItem: Any, newItem: Any): Boolean {
         return oldItem == newItem
     }
 
     @SuppressLint("DiffUtilEquals")
-    override fun areContentsTheSame(oldItem: Any, newItem: Any): Boolean {
-        if (oldItem is AddressBookPersonModel && newItem is AddressBookPersonModel) {
-            return oldItem.data == newItem.data && oldItem.isFriend == newItem.isFriend
-        }
+    override fun areOtherContentsTheSame(oldItem: Any, newItem: Any): Boolean {
         return oldItem == newItem
     }
 }
@@ -1,5 +1,6 @@
 package com.flowfoundation.wallet.page.address.model
 
+import com.flowfoundation.wallet.base.recyclerview.DiffableItem
 import com.flowfoundation.wallet.network.model.AddressBookContact
 import com.google.gson.annotations.SerializedName
 
@@ -8,4 +9,6 @@ data class AddressBookPersonModel(
     val data: AddressBookContact,
     @SerializedName("isFriend")
     var isFriend: Boolean? = null,
-)
\ No newline at end of file
+) : DiffableItem {
+    override fun diffId() = data.id ?: data.uniqueId()
+}
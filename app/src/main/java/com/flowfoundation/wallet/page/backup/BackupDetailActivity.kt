@@ -9,6 +9,7 @@ import android.content.res.ColorStateList
 import android.os.Bundle
 import android.view.MenuItem
 import androidx.localbroadcastmanager.content.LocalBroadcastManager
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.android.gms.maps.CameraUpdateFactory
 import com.google.android.gms.maps.GoogleMap
 import com.google.android.gms.maps.OnMapReadyCallback
@@ -16,7 +17,6 @@ import com.google.android.gms.maps.SupportMapFragment
 import com.google.android.gms.maps.model.BitmapDescriptorFactory
 import com.google.android.gms.maps.model.LatLng
 import com.google.android.gms.maps.model.MarkerOptions
-import com.google.gson.Gson
 import com.flowfoundation.wallet.R
 import com.flowfoundation.wallet.base.activity.BaseActivity
 import com.flowfoundation.wallet.databinding.ActivityBackupDetailBinding
@@ -49,7 +49,7 @@ class BackupDetailActivity : BaseActivity(), OnMapReadyCallback, OnTransactionSt
     private lateinit var binding: ActivityBackupDetailBinding
     private val backupKey by lazy {
         val keyInfo = intent.getStringExtra(EXTRA_BACKUP_KEY_INFO) ?: ""
-        Gson().fromJson(keyInfo, BackupKey::class.java)
+        JsonCodec.gson.fromJson(keyInfo, BackupKey::class.java)
     }
     private lateinit var mMap: GoogleMap
 
@@ -208,7 +208,7 @@ class BackupDetailActivity : BaseActivity(), OnMapReadyCallback, OnTransactionSt
 
         fun launch(context: Context, backupKey: BackupKey) {
             val intent = Intent(context, BackupDetailActivity::class.java)
-            intent.putExtra(EXTRA_BACKUP_KEY_INFO, Gson().toJson(backupKey))
+            intent.putExtra(EXTRA_BACKUP_KEY_INFO, JsonCodec.gson.toJson(backupKey))
             context.startActivity(intent)
         }
     }
@@ -1,6 +1,6 @@
 package com.flowfoundation.wallet.page.browser
 
-import com.google.gson.Gson
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.gson.reflect.TypeToken
 import com.flowfoundation.wallet.page.browser.model.DockDuckGoRecommend
 import com.flowfoundation.wallet.page.browser.model.RecommendModel
@@ -48,7 +48,7 @@ class BrowserViewModel {
 
     private fun queryRecommendWordInternal(keyword: String): List<String> {
         val json = URL("https://ac.duckduckgo.com/ac?q=${URLEncoder.encode(keyword)}&type=json").openStream().bufferedReader().use { it.readText() }
-        return Gson().fromJson<List<DockDuckGoRecommend>>(json, object : TypeToken<List<DockDuckGoRecommend>>() {}.type).map { it.phrase }
+        return JsonCodec.gson.fromJson<List<DockDuckGoRecommend>>(json, object : TypeToken<List<DockDuckGoRecommend>>() {}.type).map { it.phrase }
     }
 
     fun hideInputPanel() {
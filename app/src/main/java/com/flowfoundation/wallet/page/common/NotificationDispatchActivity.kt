@@ -3,7 +3,7 @@ package com.flowfoundation.wallet.page.common
 import android.graphics.Color
 import android.os.Bundle
 import com.flowfoundation.wallet.base.activity.BaseActivity
-import com.google.gson.Gson
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.gson.reflect.TypeToken
 import com.zackratos.ultimatebarx.ultimatebarx.UltimateBarX
 import com.flowfoundation.wallet.manager.app.isTestnet
@@ -23,7 +23,7 @@ class NotificationDispatchActivity : BaseActivity() {
 
         logd(TAG, "data: $data")
         safeRun {
-            val json = Gson().fromJson<Map<String, Any>>(data, object : TypeToken<Map<String, Any>>() {}.type)
+            val json = JsonCodec.gson.fromJson<Map<String, Any>>(data, object : TypeToken<Map<String, Any>>() {}.type)
             dispatch(json)
         }
 
@@ -10,7 +10,7 @@ import com.google.android.material.bottomsheet.BottomSheetDialogFragment
 import com.flowfoundation.wallet.R
 import com.flowfoundation.wallet.base.activity.BaseActivity
 import com.flowfoundation.wallet.databinding.DialogFclAuthzBinding
-import com.flowfoundation.wallet.manager.config.isGasFree
+import com.flowfoundation.wallet.manager.config.peekGasFree
 import com.flowfoundation.wallet.manager.transaction.OnTransactionStateChange
 import com.flowfoundation.wallet.manager.transaction.TransactionState
 import com.flowfoundation.wallet.manager.transaction.TransactionStateManager
@@ -19,7 +19,6 @@ import com.flowfoundation.wallet.page.browser.toFavIcon
 import com.flowfoundation.wallet.utils.extensions.isVisible
 import com.flowfoundation.wallet.utils.extensions.res2color
 import com.flowfoundation.wallet.utils.extensions.setVisible
-import com.flowfoundation.wallet.utils.uiScope
 
 class FclTransactionProcessingDialog : BottomSheetDialogFragment(), OnTransactionStateChange {
 
@@ -36,7 +35,7 @@ class FclTransactionProcessingDialog : BottomSheetDialogFragment(), OnTransactio
         TransactionStateManager.addOnTransactionStateChange(this)
         with(binding) {
             actionButton.setVisible(false)
-            uiScope { feeNumber.text = if (isGasFree()) "0" else "0.001" }
+            feeNumber.text = if (peekGasFree()) "0" else "0.001"
             scriptHeaderWrapper.setOnClickListener { toggleScriptVisible() }
             updateState()
         }
@@ -4,9 +4,9 @@ import android.annotation.SuppressLint
 import androidx.fragment.app.FragmentActivity
 import androidx.lifecycle.MutableLiveData
 import androidx.lifecycle.ViewModel
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.firebase.ktx.Firebase
 import com.google.firebase.remoteconfig.ktx.remoteConfig
-import com.google.gson.Gson
 import com.google.gson.reflect.TypeToken
 import com.flowfoundation.wallet.R
 import com.flowfoundation.wallet.database.AppDataBase
@@ -70,7 +70,7 @@ class ExploreViewModel : ViewModel() {
 
     private fun refreshDApps() {
         val json = Firebase.remoteConfig.getString("dapp")
-        val dApps = Gson().fromJson<List<DAppModel>>(json, object : TypeToken<List<DAppModel>>() {}.type).filter {
+        val dApps = JsonCodec.gson.fromJson<List<DAppModel>>(json, object : TypeToken<List<DAppModel>>() {}.type).filter {
             if (isTestnet()) !it.testnetUrl.isNullOrBlank() else !it.url.isNullOrBlank()
         }
         val tags = dApps.map { it.category.lowercase() }.distinct()
@@ -12,6 +12,7 @@ import androidx.lifecycle.ViewModelProvider
 import androidx.recyclerview.widget.DiffUtil
 import androidx.recyclerview.widget.LinearLayoutManager
 import androidx.recyclerview.widget.RecyclerView
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.android.flexbox.AlignItems
 import com.google.android.flexbox.FlexDirection
 import com.google.android.flexbox.FlexWrap
@@ -19,7 +20,6 @@ import com.google.android.flexbox.FlexboxLayoutManager
 import com.google.android.material.bottomsheet.BottomSheetDialogFragment
 import com.google.firebase.ktx.Firebase
 import com.google.firebase.remoteconfig.ktx.remoteConfig
-import com.google.gson.Gson
 import com.google.gson.reflect.TypeToken
 import com.flowfoundation.wallet.R
 import com.flowfoundation.wallet.base.presenter.BasePresenter
@@ -151,7 +151,7 @@ class DAppListViewModel : ViewModel() {
 
     fun load() {
         val json = Firebase.remoteConfig.getString("dapp")
-        val dApps = Gson().fromJson<List<DAppModel>>(json, object : TypeToken<List<DAppModel>>() {}.type).filter {
+        val dApps = JsonCodec.gson.fromJson<List<DAppModel>>(json, object : TypeToken<List<DAppModel>>() {}.type).filter {
             if (isTestnet()) !it.testnetUrl.isNullOrBlank() else !it.url.isNullOrBlank()
         }
         val tags = dApps.map { it.category }.distinct()
@@ -2,7 +2,6 @@ package com.flowfoundation.wallet.page.inbox
 
 import androidx.lifecycle.MutableLiveData
 import androidx.lifecycle.ViewModel
-import com.google.gson.Gson
 import com.flowfoundation.wallet.R
 import com.flowfoundation.wallet.cache.inboxCache
 import com.flowfoundation.wallet.manager.app.isTestnet
@@ -21,6 +20,7 @@ import com.flowfoundation.wallet.network.model.InboxToken
 import com.flowfoundation.wallet.network.retrofitWithHost
 import com.flowfoundation.wallet.page.window.bubble.tools.pushBubbleStack
 import com.flowfoundation.wallet.utils.*
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.extensions.toSafeInt
 import org.onflow.flow.models.TransactionStatus
 
@@ -58,7 +58,7 @@ class InboxViewModel : ViewModel(), OnTransactionStateChange, FungibleTokenUpdat
                     time = System.currentTimeMillis(),
                     state = TransactionStatus.PENDING.ordinal,
                     type = TransactionState.TYPE_TRANSACTION_DEFAULT,
-                    data = Gson().toJson(token)
+                    data = JsonCodec.gson.toJson(token)
                 )
                 TransactionStateManager.newTransaction(transactionState)
                 pushBubbleStack(transactionState)
@@ -81,7 +81,7 @@ class InboxViewModel : ViewModel(), OnTransactionStateChange, FungibleTokenUpdat
                     time = System.currentTimeMillis(),
                     state = TransactionStatus.PENDING.ordinal,
                     type = TransactionState.TYPE_TRANSACTION_DEFAULT,
-                    data = Gson().toJson(nft)
+                    data = JsonCodec.gson.toJson(nft)
                 )
                 TransactionStateManager.newTransaction(transactionState)
                 pushBubbleStack(transactionState)
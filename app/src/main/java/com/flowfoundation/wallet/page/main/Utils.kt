@@ -7,6 +7,7 @@ import android.view.View
 import android.view.ViewGroup
 import android.widget.ImageView
 import android.widget.TextView
+import com.flowfoundation.wallet.page.wallet.HomeSnapshotStore
 import com.google.android.material.bottomnavigation.BottomNavigationView
 import com.flowfoundation.wallet.R
 import com.flowfoundation.wallet.databinding.LayoutMainDrawerLayoutBinding
@@ -733,6 +734,7 @@ private fun ViewGroup.setupWallet(
             NftCollectionStateManager.clear()
             TransactionStateManager.reload()
             StakingManager.clear()
+            HomeSnapshotStore.clear()
             CryptoProviderManager.clear()
             delay(1000)
             uiScope {
@@ -940,6 +942,7 @@ private fun View.setupWalletItem(
                 NftCollectionStateManager.clear()
                 TransactionStateManager.reload()
                 StakingManager.clear()
+                HomeSnapshotStore.clear()
                 CryptoProviderManager.clear()
                 delay(1000)
                 uiScope {
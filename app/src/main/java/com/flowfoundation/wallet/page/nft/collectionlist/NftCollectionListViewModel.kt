@@ -2,7 +2,6 @@ package com.flowfoundation.wallet.page.nft.collectionlist
 
 import androidx.lifecycle.MutableLiveData
 import androidx.lifecycle.ViewModel
-import com.google.gson.Gson
 import com.flowfoundation.wallet.R
 import com.flowfoundation.wallet.manager.config.NftCollection
 import com.flowfoundation.wallet.manager.config.NftCollectionConfig
@@ -14,6 +13,7 @@ import com.flowfoundation.wallet.manager.transaction.TransactionState
 import com.flowfoundation.wallet.manager.transaction.TransactionStateManager
 import com.flowfoundation.wallet.page.nft.collectionlist.model.NftCollectionItem
 import com.flowfoundation.wallet.page.window.bubble.tools.pushBubbleStack
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.ioScope
 import com.flowfoundation.wallet.utils.toast
 import com.flowfoundation.wallet.utils.viewModelIOScope
@@ -75,7 +75,7 @@ class NftCollectionListViewModel : ViewModel(), OnTransactionStateChange, NftCol
                     time = System.currentTimeMillis(),
                     state = TransactionStatus.PENDING.ordinal,
                     type = TransactionState.TYPE_ENABLE_NFT,
-                    data = Gson().toJson(collection)
+                    data = JsonCodec.gson.toJson(collection)
                 )
                 TransactionStateManager.newTransaction(transactionState)
                 pushBubbleStack(transactionState)
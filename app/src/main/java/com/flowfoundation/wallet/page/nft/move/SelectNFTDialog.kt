@@ -145,8 +145,8 @@ class SelectNFTDialog: BottomSheetDialogFragment() {
             loadNFTViewModel.searchNFT(it)
         }
         with(loadNFTViewModel) {
-            nftListLiveData.observe(this@SelectNFTDialog) { pair ->
-                val list = pair.second
+            nftListLiveData.observe(this@SelectNFTDialog) { result ->
+                val list = result.list
                 if (list == null) {
                     binding.errorLayout.visible()
                     binding.errorLayout.setOnRefreshClickListener {
@@ -160,7 +160,7 @@ class SelectNFTDialog: BottomSheetDialogFragment() {
                 listAdapter.setNewDiffData(list)
                 if (list.isEmpty()) {
                     // Check whether a collection is defined.
-                    binding.tvEmpty.text = if (pair.first == NFTListType.RESULTS) {
+                    binding.tvEmpty.text = if (result.type == NFTListType.RESULTS) {
                         getString(R.string.no_relevant_nft)
                     } else {
                         if (viewModel.collectionLiveData.value == null) {
@@ -171,7 +171,7 @@ class SelectNFTDialog: BottomSheetDialogFragment() {
                     }
                     binding.tvEmpty.visible()
                     binding.loadingLayout.gone()
-                    binding.searchLayout.setVisible(pair.first == NFTListType.RESULTS)
+                    binding.searchLayout.setVisible(result.type == NFTListType.RESULTS)
                 } else {
                     binding.tvEmpty.gone()
                     binding.loadingLayout.gone()
@@ -24,8 +24,8 @@ import com.flowfoundation.wallet.page.nft.nftlist.utils.NftListRequester
 import com.flowfoundation.wallet.page.nft.nftlist.utils.OnNftFavoriteChangeListener
 import com.flowfoundation.wallet.page.profile.subpage.wallet.ChildAccountCollectionManager
 import com.flowfoundation.wallet.utils.ioScope
-import com.flowfoundation.wallet.utils.isNftCollectionExpanded
 import com.flowfoundation.wallet.utils.logd
+import com.flowfoundation.wallet.utils.peekNftCollectionExpanded
 import com.flowfoundation.wallet.utils.updateNftCollectionExpanded
 import com.flowfoundation.wallet.utils.viewModelIOScope
 
@@ -50,7 +50,6 @@ class NftViewModel : ViewModel(), OnNftFavoriteChangeListener, OnWalletDataUpdat
     private val listRequester by lazy { NftListRequester() }
 
     private var selectedCollection: NftCollection? = null
-    private var isCollectionExpanded = false
 
     val isGridViewLiveData = MutableLiveData<Boolean>().apply { value = true }
 
@@ -71,7 +70,6 @@ class NftViewModel : ViewModel(), OnNftFavoriteChangeListener, OnWalletDataUpdat
             } else {
                 updateNftCollectionExpanded(true)
             }
-            isCollectionExpanded = isNftCollectionExpanded()
             requestList()
         }
     }
@@ -82,8 +80,6 @@ class NftViewModel : ViewModel(), OnNftFavoriteChangeListener, OnWalletDataUpdat
 
     fun requestList() {
         viewModelIOScope(this) {
-            isCollectionExpanded = isNftCollectionExpanded()
-
             // read from cache
             val cacheCollections = listRequester.cacheCollections().orEmpty()
             notifyCollectionList(cacheCollections)
@@ -198,7 +194,7 @@ class NftViewModel : ViewModel(), OnNftFavoriteChangeListener, OnWalletDataUpdat
         }
     }
 
-    fun isCollectionExpanded() = isCollectionExpanded
+    fun isCollectionExpanded() = peekNftCollectionExpanded()
 
     fun onListScrollChange(scrollY: Int) = apply { listScrollChangeLiveData.postValue(scrollY) }
 
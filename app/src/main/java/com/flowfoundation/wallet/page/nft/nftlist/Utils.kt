@@ -2,9 +2,9 @@ package com.flowfoundation.wallet.page.nft.nftlist
 
 import android.annotation.SuppressLint
 import android.view.View
-import androidx.recyclerview.widget.DiffUtil
 import androidx.swiperefreshlayout.widget.SwipeRefreshLayout
 import com.google.android.material.appbar.AppBarLayout
+import com.flowfoundation.wallet.base.recyclerview.IdentityDiffCallback
 import com.flowfoundation.wallet.cache.NftSelections
 import com.flowfoundation.wallet.manager.config.NftCollectionConfig
 import com.flowfoundation.wallet.manager.wallet.WalletManager
@@ -16,12 +16,8 @@ import com.flowfoundation.wallet.wallet.toAddress
 import java.net.URLEncoder
 import kotlin.math.min
 
-val nftListDiffCallback = object : DiffUtil.ItemCallback<Any>() {
-    override fun areItemsTheSame(oldItem: Any, newItem: Any): Boolean {
-        if (oldItem is NFTItemModel && newItem is NFTItemModel) {
-            return oldItem.nft.uniqueId() == newItem.nft.uniqueId()
-        }
-
+val nftListDiffCallback = object : IdentityDiffCallback<Any>() {
+    override fun areOtherItemsTheSame(oldItem: Any, newItem: Any): Boolean {
         if (oldItem is CollectionTabsModel && newItem is CollectionTabsModel) {
             return true
         }
@@ -34,7 +30,7 @@ val nftListDiffCallback = object : DiffUtil.ItemCallback<Any>() {
     }
 
     @SuppressLint("DiffUtilEquals")
-    override fun areContentsTheSame(oldItem: Any, newItem: Any): Boolean {
+    override fun areOtherContentsTheSame(oldItem: Any, newItem: Any): Boolean {
         if (oldItem is CollectionTabsModel && newItem is CollectionTabsModel) {
             return true
         }
@@ -1,5 +1,6 @@
 package com.flowfoundation.wallet.page.nft.nftlist.model
 
+import com.flowfoundation.wallet.base.recyclerview.DiffableItem
 import com.flowfoundation.wallet.network.model.Nft
 import com.google.gson.annotations.SerializedName
 
@@ -10,4 +11,6 @@ data class NFTItemModel(
     val nft: Nft,
     @SerializedName("accountAddress")
     val accountAddress: String? = null
-)
\ No newline at end of file
+) : DiffableItem {
+    override fun diffId() = nft.uniqueId()
+}
@@ -2,6 +2,7 @@ package com.flowfoundation.wallet.page.nft.nftlist.utils
 
 import com.google.gson.annotations.SerializedName
 import com.flowfoundation.wallet.cache.CacheManager
+import com.flowfoundation.wallet.cache.MemoryPolicy
 import com.flowfoundation.wallet.cache.cacheFile
 import com.flowfoundation.wallet.network.model.Nft
 import com.flowfoundation.wallet.network.model.NftCollections
@@ -11,26 +12,30 @@ class NftCache(
 ) {
 
     fun grid(): CacheManager<NftList> {
-        return CacheManager("${address}_nft_grid".cacheFile(), NftList::class.java)
+        return CacheManager("${address}_nft_grid".cacheFile(), NftList::class.java, memoryPolicy = MemoryPolicy.SOFT)
     }
 
     fun collection(): CacheManager<NftCollections> {
-        return CacheManager("${address}_nft_collection".cacheFile(), NftCollections::class.java)
+        return CacheManager("${address}_nft_collection".cacheFile(), NftCollections::class.java, memoryPolicy = MemoryPolicy.SOFT)
     }
 
     fun list(contractId: String, contractName: String): CacheManager<NftList> {
-        return CacheManager("${address}_${contractId}_${contractName}_nft_list".cacheFile(), NftList::class.java)
+        return CacheManager(
+            "${address}_${contractId}_${contractName}_nft_list".cacheFile(),
+            NftList::class.java,
+            memoryPolicy = MemoryPolicy.SOFT
+        )
     }
 
     fun findNftById(uniqueId: String): Nft? {
-        return grid().read()?.list?.firstOrNull { it.uniqueId() == uniqueId } ?: findNftFromCollection(uniqueId)
+        return grid().read()?.findById(uniqueId) ?: findNftFromCollection(uniqueId)
     }
 
     private fun findNftFromCollection(uniqueId: String): Nft? {
         val collections = collection().read()?.collections?.mapNotNull { it.collection?.run { Pair(id, contractName()) } } ?: return null
         for (collection in collections) {
-            val nfts = list(collection.first, collection.second).read()?.list ?: continue
-            return nfts.firstOrNull { it.uniqueId() == uniqueId } ?: continue
+            val nfts = list(collection.first, collection.second).read() ?: continue
+            return nfts.findById(uniqueId) ?: continue
         }
         return null
     }
@@ -39,7 +44,7 @@ class NftCache(
         return findNftById(uniqueId) ?: list(
             contractId,
             contractName
-        ).read()?.list?.firstOrNull { it.uniqueId() == uniqueId }
+        ).read()?.findById(uniqueId)
     }
 }
 
@@ -48,4 +53,20 @@ data class NftList(
     val list: List<Nft> = emptyList(),
     @SerializedName("count")
     val count: Int = 0,
-)
\ No newline at end of file
+) {
+    /**
+     * uniqueId index of [list], built on the first lookup. It belongs to this instance, so it is
+     * kept exactly as long as the memory cache keeps the list, a rewritten cache yields a new
+     * instance and so a fresh index.
+     */
+    @Transient
+    @Volatile
+    private var index: Map<String, Nft>? = null
+
+    fun findById(uniqueId: String): Nft? {
+        val byId = index ?: HashMap<String, Nft>(list.size).apply {
+            list.forEach { putIfAbsent(it.uniqueId(), it) }
+        }.also { index = it }
+        return byId[uniqueId]
+    }
+}
@@ -2,6 +2,7 @@ package com.flowfoundation.wallet.page.nft.nftlist.utils
 
 import com.google.gson.annotations.SerializedName
 import com.flowfoundation.wallet.cache.CacheManager
+import com.flowfoundation.wallet.cache.MemoryPolicy
 import com.flowfoundation.wallet.cache.cacheFile
 import com.flowfoundation.wallet.manager.wallet.WalletManager
 import com.flowfoundation.wallet.network.ApiService
@@ -89,7 +90,11 @@ object NftFavoriteManager {
         return service.updateFavorite(UpdateNftFavoriteRequest(ids.map { it.trim() }.distinct().joinToString(",")))
     }
 
-    private fun cache() = CacheManager<FavoriteCache>("${nftWalletAddress()}_nft_favorite".cacheFile(), object : TypeToken<FavoriteCache>() {}.type)
+    private fun cache() = CacheManager<FavoriteCache>(
+        "${nftWalletAddress()}_nft_favorite".cacheFile(),
+        object : TypeToken<FavoriteCache>() {}.type,
+        memoryPolicy = MemoryPolicy.STRONG
+    )
 
     private fun dispatchListener(nfts: List<Nft>) {
         favoriteList.clear()
@@ -29,8 +29,8 @@ class NFTSearchActivity : BaseActivity() {
 
         presenter = NFTSearchPresenter(this, binding)
         viewModel = ViewModelProvider(this)[NFTItemListViewModel::class.java].apply {
-            nftListLiveData.observe(this@NFTSearchActivity) { pair ->
-                presenter.bind(pair)
+            nftListLiveData.observe(this@NFTSearchActivity) { result ->
+                presenter.bind(result)
             }
             isLoadingLiveData.observe(this@NFTSearchActivity) {
                 presenter.configureLoadingState(it)
@@ -0,0 +1,11 @@
+package com.flowfoundation.wallet.page.nft.search.model
+
+/**
+ * The NFT list to show, [list] being null when loading failed. [keyword] is the search keyword
+ * the list was filtered with, blank for [NFTListType.ALL].
+ */
+data class NFTListResult<T>(
+    val type: NFTListType,
+    val keyword: String,
+    val list: List<T>?,
+)
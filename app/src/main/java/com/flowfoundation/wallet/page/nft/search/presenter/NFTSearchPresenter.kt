@@ -8,6 +8,7 @@ import com.flowfoundation.wallet.databinding.ActivityNftSearchBinding
 import com.flowfoundation.wallet.page.nft.nftlist.adapter.NFTListAdapter
 import com.flowfoundation.wallet.page.nft.nftlist.model.NFTItemModel
 import com.flowfoundation.wallet.page.nft.search.NFTSearchActivity
+import com.flowfoundation.wallet.page.nft.search.model.NFTListResult
 import com.flowfoundation.wallet.page.nft.search.model.NFTListType
 import com.flowfoundation.wallet.page.nft.search.viewmodel.NFTItemListViewModel
 import com.flowfoundation.wallet.utils.extensions.gone
@@ -20,13 +21,15 @@ import com.flowfoundation.wallet.widgets.itemdecoration.GridLayoutItemDecoration
 class NFTSearchPresenter(
     private val activity: NFTSearchActivity,
     private val binding: ActivityNftSearchBinding
-): BasePresenter<Pair<NFTListType, List<NFTItemModel>?>> {
+): BasePresenter<NFTListResult<NFTItemModel>> {
 
     private val viewModel by lazy { ViewModelProvider(activity)[NFTItemListViewModel::class.java]}
     private val adapter by lazy {
         NFTListAdapter()
     }
     private val dividerSize by lazy { R.dimen.nft_list_divider_size.res2dip().toDouble() }
+    private var listType: NFTListType? = null
+    private var keyword: String? = null
     init {
         with(binding.rvNftList) {
             itemAnimator = null
@@ -53,11 +56,15 @@ class NFTSearchPresenter(
         }
     }
 
-    override fun bind(model: Pair<NFTListType, List<NFTItemModel>?>) {
+    override fun bind(model: NFTListResult<NFTItemModel>) {
         with(binding) {
-            val list = model.second
+            val list = model.list
             loadingLayout.gone()
-            tvListType.text = model.first.resId.res2String()
+            // pages appended while loading or searching keep the scroll position
+            val isNewList = listType != model.type || keyword != model.keyword
+            listType = model.type
+            keyword = model.keyword
+            tvListType.text = model.type.resId.res2String()
             if (list == null) {
                 tvListCount.text = ""
                 errorLayout.visible()
@@ -69,9 +76,11 @@ class NFTSearchPresenter(
             adapter.setNewDiffData(list)
             if (list.isNotEmpty()) {
                 tvEmpty.gone()
-                rvNftList.smoothScrollToPosition(0)
+                if (isNewList) {
+                    rvNftList.smoothScrollToPosition(0)
+                }
             } else {
-                tvEmpty.setVisible(model.first == NFTListType.RESULTS)
+                tvEmpty.setVisible(model.type == NFTListType.RESULTS)
             }
         }
     }
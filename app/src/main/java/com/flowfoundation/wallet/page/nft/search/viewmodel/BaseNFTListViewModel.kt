@@ -2,153 +2,85 @@ package com.flowfoundation.wallet.page.nft.search.viewmodel
 
 import androidx.lifecycle.MutableLiveData
 import androidx.lifecycle.ViewModel
-import com.flowfoundation.wallet.manager.evm.EVMWalletManager
+import androidx.lifecycle.viewModelScope
 import com.flowfoundation.wallet.network.ApiService
 import com.flowfoundation.wallet.network.model.Nft
 import com.flowfoundation.wallet.network.retrofitApi
+import com.flowfoundation.wallet.page.nft.search.model.NFTListResult
 import com.flowfoundation.wallet.page.nft.search.model.NFTListType
 import com.flowfoundation.wallet.utils.error.ErrorReporter
 import com.flowfoundation.wallet.utils.error.MoveError
 import com.flowfoundation.wallet.utils.logd
-import com.flowfoundation.wallet.utils.viewModelIOScope
-import kotlinx.coroutines.Deferred
-import kotlinx.coroutines.async
-import kotlinx.coroutines.awaitAll
-import kotlinx.coroutines.coroutineScope
+import com.flowfoundation.wallet.utils.search.SearchIndex
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
 
 
 abstract class BaseNFTListViewModel<T> : ViewModel() {
     companion object {
         private val TAG = BaseNFTListViewModel::class.java.simpleName
         const val NFT_PAGE_SIZE = 50
+        private const val SEARCH_DEBOUNCE_MILLIS = 150L
     }
 
-    val nftListLiveData = MutableLiveData<Pair<NFTListType, List<T>?>>()
+    val nftListLiveData = MutableLiveData<NFTListResult<T>>()
 
     val loadingProgressLiveData = MutableLiveData<Pair<Int, Int>>()
 
     val isLoadingLiveData = MutableLiveData<Boolean>()
 
-    private val allNftList = mutableListOf<T>()
+    @Volatile
+    private var searchIndex = SearchIndex<T> { getSearchableFields(it) }
+    @Volatile
+    private var searchKeyword = ""
+    private var searchJob: Job? = null
+    private var loadJob: Job? = null
     protected val service: ApiService by lazy { retrofitApi().create(ApiService::class.java) }
-    private var isLoadingAll = false
-    private var totalNftCount = 0
     protected var currentFromAddress = ""
     private var currentCollectionId = ""
 
     protected abstract fun convertNFT(nft: Nft): T
-    protected abstract fun getSearchableText(item: T): String
-
+    /**
+     * Texts to search in, in order of relevance, e.g. the title before the description
+     */
+    protected abstract fun getSearchableFields(item: T): List<String?>
+
+    /**
+     * Streams the NFTs of the collection into the list page by page, so the first page is shown
+     * while the rest is loading. Loading another collection cancels the current load.
+     */
     fun loadAllNFTs(fromAddress: String, collectionId: String) {
-        if (isLoadingAll) return
+        if (loadJob?.isActive == true && fromAddress == currentFromAddress && collectionId == currentCollectionId) {
+            return
+        }
+        loadJob?.cancel()
 
         currentFromAddress = fromAddress
         currentCollectionId = collectionId
+        val index = SearchIndex<T> { getSearchableFields(it) }
+        searchIndex = index
 
-        viewModelIOScope(this) {
-            isLoadingAll = true
+        loadJob = viewModelScope.launch(Dispatchers.IO) {
             loadingProgressLiveData.postValue(Pair(0, 0))
             isLoadingLiveData.postValue(true)
-            allNftList.clear()
-
-            val isEvmAddress = EVMWalletManager.isEVMWalletAddress(fromAddress)
             try {
-                if (isEvmAddress) {
-                    var offset = ""
-                    var hasMore = true
-                    val collectionResponse = service.getEVMNFTCollections(fromAddress)
-                    val collection = collectionResponse.data?.firstOrNull {
-                        it.collection?.id == collectionId
-                    }
-                    while (hasMore) {
-                        val response = service.getEVMNFTListOfCollection(
-                            fromAddress,
-                            collectionId,
-                            offset,
-                            NFT_PAGE_SIZE
-                        )
-                        val pageList = response.data?.nfts?.map {
-                            convertNFT(nft = it)
-                        }?.toList() ?: emptyList()
-
-                        if (pageList.isEmpty()) {
-                            hasMore = false
-                        } else {
-                            allNftList.addAll(pageList)
-
-                            totalNftCount = collection?.count ?: 0
-
-                            loadingProgressLiveData.postValue(Pair(allNftList.size, totalNftCount))
-
-                            if (response.data?.offset == null) {
-                                hasMore = false
-                            }
-                            offset = response.data?.offset ?: ""
-                        }
-                    }
-                } else {
-                    val firstPageResponse = service.getNFTListOfCollection(fromAddress, collectionId, 0, NFT_PAGE_SIZE)
-                    val firstPageList = firstPageResponse.data?.nfts?.map {
-                        convertNFT(nft = it)
-                    }?.toList() ?: emptyList()
-
-                    allNftList.addAll(firstPageList)
-                    totalNftCount = firstPageResponse.data?.nftCount ?: 0
-                    loadingProgressLiveData.postValue(Pair(allNftList.size, totalNftCount))
-
-                    if (totalNftCount <= NFT_PAGE_SIZE) {
-                        nftListLiveData.postValue(Pair(NFTListType.ALL, allNftList.toList()))
-                        isLoadingAll = false
-                        isLoadingLiveData.postValue(false)
-                        return@viewModelIOScope
-                    }
-
-                    val remainingCount = totalNftCount - allNftList.size
-                    val pageCount = (remainingCount + NFT_PAGE_SIZE - 1) / NFT_PAGE_SIZE
-                    val maxConcurrent = 10
-
-                    coroutineScope {
-                        for (batch in 0 until pageCount step maxConcurrent) {
-                            val batchEnd = minOf(batch + maxConcurrent, pageCount)
-                            val batchDeferred = mutableListOf<Deferred<List<T>>>()
-
-                            for (page in batch until batchEnd) {
-                                val offset = NFT_PAGE_SIZE + page * NFT_PAGE_SIZE
-                                val deferred = async {
-                                    try {
-                                        val response = service.getNFTListOfCollection(fromAddress, collectionId, offset, NFT_PAGE_SIZE)
-                                        val nftList = response.data?.nfts?.map {
-                                            convertNFT(nft = it)
-                                        }?.toList() ?: emptyList()
-
-                                        synchronized(allNftList) {
-                                            allNftList.addAll(nftList)
-                                            loadingProgressLiveData.postValue(Pair(allNftList.size, totalNftCount))
-                                        }
-
-                                        nftList
-                                    } catch (e: Exception) {
-                                        logd(TAG, "Failed to load page at offset $offset: ${e.message}")
-                                        emptyList()
-                                    }
-                                }
-                                batchDeferred.add(deferred)
-                            }
-                            batchDeferred.awaitAll()
-                        }
-                    }
+                service.nftPagesOfCollection(fromAddress, collectionId).collect { page ->
+                    index.addAll(page.items.map { convertNFT(nft = it) })
+                    loadingProgressLiveData.postValue(Pair(page.loadedCount, page.totalCount))
+                    postNFTList(index)
                 }
-
-                nftListLiveData.postValue(
-                    Pair(NFTListType.ALL, if (allNftList.isEmpty()) emptyList() else allNftList.toList())
-                )
+                postNFTList(index)
+            } catch (e: CancellationException) {
+                throw e
             } catch (e: Exception) {
                 logd(TAG, "Load all NFTs failed: ${e.message}")
                 e.printStackTrace()
                 ErrorReporter.reportWithMixpanel(MoveError.LOAD_NFT_LIST_FAILED, e)
-                nftListLiveData.postValue(Pair(NFTListType.ALL, null))
+                nftListLiveData.postValue(NFTListResult(NFTListType.ALL, "", null))
             } finally {
-                isLoadingAll = false
                 isLoadingLiveData.postValue(false)
             }
         }
@@ -160,20 +92,34 @@ abstract class BaseNFTListViewModel<T> : ViewModel() {
         }
     }
 
+    /**
+     * Searches the loaded NFTs once typing pauses, a newer keyword cancels the pending search.
+     * Pages arriving afterwards are searched with the same keyword.
+     */
     fun searchNFT(keyword: String) {
-        viewModelIOScope(this) {
+        searchKeyword = keyword
+        searchJob?.cancel()
+        searchJob = viewModelScope.launch(Dispatchers.IO) {
             if (nftListLiveData.value == null) {
-                return@viewModelIOScope
+                return@launch
             }
-
-            if (keyword.isBlank()) {
-                nftListLiveData.postValue(Pair(NFTListType.ALL, allNftList.toList()))
-            } else {
-                val filteredList = allNftList.filter {
-                    getSearchableText(it).contains(keyword, ignoreCase = true)
-                }
-                nftListLiveData.postValue(Pair(NFTListType.RESULTS, filteredList))
+            if (keyword.isNotBlank()) {
+                delay(SEARCH_DEBOUNCE_MILLIS)
             }
+            postNFTList(searchIndex)
+        }
+    }
+
+    private fun postNFTList(index: SearchIndex<T>) {
+        // a load that was just replaced by another collection must not post its pages
+        if (index !== searchIndex) {
+            return
+        }
+        val keyword = searchKeyword
+        if (keyword.isBlank()) {
+            nftListLiveData.postValue(NFTListResult(NFTListType.ALL, "", index.all()))
+        } else {
+            nftListLiveData.postValue(NFTListResult(NFTListType.RESULTS, keyword, index.search(keyword)))
         }
     }
 }
\ No newline at end of file
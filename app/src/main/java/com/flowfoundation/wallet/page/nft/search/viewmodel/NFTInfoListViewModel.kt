@@ -19,9 +19,7 @@ class NFTInfoListViewModel: BaseNFTListViewModel<NFTInfo>() {
         )
     }
 
-    override fun getSearchableText(item: NFTInfo): String {
-        val titleAndDesc = "${item.title} ${item.description}"
-        val traits = item.traits.joinToString(" ") { it }
-        return "$titleAndDesc $traits"
+    override fun getSearchableFields(item: NFTInfo): List<String?> {
+        return listOf(item.title, item.traits.joinToString(" "), item.description)
     }
 }
\ No newline at end of file
@@ -14,10 +14,8 @@ class NFTItemListViewModel : BaseNFTListViewModel<NFTItemModel>() {
         )
     }
 
-    override fun getSearchableText(item: NFTItemModel): String {
-        val titleAndDesc = "${item.nft.title()} ${item.nft.desc()}"
-        val traits = item.nft.traits?.joinToString(" ") { it.value } ?: ""
-        return "$titleAndDesc $traits"
+    override fun getSearchableFields(item: NFTItemModel): List<String?> {
+        return listOf(item.nft.title(), item.nft.traits?.joinToString(" ") { it.value }, item.nft.desc())
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.flowfoundation.wallet.page.nft.search.viewmodel
+
+import com.flowfoundation.wallet.manager.evm.EVMWalletManager
+import com.flowfoundation.wallet.network.ApiService
+import com.flowfoundation.wallet.network.model.Nft
+import com.flowfoundation.wallet.utils.logd
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+
+private const val TAG = "NFTPageLoader"
+
+const val MAX_CONCURRENT_NFT_PAGES = 10
+
+/**
+ * A page of NFTs as it is emitted, with the number of NFTs loaded so far including this page.
+ */
+class NFTPage<T>(
+    val items: List<T>,
+    val loadedCount: Int,
+    val totalCount: Int,
+)
+
+/**
+ * A page as it is returned by the server, [nextCursor] being null once there are no more pages.
+ */
+class NFTPageResponse<T>(
+    val items: List<T>,
+    val totalCount: Int,
+    val nextCursor: String? = null,
+)
+
+/**
+ * Loads the NFTs of a collection page by page, see [offsetPages] and [cursorPages].
+ */
+fun ApiService.nftPagesOfCollection(
+    address: String,
+    collectionId: String,
+    pageSize: Int = BaseNFTListViewModel.NFT_PAGE_SIZE,
+): Flow<NFTPage<Nft>> {
+    if (EVMWalletManager.isEVMWalletAddress(address)) {
+        return cursorPages(
+            pageSize,
+            totalCount = {
+                getEVMNFTCollections(address).data?.firstOrNull { it.collection?.id == collectionId }?.count ?: 0
+            }
+        ) { cursor, limit ->
+            val data = getEVMNFTListOfCollection(address, collectionId, cursor, limit).data
+            NFTPageResponse(data?.nfts.orEmpty(), data?.nftCount ?: 0, data?.offset)
+        }
+    }
+    return offsetPages(pageSize, MAX_CONCURRENT_NFT_PAGES) { offset, limit ->
+        try {
+            val data = getNFTListOfCollection(address, collectionId, offset, limit).data
+            NFTPageResponse(data?.nfts.orEmpty(), data?.nftCount ?: 0)
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            // the first page fails the load, a later one is left out of the list
+            if (offset == 0) {
+                throw e
+            }
+            logd(TAG, "Failed to load page at offset $offset: ${e.message}")
+            NFTPageResponse(emptyList(), 0)
+        }
+    }
+}
+
+/**
+ * Pages of a list fetched by offset. The first page is emitted as soon as it arrives, its total
+ * count then tells how many pages follow, of which up to [maxConcurrentPages] are requested at
+ * once and emitted in order.
+ *
+ * A page is only requested when an earlier one has been handed to the collector, so a slow
+ * collector holds the requests back instead of piling pages up, and cancelling the collection
+ * cancels the requests in flight.
+ */
+fun <T> offsetPages(
+    pageSize: Int,
+    maxConcurrentPages: Int,
+    fetch: suspend (offset: Int, limit: Int) -> NFTPageResponse<T>,
+): Flow<NFTPage<T>> = flow {
+    val firstPage = fetch(0, pageSize)
+    val totalCount = firstPage.totalCount
+    var loadedCount = firstPage.items.size
+    emit(NFTPage(firstPage.items, loadedCount, totalCount))
+
+    val pageCount = (totalCount + pageSize - 1) / pageSize
+    if (pageCount <= 1) {
+        return@flow
+    }
+    coroutineScope {
+        val window = ArrayDeque<Deferred<List<T>>>()
+        var nextPage = 1
+        val requestNextPage = {
+            val offset = nextPage++ * pageSize
+            window.addLast(async { fetch(offset, pageSize).items })
+        }
+        while (nextPage < pageCount && window.size < maxConcurrentPages) {
+            requestNextPage()
+        }
+        while (window.isNotEmpty()) {
+            val items = window.removeFirst().await()
+            if (nextPage < pageCount) {
+                requestNextPage()
+            }
+            loadedCount += items.size
+            emit(NFTPage(items, loadedCount, totalCount))
+        }
+    }
+}
+
+/**
+ * Pages of a list fetched by cursor, one after another. [totalCount] is requested alongside the
+ * first page for lists whose pages do not carry it.
+ */
+fun <T> cursorPages(
+    pageSize: Int,
+    totalCount: suspend () -> Int,
+    fetch: suspend (cursor: String, limit: Int) -> NFTPageResponse<T>,
+): Flow<NFTPage<T>> = flow {
+    coroutineScope {
+        val total = async { totalCount() }
+        var cursor: String? = ""
+        var loadedCount = 0
+        while (cursor != null) {
+            val page = fetch(cursor, pageSize)
+            if (page.items.isEmpty()) {
+                break
+            }
+            loadedCount += page.items.size
+            emit(NFTPage(page.items, loadedCount, total.await()))
+            cursor = page.nextCursor
+        }
+    }
+}
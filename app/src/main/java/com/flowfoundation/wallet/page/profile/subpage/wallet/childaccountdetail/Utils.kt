@@ -1,13 +1,13 @@
 package com.flowfoundation.wallet.page.profile.subpage.wallet.childaccountdetail
 
 import com.flowfoundation.wallet.manager.flowjvm.CadenceScript
+import com.flowfoundation.wallet.manager.flowjvm.asStruct
 import com.flowfoundation.wallet.manager.flowjvm.executeCadence
+import com.flowfoundation.wallet.manager.flowjvm.mapArray
 import com.flowfoundation.wallet.manager.wallet.WalletManager
 import com.flowfoundation.wallet.manager.wallet.walletAddress
 import com.google.gson.annotations.SerializedName
 import kotlinx.serialization.Serializable
-import org.json.JSONArray
-import org.json.JSONObject
 import org.onflow.flow.infrastructure.Cadence
 
 suspend fun queryChildAccountTokens(childAddress: String): List<TokenData> {
@@ -16,8 +16,7 @@ suspend fun queryChildAccountTokens(childAddress: String): List<TokenData> {
         arg { Cadence.address(walletAddress) }
         arg { Cadence.address(childAddress) }
     }
-    response ?: return emptyList()
-    return parseTokenList(response.encode())
+    return parseTokenList(response)
 }
 
 suspend fun queryChildAccountNFTCollectionID(childAddress: String): List<String> {
@@ -63,30 +62,9 @@ data class CollectionData(
     val idList: List<String>
 )
 
-fun parseTokenList(json: String): List<TokenData> {
-    val list = mutableListOf<TokenData>()
-
-    val root = JSONObject(json)
-    val valueArray = root.optJSONArray("value") ?: JSONArray()
-    for (i in 0 until valueArray.length()) {
-        val collection = valueArray.getJSONObject(i)
-        val fields = collection.optJSONObject("value")?.optJSONArray("fields") ?: JSONArray()
-
-        var id = ""
-        var balance = 0f
-
-        for (j in 0 until fields.length()) {
-            val field = fields.getJSONObject(j)
-
-            when (field.optString("name")) {
-                "id" -> id = field.optJSONObject("value")?.optString("value") ?: ""
-                "balance" -> balance = field.optJSONObject("value")?.optString("value")?.toFloatOrNull() ?: 0f
-            }
-        }
-
-        val tokenData = TokenData(id, balance)
-        list.add(tokenData)
+fun parseTokenList(result: Cadence.Value?): List<TokenData> {
+    return result.mapArray { value ->
+        val token = value.asStruct()
+        TokenData(token?.string("id").orEmpty(), token?.float("balance") ?: 0f)
     }
-
-    return list
 }
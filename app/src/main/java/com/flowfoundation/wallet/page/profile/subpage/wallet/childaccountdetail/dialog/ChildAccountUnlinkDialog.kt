@@ -6,8 +6,8 @@ import android.view.LayoutInflater
 import android.view.View
 import android.view.ViewGroup
 import androidx.fragment.app.FragmentManager
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.android.material.bottomsheet.BottomSheetDialogFragment
-import com.google.gson.Gson
 import org.onflow.flow.models.TransactionStatus
 import com.flowfoundation.wallet.R
 import com.flowfoundation.wallet.databinding.DialogUnlinkChildAccountBinding
@@ -78,7 +78,7 @@ class ChildAccountUnlinkDialog : BottomSheetDialogFragment() {
                 time = System.currentTimeMillis(),
                 state = TransactionStatus.PENDING.ordinal,
                 type = TransactionState.TYPE_TRANSACTION_DEFAULT,
-                data = Gson().toJson(account),
+                data = JsonCodec.gson.toJson(account),
             )
             TransactionStateManager.newTransaction(transactionState)
             pushBubbleStack(transactionState)
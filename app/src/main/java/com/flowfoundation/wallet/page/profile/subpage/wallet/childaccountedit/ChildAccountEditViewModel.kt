@@ -3,7 +3,7 @@ package com.flowfoundation.wallet.page.profile.subpage.wallet.childaccountedit
 import android.graphics.BitmapFactory
 import androidx.lifecycle.MutableLiveData
 import androidx.lifecycle.ViewModel
-import com.google.gson.Gson
+import com.flowfoundation.wallet.utils.JsonCodec
 import org.onflow.flow.models.TransactionStatus
 import com.flowfoundation.wallet.R
 import com.flowfoundation.wallet.firebase.storage.uploadAvatarToFirebase
@@ -65,7 +65,7 @@ class ChildAccountEditViewModel : ViewModel() {
                     time = System.currentTimeMillis(),
                     state = TransactionStatus.PENDING.ordinal,
                     type = TransactionState.TYPE_TRANSACTION_DEFAULT,
-                    data = Gson().toJson(childAccount),
+                    data = JsonCodec.gson.toJson(childAccount),
                 )
                 TransactionStateManager.newTransaction(transactionState)
                 pushBubbleStack(transactionState)
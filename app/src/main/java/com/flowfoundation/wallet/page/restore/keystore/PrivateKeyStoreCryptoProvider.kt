@@ -4,7 +4,7 @@ import com.flow.wallet.CryptoProvider
 import com.flow.wallet.keys.PrivateKey
 import com.flow.wallet.keys.KeyFormat
 import com.flowfoundation.wallet.page.restore.keystore.model.KeystoreAddress
-import com.google.gson.Gson
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.gson.JsonObject
 import org.onflow.flow.models.DomainTag
 import org.onflow.flow.models.HashingAlgorithm
@@ -19,14 +19,14 @@ fun List<Byte>.toHexString(): String = joinToString("") { "%02x".format(it) }
 
 class PrivateKeyStoreCryptoProvider(private val keystoreInfo: String) : CryptoProvider {
     private val TAG = "PrivateKeyStoreCryptoProvider"
-    private val keyInfo: JsonObject = Gson().fromJson(keystoreInfo, JsonObject::class.java)
+    private val keyInfo: JsonObject = JsonCodec.gson.fromJson(keystoreInfo, JsonObject::class.java)
     private val signingAlgorithm = when (keyInfo.get("signAlgo").asInt) {
         1 -> SigningAlgorithm.ECDSA_P256
         2 -> SigningAlgorithm.ECDSA_secp256k1
         else -> SigningAlgorithm.ECDSA_P256
     }
 
-    private var keyStoreAddress: KeystoreAddress = Gson().fromJson(keystoreInfo, KeystoreAddress::class.java)
+    private var keyStoreAddress: KeystoreAddress = JsonCodec.gson.fromJson(keystoreInfo, KeystoreAddress::class.java)
     private val privateKey: PrivateKey by lazy {
         val storage = getStorage()
         PrivateKey.create(storage).apply {
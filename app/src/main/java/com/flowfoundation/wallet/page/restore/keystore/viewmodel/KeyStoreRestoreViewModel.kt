@@ -28,6 +28,7 @@ import com.flowfoundation.wallet.page.restore.keystore.model.KeyStoreOption
 import com.flowfoundation.wallet.page.restore.keystore.model.KeystoreAddress
 import com.flowfoundation.wallet.page.walletrestore.firebaseLogin
 import com.flowfoundation.wallet.page.walletrestore.getFirebaseUid
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.error.BackupError
 import com.flowfoundation.wallet.utils.error.ErrorReporter
 import com.flowfoundation.wallet.utils.error.WalletError
@@ -37,7 +38,6 @@ import com.flowfoundation.wallet.utils.setBackupManually
 import com.flowfoundation.wallet.utils.setRegistered
 import com.flowfoundation.wallet.utils.toast
 import com.flowfoundation.wallet.utils.uiScope
-import com.google.gson.Gson
 import kotlinx.coroutines.delay
 import kotlinx.coroutines.runBlocking
 import org.onflow.flow.models.AccountPublicKey
@@ -496,7 +496,7 @@ class KeyStoreRestoreViewModel : ViewModel() {
         }
         ioScope {
             val cryptoProvider =
-                PrivateKeyStoreCryptoProvider(Gson().toJson(currentKeyStoreAddress))
+                PrivateKeyStoreCryptoProvider(JsonCodec.gson.toJson(currentKeyStoreAddress))
             val activity = BaseActivity.getCurrentActivity() ?: return@ioScope
             val currentKey = currentKeyStoreAddress?.run {
                 val flowAccount = FlowCadenceApi.getAccount(this.address)
@@ -714,7 +714,7 @@ class KeyStoreRestoreViewModel : ViewModel() {
 
                                         val userAccount = Account(
                                             userInfo = userInfo,
-                                            keyStoreInfo = Gson().toJson(keystoreAddress)
+                                            keyStoreInfo = JsonCodec.gson.toJson(keystoreAddress)
                                         )
                                         AccountManager.add(userAccount)
                                         WalletManager.init()
@@ -779,7 +779,7 @@ class KeyStoreRestoreViewModel : ViewModel() {
             return
         }
         ioScope {
-            val cryptoProvider = PrivateKeyStoreCryptoProvider(Gson().toJson(keystoreAddress))
+            val cryptoProvider = PrivateKeyStoreCryptoProvider(JsonCodec.gson.toJson(keystoreAddress))
             val activity = BaseActivity.getCurrentActivity() ?: return@ioScope
             if (flowAccountKey.weight.toInt() < 1000) {
                 toast(msgRes = R.string.restore_failure_insufficient_weight)
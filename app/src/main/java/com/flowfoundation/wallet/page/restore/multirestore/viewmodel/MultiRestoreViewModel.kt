@@ -38,6 +38,7 @@ import com.flowfoundation.wallet.page.restore.multirestore.model.RestoreOptionMo
 import com.flowfoundation.wallet.page.walletrestore.firebaseLogin
 import com.flowfoundation.wallet.page.walletrestore.getFirebaseUid
 import com.flowfoundation.wallet.page.window.bubble.tools.pushBubbleStack
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.error.BackupError
 import com.flowfoundation.wallet.utils.error.ErrorReporter
 import com.flowfoundation.wallet.utils.error.InvalidKeyException
@@ -65,7 +66,6 @@ import com.flowfoundation.wallet.manager.wallet.walletAddress
 import com.flowfoundation.wallet.utils.logd
 import org.onflow.flow.infrastructure.Cadence.Companion.uint8
 import org.onflow.flow.models.DomainTag
-import com.google.gson.Gson
 import com.google.gson.reflect.TypeToken
 import java.util.HashMap
 import com.flowfoundation.wallet.utils.readWalletPassword
@@ -528,7 +528,7 @@ class MultiRestoreViewModel : ViewModel(), OnTransactionStateChange {
                                             if (pref.isBlank()) {
                                                 HashMap<String, String>()
                                             } else {
-                                                Gson().fromJson(pref, object : TypeToken<HashMap<String, String>>() {}.type)
+                                                JsonCodec.gson.fromJson(pref, object : TypeToken<HashMap<String, String>>() {}.type)
                                             }
                                         } catch (e: Exception) {
                                             HashMap<String, String>()
@@ -543,7 +543,7 @@ class MultiRestoreViewModel : ViewModel(), OnTransactionStateChange {
                                             passwordMap["multi_restore_$index"] = mnemonic
                                         }
 
-                                        storeWalletPassword(Gson().toJson(passwordMap))
+                                        storeWalletPassword(JsonCodec.gson.toJson(passwordMap))
                                         logd("MultiRestore", "Stored multi-restore metadata for ${mnemonicList.size} mnemonics with completion time")
 
                                         // Add the account to AccountManager
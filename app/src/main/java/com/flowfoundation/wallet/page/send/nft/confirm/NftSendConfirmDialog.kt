@@ -6,6 +6,7 @@ import android.view.View
 import android.view.ViewGroup
 import android.widget.Toast
 import androidx.lifecycle.ViewModelProvider
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.android.material.bottomsheet.BottomSheetDialogFragment
 import com.flowfoundation.wallet.R
 import com.flowfoundation.wallet.databinding.DialogSendConfirmBinding
@@ -14,7 +15,6 @@ import com.flowfoundation.wallet.page.send.nft.NftSendModel
 import com.flowfoundation.wallet.page.send.nft.confirm.model.NftSendConfirmDialogModel
 import com.flowfoundation.wallet.page.send.nft.confirm.presenter.NftSendConfirmPresenter
 import com.flowfoundation.wallet.utils.safeRun
-import com.google.gson.Gson
 
 class NftSendConfirmDialog : BottomSheetDialogFragment() {
 
@@ -33,7 +33,7 @@ class NftSendConfirmDialog : BottomSheetDialogFragment() {
     override fun onViewCreated(view: View, savedInstanceState: Bundle?) {
         presenter = NftSendConfirmPresenter(this, binding)
         viewModel = ViewModelProvider(this)[NftSendConfirmViewModel::class.java].apply {
-            Gson().fromJson(this@NftSendConfirmDialog.nft, NftSendModel::class.java)?.let {
+            JsonCodec.gson.fromJson(this@NftSendConfirmDialog.nft, NftSendModel::class.java)?.let {
                 bindSendModel(it)
             }
             userInfoLiveData.observe(this@NftSendConfirmDialog) { presenter.bind(NftSendConfirmDialogModel(
@@ -58,7 +58,7 @@ class NftSendConfirmDialog : BottomSheetDialogFragment() {
             return NftSendConfirmDialog().apply {
                 safeRun {
                     arguments = Bundle().apply {
-                        putString(EXTRA_NFT, Gson().toJson(nft))
+                        putString(EXTRA_NFT, JsonCodec.gson.toJson(nft))
                     }
                 }
             }
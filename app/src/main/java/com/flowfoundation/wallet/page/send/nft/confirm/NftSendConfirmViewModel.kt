@@ -23,12 +23,12 @@ import com.flowfoundation.wallet.mixpanel.TransferAccountType
 import com.flowfoundation.wallet.network.model.UserInfoData
 import com.flowfoundation.wallet.page.send.nft.NftSendModel
 import com.flowfoundation.wallet.page.window.bubble.tools.pushBubbleStack
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.addressPattern
 import com.flowfoundation.wallet.utils.error.ErrorReporter
 import com.flowfoundation.wallet.utils.getCurrentCodeLocation
 import com.flowfoundation.wallet.utils.viewModelIOScope
 import com.flowfoundation.wallet.wallet.removeAddressPrefix
-import com.google.gson.Gson
 import org.onflow.flow.models.TransactionStatus
 import org.web3j.abi.FunctionEncoder
 import org.web3j.abi.datatypes.Address
@@ -357,7 +357,7 @@ class NftSendConfirmViewModel : ViewModel() {
             time = System.currentTimeMillis(),
             state = TransactionStatus.PENDING.ordinal,
             type = TransactionState.TYPE_TRANSFER_NFT,
-            data = Gson().toJson(sendModel),
+            data = JsonCodec.gson.toJson(sendModel),
         )
         TransactionStateManager.newTransaction(transactionState)
         pushBubbleStack(transactionState)
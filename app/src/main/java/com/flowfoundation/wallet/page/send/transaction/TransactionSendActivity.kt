@@ -10,7 +10,10 @@ import com.zackratos.ultimatebarx.ultimatebarx.addStatusBarTopPadding
 import com.flowfoundation.wallet.R
 import com.flowfoundation.wallet.base.activity.BaseActivity
 import com.flowfoundation.wallet.databinding.ActivityTransactionSendBinding
+import com.flowfoundation.wallet.manager.flow.FlowCadenceApi
 import com.flowfoundation.wallet.manager.token.FungibleTokenListManager
+import com.flowfoundation.wallet.manager.wallet.WalletManager
+import com.flowfoundation.wallet.manager.wallet.walletAddress
 import com.flowfoundation.wallet.page.address.AddressBookFragment
 import com.flowfoundation.wallet.page.address.AddressBookViewModel
 import com.flowfoundation.wallet.page.main.HomeTab
@@ -35,6 +38,8 @@ class TransactionSendActivity : BaseActivity() {
         super.onCreate(savedInstanceState)
         binding = ActivityTransactionSendBinding.inflate(layoutInflater)
         setContentView(binding.root)
+        // the user is about to send, have the reference block and proposer account ready by then
+        FlowCadenceApi.transactionPreparer.warmUp(WalletManager.wallet().walletAddress())
 
         UltimateBarX.with(this).fitWindow(false).light(!isNightMode(this)).applyStatusBar()
         UltimateBarX.with(this).fitWindow(true).light(!isNightMode(this)).applyNavigationBar()
@@ -25,12 +25,12 @@ import com.flowfoundation.wallet.mixpanel.MixpanelManager
 import com.flowfoundation.wallet.network.model.UserInfoData
 import com.flowfoundation.wallet.page.send.transaction.subpage.amount.model.TransactionModel
 import com.flowfoundation.wallet.page.window.bubble.tools.pushBubbleStack
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.error.ErrorReporter
 import com.flowfoundation.wallet.utils.getCurrentCodeLocation
 import com.flowfoundation.wallet.utils.viewModelIOScope
 import com.flowfoundation.wallet.wallet.removeAddressPrefix
 import com.flowfoundation.wallet.wallet.toAddress
-import com.google.gson.Gson
 import org.onflow.flow.models.TransactionStatus
 import org.web3j.abi.FunctionEncoder
 import org.web3j.abi.datatypes.Address
@@ -304,7 +304,7 @@ class TransactionViewModel : ViewModel(), FungibleTokenUpdateListener {
             time = System.currentTimeMillis(),
             state = TransactionStatus.PENDING.ordinal,
             type = TransactionState.TYPE_TRANSFER_COIN,
-            data = Gson().toJson(transaction),
+            data = JsonCodec.gson.toJson(transaction),
         )
         TransactionStateManager.newTransaction(transactionState)
         pushBubbleStack(transactionState)
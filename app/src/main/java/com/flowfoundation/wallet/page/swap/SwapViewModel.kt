@@ -2,7 +2,7 @@ package com.flowfoundation.wallet.page.swap
 
 import androidx.lifecycle.MutableLiveData
 import androidx.lifecycle.ViewModel
-import com.google.gson.Gson
+import com.flowfoundation.wallet.utils.JsonCodec
 import org.onflow.flow.models.TransactionStatus
 import com.flowfoundation.wallet.R
 import com.flowfoundation.wallet.manager.app.chainNetWorkString
@@ -111,7 +111,7 @@ class SwapViewModel : ViewModel(), FungibleTokenUpdateListener {
                 time = System.currentTimeMillis(),
                 state = TransactionStatus.PENDING.ordinal,
                 type = TransactionState.TYPE_TRANSACTION_DEFAULT,
-                data = Gson().toJson(data),
+                data = JsonCodec.gson.toJson(data),
             )
             TransactionStateManager.newTransaction(transactionState)
             pushBubbleStack(transactionState)
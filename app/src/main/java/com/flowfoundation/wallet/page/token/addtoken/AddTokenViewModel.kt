@@ -2,7 +2,6 @@ package com.flowfoundation.wallet.page.token.addtoken
 
 import androidx.lifecycle.MutableLiveData
 import androidx.lifecycle.ViewModel
-import com.google.gson.Gson
 import com.flowfoundation.wallet.R
 import com.flowfoundation.wallet.manager.app.chainNetWorkString
 import com.flowfoundation.wallet.manager.flowjvm.cadenceEnableToken
@@ -17,6 +16,7 @@ import com.flowfoundation.wallet.network.model.TokenInfo
 import com.flowfoundation.wallet.network.retrofitApi
 import com.flowfoundation.wallet.page.token.addtoken.model.TokenItem
 import com.flowfoundation.wallet.page.window.bubble.tools.pushBubbleStack
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.ioScope
 import com.flowfoundation.wallet.utils.toast
 import com.flowfoundation.wallet.utils.viewModelIOScope
@@ -96,7 +96,7 @@ class AddTokenViewModel : ViewModel(), OnTransactionStateChange, FungibleTokenLi
                     time = System.currentTimeMillis(),
                     state = TransactionStatus.PENDING.ordinal,
                     type = TransactionState.TYPE_ADD_TOKEN,
-                    data = Gson().toJson(coin)
+                    data = JsonCodec.gson.toJson(coin)
                 )
                 TransactionStateManager.newTransaction(transactionState)
                 pushBubbleStack(transactionState)
@@ -0,0 +1,55 @@
+package com.flowfoundation.wallet.page.token.detail
+
+import kotlin.math.abs
+
+/**
+ * Reduces the candles to at most [threshold] points with the largest-triangle-three-buckets
+ * algorithm, which keeps the first and last candle and, for every bucket in between, the candle
+ * forming the largest triangle with its neighbours, so peaks and dips survive.
+ */
+fun List<Quote>.downsample(threshold: Int): List<Quote> {
+    if (threshold >= size || threshold < 3) {
+        return this
+    }
+    val sampled = ArrayList<Quote>(threshold)
+    sampled.add(first())
+
+    // the first and last points are kept as is, the rest is split into threshold - 2 buckets
+    val bucketSize = (size - 2).toDouble() / (threshold - 2)
+    var selected = 0
+    for (bucket in 0 until threshold - 2) {
+        val nextStart = ((bucket + 1) * bucketSize).toInt() + 1
+        val nextEnd = minOf(((bucket + 2) * bucketSize).toInt() + 1, size)
+        var averageX = 0.0
+        var averageY = 0.0
+        for (index in nextStart until nextEnd) {
+            averageX += this[index].closeTime
+            averageY += this[index].closePrice
+        }
+        val nextCount = nextEnd - nextStart
+        averageX /= nextCount
+        averageY /= nextCount
+
+        val start = (bucket * bucketSize).toInt() + 1
+        val end = ((bucket + 1) * bucketSize).toInt() + 1
+        val anchorX = this[selected].closeTime.toDouble()
+        val anchorY = this[selected].closePrice.toDouble()
+        var maxArea = -1.0
+        var maxIndex = start
+        for (index in start until end) {
+            val area = abs(
+                (anchorX - averageX) * (this[index].closePrice - anchorY) -
+                        (anchorX - this[index].closeTime) * (averageY - anchorY)
+            )
+            if (area > maxArea) {
+                maxArea = area
+                maxIndex = index
+            }
+        }
+        sampled.add(this[maxIndex])
+        selected = maxIndex
+    }
+
+    sampled.add(last())
+    return sampled
+}
@@ -0,0 +1,72 @@
+package com.flowfoundation.wallet.page.token.detail
+
+import androidx.annotation.WorkerThread
+import com.flowfoundation.wallet.cache.quoteCache
+import com.flowfoundation.wallet.network.ApiService
+import com.flowfoundation.wallet.network.retrofit
+import com.google.gson.annotations.SerializedName
+
+/**
+ * Candles of one market, pair and period kept on disk, so reopening the token detail page draws
+ * the cached chart right away and only fetches the candles closed since the last visit.
+ *
+ * Prices are stored as returned by the market, conversion to the selected currency happens when
+ * the chart is drawn.
+ */
+class QuoteStore(
+    private val market: String,
+    private val pair: String,
+    private val period: Period,
+) {
+    private val cache by lazy { quoteCache(market, pair, period) }
+
+    @WorkerThread
+    fun read(): List<Quote> = cache.read()?.quotes.orEmpty()
+
+    suspend fun refresh(cached: List<Quote>): List<Quote> {
+        val frequency = period.getChartPeriodFrequency()
+        val windowStart = if (period == Period.ALL) null else period.getChartPeriodTs()
+        val service = retrofit().create(ApiService::class.java)
+        val result = service.ohlc(
+            market = market,
+            coinPair = pair,
+            after = nextFetchAfter(cached, frequency, windowStart),
+            periods = "$frequency",
+        )
+        val quotes = mergeQuotes(
+            cached = cached,
+            fresh = result.parseMarketQuoteData(period),
+            windowStart = windowStart,
+        )
+        cache.cacheSync(QuoteCache(quotes))
+        return quotes
+    }
+}
+
+data class QuoteCache(
+    @SerializedName("quotes")
+    val quotes: List<Quote>? = null,
+)
+
+/**
+ * Start of the next incremental fetch in seconds, one candle before the last cached one because
+ * that candle may still have been open when it was fetched. Never before [windowStart], so a cache
+ * older than the period does not fetch candles that are dropped right away. Null fetches everything.
+ */
+fun nextFetchAfter(cached: List<Quote>, frequency: Int, windowStart: Long?): Long? {
+    val after = cached.lastOrNull()?.let { it.closeTime - frequency } ?: return windowStart
+    return if (windowStart == null) after else maxOf(after, windowStart)
+}
+
+/**
+ * Merges [fresh] candles into [cached] ones by close time, fresh candles replacing cached ones
+ * that closed at the same time, and drops candles that closed before [windowStart].
+ */
+fun mergeQuotes(cached: List<Quote>, fresh: List<Quote>, windowStart: Long?): List<Quote> {
+    val merged = LinkedHashMap<Long, Quote>(cached.size + fresh.size)
+    cached.forEach { merged[it.closeTime] = it }
+    fresh.forEach { merged[it.closeTime] = it }
+    return merged.values
+        .filter { windowStart == null || it.closeTime >= windowStart }
+        .sortedBy { it.closeTime }
+}
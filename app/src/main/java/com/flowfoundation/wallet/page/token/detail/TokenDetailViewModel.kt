@@ -3,7 +3,6 @@ package com.flowfoundation.wallet.page.token.detail
 import androidx.lifecycle.MutableLiveData
 import androidx.lifecycle.ViewModel
 import com.flowfoundation.wallet.cache.transferRecordCache
-import com.flowfoundation.wallet.manager.price.CurrencyManager
 import com.flowfoundation.wallet.manager.token.FungibleTokenListManager
 import com.flowfoundation.wallet.manager.token.FungibleTokenUpdateListener
 import com.flowfoundation.wallet.manager.token.model.FungibleToken
@@ -98,19 +97,21 @@ class TokenDetailViewModel : ViewModel(), OnTransactionStateChange, FungibleToke
                 return@viewModelIOScope
             }
 
-            chartLoadingLiveData.postValue(true)
+            val coinPair = token.getPricePair(QuoteMarket.fromMarketName(market))
+            if (coinPair.isEmpty()) {
+                return@viewModelIOScope
+            }
+            val store = QuoteStore(market, coinPair, period)
+            val cached = store.read()
+            if (cached.isNotEmpty() && this.period == period) {
+                chartDataLiveData.postValue(cached)
+            }
+
+            chartLoadingLiveData.postValue(cached.isEmpty())
             runCatching {
-                val service = retrofit().create(ApiService::class.java)
-                val result = service.ohlc(
-                    market = market,
-                    coinPair = token.getPricePair(QuoteMarket.fromMarketName(market)),
-                    after = if (period == Period.ALL) null else period.getChartPeriodTs(),
-                    periods = "${period.getChartPeriodFrequency()}",
-                )
-                val currency = CurrencyManager.currencyPrice()
-                val data = result.parseMarketQuoteData(period).map { it.copy(closePrice = it.closePrice * currency) }
+                val data = store.refresh(cached)
                 chartCache[period.value + market] = data
-                if (this.period == period && this.market == market) {
+                if (this.period == period && this.market == market && data != cached) {
                     chartDataLiveData.postValue(data)
                 }
             }
@@ -13,11 +13,13 @@ import com.github.mikephil.charting.formatter.IFillFormatter
 import com.flowfoundation.wallet.R
 import com.flowfoundation.wallet.base.presenter.BasePresenter
 import com.flowfoundation.wallet.databinding.LayoutTokenDetailChartBinding
+import com.flowfoundation.wallet.manager.price.CurrencyManager
 import com.flowfoundation.wallet.network.model.CryptowatchSummaryData
 import com.flowfoundation.wallet.page.token.detail.Period
 import com.flowfoundation.wallet.page.token.detail.Quote
 import com.flowfoundation.wallet.page.token.detail.QuoteMarket
 import com.flowfoundation.wallet.page.token.detail.TokenDetailViewModel
+import com.flowfoundation.wallet.page.token.detail.downsample
 import com.flowfoundation.wallet.page.token.detail.model.TokenDetailChartModel
 import com.flowfoundation.wallet.page.token.detail.widget.ChartMarker
 import com.flowfoundation.wallet.page.token.detail.widget.TokenDetailMarketPopupMenu
@@ -87,7 +89,10 @@ class TokenDetailChartPresenter(
     }
 
     private fun updateChartData(quotes: List<Quote>) {
-        val data = quotes.map { Entry(it.closeTime.toFloat(), it.closePrice) }
+        // quotes are cached in the market's currency and converted only for the points drawn
+        val rate = CurrencyManager.currencyPrice().takeIf { it > 0 } ?: 1f
+        val width = chartView.width.takeIf { it > 0 } ?: activity.resources.displayMetrics.widthPixels
+        val data = quotes.downsample(width / PIXELS_PER_POINT).map { Entry(it.closeTime.toFloat(), it.closePrice * rate) }
         if (chartView.data != null && chartView.data.dataSetCount > 0) {
             val dataSet = chartView.data.getDataSetByIndex(0) as LineDataSet
             dataSet.values = data
@@ -137,4 +142,8 @@ class TokenDetailChartPresenter(
         setDrawHorizontalHighlightIndicator(false)
         fillFormatter = IFillFormatter { _, _ -> chartView.axisLeft.axisMinimum }
     }
+
+    companion object {
+        private const val PIXELS_PER_POINT = 3
+    }
 }
\ No newline at end of file
@@ -26,8 +26,6 @@ import com.flowfoundation.wallet.manager.transaction.TransactionStateManager
 import com.flowfoundation.wallet.mixpanel.MixpanelManager
 import com.flowfoundation.wallet.page.nft.move.SelectAccountDialog
 import com.flowfoundation.wallet.page.swap.dialog.select.SelectTokenDialog
-import com.flowfoundation.wallet.page.token.list.CadenceTokenListProvider
-import com.flowfoundation.wallet.page.token.list.EVMTokenListProvider
 import com.flowfoundation.wallet.page.token.list.TokenListProvider
 import com.flowfoundation.wallet.page.main.MainActivity
 import com.flowfoundation.wallet.page.main.HomeTab
@@ -67,7 +65,6 @@ class MoveTokenDialog : BottomSheetDialogFragment() {
     } else {
         EVMWalletManager.getEVMAddress().orEmpty()
     }
-    private var currentTokenProvider: TokenListProvider? = null
     private var currentToken: FungibleToken? = null
     private var availableTokens: List<FungibleToken> = emptyList()
 
@@ -80,43 +77,20 @@ class MoveTokenDialog : BottomSheetDialogFragment() {
         return binding.rootView
     }
 
-    private fun getProvider(moveFromAddress: String): TokenListProvider {
-        val isEVMAddress = EVMWalletManager.isEVMWalletAddress(moveFromAddress)
-
-        // Always create a new provider if the address type doesn't match the current provider
-        val existingProvider = currentTokenProvider
-
-        if (existingProvider != null) {
-            val providerCurrentAddress = existingProvider.getWalletAddress()
+    private fun getProvider(address: String): TokenListProvider {
+        return FungibleTokenListManager.getProvider(address)
+    }
 
-            if (providerCurrentAddress == moveFromAddress) {
-                return if (isEVMAddress) {
-                    if (existingProvider is EVMTokenListProvider) {
-                        existingProvider
-                    } else {
-                        EVMTokenListProvider(moveFromAddress)
-                    }
-                } else {
-                    if (existingProvider is CadenceTokenListProvider) {
-                        existingProvider
-                    } else {
-                        CadenceTokenListProvider(moveFromAddress)
-                    }
-                }
-            } else {
-                return if (isEVMAddress) {
-                    EVMTokenListProvider(moveFromAddress)
-                } else {
-                    CadenceTokenListProvider(moveFromAddress)
-                }
-            }
-        } else {
-            return if (isEVMAddress) {
-                EVMTokenListProvider(moveFromAddress)
-            } else {
-                CadenceTokenListProvider(moveFromAddress)
-            }
+    /**
+     * The provider of [address] with its token list loaded, a provider that was neither loaded nor
+     * prefetched yet fetches it first.
+     */
+    private suspend fun getLoadedProvider(address: String): TokenListProvider {
+        val provider = getProvider(address)
+        if (provider.getFungibleTokenListSnapshot().isEmpty()) {
+            provider.getTokenList(address)
         }
+        return provider
     }
 
     private fun checkAmount() {
@@ -264,11 +238,8 @@ class MoveTokenDialog : BottomSheetDialogFragment() {
 
     private fun loadTokens() {
         ioScope {
-            val provider = getProvider(moveFromAddress)
-            currentTokenProvider = provider
-
             // Get fresh token list with updated balances
-            availableTokens = provider.getTokenList(moveFromAddress)
+            availableTokens = getProvider(moveFromAddress).getTokenList(moveFromAddress)
 
             if (availableTokens.isNotEmpty()) {
                 // If we have a current token, try to find it in the new list
@@ -308,11 +279,7 @@ class MoveTokenDialog : BottomSheetDialogFragment() {
         ioScope {
             val dialog = SelectTokenDialog()
 
-            val provider = getProvider(moveFromAddress)
-            currentTokenProvider = provider
-
-            // Get fresh token list with updated balances
-            availableTokens = provider.getFungibleTokenListSnapshot()
+            availableTokens = getLoadedProvider(moveFromAddress).getFungibleTokenListSnapshot()
 
             // Convert MoveTokens to FlowCoins for the dialog, filtering out zero balances
             val coinsWithBalance = availableTokens
@@ -466,10 +433,11 @@ class MoveTokenDialog : BottomSheetDialogFragment() {
 
     private fun updateTokenInfo() {
         ioScope {
+            val provider = getLoadedProvider(moveFromAddress)
             currentToken = if (currentToken != null) {
-                getProvider(moveFromAddress).getTokenById(currentToken!!.contractId())
+                provider.getTokenById(currentToken!!.contractId())
             } else {
-                getProvider(moveFromAddress).getTokenById(contractId)
+                provider.getTokenById(contractId)
             }
             isFlowCoin = currentToken?.isFlowToken() ?: false
             fromBalance = currentToken?.tokenBalance() ?: BigDecimal.ZERO
@@ -6,18 +6,17 @@ import com.flowfoundation.wallet.network.ApiService
 import com.flowfoundation.wallet.network.model.toFungibleToken
 import com.flowfoundation.wallet.network.retrofitApi
 import com.flowfoundation.wallet.page.profile.subpage.currency.model.Currency
-import com.flowfoundation.wallet.utils.ioScope
 
 
-class CadenceTokenListProvider(private val walletAddress: String): TokenListProvider {
-    private var tokenList = mutableListOf<FungibleToken>()
-    private val service by lazy { retrofitApi().create(ApiService::class.java)  }
-
-    init {
-        ioScope {
-            getTokenList(walletAddress)
-        }
-    }
+class CadenceTokenListProvider(
+    private val walletAddress: String,
+    apiService: Lazy<ApiService> = lazy { retrofitApi().create(ApiService::class.java) },
+): TokenListProvider {
+    // replaced as a whole by every fetch, pooled providers are shared and callers keep iterating
+    // the list they got
+    @Volatile
+    private var tokenList: List<FungibleToken> = emptyList()
+    private val service by apiService
 
     override suspend fun getTokenList(
         walletAddress: String,
@@ -25,13 +24,11 @@ class CadenceTokenListProvider(private val walletAddress: String): TokenListProv
         network: String?
     ): List<FungibleToken> {
         val tokenResponse = service.getFlowTokenList(walletAddress, currency?.name, network)
-        tokenList.clear()
-        tokenList.addAll(
-            tokenResponse.data?.result?.map { token ->
-                token.toFungibleToken()
-            }?.toList() ?: emptyList()
-        )
-        return tokenList
+        val list = tokenResponse.data?.result?.map { token ->
+            token.toFungibleToken()
+        }.orEmpty()
+        tokenList = list
+        return list
     }
 
     override fun getTokenById(contractId: String): FungibleToken? {
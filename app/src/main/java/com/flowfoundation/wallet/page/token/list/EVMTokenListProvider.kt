@@ -8,19 +8,18 @@ import com.flowfoundation.wallet.network.retrofitApi
 import com.flowfoundation.wallet.page.profile.subpage.currency.model.Currency
 import com.flowfoundation.wallet.page.token.custom.model.TokenType
 import com.flowfoundation.wallet.page.token.custom.model.toFungibleToken
-import com.flowfoundation.wallet.utils.ioScope
 
 
-class EVMTokenListProvider(private val walletAddress: String): TokenListProvider {
+class EVMTokenListProvider(
+    private val walletAddress: String,
+    apiService: Lazy<ApiService> = lazy { retrofitApi().create(ApiService::class.java) },
+): TokenListProvider {
 
-    private var tokenList = mutableListOf<FungibleToken>()
-    private val service by lazy { retrofitApi().create(ApiService::class.java)  }
-
-    init {
-        ioScope {
-            getTokenList(walletAddress)
-        }
-    }
+    // replaced as a whole by every change, pooled providers are shared and callers keep iterating
+    // the list they got
+    @Volatile
+    private var tokenList: List<FungibleToken> = emptyList()
+    private val service by apiService
 
     override suspend fun getTokenList(
         walletAddress: String,
@@ -28,17 +27,20 @@ class EVMTokenListProvider(private val walletAddress: String): TokenListProvider
         network: String?
     ): List<FungibleToken> {
         val tokenResponse = service.getEVMTokenList(walletAddress, currency?.name, network)
-        tokenList.clear()
-        tokenList.addAll(
+        val list = withCustomTokens(
             tokenResponse.data?.map { token ->
                 token.toFungibleToken()
-            }?.toList() ?: emptyList()
+            }.orEmpty()
         )
-        addCustomToken()
-        return tokenList
+        tokenList = list
+        return list
     }
 
     override fun addCustomToken() {
+        tokenList = withCustomTokens(tokenList)
+    }
+
+    private fun withCustomTokens(list: List<FungibleToken>): List<FungibleToken> {
         val customTokenItems = CustomTokenManager.getCurrentCustomTokenList()
         val newFungibleTokens = customTokenItems.mapNotNull { customItem ->
             if (customItem.tokenType == TokenType.EVM) {
@@ -47,15 +49,15 @@ class EVMTokenListProvider(private val walletAddress: String): TokenListProvider
                 null
             }
         }.filter { ft ->
-            tokenList.none { existingToken ->
+            list.none { existingToken ->
                 existingToken.evmAddress?.equals(ft.evmAddress, ignoreCase = true) == true
             }
         }
-        tokenList.addAll(newFungibleTokens)
+        return list + newFungibleTokens
     }
 
     override fun deleteCustomToken(contractAddress: String) {
-        tokenList.removeIf { it.evmAddress?.equals(contractAddress, true) == true }
+        tokenList = tokenList.filterNot { it.evmAddress?.equals(contractAddress, true) == true }
     }
 
     override fun getWalletAddress(): String {
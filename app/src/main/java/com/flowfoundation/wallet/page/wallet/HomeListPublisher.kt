@@ -0,0 +1,27 @@
+package com.flowfoundation.wallet.page.wallet
+
+/**
+ * Decides which versions of the home list are posted. A list equal to the one posted last is
+ * skipped, and while the coordinated refresh runs only the first content is posted, the rest
+ * waits for the refresh to finish.
+ */
+class HomeListPublisher<T> {
+
+    @Volatile
+    var published: List<T>? = null
+        private set
+
+    /**
+     * Returns true if [list] is to be posted, it is then remembered as the last posted list.
+     */
+    fun publish(list: List<T>, isRevalidating: Boolean): Boolean {
+        if (isRevalidating && published != null) {
+            return false
+        }
+        if (list == published) {
+            return false
+        }
+        published = list
+        return true
+    }
+}
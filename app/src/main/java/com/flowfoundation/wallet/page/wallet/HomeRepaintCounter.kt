@@ -0,0 +1,24 @@
+package com.flowfoundation.wallet.page.wallet
+
+import android.os.Process
+import android.os.SystemClock
+import com.flowfoundation.wallet.utils.logd
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Counts how often the home screen content is repainted in this launch, with the time since the
+ * process started, to keep an eye on cold start time-to-content.
+ */
+object HomeRepaintCounter {
+    private val TAG = HomeRepaintCounter::class.java.simpleName
+
+    private val repaints = AtomicInteger()
+
+    fun count() = repaints.get()
+
+    fun onRepaint(reason: String) {
+        val count = repaints.incrementAndGet()
+        val sinceLaunch = SystemClock.elapsedRealtime() - Process.getStartElapsedRealtime()
+        logd(TAG, "home repaint #$count ($reason) ${sinceLaunch}ms after launch")
+    }
+}
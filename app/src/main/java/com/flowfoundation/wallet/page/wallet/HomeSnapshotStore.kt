@@ -0,0 +1,80 @@
+package com.flowfoundation.wallet.page.wallet
+
+import androidx.annotation.WorkerThread
+import com.flowfoundation.wallet.cache.CacheManager
+import com.flowfoundation.wallet.cache.homeSnapshotCache
+import com.flowfoundation.wallet.page.wallet.model.HomeSnapshot
+import com.flowfoundation.wallet.utils.CACHE_HOME_SNAPSHOT_PATH
+import com.flowfoundation.wallet.utils.getCurrencyFlag
+import com.flowfoundation.wallet.utils.logd
+import java.io.File
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Keeps the [HomeSnapshot] of each address in memory, so the home screen can draw it
+ * synchronously when it is created. [preload] runs during startup to have the snapshot of the
+ * selected address ready before the first frame.
+ */
+object HomeSnapshotStore : HomeSnapshots(CACHE_HOME_SNAPSHOT_PATH, ::homeSnapshotCache) {
+    private val TAG = HomeSnapshotStore::class.java.simpleName
+
+    suspend fun preload(address: String) {
+        read(address, getCurrencyFlag())?.let { logd(TAG, "preloaded snapshot of $address from ${it.updateTime}") }
+    }
+}
+
+/**
+ * The snapshots of [HomeSnapshotStore], stored in the cache [cacheOf] returns for each address.
+ * Those caches all live in [dir], which holds nothing else.
+ */
+open class HomeSnapshots(
+    private val dir: File,
+    private val cacheOf: (String) -> CacheManager<HomeSnapshot>,
+) {
+
+    private val snapshots = ConcurrentHashMap<String, HomeSnapshot>()
+
+    /**
+     * The snapshot of [address] if it is already in memory.
+     */
+    fun peek(address: String): HomeSnapshot? {
+        if (address.isBlank()) {
+            return null
+        }
+        return snapshots[key(address)]
+    }
+
+    /**
+     * The snapshot of [address], read from disk if needed. Snapshots of an older [HomeSnapshot.VERSION]
+     * or in another currency than [currencyFlag] are ignored.
+     */
+    @WorkerThread
+    fun read(address: String, currencyFlag: String): HomeSnapshot? {
+        if (address.isBlank()) {
+            return null
+        }
+        val snapshot = snapshots[key(address)] ?: cacheOf(key(address)).read()
+        if (snapshot == null || snapshot.version != HomeSnapshot.VERSION || snapshot.currencyFlag != currencyFlag) {
+            snapshots.remove(key(address))
+            return null
+        }
+        snapshots[key(address)] = snapshot
+        return snapshot
+    }
+
+    fun save(snapshot: HomeSnapshot) {
+        snapshots[key(snapshot.address)] = snapshot
+        cacheOf(key(snapshot.address)).cache(snapshot)
+    }
+
+    /**
+     * Drops the snapshots of every address, also the ones that were never read in this process.
+     */
+    @WorkerThread
+    fun clear() {
+        snapshots.clear()
+        dir.listFiles()?.forEach { it.delete() }
+    }
+
+    private fun key(address: String) = address.lowercase()
+}
@@ -1,31 +1,15 @@
 package com.flowfoundation.wallet.page.wallet
 
-import androidx.recyclerview.widget.DiffUtil
-import com.flowfoundation.wallet.page.wallet.model.WalletCoinItemModel
+import com.flowfoundation.wallet.base.recyclerview.IdentityDiffCallback
 import com.flowfoundation.wallet.page.wallet.model.WalletHeaderModel
 
 
-val walletListDiffCallback = object : DiffUtil.ItemCallback<Any>() {
-    override fun areItemsTheSame(oldItem: Any, newItem: Any): Boolean {
-        if (oldItem is WalletHeaderModel && newItem is WalletHeaderModel) {
-            return true
-        }
-
-        if (oldItem is WalletCoinItemModel && newItem is WalletCoinItemModel) {
-            return oldItem.token.isSameToken(newItem.token.contractId())
-        }
-        return false
+val walletListDiffCallback = object : IdentityDiffCallback<Any>() {
+    override fun areOtherItemsTheSame(oldItem: Any, newItem: Any): Boolean {
+        return oldItem is WalletHeaderModel && newItem is WalletHeaderModel
     }
 
-    override fun areContentsTheSame(oldItem: Any, newItem: Any): Boolean {
-        if (oldItem is WalletHeaderModel && newItem is WalletHeaderModel) {
-            return oldItem == newItem
-        }
-
-        if (oldItem is WalletCoinItemModel && newItem is WalletCoinItemModel) {
-            return oldItem == newItem
-        }
-
-        return false
+    override fun areOtherContentsTheSame(oldItem: Any, newItem: Any): Boolean {
+        return oldItem is WalletHeaderModel && newItem is WalletHeaderModel && oldItem == newItem
     }
-}
\ No newline at end of file
+}
@@ -63,7 +63,7 @@ class WalletFragment : BaseFragment(), OnNotificationUpdate, OnWallpaperChange {
     override fun onViewCreated(view: View, savedInstanceState: Bundle?) {
 
         presenter = WalletFragmentPresenter(this, binding)
-        headerPresenter = WalletHeaderPresenter(this, binding.walletHeader.root)
+        headerPresenter = WalletHeaderPresenter(binding.walletHeader.root)
 //        headerPlaceholderPresenter = WalletHeaderPlaceholderPresenter(binding.shimmerPlaceHolder.root)
 
         binding.llScan.setOnClickListener { barcodeLauncher.launch() }
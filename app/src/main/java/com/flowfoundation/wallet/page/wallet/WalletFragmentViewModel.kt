@@ -2,6 +2,7 @@ package com.flowfoundation.wallet.page.wallet
 
 import androidx.lifecycle.MutableLiveData
 import androidx.lifecycle.ViewModel
+import androidx.lifecycle.viewModelScope
 import com.flowfoundation.wallet.manager.account.AccountInfoManager
 import com.flowfoundation.wallet.manager.account.AccountManager
 import com.flowfoundation.wallet.manager.account.OnUserInfoReload
@@ -21,14 +22,22 @@ import com.flowfoundation.wallet.manager.wallet.WalletManager
 import com.flowfoundation.wallet.network.model.WalletListData
 import com.flowfoundation.wallet.page.profile.subpage.wallet.ChildAccountCollectionManager
 import com.flowfoundation.wallet.page.wallet.model.WalletCoinItemModel
+import com.flowfoundation.wallet.page.wallet.model.HomeSnapshot
 import com.flowfoundation.wallet.page.wallet.model.WalletHeaderModel
+import com.flowfoundation.wallet.utils.getCurrencyFlag
+import com.flowfoundation.wallet.utils.hideWalletBalanceChanges
 import com.flowfoundation.wallet.utils.ioScope
 import com.flowfoundation.wallet.utils.isHideWalletBalance
 import com.flowfoundation.wallet.utils.logd
+import com.flowfoundation.wallet.utils.safeRunSuspend
 import com.flowfoundation.wallet.utils.uiScope
 import com.flowfoundation.wallet.utils.viewModelIOScope
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.flow.drop
+import kotlinx.coroutines.launch
 import java.math.BigDecimal
 import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicBoolean
 
 class WalletFragmentViewModel : ViewModel(), OnWalletDataUpdate, CurrencyUpdateListener, StakingInfoUpdateListener,
     OnUserInfoReload, FungibleTokenListUpdateListener, FungibleTokenUpdateListener, OnAccountUpdate {
@@ -41,6 +50,14 @@ class WalletFragmentViewModel : ViewModel(), OnWalletDataUpdate, CurrencyUpdateL
 
     private var needReload = true
 
+    // set while the coordinated refresh runs, updates are then applied once it is done
+    private val isRevalidating = AtomicBoolean(false)
+    private var isRevalidated = false
+
+    private val publisher = HomeListPublisher<WalletCoinItemModel>()
+    @Volatile
+    private var shownAddress = ""
+
     init {
         AccountManager.addListener(this)
         WalletFetcher.addListener(this)
@@ -48,16 +65,132 @@ class WalletFragmentViewModel : ViewModel(), OnWalletDataUpdate, CurrencyUpdateL
         FungibleTokenListManager.addTokenListUpdateListener(this)
         CurrencyManager.addCurrencyUpdateListener(this)
         StakingManager.addStakingInfoUpdateListener(this)
+        showPreloadedSnapshot()
+        viewModelScope.launch {
+            hideWalletBalanceChanges().drop(1).collect { onBalanceHideStateUpdate() }
+        }
     }
 
     fun load(isRefresh: Boolean = false) {
         viewModelIOScope(this) {
             logd(TAG, "view model load")
             loadWallet(isRefresh)
-            CurrencyManager.fetch()
         }
     }
 
+    /**
+     * Draws the snapshot preloaded at startup on the first frame, the view model is created on
+     * the main thread while the fragment view is.
+     */
+    private fun showPreloadedSnapshot() {
+        val address = WalletManager.selectedWalletAddress()
+        val snapshot = HomeSnapshotStore.peek(address) ?: return
+        shownAddress = address
+        applySnapshot(snapshot)
+        snapshot.wallet?.let { headerLiveData.value = WalletHeaderModel(it, totalBalance(), dataList.size) }
+        val list = dataList.toList()
+        publisher.publish(list, isRevalidating = false)
+        dataListLiveData.value = list
+        HomeRepaintCounter.onRepaint("snapshot")
+    }
+
+    private suspend fun showSnapshot(address: String) {
+        shownAddress = address
+        val snapshot = HomeSnapshotStore.read(address, getCurrencyFlag()) ?: return
+        applySnapshot(snapshot)
+        publishDataList("snapshot")
+        snapshot.wallet?.let { updateWalletHeader(wallet = it, count = dataList.size) }
+    }
+
+    private fun applySnapshot(snapshot: HomeSnapshot) {
+        dataList.clear()
+        dataList.addAll(snapshot.tokens.map {
+            WalletCoinItemModel(it, snapshot.isHideBalance, snapshot.isStaked, snapshot.stakingCount)
+        })
+        sortDataList()
+    }
+
+    /**
+     * Refreshes the token list, the currency rate and the staking info together and applies them
+     * to the list in one go, instead of repainting as each of them arrives.
+     */
+    private suspend fun revalidate() {
+        if (!isRevalidating.compareAndSet(false, true)) {
+            return
+        }
+        val address = WalletManager.selectedWalletAddress()
+        try {
+            coroutineScope {
+                launch { safeRunSuspend { CurrencyManager.refresh() } }
+                if (isStakingShown()) {
+                    launch { safeRunSuspend { StakingManager.refreshSync() } }
+                }
+                FungibleTokenListManager.reloadSync()
+            }
+            isRevalidated = true
+        } finally {
+            isRevalidating.set(false)
+        }
+        rebuildDataList("refresh")
+        saveSnapshot(address)
+    }
+
+    private fun isStakingShown(): Boolean {
+        return isMainnet() && WalletManager.isEVMAccountSelected().not() && WalletManager.isChildAccountSelected().not()
+    }
+
+    /**
+     * Rebuilds the list from the current token list of [FungibleTokenListManager], which also
+     * makes listener calls that arrive late, with an older list, harmless.
+     */
+    private suspend fun rebuildDataList(reason: String) {
+        val tokens = FungibleTokenListManager.getCurrentDisplayTokenListSnapshot()
+        if (tokens.isEmpty()) {
+            return
+        }
+        val isHideBalance = isHideWalletBalance()
+        dataList.clear()
+        dataList.addAll(tokens.map {
+            WalletCoinItemModel(it, isHideBalance, StakingManager.isStaked(), StakingManager.stakingCount())
+        })
+        logd(TAG, "loadCoinList dataList:${dataList.map { it.token.contractId() }}")
+        sortDataList()
+        publishDataList(reason)
+        updateWalletHeader(count = dataList.size)
+    }
+
+    private fun publishDataList(reason: String) {
+        val list = dataList.toList()
+        if (!publisher.publish(list, isRevalidating.get())) {
+            return
+        }
+        dataListLiveData.postValue(list)
+        HomeRepaintCounter.onRepaint(reason)
+    }
+
+    private suspend fun saveSnapshot(address: String) {
+        val tokens = dataList.map { it.token }
+        if (address.isBlank() || tokens.isEmpty()) {
+            return
+        }
+        HomeSnapshotStore.save(
+            HomeSnapshot(
+                address = address,
+                wallet = headerLiveData.value?.walletList ?: HomeSnapshotStore.peek(address)?.wallet,
+                tokens = tokens,
+                currencyFlag = getCurrencyFlag(),
+                isStaked = StakingManager.isStaked(),
+                stakingCount = StakingManager.stakingCount(),
+                isHideBalance = isHideWalletBalance(),
+                updateTime = System.currentTimeMillis(),
+            )
+        )
+    }
+
+    private fun totalBalance(): BigDecimal {
+        return dataList.toList().map { it.token.tokenBalancePrice() }.fold(BigDecimal.ZERO) { sum, value -> sum + value }
+    }
+
     override fun onUserInfoReload() {
         viewModelIOScope(this) {
             loadWallet(true)
@@ -72,10 +205,15 @@ class WalletFragmentViewModel : ViewModel(), OnWalletDataUpdate, CurrencyUpdateL
 
     override fun onWalletDataUpdate(wallet: WalletListData) {
         updateWalletHeader(wallet = wallet)
-        loadCoinInfo(false)
+        viewModelIOScope(this) {
+            loadCoinInfo(false)
+        }
     }
 
     override fun onCurrencyUpdate(flag: String, price: Float) {
+        if (isRevalidating.get()) {
+            return
+        }
         ioScope {
             FungibleTokenListManager.updateTokenList()
         }
@@ -87,26 +225,33 @@ class WalletFragmentViewModel : ViewModel(), OnWalletDataUpdate, CurrencyUpdateL
             isStaked = StakingManager.isStaked(),
             stakeAmount = StakingManager.stakingCount()
         )
-        dataListLiveData.postValue(dataList.toList())
+        publishDataList("staking")
     }
 
-    fun onBalanceHideStateUpdate() {
+    private fun onBalanceHideStateUpdate() {
         viewModelIOScope(this) {
             val isHideBalance = isHideWalletBalance()
             val data = dataList.toList().map { it.copy(isHideBalance = isHideBalance) }
-            dataListLiveData.postValue(data)
+            dataList.clear()
+            dataList.addAll(data)
+            publishDataList("hide balance")
+            saveSnapshot(WalletManager.selectedWalletAddress())
         }
     }
 
-    private fun loadWallet(isRefresh: Boolean) {
+    private suspend fun loadWallet(isRefresh: Boolean) {
         if (WalletManager.wallet() == null) {
             headerLiveData.postValue(null)
             dataList.clear()
-            dataListLiveData.postValue(emptyList())
+            publishDataList("no wallet")
             needReload = true
             logd(TAG, "loadWallet :: null")
         } else {
             logd(TAG, "loadWallet :: wallet")
+            val address = WalletManager.selectedWalletAddress()
+            if (!address.equals(shownAddress, ignoreCase = true)) {
+                showSnapshot(address)
+            }
             updateWalletHeader()
             needReload = true
             loadCoinInfo(isRefresh)
@@ -114,17 +259,20 @@ class WalletFragmentViewModel : ViewModel(), OnWalletDataUpdate, CurrencyUpdateL
         WalletFetcher.fetch()
     }
 
-    private fun loadCoinInfo(isRefresh: Boolean) {
+    private suspend fun loadCoinInfo(isRefresh: Boolean) {
         if (needReload) {
             needReload = false
             AccountInfoManager.refreshAccountInfo()
+            ChildAccountCollectionManager.loadChildAccountTokenList()
             logd(TAG, "loadCoinInfo :: isRefresh :: $isRefresh")
             logd(TAG, "loadCoinInfo :: dataList :: ${dataList.size}")
-            if (isRefresh || dataList.isEmpty()) {
+            // the list may only come from the snapshot so far
+            if (isRefresh || dataList.isEmpty() || !isRevalidated) {
                 logd(TAG, "loadCoinInfo :: fetchState")
-                FungibleTokenListManager.reload()
+                revalidate()
+            } else {
+                CurrencyManager.fetch()
             }
-            ChildAccountCollectionManager.loadChildAccountTokenList()
         }
     }
 
@@ -144,10 +292,14 @@ class WalletFragmentViewModel : ViewModel(), OnWalletDataUpdate, CurrencyUpdateL
                     wallet,
                     BigDecimal.ZERO
                 ))
-            headerLiveData.postValue(header.copy().apply {
-                balance = dataList.toList().map { it.token.tokenBalancePrice() }.fold(BigDecimal.ZERO) { sum, value -> sum + value }
+            val newHeader = header.copy().apply {
+                balance = totalBalance()
                 count?.let { coinCount = it }
-            })
+            }
+            if (newHeader != headerLiveData.value) {
+                headerLiveData.value = newHeader
+                HomeRepaintCounter.onRepaint("header")
+            }
         }
     }
 
@@ -161,20 +313,9 @@ class WalletFragmentViewModel : ViewModel(), OnWalletDataUpdate, CurrencyUpdateL
             if (list.isEmpty()) {
                 return@ioScope
             }
-            val isHideBalance = isHideWalletBalance()
-            uiScope {
-                dataList.clear()
-                dataList.addAll(list.map {
-                    WalletCoinItemModel(
-                        it, isHideBalance, StakingManager.isStaked(), StakingManager.stakingCount()
-                    )
-                })
-                logd(TAG, "loadCoinList dataList:${dataList.map { it.token.contractId() }}")
-                sortDataList()
-                dataListLiveData.postValue(dataList.toList())
-                updateWalletHeader(count = dataList.size)
-            }
-            if (isMainnet() && WalletManager.isEVMAccountSelected().not() && WalletManager.isChildAccountSelected().not()) {
+            rebuildDataList("token list")
+            // the coordinated refresh updates staking itself
+            if (!isRevalidating.get() && isStakingShown()) {
                 StakingManager.refresh()
             }
         }
@@ -194,7 +335,7 @@ class WalletFragmentViewModel : ViewModel(), OnWalletDataUpdate, CurrencyUpdateL
                         )
                     )
                     sortDataList()
-                    dataListLiveData.postValue(dataList.toList())
+                    publishDataList("token added")
                     updateWalletHeader(count = dataList.size)
                 }
             }
@@ -204,7 +345,7 @@ class WalletFragmentViewModel : ViewModel(), OnWalletDataUpdate, CurrencyUpdateL
                 return
             }
             dataList.removeAt(index)
-            dataListLiveData.postValue(dataList.toList())
+            publishDataList("token removed")
             updateWalletHeader(count = dataList.size)
         }
     }
@@ -215,7 +356,7 @@ class WalletFragmentViewModel : ViewModel(), OnWalletDataUpdate, CurrencyUpdateL
         val index = dataList.indexOf(oldItem)
         dataList[index] = oldItem.copy(token = token)
         sortDataList()
-        dataListLiveData.postValue(dataList.toList())
+        publishDataList("token updated")
         updateWalletHeader()
     }
 
@@ -12,7 +12,7 @@ import com.flowfoundation.wallet.page.wallet.presenter.WalletCoinItemPresenter
 import com.flowfoundation.wallet.page.wallet.presenter.WalletHeaderPresenter
 import com.flowfoundation.wallet.page.wallet.walletListDiffCallback
 
-class WalletFragmentAdapter : BaseAdapter<Any>(walletListDiffCallback) {
+class WalletFragmentAdapter : BaseAdapter<Any>(walletListDiffCallback, stableIds = true) {
     override fun getItemViewType(position: Int): Int {
         return when (getItem(position)) {
 //            is WalletHeaderModel -> TYPE_WALLET_HEADER
@@ -36,6 +36,14 @@ class WalletFragmentAdapter : BaseAdapter<Any>(walletListDiffCallback) {
         }
     }
 
+    override fun onBindViewHolder(holder: RecyclerView.ViewHolder, position: Int, payloads: MutableList<Any>) {
+        if (holder is WalletCoinItemPresenter && payloads.isNotEmpty() && payloads.all { it == WalletCoinItemModel.PAYLOAD_BALANCE }) {
+            holder.bindBalance(getItem(position) as WalletCoinItemModel)
+            return
+        }
+        super.onBindViewHolder(holder, position, payloads)
+    }
+
     companion object {
         private const val TYPE_WALLET_COIN_ITEM = 2
     }
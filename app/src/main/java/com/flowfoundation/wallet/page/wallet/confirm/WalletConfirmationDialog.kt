@@ -6,6 +6,7 @@ import android.view.LayoutInflater
 import android.view.View
 import android.view.ViewGroup
 import androidx.fragment.app.FragmentActivity
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.android.gms.maps.CameraUpdateFactory
 import com.google.android.gms.maps.GoogleMap
 import com.google.android.gms.maps.OnMapReadyCallback
@@ -14,7 +15,6 @@ import com.google.android.gms.maps.model.BitmapDescriptorFactory
 import com.google.android.gms.maps.model.LatLng
 import com.google.android.gms.maps.model.MarkerOptions
 import com.google.android.material.bottomsheet.BottomSheetDialogFragment
-import com.google.gson.Gson
 import org.onflow.flow.models.TransactionStatus
 import com.reown.sign.client.Sign
 import com.reown.sign.client.SignClient
@@ -65,7 +65,7 @@ class WalletConfirmationDialog : BottomSheetDialogFragment(), OnMapReadyCallback
         TransactionStateManager.addOnTransactionStateChange(this)
         val mapFragment = childFragmentManager.findFragmentById(R.id.map) as SupportMapFragment
         mapFragment.getMapAsync(this)
-        accountInfo = Gson().fromJson(infoJson, WCAccountInfo::class.java)
+        accountInfo = JsonCodec.gson.fromJson(infoJson, WCAccountInfo::class.java)
         accountInfo?.deviceInfo?.let {
             with(binding) {
                 tvDeviceApplication.text = it.user_agent
@@ -1,7 +1,7 @@
 package com.flowfoundation.wallet.page.wallet.confirm.presenter
 
 import android.app.Activity
-import com.google.gson.Gson
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.reown.sign.client.Sign
 import com.reown.sign.client.SignClient
 import com.flowfoundation.wallet.base.presenter.BasePresenter
@@ -64,7 +64,7 @@ class WalletConfirmPresenter(
                     Sign.Params.Request(
                         sessionTopic = currentSession.topic,
                         method = WalletConnectMethod.ADD_DEVICE_KEY.value,
-                        params = Gson().toJson(params),
+                        params = JsonCodec.gson.toJson(params),
                         chainId = currentSession.chainId(),
                     )
                 ) { error -> loge(error.throwable) }
@@ -7,8 +7,8 @@ import android.view.ViewGroup
 import androidx.fragment.app.FragmentManager
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.ViewModelProvider
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.android.material.bottomsheet.BottomSheetDialogFragment
-import com.google.gson.Gson
 import com.google.gson.annotations.SerializedName
 import com.flowfoundation.wallet.databinding.DialogSwapCoinListBinding
 import com.flowfoundation.wallet.manager.app.isTestnet
@@ -85,7 +85,7 @@ internal class SwapViewModel : ViewModel() {
             address = WalletManager.selectedWalletAddress()
             val response = executeHttpFunction(FUNCTION_MOON_PAY_SIGN, """{"url":"${buildMoonPayUrl()}"}""")
             logd(TAG, "moon pay response:$response")
-            moonPayUrl = Gson().fromJson(response, MoonPaySignResponse::class.java).data?.url
+            moonPayUrl = JsonCodec.gson.fromJson(response, MoonPaySignResponse::class.java).data?.url
             logd(TAG, "moon pay url:${moonPayUrl}")
         }
     }
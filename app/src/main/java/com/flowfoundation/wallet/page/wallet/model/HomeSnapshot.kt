@@ -0,0 +1,38 @@
+package com.flowfoundation.wallet.page.wallet.model
+
+import com.flowfoundation.wallet.manager.token.model.FungibleToken
+import com.flowfoundation.wallet.network.model.WalletListData
+import com.google.gson.annotations.SerializedName
+
+/**
+ * What the home screen showed for [address] the last time it was up to date, drawn on the first
+ * frame of the next launch while the data is being refreshed.
+ *
+ * Token prices and balances are in the currency of [currencyFlag], a snapshot taken in another
+ * currency is not shown.
+ */
+data class HomeSnapshot(
+    @SerializedName("version")
+    val version: Int = VERSION,
+    @SerializedName("address")
+    val address: String,
+    @SerializedName("wallet")
+    val wallet: WalletListData?,
+    @SerializedName("tokens")
+    val tokens: List<FungibleToken>,
+    @SerializedName("currencyFlag")
+    val currencyFlag: String,
+    @SerializedName("isStaked")
+    val isStaked: Boolean,
+    @SerializedName("stakingCount")
+    val stakingCount: Float,
+    @SerializedName("isHideBalance")
+    val isHideBalance: Boolean,
+    @SerializedName("updateTime")
+    val updateTime: Long,
+) {
+    companion object {
+        // bump when the fields change, older snapshots are then ignored
+        const val VERSION = 1
+    }
+}
@@ -1,5 +1,6 @@
 package com.flowfoundation.wallet.page.wallet.model
 
+import com.flowfoundation.wallet.base.recyclerview.DiffableItem
 import com.flowfoundation.wallet.manager.token.model.FungibleToken
 import com.google.gson.annotations.SerializedName
 
@@ -12,4 +13,29 @@ data class WalletCoinItemModel(
     val isStaked: Boolean = false,
     @SerializedName("stakeAmount")
     val stakeAmount: Float
-)
\ No newline at end of file
+) : DiffableItem {
+
+    override fun diffId() = token.contractId()
+
+    /**
+     * [PAYLOAD_BALANCE] when only balances and prices changed, the common case on a price tick.
+     */
+    override fun diffPayload(oldItem: DiffableItem): Any? {
+        val old = oldItem as? WalletCoinItemModel ?: return null
+        val oldWithNewBalance = old.copy(
+            token = old.token.copy(
+                balance = token.balance,
+                currency = token.currency,
+                priceInCurrency = token.priceInCurrency,
+                balanceInCurrency = token.balanceInCurrency,
+                balanceInUSD = token.balanceInUSD,
+            ),
+            stakeAmount = stakeAmount,
+        )
+        return if (oldWithNewBalance == this) PAYLOAD_BALANCE else null
+    }
+
+    companion object {
+        const val PAYLOAD_BALANCE = "balance"
+    }
+}
@@ -28,6 +28,19 @@ class WalletCoinItemPresenter(
         with(binding) {
             Glide.with(coinIcon).load(model.token.tokenIcon()).into(coinIcon)
             coinName.text = model.token.name
+            ivVerified.setVisible(model.token.isVerified)
+            tvQuoteChange.gone()
+            bindBalance(model)
+            view.setOnClickListener { TokenDetailActivity.launch(view.context, model.token.contractId()) }
+        }
+    }
+
+    /**
+     * Rebinds only balances and prices, see [WalletCoinItemModel.PAYLOAD_BALANCE]
+     */
+    @SuppressLint("SetTextI18n")
+    fun bindBalance(model: WalletCoinItemModel) {
+        with(binding) {
             if (model.isHideBalance) {
                 coinBalance.text = "**** ${model.token.symbol.uppercase()}"
                 coinBalancePrice.text = "****"
@@ -37,11 +50,8 @@ class WalletCoinItemPresenter(
                 coinBalancePrice.text = (model.token.tokenBalancePrice()).formatPrice(includeSymbol = true, isAbbreviation = true)
             }
             coinPrice.text = if (model.token.tokenPrice() == BigDecimal.ZERO) "" else model.token.tokenPrice().formatPrice(includeSymbol = true)
-            ivVerified.setVisible(model.token.isVerified)
-            tvQuoteChange.gone()
             bindStaking(model)
             bindAccessible(model.token)
-            view.setOnClickListener { TokenDetailActivity.launch(view.context, model.token.contractId()) }
         }
     }
 
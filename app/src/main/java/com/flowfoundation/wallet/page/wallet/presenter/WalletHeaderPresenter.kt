@@ -4,9 +4,7 @@ import android.annotation.SuppressLint
 import android.view.View
 import android.widget.TextView
 import android.widget.Toast
-import androidx.fragment.app.Fragment
 import androidx.fragment.app.FragmentActivity
-import androidx.lifecycle.ViewModelProvider
 import com.flowfoundation.wallet.R
 import com.flowfoundation.wallet.base.presenter.BasePresenter
 import com.flowfoundation.wallet.base.recyclerview.BaseViewHolder
@@ -29,7 +27,6 @@ import com.flowfoundation.wallet.page.send.transaction.TransactionSendActivity
 import com.flowfoundation.wallet.page.token.addtoken.AddTokenActivity
 import com.flowfoundation.wallet.page.token.custom.AddCustomTokenActivity
 import com.flowfoundation.wallet.page.token.manage.ManageTokenActivity
-import com.flowfoundation.wallet.page.wallet.WalletFragmentViewModel
 import com.flowfoundation.wallet.page.wallet.dialog.SwapDialog
 import com.flowfoundation.wallet.page.wallet.model.WalletHeaderModel
 import com.flowfoundation.wallet.utils.*
@@ -41,14 +38,11 @@ import com.flowfoundation.wallet.wallet.toAddress
 import java.util.Date
 
 class WalletHeaderPresenter(
-    private val fragment: Fragment,
     private val view: View,
 ) : BaseViewHolder(view), BasePresenter<WalletHeaderModel?> {
 
     private val binding by lazy { LayoutWalletCoordinatorHeaderBinding.bind(view) }
 
-    private val viewModel by lazy { ViewModelProvider(fragment)[WalletFragmentViewModel::class.java] }
-
     private val activity by lazy { findActivity(view) as? FragmentActivity }
 
     @SuppressLint("SetTextI18n")
@@ -125,7 +119,6 @@ class WalletHeaderPresenter(
                 uiScope {
                     setHideWalletBalance(!isHideWalletBalance())
                     bind(model)
-                    viewModel.onBalanceHideStateUpdate()
                 }
             }
 
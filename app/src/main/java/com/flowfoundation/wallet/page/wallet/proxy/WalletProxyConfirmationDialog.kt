@@ -10,6 +10,7 @@ import com.flowfoundation.wallet.databinding.DialogWalletConfirmationBinding
 import com.flowfoundation.wallet.manager.key.CryptoProviderManager
 import com.flowfoundation.wallet.manager.walletconnect.model.WCDeviceInfo
 import com.flowfoundation.wallet.manager.walletconnect.model.walletConnectProxyAccountResponse
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.logd
 import com.flowfoundation.wallet.utils.loge
 import com.flowfoundation.wallet.utils.toast
@@ -21,7 +22,6 @@ import com.google.android.gms.maps.model.BitmapDescriptorFactory
 import com.google.android.gms.maps.model.LatLng
 import com.google.android.gms.maps.model.MarkerOptions
 import com.google.android.material.bottomsheet.BottomSheetDialogFragment
-import com.google.gson.Gson
 import com.reown.sign.client.Sign
 import com.reown.sign.client.SignClient
 import kotlinx.coroutines.CoroutineScope
@@ -55,7 +55,7 @@ class WalletProxyConfirmationDialog: BottomSheetDialogFragment(), OnMapReadyCall
         }
         val mapFragment = childFragmentManager.findFragmentById(R.id.map) as SupportMapFragment
         mapFragment.getMapAsync(this)
-        deviceInfo = Gson().fromJson(infoJson, WCDeviceInfo::class.java)
+        deviceInfo = JsonCodec.gson.fromJson(infoJson, WCDeviceInfo::class.java)
         deviceInfo?.let {
             with(binding) {
                 tvDeviceApplication.text = it.user_agent
@@ -2,6 +2,7 @@ package com.flowfoundation.wallet.page.walletcreate.fragments.mnemonic
 
 import androidx.lifecycle.MutableLiveData
 import androidx.lifecycle.ViewModel
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.logd
 import com.flowfoundation.wallet.utils.viewModelIOScope
 import com.flow.wallet.crypto.BIP39
@@ -93,7 +94,7 @@ class WalletCreateMnemonicViewModel : ViewModel() {
             // Create and add account to AccountManager with keystore info
             val account = com.flowfoundation.wallet.manager.account.Account(
                 userInfo = userInfo,
-                keyStoreInfo = com.google.gson.Gson().toJson(keystoreAddress)
+                keyStoreInfo = JsonCodec.gson.toJson(keystoreAddress)
             )
             
             com.flowfoundation.wallet.manager.account.AccountManager.add(account)
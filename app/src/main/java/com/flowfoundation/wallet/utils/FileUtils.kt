@@ -5,6 +5,7 @@ import android.net.Uri
 import androidx.activity.result.ActivityResultLauncher
 import androidx.annotation.WorkerThread
 import androidx.core.content.FileProvider
+import com.flowfoundation.wallet.cache.MemoryCache
 import java.io.BufferedReader
 import java.io.File
 import java.io.InputStream
@@ -22,6 +23,7 @@ val CUSTOM_TOKEN_PATH: File = File(getApp().filesDir, "token").apply { if (!exis
 val DISPLAY_TOKEN_PATH: File = File(getApp().filesDir, "display").apply { if (!exists()) mkdirs() }
 
 val CACHE_VIDEO_PATH: File = File(CACHE_PATH, "video").apply { if (!exists()) mkdirs() }
+val CACHE_HOME_SNAPSHOT_PATH: File = File(CACHE_PATH, "home_snapshot").apply { if (!exists()) mkdirs() }
 
 fun File.toContentUri(authority: String): Uri {
     return FileProvider.getUriForFile(getApp(), authority, this)
@@ -42,6 +44,7 @@ fun Uri?.toFile(path: String): File? {
 
 // delete all file in cache folder
 fun clearCacheDir() {
+    MemoryCache.clear()
     CACHE_PATH.listFiles()?.forEach { it.delete() }
 }
 
@@ -0,0 +1,29 @@
+package com.flowfoundation.wallet.utils
+
+import com.google.gson.Gson
+import kotlinx.serialization.json.Json
+
+/**
+ * The JSON codecs shared by the whole app, use these instead of creating new instances.
+ *
+ * Gson builds a reflective type adapter for every class the first time an instance sees it, and
+ * kotlinx [Json] caches the serializers it looks up, both per instance. A fresh `Gson()` or
+ * `Json {}` on every call repeats that work on each parse.
+ *
+ * [gson] has the default `Gson()` configuration, so caches and payloads written before are read
+ * back the same way. [json] is for the `@Serializable` models, e.g. `FungibleToken` and
+ * `WalletListData`, whose serializers are generated at compile time.
+ */
+object JsonCodec {
+
+    val gson: Gson = Gson()
+
+    /**
+     * [gson] writing null fields out, for request bodies that expect every key.
+     */
+    val gsonWithNulls: Gson = gson.newBuilder().serializeNulls().create()
+
+    val json = Json {
+        ignoreUnknownKeys = true
+    }
+}
@@ -57,20 +57,18 @@ fun reportCadenceErrorToDebugView(cadence: String, throwable: Throwable?) {
 
 private fun logWithLevel(tag: String?, msg: Any?, level: Int, instabugLog: (String) -> Unit) {
     log(tag, msg, level)
-    instabugLog("${tag.orEmpty()}: ${msg?.toString().orEmpty()}")
-    val enhancedMessage = buildString {
-        append(msg?.toString() ?: "")
-
-        append("\n[Thread: ${Thread.currentThread().name}]")
-
-        if (level >= Log.WARN) {
-            val stackTrace = Thread.currentThread().stackTrace
-            if (stackTrace.size > 4) {
-                append("\n[Caller: ${stackTrace[4].className}.${stackTrace[4].methodName}:${stackTrace[4].lineNumber}]")
-            }
-        }
+    val text = msg?.toString().orEmpty()
+    instabugLog("${tag.orEmpty()}: $text")
+    if (level < debugViewerLevel()) {
+        return
     }
-    DebugViewerDataSource.log(level, tag, enhancedMessage)
+    // walking the stack is only worth it for warnings in builds that print logs
+    val caller = if (level >= Log.WARN && printLog()) {
+        Thread.currentThread().stackTrace.getOrNull(4)?.let { "${it.className}.${it.methodName}:${it.lineNumber}" }
+    } else {
+        null
+    }
+    DebugViewerDataSource.log(level, tag, text, caller)
 }
 
 private fun log(tag: String?, msg: Any?, level: Int) {
@@ -98,4 +96,7 @@ private fun print(tag: String, msg: String, level: Int) {
     }
 }
 
-private fun printLog() = BuildConfig.DEBUG || isDev()
\ No newline at end of file
+private fun printLog() = BuildConfig.DEBUG || isDev()
+
+// release builds keep debug and above for bug reports, verbose lines only matter while developing
+private fun debugViewerLevel() = if (printLog()) Log.VERBOSE else Log.DEBUG
\ No newline at end of file
@@ -0,0 +1,145 @@
+package com.flowfoundation.wallet.utils
+
+import androidx.datastore.core.DataStore
+import androidx.datastore.preferences.core.MutablePreferences
+import androidx.datastore.preferences.core.Preferences
+import androidx.datastore.preferences.core.edit
+import androidx.datastore.preferences.core.emptyPreferences
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.catch
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.filterNotNull
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.launch
+
+/**
+ * The preferences of a [DataStore] kept in memory as a [StateFlow], loaded once and then updated
+ * by every write.
+ *
+ * Reads look the key up in the current snapshot instead of collecting [DataStore.data] on each
+ * call, [get] only suspends until the first load. [set] applies the value to the snapshot right
+ * away and writes it in the background, values set while a write is running go together into
+ * the next [edit] transaction.
+ */
+class PreferenceStore(
+    private val dataStore: DataStore<Preferences>,
+    private val scope: CoroutineScope,
+) {
+
+    private val lock = Any()
+    private var stored: Preferences? = null
+    // set and not stored yet, shown in the snapshot
+    private val pending = HashMap<Preferences.Key<*>, Any>()
+    // set and not taken by a write yet
+    private val unwritten = HashMap<Preferences.Key<*>, Any>()
+    private var isFlushing = false
+
+    private val state = MutableStateFlow<Preferences?>(null)
+
+    /**
+     * The current preferences with the values not written yet, null until they are loaded.
+     */
+    val snapshot: StateFlow<Preferences?> = state.asStateFlow()
+
+    init {
+        scope.launch {
+            dataStore.data
+                .catch {
+                    loge(it)
+                    emit(emptyPreferences())
+                }
+                .collect { onStored(it) }
+        }
+    }
+
+    suspend fun <T> get(key: Preferences.Key<T>, default: T): T {
+        val preferences = state.value ?: state.filterNotNull().first()
+        return preferences[key] ?: default
+    }
+
+    /**
+     * [get] without suspending, [default] until the preferences are loaded.
+     */
+    fun <T> peek(key: Preferences.Key<T>, default: T): T {
+        return state.value?.get(key) ?: default
+    }
+
+    /**
+     * The value of [key], emitting again whenever it changes.
+     */
+    fun <T> changes(key: Preferences.Key<T>, default: T): Flow<T> {
+        return state.filterNotNull().map { it[key] ?: default }.distinctUntilChanged()
+    }
+
+    fun <T : Any> set(key: Preferences.Key<T>, value: T) {
+        synchronized(lock) {
+            pending[key] = value
+            unwritten[key] = value
+            publish()
+            if (isFlushing) {
+                return
+            }
+            isFlushing = true
+        }
+        scope.launch { flush() }
+    }
+
+    /**
+     * Writes [transform] and returns once it is stored, the snapshot then has the new values.
+     */
+    suspend fun edit(transform: suspend (MutablePreferences) -> Unit) {
+        onStored(dataStore.edit(transform))
+    }
+
+    private suspend fun flush() {
+        while (true) {
+            val batch = synchronized(lock) {
+                if (unwritten.isEmpty()) {
+                    isFlushing = false
+                    return
+                }
+                HashMap(unwritten).also { unwritten.clear() }
+            }
+            try {
+                onStored(dataStore.edit { preferences -> batch.forEach { (key, value) -> preferences.put(key, value) } })
+            } catch (e: Exception) {
+                loge(e)
+            } finally {
+                synchronized(lock) {
+                    // keep the values set again while this batch was written
+                    batch.forEach { (key, value) -> pending.remove(key, value) }
+                    publish()
+                }
+            }
+        }
+    }
+
+    private fun onStored(preferences: Preferences) {
+        synchronized(lock) {
+            stored = preferences
+            publish()
+        }
+    }
+
+    // called holding the lock
+    private fun publish() {
+        val preferences = stored ?: return
+        state.value = if (pending.isEmpty()) {
+            preferences
+        } else {
+            preferences.toMutablePreferences().apply {
+                pending.forEach { (key, value) -> put(key, value) }
+            }.toPreferences()
+        }
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun MutablePreferences.put(key: Preferences.Key<*>, value: Any) {
+        this[key as Preferences.Key<Any>] = value
+    }
+}
@@ -5,7 +5,6 @@ import androidx.appcompat.app.AppCompatDelegate
 import androidx.datastore.core.DataStore
 import androidx.datastore.preferences.core.Preferences
 import androidx.datastore.preferences.core.booleanPreferencesKey
-import androidx.datastore.preferences.core.edit
 import androidx.datastore.preferences.core.intPreferencesKey
 import androidx.datastore.preferences.core.stringPreferencesKey
 import androidx.datastore.preferences.preferencesDataStore
@@ -15,8 +14,7 @@ import com.flowfoundation.wallet.page.profile.subpage.currency.model.Currency
 import com.flowfoundation.wallet.page.token.detail.QuoteMarket
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
-import kotlinx.coroutines.flow.first
-import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.launch
 
 private const val PREFERENCE_TRADITIONAL = "PREFERENCE_TRADITIONAL"
@@ -58,100 +56,113 @@ private val sharedPreferencesTraditional by lazy { Env.getApp().getSharedPrefere
 
 private val Context.dataStore: DataStore<Preferences> by preferencesDataStore(name = "main_preference")
 private val dataStore = Env.getApp().dataStore
+private val preferenceStore = PreferenceStore(dataStore, scope)
 
-suspend fun isRegistered(): Boolean = dataStore.data.map { it[KEY_REGISTERED] ?: false }.first()
+suspend fun isRegistered(): Boolean = preferenceStore.get(KEY_REGISTERED, false)
 
 fun setRegistered() {
-    edit { dataStore.edit { it[KEY_REGISTERED] = true } }
+    preferenceStore.set(KEY_REGISTERED, true)
 }
 
 suspend fun isNewVersion(): Boolean {
     val currentVersionCode = BuildConfig.VERSION_CODE
-    if (currentVersionCode > dataStore.data.map { it[KEY_VERSION_CODE] ?: -1 }.first()) {
-        edit { dataStore.edit { it[KEY_VERSION_CODE] = currentVersionCode } }
+    if (currentVersionCode > preferenceStore.get(KEY_VERSION_CODE, -1)) {
+        preferenceStore.set(KEY_VERSION_CODE, currentVersionCode)
         return true
     }
     return false
 }
 
-suspend fun isNftCollectionExpanded(): Boolean = dataStore.data.map { it[KEY_NFT_COLLECTION_EXPANDED] ?: false }.first()
+suspend fun isNftCollectionExpanded(): Boolean = preferenceStore.get(KEY_NFT_COLLECTION_EXPANDED, false)
+
+/**
+ * [isNftCollectionExpanded] without suspending, false until the preferences are loaded.
+ */
+fun peekNftCollectionExpanded(): Boolean = preferenceStore.peek(KEY_NFT_COLLECTION_EXPANDED, false)
 
 suspend fun updateNftCollectionExpanded(isExpanded: Boolean) {
-    dataStore.edit { it[KEY_NFT_COLLECTION_EXPANDED] = isExpanded }
+    preferenceStore.edit { it[KEY_NFT_COLLECTION_EXPANDED] = isExpanded }
 }
 
-suspend fun isBiometricEnable(): Boolean = dataStore.data.map { it[KEY_BIOMETRIC_ENABLE] ?: false }.first()
+suspend fun isBiometricEnable(): Boolean = preferenceStore.get(KEY_BIOMETRIC_ENABLE, false)
 
 fun setBiometricEnable(isEnable: Boolean) {
-    edit { dataStore.edit { it[KEY_BIOMETRIC_ENABLE] = isEnable } }
+    preferenceStore.set(KEY_BIOMETRIC_ENABLE, isEnable)
 }
 
-suspend fun isBackupManually(): Boolean = dataStore.data.map { it[KEY_BACKUP_MANUALLY] ?: false }.first()
+suspend fun isBackupManually(): Boolean = preferenceStore.get(KEY_BACKUP_MANUALLY, false)
 
 fun setBackupManually() {
-    edit { dataStore.edit { it[KEY_BACKUP_MANUALLY] = true } }
+    preferenceStore.set(KEY_BACKUP_MANUALLY, true)
 }
 
-suspend fun isBackupGoogleDrive(): Boolean = dataStore.data.map { it[KEY_BACKUP_GOOGLE_DRIVE] ?: false }.first()
+suspend fun isBackupGoogleDrive(): Boolean = preferenceStore.get(KEY_BACKUP_GOOGLE_DRIVE, false)
 
 fun setBackupGoogleDrive(isBackuped: Boolean = true) {
-    edit { dataStore.edit { it[KEY_BACKUP_GOOGLE_DRIVE] = isBackuped } }
+    preferenceStore.set(KEY_BACKUP_GOOGLE_DRIVE, isBackuped)
 }
 
-suspend fun isMultiBackupCreated(): Boolean = dataStore.data.map { it[KEY_BACKUP_MULTI] ?: false }.first()
+suspend fun isMultiBackupCreated(): Boolean = preferenceStore.get(KEY_BACKUP_MULTI, false)
 
 fun setMultiBackupCreated() {
-    edit { dataStore.edit { it[KEY_BACKUP_MULTI] = true } }
+    preferenceStore.set(KEY_BACKUP_MULTI, true)
 }
 
 fun setMultiBackupDeleted() {
-    edit { dataStore.edit { it[KEY_BACKUP_MULTI] = false } }
+    preferenceStore.set(KEY_BACKUP_MULTI, false)
 }
 
-suspend fun isDeveloperModeEnable(): Boolean = dataStore.data.map { it[KEY_DEVELOPER_MODE_ENABLE] ?: isDev() || isTesting() }.first()
+suspend fun isDeveloperModeEnable(): Boolean = preferenceStore.get(KEY_DEVELOPER_MODE_ENABLE, isDev()) || isTesting()
 
 fun setDeveloperModeEnable(isEnable: Boolean) {
-    edit { dataStore.edit { it[KEY_DEVELOPER_MODE_ENABLE] = isEnable } }
+    preferenceStore.set(KEY_DEVELOPER_MODE_ENABLE, isEnable)
 }
 
 suspend fun getChainNetworkPreference(): Int =
-    dataStore.data.map { it[KEY_CHAIN_NETWORK] ?: if (isDev() || isTesting()) NETWORK_TESTNET else NETWORK_MAINNET }.first()
+    preferenceStore.get(KEY_CHAIN_NETWORK, if (isDev() || isTesting()) NETWORK_TESTNET else NETWORK_MAINNET)
 
 fun updateChainNetworkPreference(network: Int, callback: (() -> Unit)? = null) {
-    edit {
-        dataStore.edit { it[KEY_CHAIN_NETWORK] = network }
+    scope.launch {
+        preferenceStore.edit { it[KEY_CHAIN_NETWORK] = network }
         callback?.invoke()
     }
 }
 
-suspend fun getThemeMode(): Int = dataStore.data.map { it[KEY_THEME_MODE] ?: AppCompatDelegate.MODE_NIGHT_YES }.first()
+suspend fun getThemeMode(): Int = preferenceStore.get(KEY_THEME_MODE, AppCompatDelegate.MODE_NIGHT_YES)
 
 fun updateThemeMode(themeMode: Int) {
-    edit { dataStore.edit { it[KEY_THEME_MODE] = themeMode } }
+    preferenceStore.set(KEY_THEME_MODE, themeMode)
 }
 
-suspend fun getWallpaperId(): Int = dataStore.data.map { it[KEY_WALLPAPER_ID] ?: 2 }.first()
+suspend fun getWallpaperId(): Int = preferenceStore.get(KEY_WALLPAPER_ID, 2)
 
 fun setWallpaperId(id: Int) {
-    edit { dataStore.edit { it[KEY_WALLPAPER_ID] = id } }
+    preferenceStore.set(KEY_WALLPAPER_ID, id)
 }
 
-suspend fun getQuoteMarket(): String = dataStore.data.map { it[KEY_QUOTE_MARKET] ?: QuoteMarket.binance.value }.first()
+suspend fun getQuoteMarket(): String = preferenceStore.get(KEY_QUOTE_MARKET, QuoteMarket.binance.value)
 
 suspend fun updateQuoteMarket(market: String) {
-    dataStore.edit { it[KEY_QUOTE_MARKET] = market }
+    preferenceStore.edit { it[KEY_QUOTE_MARKET] = market }
 }
 
-suspend fun isHideWalletBalance(): Boolean = dataStore.data.map { it[KEY_HIDE_WALLET_BALANCE] ?: false }.first()
+suspend fun isHideWalletBalance(): Boolean = preferenceStore.get(KEY_HIDE_WALLET_BALANCE, false)
 
 suspend fun setHideWalletBalance(isHide: Boolean) {
-    dataStore.edit { it[KEY_HIDE_WALLET_BALANCE] = isHide }
+    preferenceStore.edit { it[KEY_HIDE_WALLET_BALANCE] = isHide }
 }
 
-suspend fun isFreeGasPreferenceEnable(): Boolean = dataStore.data.map { it[KEY_FREE_GAS_ENABLE] ?: AppConfig.isFreeGas() }.first()
+fun hideWalletBalanceChanges(): Flow<Boolean> = preferenceStore.changes(KEY_HIDE_WALLET_BALANCE, false)
+
+suspend fun isFreeGasPreferenceEnable(): Boolean = preferenceStore.get(KEY_FREE_GAS_ENABLE, AppConfig.isFreeGas())
+
+/**
+ * [isFreeGasPreferenceEnable] without suspending, the remote default until the preferences are loaded.
+ */
+fun peekFreeGasPreferenceEnable(): Boolean = preferenceStore.peek(KEY_FREE_GAS_ENABLE, AppConfig.isFreeGas())
 
 suspend fun setFreeGasPreferenceEnable(isEnable: Boolean) {
-    dataStore.edit { it[KEY_FREE_GAS_ENABLE] = isEnable }
+    preferenceStore.edit { it[KEY_FREE_GAS_ENABLE] = isEnable }
 }
 
 fun isStakingGuideDisplayed(): Boolean {
@@ -171,59 +182,58 @@ fun setNotificationPermissionChecked() {
 }
 
 suspend fun setMeowDomainClaimed(isClaimed: Boolean) {
-    dataStore.edit { it[KEY_IS_MEOW_DOMAIN_CLAIMED] = isClaimed }
+    preferenceStore.edit { it[KEY_IS_MEOW_DOMAIN_CLAIMED] = isClaimed }
 }
 
 suspend fun updateInboxReadListPref(list: String) {
-    dataStore.edit { it[KEY_INBOX_READ_LIST] = list }
+    preferenceStore.edit { it[KEY_INBOX_READ_LIST] = list }
 }
 
-suspend fun getNotificationReadList(): String = dataStore.data.map {
-    it[KEY_NOTIFICATION_READ_LIST] ?: "" }.first()
+suspend fun getNotificationReadList(): String = preferenceStore.get(KEY_NOTIFICATION_READ_LIST, "")
 
 suspend fun updateNotificationListPref(list: String) {
-    dataStore.edit { it[KEY_NOTIFICATION_READ_LIST] = list }
+    preferenceStore.edit { it[KEY_NOTIFICATION_READ_LIST] = list }
 }
 
-suspend fun getCurrencyFlag(): String = dataStore.data.map { it[KEY_CURRENCY_FLAG] ?: Currency.USD.flag }.first()
+suspend fun getCurrencyFlag(): String = preferenceStore.get(KEY_CURRENCY_FLAG, Currency.USD.flag)
 
 suspend fun updateCurrencyFlag(flag: String, callback: (() -> Unit)? = null) {
-    dataStore.edit {
+    preferenceStore.edit {
         it[KEY_CURRENCY_FLAG] = flag
         callback?.invoke()
     }
 }
 
 suspend fun isRootDetectedDialogShown(): Boolean {
-    return dataStore.data.map { it[KEY_IS_ROOT_DETECTED_DIALOG_SHOWN] ?: false }.first()
+    return preferenceStore.get(KEY_IS_ROOT_DETECTED_DIALOG_SHOWN, false)
 }
 
 suspend fun setRootDetectedDialogShown() {
-    dataStore.edit { it[KEY_IS_ROOT_DETECTED_DIALOG_SHOWN] = true }
+    preferenceStore.edit { it[KEY_IS_ROOT_DETECTED_DIALOG_SHOWN] = true }
 }
 
 suspend fun isProfileSwitchTipsShown(): Boolean {
-    return dataStore.data.map { it[KEY_IS_PROFILE_SWITCH_TIPS_SHOWN] ?: false }.first()
+    return preferenceStore.get(KEY_IS_PROFILE_SWITCH_TIPS_SHOWN, false)
 }
 
 suspend fun setProfileSwitchTipsShown() {
-    dataStore.edit { it[KEY_IS_PROFILE_SWITCH_TIPS_SHOWN] = true }
+    preferenceStore.edit { it[KEY_IS_PROFILE_SWITCH_TIPS_SHOWN] = true }
 }
 
 suspend fun isShowMoveDialog(): Boolean {
-    return dataStore.data.map { it[KEY_DO_NOT_SHOW_MOVE_DIALOG] ?: false }.first().not()
+    return preferenceStore.get(KEY_DO_NOT_SHOW_MOVE_DIALOG, false).not()
 }
 
 suspend fun setDoNotShowMoveDialog(notShow: Boolean) {
-    dataStore.edit { it[KEY_DO_NOT_SHOW_MOVE_DIALOG] = notShow }
+    preferenceStore.edit { it[KEY_DO_NOT_SHOW_MOVE_DIALOG] = notShow }
 }
 
 suspend fun isShowBackupDialog(): Boolean {
-    return dataStore.data.map { it[KEY_DO_NOT_SHOW_BACKUP_DIALOG] ?: false }.first().not()
+    return preferenceStore.get(KEY_DO_NOT_SHOW_BACKUP_DIALOG, false).not()
 }
 
 suspend fun setDoNotShowBackupDialog(notShow: Boolean) {
-    dataStore.edit { it[KEY_DO_NOT_SHOW_BACKUP_DIALOG] = notShow }
+    preferenceStore.edit { it[KEY_DO_NOT_SHOW_BACKUP_DIALOG] = notShow }
 }
 
 fun updateSelectedWalletAddress(address: String) {
@@ -248,8 +258,4 @@ fun getCOALinkCheckedAddressSet(): Set<String> {
 
 fun setCOALinkCheckedAddresssSet(addressSet: Set<String>) {
     sharedPreferencesTraditional.edit().putStringSet(KEY_COA_LINK_CHECKED_ADDRESS_SET, addressSet).apply()
-}
-
-private fun edit(unit: suspend () -> Unit) {
-    scope.launch { unit.invoke() }
 }
\ No newline at end of file
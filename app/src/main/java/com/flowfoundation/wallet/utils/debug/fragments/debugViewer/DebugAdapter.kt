@@ -51,7 +51,7 @@ class DebugMsgHolder(inflater: LayoutInflater, parent: ViewGroup) :
             msgTitle?.visibility = View.GONE
         }
         if (debugMessage.body.isNotEmpty()) {
-            msgSubTitle?.text = debugMessage.body
+            msgSubTitle?.text = debugMessage.displayBody()
             msgSubTitle?.visibility = View.VISIBLE
         } else {
             msgSubTitle?.visibility = View.GONE
@@ -66,7 +66,7 @@ class DebugMsgHolder(inflater: LayoutInflater, parent: ViewGroup) :
                 DebugManager.applicationContext.getSystemService(Context.CLIPBOARD_SERVICE) as? ClipboardManager
             val clipData = ClipData.newPlainText(
                 "OK Debug Message",
-                debugMessage.title + "\n" + debugMessage.body
+                debugMessage.title + "\n" + debugMessage.displayBody()
             )
             clipboard?.setPrimaryClip(clipData)
             DebugManager.applicationContext.toast(
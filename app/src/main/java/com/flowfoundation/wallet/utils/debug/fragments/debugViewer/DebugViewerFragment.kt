@@ -15,6 +15,7 @@ import androidx.core.content.FileProvider
 import androidx.core.view.isVisible
 import androidx.databinding.DataBindingUtil
 import androidx.fragment.app.Fragment
+import androidx.lifecycle.LiveData
 import androidx.lifecycle.MutableLiveData
 import androidx.lifecycle.ViewModelProvider
 import androidx.recyclerview.widget.LinearLayoutManager
@@ -29,10 +30,12 @@ import com.google.android.material.tabs.TabLayoutMediator
 import com.google.firebase.Timestamp
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.delay
 import kotlinx.coroutines.launch
 import java.io.File
 import java.io.FileOutputStream
 import java.io.OutputStreamWriter
+import java.util.concurrent.atomic.AtomicBoolean
 import java.util.zip.ZipEntry
 import java.util.zip.ZipOutputStream
 import kotlin.math.abs
@@ -228,13 +231,35 @@ data class DebugMessage(
     val titleColor: Int = R.color.text_1,
     val bodyColor: Int = R.color.text_2,
     var collapsed: Boolean = true
-)
+) {
+    // formatted when shown instead of for every logged line
+    fun displayBody(): String = buildString {
+        append(body)
+        append("\n[Thread: $threadName]")
+        stackTrace?.let { append("\n[Caller: $it]") }
+    }
+}
 
 object DebugViewerDataSource {
+    // two categories at most, so the total stays within the 2000 messages kept before
     private const val MAX_MESSAGES_PER_CATEGORY = 1000
-    private const val MAX_TOTAL_MESSAGES = 2000
+    private const val REFRESH_INTERVAL_MILLIS = 300L
 
-    val list = MutableLiveData<Map<DebugMessageCategory, List<DebugMessage>>>()
+    private val buffers = DebugMessageCategory.values().associateWith {
+        LogRingBuffer<DebugMessage>(MAX_MESSAGES_PER_CATEGORY)
+    }
+    private val refreshPending = AtomicBoolean(false)
+
+    /**
+     * Snapshot of the buffers for the debug viewer. It is only rebuilt while observed, at most once
+     * per [REFRESH_INTERVAL_MILLIS], so logging never copies messages while the viewer is closed.
+     */
+    private val snapshotData = object : MutableLiveData<Map<DebugMessageCategory, List<DebugMessage>>>() {
+        override fun onActive() {
+            value = snapshot()
+        }
+    }
+    val list: LiveData<Map<DebugMessageCategory, List<DebugMessage>>> = snapshotData
 
     val categories: List<DebugMessageCategory>
         get() {
@@ -245,36 +270,28 @@ object DebugViewerDataSource {
         return list.value?.get(category) ?: listOf()
     }
 
+    fun snapshot(): Map<DebugMessageCategory, List<DebugMessage>> {
+        return buffers.mapValues { it.value.snapshot() }.filterValues { it.isNotEmpty() }
+    }
+
     private fun append(category: DebugMessageCategory, message: DebugMessage) {
-        mainScope.launch {
-            val map = list.value?.toMutableMap() ?: mutableMapOf()
-            val messages = map[category]?.toMutableList() ?: mutableListOf()
-            messages.add(message)
-            if (messages.size > MAX_MESSAGES_PER_CATEGORY) {
-                messages.removeAt(0)
-            }
-            map[category] = messages
-            val totalMessages = map.values.sumOf { it.size }
-            if (totalMessages > MAX_TOTAL_MESSAGES) {
-                trimOldestMessages(map)
+        buffers.getValue(category).add(message)
+        if (snapshotData.hasActiveObservers() && refreshPending.compareAndSet(false, true)) {
+            mainScope.launch {
+                delay(REFRESH_INTERVAL_MILLIS)
+                refreshPending.set(false)
+                publish()
             }
-            list.value = map
         }
     }
 
-    private fun trimOldestMessages(map: MutableMap<DebugMessageCategory, List<DebugMessage>>) {
-        while (map.values.sumOf { it.size } > MAX_TOTAL_MESSAGES) {
-            val categoryWithMostMessages = map.maxByOrNull { it.value.size }
-            categoryWithMostMessages?.let { (category, messages) ->
-                if (messages.isNotEmpty()) {
-                    map[category] = messages.drop(1)
-                }
-            }
-        }
+    private fun publish() {
+        snapshotData.value = snapshot()
     }
 
     fun clear() {
-        list.value = emptyMap()
+        buffers.values.forEach { it.clear() }
+        publish()
     }
 
     private fun textColor(priority: Int): Int {
@@ -285,13 +302,14 @@ object DebugViewerDataSource {
         }
     }
 
-    fun log(priority: Int, tag: String?, message: String) {
+    fun log(priority: Int, tag: String?, message: String, caller: String? = null) {
         append(
             DebugMessageCategory.LOG,
             DebugMessage(
                 title = tag ?: "",
                 body = message,
                 level = priorityToString(priority),
+                stackTrace = caller,
                 titleColor = textColor(priority)
             )
         )
@@ -322,7 +340,7 @@ object DebugViewerDataSource {
 
     fun generateDebugZipFile(context: Context): Uri? {
         try {
-            val debugMessage = list.value ?: return null
+            val debugMessage = snapshot().ifEmpty { return null }
             val zipFileName = "debug_logs_${System.currentTimeMillis()}.zip"
             val zipFile = File(context.cacheDir, zipFileName)
 
@@ -404,7 +422,7 @@ object DebugViewerDataSource {
 
     fun generateDebugMessageFile(context: Context): Uri? {
         try {
-            val debugMessage = list.value ?: return null
+            val debugMessage = snapshot().ifEmpty { return null }
             val stringBuilder = StringBuilder()
             debugMessage.forEach { (category, messages) ->
                 stringBuilder.append("Category: ${category.name}\n")
@@ -2,8 +2,8 @@ package com.flowfoundation.wallet.utils.debug.fragments.debugViewer
 
 import android.graphics.Point
 import androidx.lifecycle.ViewModel
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.debug.DebugManager
-import com.google.gson.Gson
 
 class DebugViewerViewModel : ViewModel() {
     var collapsed: Boolean
@@ -17,23 +17,23 @@ class DebugViewerViewModel : ViewModel() {
     var position: Point?
         get() {
             DebugManager.getSharedPrefs().getString("DEBUG_VIEWER_POSITION", null)?.let {
-                return Gson().fromJson(it, Point::class.java)
+                return JsonCodec.gson.fromJson(it, Point::class.java)
             }
             return null
         }
         set(value) {
-            DebugManager.getSharedPrefs().edit().putString("DEBUG_VIEWER_POSITION", Gson().toJson(value)).apply()
+            DebugManager.getSharedPrefs().edit().putString("DEBUG_VIEWER_POSITION", JsonCodec.gson.toJson(value)).apply()
         }
 
     var size: Point?
         get() {
             DebugManager.getSharedPrefs().getString("DEBUG_VIEWER_SIZE", null)?.let {
-                return Gson().fromJson(it, Point::class.java)
+                return JsonCodec.gson.fromJson(it, Point::class.java)
             }
             return null
         }
         set(value) {
-            DebugManager.getSharedPrefs().edit().putString("DEBUG_VIEWER_SIZE", Gson().toJson(value)).apply()
+            DebugManager.getSharedPrefs().edit().putString("DEBUG_VIEWER_SIZE", JsonCodec.gson.toJson(value)).apply()
         }
     var dX = 0f
     var dY = 0f
@@ -0,0 +1,69 @@
+package com.flowfoundation.wallet.utils.debug.fragments.debugViewer
+
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicReferenceArray
+
+/**
+ * Fixed capacity buffer keeping the latest [capacity] items, safe to write from any thread
+ * without locking. Writers claim a sequence number and overwrite the oldest slot, readers copy
+ * out whatever is currently in the buffer in insertion order.
+ */
+class LogRingBuffer<T : Any>(private val capacity: Int) {
+
+    private class Entry<T>(val sequence: Long, val item: T)
+
+    private val slots = AtomicReferenceArray<Entry<T>?>(capacity)
+    private val nextSequence = AtomicLong()
+
+    @Volatile
+    private var clearedSequence = 0L
+
+    init {
+        require(capacity > 0) { "capacity must be positive" }
+    }
+
+    fun add(item: T) {
+        val sequence = nextSequence.getAndIncrement()
+        val slot = (sequence % capacity).toInt()
+        val entry = Entry(sequence, item)
+        while (true) {
+            val current = slots.get(slot)
+            // a writer that stalled for a whole lap must not replace the newer item
+            if (current != null && current.sequence > sequence) {
+                return
+            }
+            if (slots.compareAndSet(slot, current, entry)) {
+                return
+            }
+        }
+    }
+
+    /**
+     * Items still in the buffer, oldest first. A slot that is being written concurrently, or was
+     * already overwritten by a newer item, is skipped instead of waited for.
+     */
+    fun snapshot(): List<T> {
+        val end = nextSequence.get()
+        val start = maxOf(end - capacity, clearedSequence)
+        if (start >= end) {
+            return emptyList()
+        }
+        val items = ArrayList<T>((end - start).toInt())
+        for (sequence in start until end) {
+            val entry = slots.get((sequence % capacity).toInt())
+            if (entry != null && entry.sequence == sequence) {
+                items.add(entry.item)
+            }
+        }
+        return items
+    }
+
+    fun size(): Int {
+        val end = nextSequence.get()
+        return (end - maxOf(end - capacity, clearedSequence)).coerceAtLeast(0).toInt()
+    }
+
+    fun clear() {
+        clearedSequence = nextSequence.get()
+    }
+}
@@ -0,0 +1,117 @@
+package com.flowfoundation.wallet.utils.search
+
+import java.util.TreeMap
+
+/**
+ * In-memory index answering keyword searches over items without rescanning their text.
+ *
+ * Every field returned by [fields] is lowercased and split into words once, when the item is
+ * added, and each word points back to the items containing it. A query matches the items that
+ * contain, for every query word, a word starting with it. Results are ranked by exact word
+ * matches over prefix matches and by how early the matched field comes in [fields], ties keeping
+ * the order the items were added in.
+ *
+ * Items can be added page by page while a list is loading. All methods are thread safe.
+ */
+class SearchIndex<T>(
+    private val fields: (T) -> List<String?>,
+) {
+
+    private val items = ArrayList<T>()
+
+    // word -> postings, each posting being item index * MAX_FIELDS + field index
+    private val words = TreeMap<String, IntList>()
+
+    fun size() = synchronized(this) { items.size }
+
+    fun add(item: T) {
+        synchronized(this) {
+            val itemIndex = items.size
+            items.add(item)
+            fields(item).take(MAX_FIELDS).forEachIndexed { fieldIndex, text ->
+                tokenize(text).distinct().forEach { word ->
+                    words.getOrPut(word) { IntList() }.add(itemIndex * MAX_FIELDS + fieldIndex)
+                }
+            }
+        }
+    }
+
+    fun addAll(items: Collection<T>) {
+        synchronized(this) { items.forEach { add(it) } }
+    }
+
+    fun clear() {
+        synchronized(this) {
+            items.clear()
+            words.clear()
+        }
+    }
+
+    fun all(): List<T> = synchronized(this) { items.toList() }
+
+    fun search(keyword: String): List<T> {
+        val terms = tokenize(keyword).distinct()
+        if (terms.isEmpty()) {
+            return emptyList()
+        }
+        synchronized(this) {
+            val scores = IntArray(items.size)
+            val matchedTerms = IntArray(items.size)
+            val termScores = IntArray(items.size)
+            terms.forEachIndexed { termIndex, term ->
+                termScores.fill(0)
+                words.subMap(term, true, term + Char.MAX_VALUE, true).forEach { (word, postings) ->
+                    val matchScore = if (word == term) EXACT_MATCH_SCORE else PREFIX_MATCH_SCORE
+                    for (i in 0 until postings.size) {
+                        val posting = postings[i]
+                        val itemIndex = posting / MAX_FIELDS
+                        val score = matchScore * (MAX_FIELDS - posting % MAX_FIELDS)
+                        if (matchedTerms[itemIndex] == termIndex && score > termScores[itemIndex]) {
+                            termScores[itemIndex] = score
+                        }
+                    }
+                }
+                for (itemIndex in scores.indices) {
+                    if (termScores[itemIndex] > 0) {
+                        scores[itemIndex] += termScores[itemIndex]
+                        matchedTerms[itemIndex]++
+                    }
+                }
+            }
+            return scores.indices
+                .filter { matchedTerms[it] == terms.size }
+                .sortedByDescending { scores[it] }
+                .map { items[it] }
+        }
+    }
+
+    private class IntList {
+        private var values = IntArray(4)
+        var size = 0
+            private set
+
+        fun add(value: Int) {
+            if (size == values.size) {
+                values = values.copyOf(size * 2)
+            }
+            values[size++] = value
+        }
+
+        operator fun get(index: Int) = values[index]
+    }
+
+    companion object {
+        private const val MAX_FIELDS = 8
+        private const val EXACT_MATCH_SCORE = 3
+        private const val PREFIX_MATCH_SCORE = 2
+
+        fun tokenize(text: String?): List<String> {
+            if (text.isNullOrBlank()) {
+                return emptyList()
+            }
+            return text.lowercase().split(SEPARATOR).filter { it.isNotEmpty() }
+        }
+
+        private val SEPARATOR = Regex("[^\\p{L}\\p{N}]+")
+    }
+}
@@ -1,8 +1,8 @@
 package com.flowfoundation.wallet.wallet
 
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.firebase.auth.ktx.auth
 import com.google.firebase.ktx.Firebase
-import com.google.gson.Gson
 import com.google.gson.reflect.TypeToken
 import com.flowfoundation.wallet.firebase.auth.isAnonymousSignIn
 import com.flowfoundation.wallet.utils.DATA_PATH
@@ -116,7 +116,7 @@ private fun saveCurrentUserPassword(password: String) {
     val uid = uid() ?: return
     val passwordMap = passwordMap()
     passwordMap[uid] = password
-    storeWalletPassword(Gson().toJson(passwordMap))
+    storeWalletPassword(JsonCodec.gson.toJson(passwordMap))
 }
 
 private fun passwordMap(): HashMap<String, String> {
@@ -124,7 +124,7 @@ private fun passwordMap(): HashMap<String, String> {
     return if (pref.isNullOrBlank()) {
         HashMap()
     } else {
-        Gson().fromJson(pref, object : TypeToken<HashMap<String, String>>() {}.type)
+        JsonCodec.gson.fromJson(pref, object : TypeToken<HashMap<String, String>>() {}.type)
     }
 }
 
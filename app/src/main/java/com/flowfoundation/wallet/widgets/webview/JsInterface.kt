@@ -5,12 +5,12 @@ import com.flowfoundation.wallet.manager.transaction.TransactionState
 import com.flowfoundation.wallet.manager.transaction.TransactionStateManager
 import com.flowfoundation.wallet.page.browser.widgets.LilicoWebView
 import com.flowfoundation.wallet.page.window.bubble.tools.pushBubbleStack
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.ioScope
 import com.flowfoundation.wallet.utils.logd
 import com.flowfoundation.wallet.utils.uiScope
 import com.flowfoundation.wallet.widgets.webview.fcl.FclMessageHandler
 import com.flowfoundation.wallet.widgets.webview.fcl.authzTransaction
-import com.google.gson.Gson
 import com.google.gson.reflect.TypeToken
 import org.onflow.flow.models.TransactionStatus
 
@@ -30,13 +30,13 @@ class JsInterface(
         logd(TAG, "transaction: $json")
         ioScope {
             val authzTransaction = authzTransaction() ?: return@ioScope
-            val tid = Gson().fromJson<Map<String, Any>>(json, object : TypeToken<Map<String, Any>>() {}.type)["txId"] as String
+            val tid = JsonCodec.gson.fromJson<Map<String, Any>>(json, object : TypeToken<Map<String, Any>>() {}.type)["txId"] as String
             val transactionState = TransactionState(
                 transactionId = tid,
                 time = System.currentTimeMillis(),
                 state = TransactionStatus.UNKNOWN.ordinal,
                 type = TransactionState.TYPE_FCL_TRANSACTION,
-                data = Gson().toJson(authzTransaction),
+                data = JsonCodec.gson.toJson(authzTransaction),
             )
             uiScope {
                 if (TransactionStateManager.getTransactionStateById(tid) != null) return@uiScope
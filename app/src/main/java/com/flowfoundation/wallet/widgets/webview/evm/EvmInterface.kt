@@ -17,6 +17,7 @@ import com.flowfoundation.wallet.page.browser.widgets.LilicoWebView
 import com.flowfoundation.wallet.page.evm.EnableEVMDialog
 import com.flowfoundation.wallet.page.token.custom.widget.AddCustomTokenDialog
 import com.flowfoundation.wallet.page.wallet.dialog.MoveDialog
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.flowfoundation.wallet.utils.findActivity
 import com.flowfoundation.wallet.utils.isShowMoveDialog
 import com.flowfoundation.wallet.utils.logd
@@ -31,7 +32,6 @@ import com.flowfoundation.wallet.widgets.webview.evm.dialog.EVMSignTypedDataDial
 import com.flowfoundation.wallet.widgets.webview.evm.model.EVMTransactionDialogModel
 import com.flowfoundation.wallet.widgets.webview.fcl.dialog.checkAndShowNetworkWrongDialog
 import com.flowfoundation.wallet.widgets.webview.fcl.model.FclDialogModel
-import com.google.gson.Gson
 import org.json.JSONObject
 import org.onflow.flow.models.bytesToHex
 import org.web3j.utils.Numeric
@@ -135,7 +135,7 @@ class EvmInterface(
             DAppMethod.SIGN_TRANSACTION -> {
                 if (network == ETH_NETWORK) {
                     logd(TAG, "transaction obj::$obj")
-                    val transaction = Gson().fromJson(obj.optString("object"), EvmTransaction::class.java)
+                    val transaction = JsonCodec.gson.fromJson(obj.optString("object"), EvmTransaction::class.java)
                     logd(TAG, "transaction::$transaction")
                     uiScope {
                         handleTransaction(activity, transaction, id, network)
@@ -13,6 +13,7 @@ import androidx.fragment.app.FragmentManager
 import com.flowfoundation.wallet.R
 import com.flowfoundation.wallet.databinding.DialogEvmSignTypedDataBinding
 import com.flowfoundation.wallet.manager.blocklist.BlockManager
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.android.material.bottomsheet.BottomSheetDialogFragment
 import com.flowfoundation.wallet.manager.evm.COALinkCheckManager
 import com.flowfoundation.wallet.page.browser.loadFavicon
@@ -29,7 +30,6 @@ import com.flowfoundation.wallet.widgets.webview.evm.model.EVMTypedMessage
 import com.flowfoundation.wallet.widgets.webview.fcl.model.FclDialogModel
 import com.google.android.material.bottomsheet.BottomSheetBehavior
 import com.google.android.material.bottomsheet.BottomSheetDialog
-import com.google.gson.Gson
 import com.google.gson.JsonArray
 import com.google.gson.JsonElement
 import com.google.gson.JsonObject
@@ -113,7 +113,7 @@ class EVMSignTypedDataDialog : BottomSheetDialogFragment() {
             iconView.loadFavicon(data.logo ?: data.url?.toFavIcon())
             nameView.text = data.title
             try {
-                val typedMessage = Gson().fromJson(data.signMessage, EVMTypedMessage::class.java)
+                val typedMessage = JsonCodec.gson.fromJson(data.signMessage, EVMTypedMessage::class.java)
                 if (typedMessage == null) {
                     dismissMessageLayout()
                 } else {
@@ -2,7 +2,7 @@ package com.flowfoundation.wallet.widgets.webview.fcl
 
 import android.webkit.WebView
 import androidx.fragment.app.FragmentActivity
-import com.google.gson.Gson
+import com.flowfoundation.wallet.utils.JsonCodec
 import com.google.gson.reflect.TypeToken
 import com.flowfoundation.wallet.R
 import com.flowfoundation.wallet.base.activity.BaseActivity
@@ -335,7 +335,7 @@ class FclMessageHandler(
         )
 
         safeRun {
-            val sign = Gson().fromJson(response, SignPayerResponse::class.java).envelopeSigs
+            val sign = JsonCodec.gson.fromJson(response, SignPayerResponse::class.java).envelopeSigs
 
             webView.postAuthzEnvelopeSignResponse(sign)
             uiScope { authzTransaction = fcl.toAuthzTransaction(webView) }
@@ -360,7 +360,7 @@ private fun Map<String, Any>.isService(): Boolean {
 
 private fun <T> String.fromJson(clz: Class<T>): T? {
     return try {
-        Gson().fromJson(this, clz)
+        JsonCodec.gson.fromJson(this, clz)
     } catch (e: Exception) {
         loge(e)
         null
@@ -369,7 +369,7 @@ private fun <T> String.fromJson(clz: Class<T>): T? {
 
 private fun <T> String.fromJson(typeOfT: Type): T? {
     return try {
-        Gson().fromJson<T>(this, typeOfT)
+        JsonCodec.gson.fromJson<T>(this, typeOfT)
     } catch (e: Exception) {
         loge(e)
         null
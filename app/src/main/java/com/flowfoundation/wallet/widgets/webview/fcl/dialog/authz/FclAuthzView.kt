@@ -12,7 +12,7 @@ import com.flowfoundation.wallet.R
 import com.flowfoundation.wallet.databinding.DialogFclAuthzBinding
 import com.flowfoundation.wallet.manager.app.chainNetWorkString
 import com.flowfoundation.wallet.manager.blocklist.BlockManager
-import com.flowfoundation.wallet.manager.config.isGasFree
+import com.flowfoundation.wallet.manager.config.peekGasFree
 import com.flowfoundation.wallet.network.ApiService
 import com.flowfoundation.wallet.network.model.CadenceSecurityCheck
 import com.flowfoundation.wallet.network.model.CadenceSecurityCheckResponse
@@ -44,7 +44,7 @@ class FclAuthzView : FrameLayout {
         with(binding) {
             iconView.loadFavicon(data.logo ?: data.url?.toFavIcon())
             nameView.text = data.title
-            uiScope { feeNumber.text = if (isGasFree()) "0" else "0.001" }
+            feeNumber.text = if (peekGasFree()) "0" else "0.001"
             scriptTextView.text = data.cadence?.trimIndent()
             actionButton.setOnProcessing { approveCallback.invoke(true) }
             scriptHeaderWrapper.setOnClickListener { toggleScriptVisible() }
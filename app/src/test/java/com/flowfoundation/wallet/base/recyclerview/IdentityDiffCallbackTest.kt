@@ -0,0 +1,119 @@
+package com.flowfoundation.wallet.base.recyclerview
+
+import androidx.recyclerview.widget.DiffUtil
+import androidx.recyclerview.widget.ListUpdateCallback
+import com.flowfoundation.wallet.manager.token.model.FungibleToken
+import com.flowfoundation.wallet.manager.token.model.FungibleTokenType
+import com.flowfoundation.wallet.page.wallet.model.WalletCoinItemModel
+import com.flowfoundation.wallet.page.wallet.walletListDiffCallback
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class IdentityDiffCallbackTest {
+
+    /** Counts the binds RecyclerView would do for the dispatched updates. */
+    private class BindCounter : ListUpdateCallback {
+        var fullBinds = 0
+        var balanceBinds = 0
+        var removed = 0
+
+        override fun onInserted(position: Int, count: Int) {
+            fullBinds += count
+        }
+
+        override fun onRemoved(position: Int, count: Int) {
+            removed += count
+        }
+
+        override fun onMoved(fromPosition: Int, toPosition: Int) {}
+
+        override fun onChanged(position: Int, count: Int, payload: Any?) {
+            if (payload == WalletCoinItemModel.PAYLOAD_BALANCE) {
+                balanceBinds += count
+            } else {
+                fullBinds += count
+            }
+        }
+    }
+
+    private fun token(index: Int, price: String = "1.0", name: String = "Token $index") = FungibleToken(
+        name = name,
+        symbol = "T$index",
+        logoURI = null,
+        decimals = 8,
+        balance = "10.0",
+        currency = "USD",
+        priceInCurrency = price,
+        balanceInCurrency = (10 * price.toDouble()).toString(),
+        balanceInUSD = (10 * price.toDouble()).toString(),
+        isVerified = true,
+        tokenType = FungibleTokenType.FLOW,
+        flowIdentifier = null,
+        flowAddress = "0x%016x".format(index),
+        evmAddress = null,
+        flowContractName = "Token$index",
+        flowStoragePath = null,
+        flowReceiverPath = null,
+        flowBalancePath = null,
+        flowSocialsWebsiteUrl = null,
+        evmChainId = null,
+    )
+
+    private fun coinList(price: String = "1.0") = (0 until 500).map {
+        WalletCoinItemModel(token = token(it, price), stakeAmount = 0f)
+    }
+
+    private fun <T : Any> dispatch(old: List<T>, new: List<T>, callback: DiffUtil.ItemCallback<T>): BindCounter {
+        val result = DiffUtil.calculateDiff(object : DiffUtil.Callback() {
+            override fun getOldListSize() = old.size
+            override fun getNewListSize() = new.size
+            override fun areItemsTheSame(oldItemPosition: Int, newItemPosition: Int) =
+                callback.areItemsTheSame(old[oldItemPosition], new[newItemPosition])
+
+            override fun areContentsTheSame(oldItemPosition: Int, newItemPosition: Int) =
+                callback.areContentsTheSame(old[oldItemPosition], new[newItemPosition])
+
+            override fun getChangePayload(oldItemPosition: Int, newItemPosition: Int) =
+                callback.getChangePayload(old[oldItemPosition], new[newItemPosition])
+        })
+        return BindCounter().also { result.dispatchUpdatesTo(it) }
+    }
+
+    @Test
+    fun `price tick on 500 tokens only rebinds balances`() {
+        val counter = dispatch(coinList("1.0"), coinList("1.1"), walletListDiffCallback)
+
+        assertEquals(0, counter.fullBinds)
+        assertEquals(0, counter.removed)
+        assertEquals(500, counter.balanceBinds)
+    }
+
+    @Test
+    fun `unchanged list binds nothing`() {
+        val counter = dispatch(coinList(), coinList(), walletListDiffCallback)
+
+        assertEquals(0, counter.fullBinds + counter.balanceBinds + counter.removed)
+    }
+
+    @Test
+    fun `other changes rebind the whole item`() {
+        val old = coinList()
+        val new = old.toMutableList().apply { this[3] = this[3].copy(token = token(3, name = "Renamed")) }
+
+        val counter = dispatch(old, new, walletListDiffCallback)
+
+        assertEquals(1, counter.fullBinds)
+        assertEquals(0, counter.balanceBinds)
+    }
+
+    @Test
+    fun `items without identity are rebound on every update`() {
+        val counter = dispatch(coinList("1.0"), coinList("1.1"), object : DiffUtil.ItemCallback<WalletCoinItemModel>() {
+            override fun areItemsTheSame(oldItem: WalletCoinItemModel, newItem: WalletCoinItemModel) = false
+            override fun areContentsTheSame(oldItem: WalletCoinItemModel, newItem: WalletCoinItemModel) = false
+        })
+
+        assertEquals(500, counter.fullBinds)
+        assertEquals(500, counter.removed)
+    }
+}
@@ -0,0 +1,72 @@
+package com.flowfoundation.wallet.cache
+
+import org.junit.Assert.*
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.io.File
+import java.util.concurrent.CountDownLatch
+import kotlin.concurrent.thread
+
+class CacheStorageTest {
+    @get:Rule
+    val tempFolder = TemporaryFolder()
+
+    private lateinit var file: File
+
+    data class TestData(
+        val id: Int,
+        val names: List<String>
+    )
+
+    @Before
+    fun setup() {
+        file = File(tempFolder.newFolder("cache"), "test_cache")
+    }
+
+    @Test
+    fun testWriteAndRead() {
+        val testData = TestData(1, listOf("a", "b"))
+        JsonCacheStorage.write(file, testData)
+
+        assertEquals(testData, JsonCacheStorage.read<TestData>(file, TestData::class.java))
+        assertEquals(listOf(file.name), file.parentFile!!.list()!!.toList())
+    }
+
+    @Test
+    fun testReadMissingFile() {
+        assertNull(JsonCacheStorage.read<TestData>(file, TestData::class.java))
+    }
+
+    @Test
+    fun testLargeList() {
+        val testData = TestData(4, (0 until 5000).map { "nft_$it" })
+        JsonCacheStorage.write(file, testData)
+
+        assertEquals(testData, JsonCacheStorage.read<TestData>(file, TestData::class.java))
+    }
+
+    @Test
+    fun testConcurrentWrites() {
+        val written = (0 until WRITERS).map { index -> TestData(index, (0 until 1000).map { "nft_${index}_$it" }) }
+        val start = CountDownLatch(1)
+        val writers = written.map { data ->
+            thread {
+                start.await()
+                repeat(WRITES) { JsonCacheStorage.write(file, data) }
+            }
+        }
+        start.countDown()
+        writers.forEach { it.join() }
+
+        // one whole write wins, none of them is interleaved with another
+        assertTrue(JsonCacheStorage.read<TestData>(file, TestData::class.java) in written)
+        assertEquals(listOf(file.name), file.parentFile!!.list()!!.toList())
+    }
+
+    companion object {
+        private const val WRITERS = 8
+        private const val WRITES = 20
+    }
+}
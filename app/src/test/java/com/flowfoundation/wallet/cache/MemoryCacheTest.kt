@@ -0,0 +1,103 @@
+package com.flowfoundation.wallet.cache
+
+import org.junit.After
+import org.junit.Assert.*
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.io.File
+
+class MemoryCacheTest {
+    @get:Rule
+    val tempFolder = TemporaryFolder()
+
+    private lateinit var cacheDir: File
+
+    @Before
+    fun setup() {
+        cacheDir = tempFolder.newFolder("cache")
+        MemoryCache.clear()
+        MemoryCache.maxBytes = 1024
+    }
+
+    @After
+    fun tearDown() {
+        MemoryCache.clear()
+        MemoryCache.maxBytes = 8L * 1024 * 1024
+    }
+
+    private fun newFile(name: String, bytes: Int): File {
+        return File(cacheDir, name).apply { writeBytes(ByteArray(bytes)) }
+    }
+
+    @Test
+    fun testHitAndMiss() {
+        val file = newFile("a", 10)
+        val before = MemoryCache.stats()
+        assertNull(MemoryCache.get<String>(file))
+
+        MemoryCache.put(file, "value", MemoryPolicy.STRONG)
+        assertEquals("value", MemoryCache.get<String>(file))
+
+        val after = MemoryCache.stats()
+        assertEquals(1, after.hitCount - before.hitCount)
+        assertEquals(1, after.missCount - before.missCount)
+    }
+
+    @Test
+    fun testNonePolicyIsNotCached() {
+        val file = newFile("a", 10)
+        MemoryCache.put(file, "value", MemoryPolicy.NONE)
+        assertNull(MemoryCache.get<String>(file))
+    }
+
+    @Test
+    fun testFileChangeInvalidates() {
+        val file = newFile("a", 10)
+        MemoryCache.put(file, "value", MemoryPolicy.STRONG)
+        file.setLastModified(file.lastModified() - 10_000)
+        assertNull(MemoryCache.get<String>(file))
+
+        MemoryCache.put(file, "value", MemoryPolicy.STRONG)
+        file.delete()
+        assertNull(MemoryCache.get<String>(file))
+    }
+
+    @Test
+    fun testMaxAge() {
+        val file = newFile("a", 10)
+        MemoryCache.put(file, "value", MemoryPolicy.SOFT)
+        assertEquals("value", MemoryCache.get<String>(file, maxAge = 60_000))
+        Thread.sleep(20)
+        assertNull(MemoryCache.get<String>(file, maxAge = 10))
+    }
+
+    @Test
+    fun testEvictsLeastRecentlyUsed() {
+        val first = newFile("first", 400)
+        val second = newFile("second", 400)
+        val third = newFile("third", 400)
+        val evictions = MemoryCache.stats().evictionCount
+
+        MemoryCache.put(first, "first", MemoryPolicy.STRONG)
+        MemoryCache.put(second, "second", MemoryPolicy.STRONG)
+        assertEquals("first", MemoryCache.get<String>(first))
+        MemoryCache.put(third, "third", MemoryPolicy.STRONG)
+
+        assertEquals("first", MemoryCache.get<String>(first))
+        assertNull(MemoryCache.get<String>(second))
+        assertEquals("third", MemoryCache.get<String>(third))
+        assertEquals(1, MemoryCache.stats().evictionCount - evictions)
+        assertTrue(MemoryCache.stats().bytes <= 1024)
+    }
+
+    @Test
+    fun testRemove() {
+        val file = newFile("a", 10)
+        MemoryCache.put(file, "value", MemoryPolicy.STRONG)
+        MemoryCache.remove(file)
+        assertNull(MemoryCache.get<String>(file))
+        assertEquals(0, MemoryCache.stats().bytes)
+    }
+}
@@ -0,0 +1,80 @@
+package com.flowfoundation.wallet.manager.blocklist
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class DomainSuffixIndexTest {
+
+    private val index = DomainSuffixIndex(listOf("evil.com", "*.phish.io", "Scam.App.", " ", "bad.co.uk"))
+
+    @Test
+    fun `matches exact domain`() {
+        assertTrue(index.contains("evil.com"))
+        assertTrue(index.contains("bad.co.uk"))
+    }
+
+    @Test
+    fun `matches subdomains`() {
+        assertTrue(index.contains("www.evil.com"))
+        assertTrue(index.contains("a.b.c.evil.com"))
+        assertTrue(index.contains("login.phish.io"))
+    }
+
+    @Test
+    fun `does not match partial labels`() {
+        assertFalse(index.contains("notevil.com"))
+        assertFalse(index.contains("evil.com.safe.org"))
+        assertFalse(index.contains("vil.com"))
+        assertFalse(index.contains("co.uk"))
+        assertFalse(index.contains(""))
+    }
+
+    @Test
+    fun `normalizes case and wildcard prefix`() {
+        assertEquals(4, index.size)
+        assertTrue(index.contains("EVIL.COM"))
+        assertTrue(index.contains("phish.io"))
+        assertTrue(index.contains("scam.app"))
+        assertTrue(index.contains("www.SCAM.app"))
+    }
+
+    @Test
+    fun `empty index blocks nothing`() {
+        assertFalse(DomainSuffixIndex(emptyList()).contains("evil.com"))
+    }
+
+    @Test
+    fun `matches the previous regex scan on 50k domains`() {
+        val domains = (0 until DOMAIN_COUNT).map { "site$it.example${it % 97}.com" }
+        val largeIndex = DomainSuffixIndex(domains)
+        val hosts = (0 until LOOKUP_COUNT).map {
+            when (it % 3) {
+                0 -> "www.site${it * 7 % DOMAIN_COUNT}.example${it * 7 % DOMAIN_COUNT % 97}.com"
+                1 -> "site$it.example${it % 97}.org"
+                else -> "xsite${it % DOMAIN_COUNT}.example${it % 97}.com"
+            }
+        }
+        assertEquals(DOMAIN_COUNT, largeIndex.size)
+
+        // the scan is far too slow to run for every host, a sample is enough to compare results
+        hosts.take(SCAN_SAMPLE).forEach { host ->
+            val scanned = domains.any { host == it || host.matches(Regex("^[\\w.-]+\\.$it$")) }
+            assertEquals(host, scanned, largeIndex.contains(host))
+        }
+
+        val start = System.nanoTime()
+        val blocked = hosts.count { largeIndex.contains(it) }
+        val elapsed = (System.nanoTime() - start) / 1_000_000
+        println("$LOOKUP_COUNT lookups against $DOMAIN_COUNT domains took ${elapsed}ms")
+        assertEquals(LOOKUP_COUNT / 3 + 1, blocked)
+        assertTrue("lookups took ${elapsed}ms", elapsed < 2_000)
+    }
+
+    companion object {
+        private const val DOMAIN_COUNT = 50_000
+        private const val LOOKUP_COUNT = 100_000
+        private const val SCAN_SAMPLE = 6
+    }
+}
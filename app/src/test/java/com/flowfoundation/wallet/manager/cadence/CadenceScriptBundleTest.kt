@@ -0,0 +1,179 @@
+package com.flowfoundation.wallet.manager.cadence
+
+import com.google.gson.JsonObject
+import com.google.gson.JsonParser
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertThrows
+import org.junit.Before
+import org.junit.Test
+import java.io.File
+import java.nio.channels.ClosedChannelException
+import java.util.Base64
+
+class CadenceScriptBundleTest {
+
+    private lateinit var dir: File
+
+    @Before
+    fun setUp() {
+        dir = File.createTempFile("cadence", "").apply {
+            delete()
+            mkdirs()
+        }
+    }
+
+    @After
+    fun tearDown() {
+        dir.deleteRecursively()
+    }
+
+    @Test
+    fun `scripts are read back decoded`() {
+        val bundle = CadenceScriptBundle.write(bundleJson().reader(), File(dir, "bundle.bin"), tag = "\"etag-1\"")
+
+        assertEquals("2.72", bundle.version)
+        assertEquals("\"etag-1\"", bundle.tag)
+        assertEquals("1.0", bundle.networkVersion("mainnet"))
+        assertEquals("1.1", bundle.networkVersion("testnet"))
+        assertEquals(MAINNET_BALANCE, bundle.script("mainnet", "basic", "getBalance"))
+        assertEquals(TESTNET_BALANCE, bundle.script("testnet", "basic", "getBalance"))
+        assertEquals("access(all) fun swap() {}", bundle.script("mainnet", "swap", "Swap"))
+    }
+
+    @Test
+    fun `missing and non string scripts are null`() {
+        val bundle = CadenceScriptBundle.write(bundleJson().reader(), File(dir, "bundle.bin"), tag = "")
+
+        assertNull(bundle.script("mainnet", "basic", "unknown"))
+        assertNull(bundle.script("mainnet", "swap", "CenterTokens"))
+        assertNull(bundle.script("mainnet", "nft", "getBalance"))
+        assertEquals(3, bundle.size)
+    }
+
+    @Test
+    fun `reopened bundle has the same scripts`() {
+        val file = File(dir, "bundle.bin")
+        CadenceScriptBundle.write(bundleJson().reader(), file, tag = "tag")
+
+        val bundle = CadenceScriptBundle.open(file)
+
+        assertNotNull(bundle)
+        assertEquals("tag", bundle!!.tag)
+        assertEquals(TESTNET_BALANCE, bundle.script("testnet", "basic", "getBalance"))
+    }
+
+    @Test
+    fun `open ignores other files`() {
+        val file = File(dir, "local_cadence.json").apply { writeText(bundleJson()) }
+
+        assertNull(CadenceScriptBundle.open(file))
+        assertNull(CadenceScriptBundle.open(File(dir, "missing.bin")))
+    }
+
+    @Test
+    fun `truncated bundle is not opened`() {
+        val file = File(dir, "bundle.bin")
+        CadenceScriptBundle.write(bundleJson().reader(), file, tag = "")
+        val bytes = file.readBytes()
+        // a write that stopped within the scripts
+        file.writeBytes(bytes.copyOf(bytes.size - 10))
+
+        assertNull(CadenceScriptBundle.open(file))
+        assertFalse(File(dir, "bundle.bin.tmp").exists())
+    }
+
+    @Test
+    fun `closed bundle only serves the scripts it already read`() {
+        val bundle = CadenceScriptBundle.write(bundleJson().reader(), File(dir, "bundle.bin"), tag = "")
+        bundle.script("mainnet", "basic", "getBalance")
+        bundle.close()
+
+        assertEquals(MAINNET_BALANCE, bundle.script("mainnet", "basic", "getBalance"))
+        assertThrows(ClosedChannelException::class.java) { bundle.script("testnet", "basic", "getBalance") }
+    }
+
+    @Test
+    fun `replaced bundle keeps reading its own file`() {
+        val file = File(dir, "bundle.bin")
+        val old = CadenceScriptBundle.write(bundleJson().reader(), file, tag = "")
+        val newer = File(dir, "bundle.bin.tmp")
+        CadenceScriptBundle.write(bundleJson(mainnetBalance = "new").reader(), newer, tag = "")
+        newer.renameTo(file)
+
+        assertEquals(MAINNET_BALANCE, old.script("mainnet", "basic", "getBalance"))
+        assertEquals("new", CadenceScriptBundle.open(file)!!.script("mainnet", "basic", "getBalance"))
+    }
+
+    @Test
+    fun `cold load of the bundled scripts`() {
+        val assets = File("src/main/assets/config/cadence_api.json")
+        if (!assets.exists()) {
+            return
+        }
+        val file = File(dir, "bundle.bin")
+        val converted = CadenceScriptBundle.write(assets.bufferedReader(), file, tag = "")
+
+        // what init() did before: parse the whole bundle into memory
+        val (eagerMs, eagerHeap, eager) = measure {
+            assets.bufferedReader().use { JsonParser.parseReader(it).asJsonObject }
+        }
+        val (indexedMs, indexedHeap, indexed) = measure { CadenceScriptBundle.open(file)!! }
+
+        val mainnet = eager.getAsJsonObject("data").getAsJsonObject("scripts").getAsJsonObject("mainnet")
+        val encoded = mainnet.getAsJsonObject("basic").get("getAccountInfo").asString
+        assertEquals(String(Base64.getMimeDecoder().decode(encoded)), indexed.script("mainnet", "basic", "getAccountInfo"))
+        assertEquals(converted.version, eager.getAsJsonObject("data").get("version").asString)
+        println(
+            "cold load of ${assets.length() / 1024}KB bundle: json ${eagerMs}ms ${eagerHeap / 1024}KB heap, " +
+                    "indexed ${indexedMs}ms ${indexedHeap / 1024}KB heap, ${indexed.size} scripts"
+        )
+    }
+
+    private fun <T> measure(load: () -> T): Triple<Long, Long, T> {
+        val runtime = Runtime.getRuntime()
+        System.gc()
+        val heapBefore = runtime.totalMemory() - runtime.freeMemory()
+        val start = System.nanoTime()
+        val result = load()
+        val elapsed = (System.nanoTime() - start) / 1_000_000
+        System.gc()
+        val heapAfter = runtime.totalMemory() - runtime.freeMemory()
+        return Triple(elapsed, (heapAfter - heapBefore).coerceAtLeast(0), result)
+    }
+
+    companion object {
+        private const val MAINNET_BALANCE = "access(all) fun main(address: Address): UFix64 { return 1.0 }"
+        private const val TESTNET_BALANCE = "access(all) fun main(address: Address): UFix64 { return 2.0 }"
+
+        private fun String.encode(): String = Base64.getEncoder().encodeToString(toByteArray())
+
+        private fun bundleJson(mainnetBalance: String = MAINNET_BALANCE) = JsonObject().apply {
+            add("data", JsonObject().apply {
+                add("scripts", JsonObject().apply {
+                    add("mainnet", JsonObject().apply {
+                        addProperty("version", "1.0")
+                        add("basic", JsonObject().apply {
+                            addProperty("getBalance", mainnetBalance.encode())
+                        })
+                        add("swap", JsonObject().apply {
+                            addProperty("Swap", "access(all) fun swap() {}".encode())
+                            add("CenterTokens", JsonParser.parseString("""["A.1654653399040a61.FlowToken"]"""))
+                        })
+                    })
+                    add("testnet", JsonObject().apply {
+                        addProperty("version", "1.1")
+                        add("basic", JsonObject().apply {
+                            addProperty("getBalance", TESTNET_BALANCE.encode())
+                        })
+                    })
+                })
+                addProperty("version", "2.72")
+            })
+            addProperty("status", 200)
+        }.toString()
+    }
+}
@@ -0,0 +1,110 @@
+package com.flowfoundation.wallet.manager.config
+
+import com.flowfoundation.wallet.utils.JsonCodec
+import com.google.gson.JsonParser
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Before
+import org.junit.Test
+import java.io.File
+
+class NftCollectionIndexTest {
+
+    private lateinit var collections: List<NftCollection>
+    private lateinit var index: NftCollectionIndex
+
+    @Before
+    fun setUp() {
+        collections = loadAssets().ifEmpty { SAMPLE }
+        index = NftCollectionIndex(collections)
+    }
+
+    @Test
+    fun `lookups match a linear scan`() {
+        collections.forEach { collection ->
+            val name = collection.contractName()
+            assertSame(collections.firstOrNull { it.contractName() == name }, index.get(null, name))
+            assertSame(
+                collections.firstOrNull { it.address == collection.address && it.contractName() == name },
+                index.get(collection.address, name)
+            )
+            assertSame(
+                collections.firstOrNull { it.getNFTIdentifier() == collection.getNFTIdentifier() },
+                index.getByNFTIdentifier(collection.getNFTIdentifier())
+            )
+            assertSame(
+                collections.firstOrNull { it.contractIdWithCollection() == collection.contractIdWithCollection() },
+                index.getByContractId(collection.contractIdWithCollection())
+            )
+        }
+    }
+
+    @Test
+    fun `first collection wins on duplicate keys`() {
+        val first = collection("Flovatar", "0x921ea449dffec68a")
+        val second = first.copy(id = "FlovatarDuplicate")
+        val index = NftCollectionIndex(listOf(first, second))
+
+        assertSame(first, index.get(null, "Flovatar"))
+        assertSame(first, index.get("0x921ea449dffec68a", "Flovatar"))
+        assertSame(first, index.getByContractId("A.921ea449dffec68a.Flovatar.Collection"))
+    }
+
+    @Test
+    fun `unknown keys are null`() {
+        assertNull(index.get(null, "Unknown"))
+        assertNull(index.get("0x0000000000000001", collections.first().contractName()))
+        assertNull(index.getByNFTIdentifier("A.0000000000000001.Unknown.NFT"))
+        assertNull(NftCollectionIndex.EMPTY.get(null, "Flovatar"))
+    }
+
+    @Test
+    fun `10k lookups throughput`() {
+        val keys = (0 until LOOKUPS).map { collections[(it * 7919) % collections.size] }
+        // the lookups before: a copy of the list and a scan per call
+        val scan = measure {
+            keys.forEach { key ->
+                val list = collections.toList()
+                list.firstOrNull { it.address == key.address && it.contractName() == key.contractName() }
+                collections.toList().firstOrNull { it.getNFTIdentifier() == key.getNFTIdentifier() }
+            }
+        }
+        val indexed = measure {
+            keys.forEach { key ->
+                index.get(key.address, key.contractName())
+                index.getByNFTIdentifier(key.getNFTIdentifier())
+            }
+        }
+        println("$LOOKUPS lookups over ${collections.size} collections: scan ${scan}us, index ${indexed}us")
+    }
+
+    private fun measure(block: () -> Unit): Long {
+        repeat(WARM_UP) { block() }
+        val start = System.nanoTime()
+        block()
+        return (System.nanoTime() - start) / 1000
+    }
+
+    private fun loadAssets(): List<NftCollection> {
+        val file = File("src/main/assets/config/nft_collections_mainnet.json")
+        if (!file.exists()) {
+            return emptyList()
+        }
+        val data = JsonParser.parseString(file.readText()).asJsonObject.getAsJsonArray("data")
+        return JsonCodec.gson.fromJson(data, Array<NftCollection>::class.java).toList()
+    }
+
+    companion object {
+        private const val LOOKUPS = 10_000
+        private const val WARM_UP = 3
+
+        private fun collection(contractName: String, address: String) = NftCollection(
+            id = "${contractName}Collection", address = address, banner = null, contractName = contractName,
+            description = null, logo = null, secureCadenceCompatible = null, marketplace = null, name = contractName,
+            officialWebsite = null, path = null, evmAddress = null, flowIdentifier = null, externalURL = null,
+            contractType = null
+        )
+
+        private val SAMPLE = listOf(collection("Flovatar", "0x921ea449dffec68a"), collection("TopShot", "0x0b2a3299cc857e29"))
+    }
+}
@@ -0,0 +1,77 @@
+package com.flowfoundation.wallet.manager.flow
+
+import kotlinx.coroutines.runBlocking
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+import org.onflow.flow.infrastructure.Cadence
+import java.util.concurrent.atomic.AtomicInteger
+
+class CadenceResultCacheTest {
+
+    private var now = 1_000L
+    private val cache = CadenceResultCache(maxEntries = 3, clock = { now })
+
+    private val addressArgument = listOf(Cadence.address("0x1234").encode())
+
+    @Test
+    fun `result is reused until ttl expires`() {
+        val value = Cadence.string("10.0")
+        cache.put("mainnet", "getBalance", addressArgument, value, ttl = 100)
+
+        now += 99
+        assertEquals(value, cache.get("mainnet", "getBalance", addressArgument))
+        now += 1
+        assertNull(cache.get("mainnet", "getBalance", addressArgument))
+    }
+
+    @Test
+    fun `zero ttl is not cached`() {
+        cache.put("mainnet", "getBalance", addressArgument, Cadence.string("10.0"), ttl = 0)
+        assertNull(cache.get("mainnet", "getBalance", addressArgument))
+    }
+
+    @Test
+    fun `key includes network and arguments`() {
+        cache.put("mainnet", "getBalance", addressArgument, Cadence.string("10.0"), ttl = 100)
+
+        assertNull(cache.get("testnet", "getBalance", addressArgument))
+        assertNull(cache.get("mainnet", "getBalance", listOf(Cadence.address("0x5678").encode())))
+        assertNull(cache.get("mainnet", "getStorageInfo", addressArgument))
+    }
+
+    @Test
+    fun `invalidate address drops only matching entries`() {
+        val apr = Cadence.string("0.08")
+        cache.put("mainnet", "getBalance", addressArgument, Cadence.string("10.0"), ttl = 100)
+        cache.put("mainnet", "getApr", emptyList(), apr, ttl = 100)
+
+        cache.invalidateAddress("0x1234")
+
+        assertNull(cache.get("mainnet", "getBalance", addressArgument))
+        assertEquals(apr, cache.get("mainnet", "getApr", emptyList()))
+    }
+
+    @Test
+    fun `least recently used entry is evicted`() {
+        (1..4).forEach { cache.put("mainnet", "script$it", emptyList(), Cadence.string("$it"), ttl = 100) }
+
+        assertEquals(3, cache.size())
+        assertNull(cache.get("mainnet", "script1", emptyList()))
+    }
+
+    @Test
+    fun `executor serves cached results without network calls`() = runBlocking {
+        val callCount = AtomicInteger()
+        val executor = CadenceScriptExecutor(resultCache = cache) { _, _ ->
+            callCount.incrementAndGet()
+            Cadence.string("0.08")
+        }
+
+        repeat(5) { executor.execute("mainnet", "getApr", emptyList(), cacheTtl = 100) }
+        assertEquals(1, callCount.get())
+
+        executor.execute("mainnet", "getApr", emptyList())
+        assertEquals(2, callCount.get())
+    }
+}
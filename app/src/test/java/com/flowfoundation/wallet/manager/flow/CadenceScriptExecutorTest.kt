@@ -0,0 +1,85 @@
+package com.flowfoundation.wallet.manager.flow
+
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.yield
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.onflow.flow.infrastructure.Cadence
+import java.util.concurrent.atomic.AtomicInteger
+
+class CadenceScriptExecutorTest {
+
+    private val callCount = AtomicInteger()
+
+    private fun fakeExecutor(
+        maxConcurrentRequests: Int = CadenceScriptExecutor.DEFAULT_MAX_CONCURRENT_REQUESTS,
+        gate: CompletableDeferred<Unit>? = null,
+        onCall: () -> Unit = {},
+    ) = CadenceScriptExecutor(maxConcurrentRequests) { script, arguments ->
+        callCount.incrementAndGet()
+        onCall()
+        gate?.await() ?: delay(50)
+        Cadence.string("$script:${arguments.size}")
+    }
+
+    @Test
+    fun `identical in flight scripts are coalesced`() = runBlocking {
+        val executor = fakeExecutor()
+        val address = Cadence.address("0x1")
+
+        val results = (1..10).map {
+            async { executor.execute("mainnet", "getBalance", listOf(address)) }
+        }.awaitAll()
+
+        assertEquals(1, callCount.get())
+        assertTrue(results.all { (it as Cadence.Value.StringValue).value == "getBalance:1" })
+        assertEquals(0, executor.inFlightCount())
+    }
+
+    @Test
+    fun `different arguments or networks are not coalesced`() = runBlocking {
+        val executor = fakeExecutor()
+
+        listOf(
+            async { executor.execute("mainnet", "getBalance", listOf(Cadence.address("0x1"))) },
+            async { executor.execute("mainnet", "getBalance", listOf(Cadence.address("0x2"))) },
+            async { executor.execute("testnet", "getBalance", listOf(Cadence.address("0x1"))) },
+            async { executor.execute("mainnet", "getStorageInfo", listOf(Cadence.address("0x1"))) },
+        ).awaitAll()
+
+        assertEquals(4, callCount.get())
+    }
+
+    @Test
+    fun `completed scripts are executed again`() = runBlocking {
+        val executor = fakeExecutor()
+
+        executor.execute("mainnet", "getApr", emptyList())
+        executor.execute("mainnet", "getApr", emptyList())
+
+        assertEquals(2, callCount.get())
+    }
+
+    @Test
+    fun `concurrent requests are bounded`() = runBlocking {
+        val gate = CompletableDeferred<Unit>()
+        val running = AtomicInteger()
+        val executor = fakeExecutor(maxConcurrentRequests = 3, gate = gate) { running.incrementAndGet() }
+
+        val requests = (1..12).map { index ->
+            async { executor.execute("mainnet", "script$index", emptyList()) }
+        }
+        repeat(10) { yield() }
+        delay(50)
+        assertEquals(3, running.get())
+
+        gate.complete(Unit)
+        requests.awaitAll()
+        assertEquals(12, callCount.get())
+    }
+}
@@ -0,0 +1,171 @@
+package com.flowfoundation.wallet.manager.flow
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.runBlocking
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.onflow.flow.models.TransactionStatus
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+class TransactionPreparerTest {
+
+    private data class FakeAccount(val address: String, val sequenceNumbers: Map<Int, Long>)
+
+    /**
+     * Access node that counts round trips, each one taking [LATENCY] milliseconds.
+     */
+    private class FakeAccessNode {
+        val onChainSequenceNumbers = ConcurrentHashMap<String, Long>()
+        val accountRequests = AtomicInteger()
+        val blockRequests = AtomicInteger()
+        private val inFlight = AtomicInteger()
+        val maxInFlight = AtomicInteger()
+        private var height = 0
+
+        val roundTrips get() = accountRequests.get() + blockRequests.get()
+
+        suspend fun getAccount(address: String): FakeAccount = request {
+            accountRequests.incrementAndGet()
+            FakeAccount(address, mapOf(0 to (onChainSequenceNumbers[address] ?: 0L)))
+        }
+
+        suspend fun getReferenceBlockId(): String = request {
+            blockRequests.incrementAndGet()
+            "block${++height}"
+        }
+
+        private suspend fun <T> request(block: () -> T): T {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), ::maxOf)
+            try {
+                delay(LATENCY)
+                return block()
+            } finally {
+                inFlight.decrementAndGet()
+            }
+        }
+    }
+
+    private val node = FakeAccessNode()
+    private var now = 0L
+
+    private val preparer = TransactionPreparer(
+        fetchAccount = { node.getAccount(it) },
+        fetchReferenceBlockId = { node.getReferenceBlockId() },
+        onChainSequenceNumber = { account, keyIndex -> account.sequenceNumbers[keyIndex] ?: 0L },
+        scope = CoroutineScope(SupervisorJob() + Dispatchers.Default),
+        clock = { now },
+    )
+
+    private suspend fun sendTransaction(proposer: String = PROPOSER, payer: String? = PAYER): Long {
+        val preparation = preparer.prepare(proposer, payer)
+        val sequenceNumber = preparer.nextSequenceNumber(proposer, 0, preparation.proposer)
+        // the payer envelope looks the payer account up again
+        payer?.let { preparer.account(it) }
+        return sequenceNumber
+    }
+
+    @Test
+    fun `first transaction fetches accounts and block concurrently`() = runBlocking {
+        sendTransaction()
+
+        assertEquals(2, node.accountRequests.get())
+        assertEquals(1, node.blockRequests.get())
+        assertEquals(3, node.maxInFlight.get())
+    }
+
+    @Test
+    fun `back to back transactions reuse prepared state`() = runBlocking {
+        node.onChainSequenceNumbers[PROPOSER] = 5
+
+        val sequenceNumbers = (0 until 10).map { sendTransaction() }
+
+        assertEquals((5L until 15L).toList(), sequenceNumbers)
+        val roundTripsPerTransaction = node.roundTrips / 10.0
+        println("round trips per transaction: $roundTripsPerTransaction")
+        assertEquals(3, node.roundTrips)
+    }
+
+    @Test
+    fun `warm up leaves nothing to fetch when sending`() = runBlocking {
+        preparer.warmUp(PROPOSER)
+        delay(LATENCY * 3)
+        val before = node.roundTrips
+
+        sendTransaction(payer = PROPOSER)
+
+        assertEquals(2, before)
+        assertEquals(before, node.roundTrips)
+    }
+
+    @Test
+    fun `old reference block is refreshed in the background`() = runBlocking {
+        assertEquals("block1", preparer.referenceBlockId())
+
+        now += TransactionPreparer.DEFAULT_REFERENCE_BLOCK_MAX_AGE / 2
+        assertEquals("block1", preparer.referenceBlockId())
+        delay(LATENCY * 3)
+        assertEquals("block2", preparer.referenceBlockId())
+
+        now += TransactionPreparer.DEFAULT_REFERENCE_BLOCK_MAX_AGE
+        assertEquals("block3", preparer.referenceBlockId())
+        assertEquals(3, node.blockRequests.get())
+    }
+
+    @Test
+    fun `sequence number mismatch resyncs from chain`() = runBlocking {
+        assertEquals(0L, sendTransaction())
+        assertEquals(1L, sendTransaction())
+
+        // the second transaction was rejected, the chain only executed the first one
+        node.onChainSequenceNumbers[PROPOSER] = 1
+        preparer.onTransactionResult(
+            "0x$PROPOSER",
+            TransactionStatus.SEALED,
+            "[Error Code: 1007] invalid proposal key: public key 0 on account $PROPOSER does not have a valid sequence number. got 2, expected 1"
+        )
+
+        assertEquals(1L, sendTransaction())
+        assertEquals(3, node.accountRequests.get())
+    }
+
+    @Test
+    fun `expired transaction resyncs from chain`() = runBlocking {
+        assertEquals(0L, sendTransaction())
+
+        // the transaction expired without using its sequence number
+        preparer.onTransactionResult(PROPOSER, TransactionStatus.EXPIRED, "")
+
+        assertEquals(0L, sendTransaction())
+        assertEquals(3, node.accountRequests.get())
+    }
+
+    @Test
+    fun `sealed transaction keeps the local sequence numbers`() = runBlocking {
+        sendTransaction()
+        preparer.onTransactionResult(PROPOSER, TransactionStatus.SEALED, "")
+
+        assertEquals(1L, sendTransaction())
+    }
+
+    @Test
+    fun `other errors keep the local sequence numbers`() = runBlocking {
+        sendTransaction()
+        preparer.onTransactionResult(PROPOSER, TransactionStatus.SEALED, "[Error Code: 1101] cadence runtime error")
+
+        assertEquals(1L, sendTransaction())
+        assertFalse(TransactionPreparer.isSequenceNumberMismatch(null))
+        assertTrue(TransactionPreparer.isSequenceNumberMismatch("invalid sequence number"))
+    }
+
+    companion object {
+        private const val PROPOSER = "f8d6e0586b0a20c7"
+        private const val PAYER = "01cf0e2f2f715450"
+        private const val LATENCY = 50L
+    }
+}
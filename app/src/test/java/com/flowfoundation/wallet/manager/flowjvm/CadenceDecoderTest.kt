@@ -0,0 +1,206 @@
+package com.flowfoundation.wallet.manager.flowjvm
+
+import com.flowfoundation.wallet.manager.childaccount.ChildAccount
+import com.flowfoundation.wallet.manager.childaccount.parseAccountMetas
+import com.flowfoundation.wallet.manager.staking.StakingNode
+import com.flowfoundation.wallet.manager.staking.parseStakingDelegatorInfo
+import com.flowfoundation.wallet.manager.staking.parseStakingInfoResult
+import com.google.gson.JsonElement
+import com.google.gson.JsonObject
+import com.google.gson.JsonParser
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.onflow.flow.infrastructure.Cadence
+import java.lang.management.ManagementFactory
+
+class CadenceDecoderTest {
+
+    @Test
+    fun `staking info is read from the struct fields`() {
+        val info = parseStakingInfoResult(stakingInfo(2))
+
+        assertEquals(2, info?.nodes?.size)
+        assertEquals(
+            StakingNode(
+                delegatorId = 1, nodeID = "node-1", tokensCommitted = 1.5, tokensStaked = 100.0,
+                tokensUnstaking = 0.0, tokensRewarded = 2.25, tokensUnstaked = 0.0, tokensRequestedToUnstake = 0.0,
+            ),
+            info?.nodes?.get(1)
+        )
+    }
+
+    @Test
+    fun `staking info of a nil result is null`() {
+        assertNull(parseStakingInfoResult(null))
+        assertNull(parseStakingInfoResult(Cadence.Value.OptionalValue(null)))
+    }
+
+    @Test
+    fun `delegator ids are read per node`() {
+        val result = Cadence.Value.OptionalValue(
+            Cadence.Value.DictionaryValue(
+                listOf(
+                    Cadence.DictionaryFieldEntry(Cadence.string("node-0"), delegators(7)),
+                    Cadence.DictionaryFieldEntry(Cadence.string("node-1"), delegators(12)),
+                )
+            )
+        )
+
+        assertEquals(mapOf("node-0" to 7, "node-1" to 12), parseStakingDelegatorInfo(result))
+        assertEquals(emptyMap<String, Int>(), parseStakingDelegatorInfo(Cadence.string("node-0")))
+    }
+
+    @Test
+    fun `child account metadata is read with its thumbnail`() {
+        val accounts = childAccountMetas(2).parseAccountMetas()
+
+        assertEquals(
+            ChildAccount(
+                address = address(1),
+                name = "Child 1",
+                icon = "https://example.com/thumbnail/1.png",
+                description = "Linked app 1",
+            ),
+            accounts[1]
+        )
+    }
+
+    @Test
+    fun `child account without thumbnail gets the placeholder`() {
+        val metadata = struct("display", "name" to Cadence.string("Child"))
+        val result = Cadence.Value.DictionaryValue(
+            listOf(Cadence.DictionaryFieldEntry(Cadence.address(address(0)), Cadence.Value.OptionalValue(metadata)))
+        )
+
+        val account = result.parseAccountMetas().single()
+        assertEquals("https://lilico.app/placeholder-2.0.png", account.icon)
+        assertNull(account.description)
+    }
+
+    @Test
+    fun `decoding the value matches parsing its json`() {
+        val staking = stakingInfo(20)
+        assertEquals(jsonStakingNodes(staking.encode()), parseStakingInfoResult(staking)?.nodes)
+
+        val metas = childAccountMetas(20)
+        assertEquals(jsonAccountMetas(metas.encode()), metas.parseAccountMetas())
+    }
+
+    @Test
+    fun `decoding allocates less than json`() {
+        val result = childAccountMetas(ACCOUNTS)
+        // what the parsers did before: encode the value and parse the json again
+        val json = allocation { jsonAccountMetas(result.encode()) }
+        val direct = allocation { result.parseAccountMetas() }
+        println("$ACCOUNTS child accounts: encode + parse ${json / 1024}KB, decode ${direct / 1024}KB")
+        assertTrue(direct < json)
+    }
+
+    private fun allocation(block: () -> Unit): Long {
+        val threads = ManagementFactory.getThreadMXBean() as com.sun.management.ThreadMXBean
+        repeat(WARM_UP) { block() }
+        val id = Thread.currentThread().id
+        val start = threads.getThreadAllocatedBytes(id)
+        repeat(RUNS) { block() }
+        return (threads.getThreadAllocatedBytes(id) - start) / RUNS
+    }
+
+    private fun jsonStakingNodes(json: String): List<StakingNode> {
+        return JsonParser.parseString(json).cadenceValue().cadenceValue().asJsonArray.map { node ->
+            val fields = node.cadenceValue().asJsonObject.fields()
+            StakingNode(
+                delegatorId = fields.getValue("id").asString.toInt(),
+                nodeID = fields.getValue("nodeID").asString,
+                tokensCommitted = fields.getValue("tokensCommitted").asString.toDouble(),
+                tokensStaked = fields.getValue("tokensStaked").asString.toDouble(),
+                tokensUnstaking = fields.getValue("tokensUnstaking").asString.toDouble(),
+                tokensRewarded = fields.getValue("tokensRewarded").asString.toDouble(),
+                tokensUnstaked = fields.getValue("tokensUnstaked").asString.toDouble(),
+                tokensRequestedToUnstake = fields.getValue("tokensRequestedToUnstake").asString.toDouble(),
+            )
+        }
+    }
+
+    private fun jsonAccountMetas(json: String): List<ChildAccount> {
+        return JsonParser.parseString(json).cadenceValue().asJsonArray.map { entry ->
+            val item = entry.asJsonObject
+            val fields = item.getAsJsonObject("value").cadenceValue().cadenceValue().cadenceValue().asJsonObject.fields()
+            ChildAccount(
+                address = item.getAsJsonObject("key").cadenceValue().asString,
+                name = fields.getValue("name").asString,
+                icon = fields.getValue("thumbnail").asJsonObject.fields().getValue("url").asString,
+                description = fields["description"]?.asString,
+            )
+        }
+    }
+
+    private fun JsonElement.cadenceValue(): JsonElement = asJsonObject.get("value")
+
+    private fun JsonObject.fields(): Map<String, JsonElement> {
+        return getAsJsonArray("fields").associate { field ->
+            val item = field.asJsonObject
+            item.get("name").asString to item.getAsJsonObject("value").cadenceValue()
+        }
+    }
+
+    companion object {
+        private const val ACCOUNTS = 500
+        private const val WARM_UP = 20
+        private const val RUNS = 20
+
+        private fun address(index: Int) = "0x%016x".format(index + 1)
+
+        private fun struct(id: String, vararg fields: Pair<String, Cadence.Value>): Cadence.Value {
+            return Cadence.Value.StructValue(
+                Cadence.CompositeValue(id, fields.map { (name, value) -> Cadence.CompositeAttribute(name, value) })
+            )
+        }
+
+        private fun delegators(id: Int): Cadence.Value {
+            return Cadence.Value.DictionaryValue(
+                listOf(Cadence.DictionaryFieldEntry(Cadence.uint64(id.toULong()), Cadence.ufix64(10.0)))
+            )
+        }
+
+        // the shape CADENCE_QUERY_STAKE_INFO returns
+        private fun stakingInfo(count: Int): Cadence.Value {
+            val nodes = (0 until count).map { index ->
+                struct(
+                    "A.8624b52f9ddcd04a.FlowIDTableStaking.DelegatorInfo",
+                    "id" to Cadence.uint64(index.toULong()),
+                    "nodeID" to Cadence.string("node-$index"),
+                    "tokensCommitted" to Cadence.ufix64(index * 1.5),
+                    "tokensStaked" to Cadence.ufix64(index * 100.0),
+                    "tokensUnstaking" to Cadence.ufix64(0.0),
+                    "tokensRewarded" to Cadence.ufix64(index * 2.25),
+                    "tokensUnstaked" to Cadence.ufix64(0.0),
+                    "tokensRequestedToUnstake" to Cadence.ufix64(0.0),
+                )
+            }
+            return Cadence.Value.OptionalValue(Cadence.array(nodes))
+        }
+
+        // the shape CADENCE_QUERY_CHILD_ACCOUNT_META returns
+        private fun childAccountMetas(count: Int): Cadence.Value {
+            val entries = (0 until count).map { index ->
+                val thumbnail = struct(
+                    "A.1d7e57aa55817448.MetadataViews.HTTPFile",
+                    "url" to Cadence.string("https://example.com/thumbnail/$index.png"),
+                )
+                val display = struct(
+                    "A.1d7e57aa55817448.MetadataViews.Display",
+                    "name" to Cadence.string("Child $index"),
+                    "description" to Cadence.string("Linked app $index"),
+                    "thumbnail" to thumbnail,
+                )
+                Cadence.DictionaryFieldEntry(
+                    Cadence.address(address(index)),
+                    Cadence.Value.OptionalValue(Cadence.Value.OptionalValue(display)),
+                )
+            }
+            return Cadence.Value.DictionaryValue(entries)
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.flowfoundation.wallet.manager.flowjvm
+
+import com.flowfoundation.wallet.manager.cadence.CadenceScriptBundle
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Before
+import org.junit.Test
+import java.io.File
+import java.util.concurrent.atomic.AtomicInteger
+
+class CadenceScriptTemplatesTest {
+
+    private lateinit var dir: File
+    private lateinit var bundle: CadenceScriptBundle
+
+    @Before
+    fun setUp() {
+        dir = File.createTempFile("cadence", "").apply {
+            delete()
+            mkdirs()
+        }
+        bundle = File("src/main/assets/config/cadence_api.json").bufferedReader().use {
+            CadenceScriptBundle.write(it, File(dir, "bundle.bin"), tag = "")
+        }
+        CadenceScriptTemplates.clear()
+    }
+
+    @After
+    fun tearDown() {
+        CadenceScriptTemplates.clear()
+        bundle.close()
+        dir.deleteRecursively()
+    }
+
+    @Test
+    fun `template is formatted once per variant`() {
+        val loads = AtomicInteger()
+        val load = { loads.incrementAndGet(); "transfer <Token> from <TokenAddress>" }
+
+        val flow = CadenceScriptTemplates.template(SCRIPT_ID, "flow", load) { FLOW.format(it) }
+        assertSame(flow, CadenceScriptTemplates.template(SCRIPT_ID, "flow", load) { FLOW.format(it) })
+        val usdc = CadenceScriptTemplates.template(SCRIPT_ID, "usdc", load) { USDC.format(it) }
+
+        assertEquals("transfer FlowToken from 0x1654653399040a61", flow)
+        assertEquals("transfer USDCFlow from 0xf1ab99c82dee3526", usdc)
+        assertEquals(2, loads.get())
+    }
+
+    @Test
+    fun `tokens differing only in a path get their own template`() {
+        val load = { "borrow <TokenReceiverPath> of <Token>" }
+        val moved = Token(FLOW.contractName, FLOW.address, FLOW.storagePath, receiverPath = "/public/flowTokenReceiverV2")
+
+        val flow = CadenceScriptTemplates.template(SCRIPT_ID, FLOW.variant(), load) { FLOW.format(it) }
+        val flowMoved = CadenceScriptTemplates.template(SCRIPT_ID, moved.variant(), load) { moved.format(it) }
+
+        assertEquals("borrow /public/FlowTokenReceiver of FlowToken", flow)
+        assertEquals("borrow /public/flowTokenReceiverV2 of FlowToken", flowMoved)
+    }
+
+    @Test
+    fun `blank script is not cached`() {
+        val loads = AtomicInteger()
+        repeat(2) {
+            CadenceScriptTemplates.template(SCRIPT_ID, "", { loads.incrementAndGet(); "" }) { it }
+        }
+        assertEquals(2, loads.get())
+    }
+
+    @Test
+    fun `cached template vs formatting on every call`() {
+        val tokens = List(TOKENS) { index ->
+            Token("Token$index", "0x%016x".format(index + 1), "/storage/token${index}Vault")
+        }
+        val load = { bundle.script("mainnet", "ft", SCRIPT_ID).orEmpty() }
+
+        // what formatCadence did before: the placeholders replaced on every call
+        val formatted = measure { index -> tokens[index % TOKENS].format(load()) }
+        val cached = measure { index ->
+            val token = tokens[index % TOKENS]
+            CadenceScriptTemplates.template(SCRIPT_ID, token.contractName, load) { token.format(it) }
+        }
+        assertEquals(tokens[1].format(load()), CadenceScriptTemplates.template(SCRIPT_ID, "Token1", load) { it })
+        println("$CALLS calls over $TOKENS tokens: format ${formatted}us, cached ${cached}us")
+    }
+
+    private fun measure(call: (Int) -> String): Long {
+        repeat(WARM_UP) { repeat(CALLS) { index -> call(index) } }
+        val start = System.nanoTime()
+        repeat(CALLS) { index -> call(index) }
+        return (System.nanoTime() - start) / 1000
+    }
+
+    // the replacements of FungibleToken.formatCadence
+    private class Token(
+        val contractName: String,
+        val address: String,
+        val storagePath: String,
+        val receiverPath: String = "/public/${contractName}Receiver",
+        val balancePath: String = "/public/${contractName}Balance",
+    ) {
+        fun format(script: String): String {
+            return script.replace("<Token>", contractName)
+                .replace("<TokenAddress>", address)
+                .replace("<TokenReceiverPath>", receiverPath)
+                .replace("<TokenBalancePath>", balancePath)
+                .replace("<TokenStoragePath>", storagePath)
+        }
+
+        fun variant() = CadenceScriptTemplates.variantOf(contractName, address, receiverPath, balancePath, storagePath)
+    }
+
+    companion object {
+        private const val SCRIPT_ID = "transferTokensV3"
+        private const val TOKENS = 50
+        private const val CALLS = 10_000
+        private const val WARM_UP = 3
+
+        private val FLOW = Token("FlowToken", "0x1654653399040a61", "/storage/flowTokenVault")
+        private val USDC = Token("USDCFlow", "0xf1ab99c82dee3526", "/storage/usdcFlowVault")
+    }
+}
@@ -0,0 +1,158 @@
+package com.flowfoundation.wallet.manager.startup
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.Collections
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+
+class StartupGraphTest {
+
+    private val mainExecutor = Executors.newSingleThreadExecutor { Thread(it, "main") }
+    private val ioExecutor = Executors.newFixedThreadPool(4) { Thread(it, "io") }
+    private val dispatchers = mapOf(
+        StartupThread.MAIN to mainExecutor.asCoroutineDispatcher(),
+        StartupThread.IO to ioExecutor.asCoroutineDispatcher(),
+        StartupThread.DEFAULT to ioExecutor.asCoroutineDispatcher(),
+    )
+
+    private val finished = Collections.synchronizedList(mutableListOf<String>())
+    private val spans = Collections.synchronizedList(mutableListOf<StartupSpan>())
+    private val running = AtomicInteger()
+    private val maxRunning = AtomicInteger()
+
+    @After
+    fun tearDown() {
+        mainExecutor.shutdown()
+        ioExecutor.shutdown()
+    }
+
+    private fun task(
+        name: String,
+        thread: StartupThread = StartupThread.IO,
+        dependencies: List<String> = emptyList(),
+        duration: Long = 50,
+    ) = StartupTask(name, thread, dependencies) {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), ::maxOf)
+        Thread.sleep(duration)
+        running.decrementAndGet()
+        finished.add(name)
+    }
+
+    private fun run(tasks: List<StartupTask>) = runBlocking {
+        StartupGraph(tasks, dispatchers) { spans.add(it) }
+            .start(CoroutineScope(SupervisorJob()))
+            .join()
+    }
+
+    @Test
+    fun `dependencies finish before their dependents start`() {
+        run(
+            listOf(
+                task("tokenList", dependencies = listOf("wallet", "customToken")),
+                task("customToken", dependencies = listOf("wallet")),
+                task("wallet"),
+                task("staking", dependencies = listOf("wallet")),
+            )
+        )
+
+        assertEquals(4, finished.size)
+        assertEquals("wallet", finished.first())
+        assertEquals("tokenList", finished.last())
+        val span = spans.associateBy { it.name }
+        assertTrue(span.getValue("tokenList").startTime >= span.getValue("customToken").startTime + span.getValue("customToken").duration)
+    }
+
+    @Test
+    fun `independent tasks run in parallel`() {
+        val tasks = (1..4).map { task("io$it", duration = 200) }
+
+        val start = System.currentTimeMillis()
+        run(tasks)
+        val elapsed = System.currentTimeMillis() - start
+
+        assertEquals(4, maxRunning.get())
+        assertTrue("elapsed $elapsed", elapsed < 4 * 200)
+    }
+
+    @Test
+    fun `tasks run on the dispatcher of their thread affinity`() {
+        run(
+            listOf(
+                task("instabug", StartupThread.MAIN),
+                task("mixpanel"),
+                task("userProfile", dependencies = listOf("mixpanel")),
+            )
+        )
+
+        val span = spans.associateBy { it.name }
+        assertEquals("main", span.getValue("instabug").threadName)
+        assertEquals("io", span.getValue("mixpanel").threadName)
+        assertEquals("io", span.getValue("userProfile").threadName)
+    }
+
+    @Test
+    fun `task joining launched work holds its dependents until the work is done`() {
+        // the shape of WalletManager.init: the loading runs in a job of its own scope
+        var selectedAddress = ""
+        var loadJob: Job? = null
+        val launchLoad = {
+            loadJob = CoroutineScope(ioExecutor.asCoroutineDispatcher()).launch {
+                delay(100)
+                selectedAddress = "0x01"
+            }
+        }
+        var snapshotAddress: String? = null
+
+        run(
+            listOf(
+                StartupTask("wallet") {
+                    launchLoad()
+                    loadJob?.join()
+                },
+                StartupTask("homeSnapshot", dependencies = listOf("wallet")) { snapshotAddress = selectedAddress },
+            )
+        )
+
+        assertEquals("0x01", snapshotAddress)
+    }
+
+    @Test
+    fun `failed task is reported and does not block dependents`() {
+        run(
+            listOf(
+                StartupTask("wallet") { error("no wallet") },
+                task("staking", dependencies = listOf("wallet")),
+            )
+        )
+
+        assertEquals(listOf("staking"), finished)
+        assertNotNull(spans.first { it.name == "wallet" }.error)
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun `cyclic dependencies are rejected`() {
+        StartupGraph(
+            listOf(
+                task("a", dependencies = listOf("b")),
+                task("b", dependencies = listOf("a")),
+            ),
+            dispatchers
+        )
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun `unknown dependency is rejected`() {
+        StartupGraph(listOf(task("a", dependencies = listOf("missing"))), dispatchers)
+    }
+}
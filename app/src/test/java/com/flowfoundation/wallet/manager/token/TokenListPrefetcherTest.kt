@@ -0,0 +1,111 @@
+package com.flowfoundation.wallet.manager.token
+
+import com.flowfoundation.wallet.manager.token.model.FungibleToken
+import com.flowfoundation.wallet.page.profile.subpage.currency.model.Currency
+import com.flowfoundation.wallet.page.token.list.TokenListProvider
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.runBlocking
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotSame
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.concurrent.atomic.AtomicInteger
+
+class TokenListPrefetcherTest {
+
+    private val fetchCount = AtomicInteger()
+    private val concurrent = AtomicInteger()
+    private val maxConcurrent = AtomicInteger()
+
+    /** Stands in for the token list api, every request takes [FETCH_DELAY] ms. */
+    private inner class FakeTokenListProvider(
+        private val walletAddress: String,
+        private val failing: Boolean = false,
+    ) : TokenListProvider {
+        var fetched = false
+
+        override suspend fun getTokenList(walletAddress: String, currency: Currency?, network: String?): List<FungibleToken> {
+            fetchCount.incrementAndGet()
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), ::maxOf)
+            try {
+                delay(FETCH_DELAY)
+                if (failing) {
+                    error("api error")
+                }
+                fetched = true
+                return emptyList()
+            } finally {
+                concurrent.decrementAndGet()
+            }
+        }
+
+        override fun getTokenById(contractId: String): FungibleToken? = null
+        override fun getFlowToken(): FungibleToken? = null
+        override fun addCustomToken() {}
+        override fun deleteCustomToken(contractAddress: String) {}
+        override fun getWalletAddress() = walletAddress
+        override fun getFungibleTokenListSnapshot(): List<FungibleToken> = emptyList()
+    }
+
+    private fun prefetcher(maxProviders: Int = 8, maxConcurrentFetches: Int = 2) =
+        TokenListPrefetcher(maxProviders, maxConcurrentFetches) { address ->
+            FakeTokenListProvider(address, failing = address == "failing")
+        }
+
+    @Test
+    fun `prefetches every address with bounded parallelism`() = runBlocking {
+        val prefetcher = prefetcher()
+        val addresses = listOf("main", "child1", "child2", "evm")
+
+        val start = System.currentTimeMillis()
+        val result = prefetcher.prefetch(addresses, null, "mainnet")
+        val elapsed = System.currentTimeMillis() - start
+
+        assertEquals(addresses.toSet(), result.keys)
+        assertEquals(4, fetchCount.get())
+        assertEquals(2, maxConcurrent.get())
+        // Two rounds of two parallel fetches instead of four sequential ones
+        assertTrue("elapsed $elapsed", elapsed < FETCH_DELAY * 4)
+    }
+
+    @Test
+    fun `switching to a prefetched account reuses its warm provider`() = runBlocking {
+        val prefetcher = prefetcher()
+        prefetcher.prefetch(listOf("main", "child1", "evm"), null, "mainnet")
+
+        val start = System.nanoTime()
+        val provider = prefetcher.provider("child1") as FakeTokenListProvider
+        val switchTime = System.nanoTime() - start
+
+        assertTrue(provider.fetched)
+        assertEquals(3, fetchCount.get())
+        assertTrue("switch took ${switchTime}ns", switchTime < FETCH_DELAY * 1_000_000)
+    }
+
+    @Test
+    fun `failed address is left out without failing the others`() = runBlocking {
+        val result = prefetcher().prefetch(listOf("main", "failing", "evm", ""), null, "mainnet")
+
+        assertEquals(setOf("main", "evm"), result.keys)
+    }
+
+    @Test
+    fun `provider pool is bounded and replaces invalid providers`() {
+        val prefetcher = prefetcher(maxProviders = 2)
+        val main = prefetcher.provider("main")
+        prefetcher.provider("child1")
+        prefetcher.provider("child2")
+
+        assertEquals(2, prefetcher.size())
+        assertNotSame(main, prefetcher.provider("main"))
+
+        val child = prefetcher.provider("child2")
+        assertSame(child, prefetcher.provider("child2"))
+        assertNotSame(child, prefetcher.provider("child2") { false })
+    }
+
+    companion object {
+        private const val FETCH_DELAY = 100L
+    }
+}
@@ -0,0 +1,135 @@
+package com.flowfoundation.wallet.manager.transaction
+
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.onflow.flow.models.TransactionExecution
+import org.onflow.flow.models.TransactionResult
+import org.onflow.flow.models.TransactionStatus
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+class TransactionStatusPollerTest {
+
+    private val schedule = PollSchedule(
+        fastInterval = 5,
+        fastWindow = 50,
+        normalInterval = 10,
+        normalWindow = 200,
+        slowInterval = 20,
+        timeout = 500,
+    )
+
+    /** Seals each transaction after a fixed number of status requests. */
+    private class FakeAccessNode(private val pollsUntilSealed: (String) -> Int) {
+        val requestCount = AtomicInteger()
+        val maxConcurrent = AtomicInteger()
+        private val concurrent = AtomicInteger()
+        private val polls = ConcurrentHashMap<String, AtomicInteger>()
+
+        suspend fun getTransactionResult(transactionId: String): TransactionResult {
+            requestCount.incrementAndGet()
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), ::maxOf)
+            try {
+                delay(1)
+                val count = polls.getOrPut(transactionId) { AtomicInteger() }.incrementAndGet()
+                val sealed = count >= pollsUntilSealed(transactionId)
+                return result(if (sealed) TransactionStatus.SEALED else TransactionStatus.PENDING, sealed)
+            } finally {
+                concurrent.decrementAndGet()
+            }
+        }
+
+        private fun result(status: TransactionStatus, sealed: Boolean) = TransactionResult(
+            blockId = "",
+            status = status,
+            statusCode = status.ordinal,
+            errorMessage = "",
+            computationUsed = "0",
+            events = emptyList(),
+            execution = if (sealed) TransactionExecution.success else null,
+            links = null
+        )
+    }
+
+    @Test
+    fun `polls 100 pending transactions from one loop until all are sealed`() = runBlocking {
+        val node = FakeAccessNode { transactionId -> 1 + transactionId.removePrefix("tx").toInt() % 5 }
+        val sealed = ConcurrentHashMap.newKeySet<String>()
+        val passes = AtomicInteger()
+        val done = CompletableDeferred<Unit>()
+        val poller = TransactionStatusPoller(
+            fetchResult = { node.getTransactionResult(it) },
+            onResult = { transactionId, result ->
+                val finished = result.status == TransactionStatus.SEALED
+                if (finished && sealed.add(transactionId) && sealed.size == 100) {
+                    done.complete(Unit)
+                }
+                finished
+            },
+            onTimeout = { error("unexpected timeout for $it") },
+            onPassFinished = { passes.incrementAndGet() },
+            schedule = schedule,
+            maxConcurrentRequests = 4,
+        )
+
+        repeat(100) { poller.track("tx$it") }
+        withTimeout(5000) { done.await() }
+
+        assertEquals(100, sealed.size)
+        assertEquals(0, poller.pendingCount())
+        // Every transaction is requested exactly as often as it takes to seal, 1 to 5 times
+        assertEquals(300, node.requestCount.get())
+        assertTrue(node.maxConcurrent.get() <= 4)
+        // Results are persisted once per pass, not once per request
+        assertTrue(passes.get() < node.requestCount.get() / 10)
+    }
+
+    @Test
+    fun `tracking the same transaction twice polls it once`() = runBlocking {
+        val node = FakeAccessNode { 3 }
+        val done = CompletableDeferred<Unit>()
+        val poller = TransactionStatusPoller(
+            fetchResult = { node.getTransactionResult(it) },
+            onResult = { _, result ->
+                (result.status == TransactionStatus.SEALED).also { if (it) done.complete(Unit) }
+            },
+            onTimeout = {},
+            schedule = schedule,
+        )
+
+        poller.track("tx")
+        poller.track("tx")
+        withTimeout(5000) { done.await() }
+
+        assertEquals(3, node.requestCount.get())
+    }
+
+    @Test
+    fun `transaction that never seals times out`() = runBlocking {
+        val node = FakeAccessNode { Int.MAX_VALUE }
+        val timedOut = CompletableDeferred<String>()
+        val poller = TransactionStatusPoller(
+            fetchResult = { node.getTransactionResult(it) },
+            onResult = { _, _ -> false },
+            onTimeout = { timedOut.complete(it) },
+            schedule = schedule,
+        )
+
+        poller.track("tx")
+
+        assertEquals("tx", withTimeout(5000) { timedOut.await() })
+        assertEquals(0, poller.pendingCount())
+    }
+
+    @Test
+    fun `interval backs off with transaction age`() {
+        assertEquals(5, schedule.interval(0))
+        assertEquals(10, schedule.interval(50))
+        assertEquals(20, schedule.interval(200))
+    }
+}
@@ -0,0 +1,127 @@
+package com.flowfoundation.wallet.network
+
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.mockwebserver.Dispatcher
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import okhttp3.mockwebserver.RecordedRequest
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class SharedClientTest {
+
+    private val server = MockWebServer()
+    private val connections = AtomicInteger()
+    private val freshClients = mutableListOf<OkHttpClient>()
+
+    @Before
+    fun setUp() {
+        server.dispatcher = object : Dispatcher() {
+            override fun dispatch(request: RecordedRequest): MockResponse {
+                // the first request on a connection, in production a TCP + TLS handshake
+                if (request.sequenceNumber == 0) {
+                    connections.incrementAndGet()
+                }
+                return MockResponse().setBody("{\"status\":200}")
+            }
+        }
+        server.start()
+    }
+
+    @After
+    fun tearDown() {
+        closeFreshClients()
+        server.shutdown()
+    }
+
+    @Test
+    fun `derived clients share the connections of the base client`() {
+        val clients = List(SERVICES) { baseClient.newBuilder().build() }
+
+        refresh { index -> clients[index % SERVICES] }
+        connections.set(0)
+        refresh { index -> clients[index % SERVICES] }
+
+        assertEquals(0, connections.get())
+    }
+
+    @Test
+    fun `handshakes and latency per refresh`() {
+        // what retrofit() did before: a new client, and so a new connection pool, on every call
+        val fresh = benchmark { freshClient() }
+        val shared = List(SERVICES) { baseClient.newBuilder().build() }
+        val pooled = benchmark { index -> shared[index % SERVICES] }
+
+        println(
+            "$CALLS calls per refresh: fresh clients ${fresh.handshakes} handshakes, " +
+                "p50 ${fresh.p50}us, p99 ${fresh.p99}us; shared client ${pooled.handshakes} handshakes, " +
+                "p50 ${pooled.p50}us, p99 ${pooled.p99}us"
+        )
+        assertTrue(pooled.handshakes < fresh.handshakes)
+    }
+
+    private class Result(val handshakes: Double, val p50: Long, val p99: Long)
+
+    private fun benchmark(client: (Int) -> OkHttpClient): Result {
+        repeat(WARM_UP) {
+            refresh(client)
+            closeFreshClients()
+        }
+        connections.set(0)
+        val times = LongArray(REFRESHES) {
+            val start = System.nanoTime()
+            refresh(client)
+            val time = (System.nanoTime() - start) / 1000
+            closeFreshClients()
+            time
+        }
+        times.sort()
+        return Result(
+            handshakes = connections.get().toDouble() / REFRESHES,
+            p50 = times[REFRESHES / 2],
+            p99 = times[REFRESHES * 99 / 100],
+        )
+    }
+
+    private fun refresh(client: (Int) -> OkHttpClient) {
+        repeat(CALLS) { index ->
+            val okHttpClient = client(index)
+            okHttpClient.newCall(Request.Builder().url(server.url("/v1/refresh/$index")).build()).execute().use {
+                it.body?.string()
+            }
+        }
+    }
+
+    private fun freshClient(): OkHttpClient {
+        return OkHttpClient.Builder()
+            .callTimeout(20, TimeUnit.SECONDS)
+            .connectTimeout(20, TimeUnit.SECONDS)
+            .readTimeout(20, TimeUnit.SECONDS)
+            .writeTimeout(20, TimeUnit.SECONDS)
+            .build()
+            .also { freshClients.add(it) }
+    }
+
+    // outside the timed part, so the server does not keep hundreds of idle connections open
+    private fun closeFreshClients() {
+        freshClients.forEach {
+            it.connectionPool.evictAll()
+            it.dispatcher.executorService.shutdown()
+        }
+        freshClients.clear()
+    }
+
+    companion object {
+        // the API services a home refresh talks to
+        private const val SERVICES = 4
+        private const val CALLS = 8
+        private const val WARM_UP = 10
+        private const val REFRESHES = 200
+    }
+}
@@ -0,0 +1,136 @@
+package com.flowfoundation.wallet.network.auth
+
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.runBlocking
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class AuthTokenProviderTest {
+
+    private class FakeTokenSource(
+        var userId: String? = "user",
+        private val lifetimeMillis: Long = TimeUnit.HOURS.toMillis(1),
+        private val clock: () -> Long,
+    ) : AuthTokenSource {
+        val fetches = AtomicInteger()
+        val forcedFetches = AtomicInteger()
+        var fail = false
+
+        override fun currentUserId(): String? = userId
+
+        override suspend fun fetchToken(forceRefresh: Boolean): AuthToken? {
+            val count = fetches.incrementAndGet()
+            if (forceRefresh) {
+                forcedFetches.incrementAndGet()
+            }
+            // a Firebase round trip
+            delay(FETCH_DELAY)
+            if (fail) {
+                throw IllegalStateException("network error")
+            }
+            val user = userId ?: "anonymous".also { userId = it }
+            return AuthToken("$user-token-$count", user, clock() + lifetimeMillis)
+        }
+    }
+
+    private var now = 1_000_000L
+    private val source = FakeTokenSource(clock = { now })
+    private val provider = AuthTokenProvider(source, clock = { now })
+
+    @Test
+    fun `50 parallel requests fetch one token`() {
+        val requests = 50
+        val executor = Executors.newFixedThreadPool(requests)
+        val start = CountDownLatch(1)
+        try {
+            // each thread is an OkHttp call running the header interceptor
+            val tokens = (0 until requests).map {
+                executor.submit<String> {
+                    start.await()
+                    provider.blockingToken()
+                }
+            }
+            start.countDown()
+
+            assertEquals(setOf("user-token-1"), tokens.map { it.get(5, TimeUnit.SECONDS) }.toSet())
+            assertEquals(1, source.fetches.get())
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+
+    @Test
+    fun `cached token is used until close to expiry`() = runBlocking {
+        assertEquals("user-token-1", provider.token())
+        now += TimeUnit.MINUTES.toMillis(50)
+        assertEquals("user-token-1", provider.token())
+        assertEquals(1, source.fetches.get())
+    }
+
+    @Test
+    fun `token close to expiry is refreshed in the background`() = runBlocking {
+        provider.token()
+        now += TimeUnit.MINUTES.toMillis(57)
+
+        // still valid, returned right away while one refresh runs
+        val tokens = (0 until 20).map { provider.token() }
+        assertEquals(setOf("user-token-1"), tokens.toSet())
+        delay(FETCH_DELAY * 3)
+
+        assertEquals("user-token-2", provider.token())
+        assertEquals(2, source.fetches.get())
+        assertEquals(1, source.forcedFetches.get())
+    }
+
+    @Test
+    fun `expired token is fetched again`() = runBlocking {
+        provider.token()
+        now += TimeUnit.HOURS.toMillis(2)
+
+        assertEquals("user-token-2", provider.token())
+    }
+
+    @Test
+    fun `another user gets their own token`() = runBlocking {
+        provider.token()
+        source.userId = "other"
+
+        assertEquals("other-token-2", provider.token())
+        source.userId = null
+        assertEquals("anonymous-token-3", provider.token())
+    }
+
+    @Test
+    fun `rejected token is refreshed once for parallel requests`() = runBlocking {
+        val rejected = provider.token()
+
+        val tokens = (0 until 50).map { async { provider.refreshRejected(rejected) } }.awaitAll()
+
+        assertEquals(setOf("user-token-2"), tokens.toSet())
+        assertEquals(1, source.forcedFetches.get())
+        // a late 401 for the old token reuses the refreshed one
+        assertEquals("user-token-2", provider.refreshRejected(rejected))
+        assertEquals(2, source.fetches.get())
+    }
+
+    @Test
+    fun `failed fetch is not cached`() = runBlocking {
+        source.fail = true
+        assertEquals("", provider.token())
+
+        source.fail = false
+        assertTrue(provider.token().startsWith("user-token-"))
+        assertEquals(2, source.fetches.get())
+    }
+
+    companion object {
+        private const val FETCH_DELAY = 100L
+    }
+}
@@ -0,0 +1,129 @@
+package com.flowfoundation.wallet.network.interceptor
+
+import okhttp3.Interceptor
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.Response
+import okhttp3.ResponseBody.Companion.toResponseBody
+import okhttp3.mockwebserver.Dispatcher
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import okhttp3.mockwebserver.RecordedRequest
+import okio.Buffer
+import okio.GzipSink
+import okio.HashingSink
+import okio.buffer
+import okio.sink
+import org.junit.After
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.io.File
+import java.lang.management.ManagementFactory
+import java.security.MessageDigest
+import java.util.zip.GZIPInputStream
+
+class GzipResponseInterceptorTest {
+
+    @get:Rule
+    val folder = TemporaryFolder()
+
+    private val server = MockWebServer()
+    private val payload = File("src/main/assets/config/cadence_api.json").readBytes()
+
+    @Before
+    fun setUp() {
+        val gzipped = Buffer().apply { GzipSink(this).buffer().use { it.write(payload) } }.readByteArray()
+        server.dispatcher = object : Dispatcher() {
+            override fun dispatch(request: RecordedRequest): MockResponse {
+                return MockResponse()
+                    .setHeader("Content-Encoding", "gzip")
+                    .setHeader("Content-Type", "application/json")
+                    .setBody(Buffer().write(gzipped))
+            }
+        }
+        server.start()
+    }
+
+    @After
+    fun tearDown() {
+        server.shutdown()
+    }
+
+    @Test
+    fun `gzip body is decompressed while it is read`() {
+        val response = call(client(GzipResponseInterceptor()))
+
+        assertNull(response.header("Content-Encoding"))
+        assertNull(response.header("Content-Length"))
+        assertEquals(-1L, response.body?.contentLength())
+        assertArrayEquals(payload, response.body?.bytes())
+    }
+
+    @Test
+    fun `cadence_api decompression allocation`() {
+        val buffered = client(BufferedGzipResponseInterceptor())
+        val streaming = client(GzipResponseInterceptor())
+        val file = File(folder.root, "cadence_api.json")
+        val digest = MessageDigest.getInstance("SHA-256").digest(payload)
+
+        // what fetchCadenceFromNetwork did before: the whole body as a String, hashed from its bytes
+        val before = allocation {
+            val body = call(buffered).body!!.string()
+            assertArrayEquals(digest, MessageDigest.getInstance("SHA-256").digest(body.toByteArray()))
+        }
+        // the body streamed to a file and hashed on the way
+        val after = allocation {
+            val hashingSink = HashingSink.sha256(file.sink())
+            call(streaming).body!!.use { body ->
+                hashingSink.buffer().use { it.writeAll(body.source()) }
+            }
+            assertArrayEquals(digest, hashingSink.hash.toByteArray())
+        }
+        println("cadence_api.json (${payload.size / 1024}KB): buffered ${before / 1024}KB, streaming ${after / 1024}KB")
+        assertTrue(after < before)
+    }
+
+    /**
+     * The interceptor before the body was streamed.
+     */
+    private class BufferedGzipResponseInterceptor : Interceptor {
+        override fun intercept(chain: Interceptor.Chain): Response {
+            val response = chain.proceed(chain.request())
+            val body = response.body ?: return response
+            val unzippedBytes = GZIPInputStream(body.byteStream()).readBytes()
+            return response.newBuilder().body(unzippedBytes.toResponseBody(body.contentType())).build()
+        }
+    }
+
+    private fun client(gzipInterceptor: Interceptor): OkHttpClient {
+        return OkHttpClient.Builder()
+            .addInterceptor(GzipRequestInterceptor())
+            .addInterceptor(gzipInterceptor)
+            .build()
+    }
+
+    private fun call(client: OkHttpClient): Response {
+        return client.newCall(Request.Builder().url(server.url("/api/v2/scripts")).build()).execute()
+    }
+
+    // the calls run on the test thread, the server thread is not counted
+    private fun allocation(block: () -> Unit): Long {
+        val threads = ManagementFactory.getThreadMXBean() as com.sun.management.ThreadMXBean
+        repeat(WARM_UP) { block() }
+        val id = Thread.currentThread().id
+        val start = threads.getThreadAllocatedBytes(id)
+        repeat(RUNS) { block() }
+        return (threads.getThreadAllocatedBytes(id) - start) / RUNS
+    }
+
+    companion object {
+        private const val WARM_UP = 3
+        private const val RUNS = 10
+    }
+}
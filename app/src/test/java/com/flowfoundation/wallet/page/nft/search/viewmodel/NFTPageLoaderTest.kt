@@ -0,0 +1,115 @@
+package com.flowfoundation.wallet.page.nft.search.viewmodel
+
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.onEach
+import kotlinx.coroutines.flow.take
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.runBlocking
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.concurrent.atomic.AtomicInteger
+
+class NFTPageLoaderTest {
+
+    /**
+     * Serves the NFT ids of a collection the way the NFT list endpoints of ApiService page them,
+     * each request taking [LATENCY] milliseconds.
+     */
+    private class FakeNFTApi(private val nftCount: Int) {
+        val requests = AtomicInteger()
+        private val inFlight = AtomicInteger()
+        val maxInFlight = AtomicInteger()
+
+        suspend fun getNFTListOfCollection(offset: Int, limit: Int): NFTPageResponse<Int> = request {
+            NFTPageResponse((offset until minOf(offset + limit, nftCount)).toList(), nftCount)
+        }
+
+        suspend fun getEVMNFTListOfCollection(offset: String, limit: Int): NFTPageResponse<Int> = request {
+            val start = offset.ifEmpty { "0" }.toInt()
+            val end = minOf(start + limit, nftCount)
+            NFTPageResponse((start until end).toList(), 0, end.takeIf { it < nftCount }?.toString())
+        }
+
+        suspend fun getEVMNFTCollections(): Int = request { nftCount }
+
+        private suspend fun <T> request(block: () -> T): T {
+            requests.incrementAndGet()
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), ::maxOf)
+            try {
+                delay(LATENCY)
+                return block()
+            } finally {
+                inFlight.decrementAndGet()
+            }
+        }
+    }
+
+    private val api = FakeNFTApi(NFT_COUNT)
+
+    private fun cadencePages() = offsetPages(PAGE_SIZE, MAX_CONCURRENT) { offset, limit ->
+        api.getNFTListOfCollection(offset, limit)
+    }
+
+    private fun evmPages() = cursorPages(PAGE_SIZE, totalCount = { api.getEVMNFTCollections() }) { cursor, limit ->
+        api.getEVMNFTListOfCollection(cursor, limit)
+    }
+
+    @Test
+    fun `first page arrives after one round trip`() = runBlocking {
+        val start = System.currentTimeMillis()
+        val page = cadencePages().first()
+        val elapsed = System.currentTimeMillis() - start
+
+        println("first of ${NFT_COUNT / PAGE_SIZE} pages after ${elapsed}ms")
+        assertEquals(1, api.requests.get())
+        assertEquals((0 until PAGE_SIZE).toList(), page.items)
+        assertEquals(NFT_COUNT, page.totalCount)
+    }
+
+    @Test
+    fun `pages are emitted in order with bounded concurrency`() = runBlocking {
+        val pages = cadencePages().toList()
+
+        assertEquals(NFT_COUNT / PAGE_SIZE, pages.size)
+        assertEquals((0 until NFT_COUNT).toList(), pages.flatMap { it.items })
+        assertEquals(NFT_COUNT, pages.last().loadedCount)
+        assertEquals(NFT_COUNT / PAGE_SIZE, api.requests.get())
+        assertEquals(MAX_CONCURRENT, api.maxInFlight.get())
+    }
+
+    @Test
+    fun `slow collector holds requests back`() = runBlocking {
+        cadencePages().take(3).onEach { delay(LATENCY * 5) }.toList()
+
+        // the first page, the window behind it and one request for each page handed over
+        assertTrue(api.requests.get() <= 1 + MAX_CONCURRENT + 2)
+    }
+
+    @Test
+    fun `cancelled collection stops requesting`() = runBlocking {
+        cadencePages().take(2).toList()
+        val requests = api.requests.get()
+        delay(LATENCY * 3)
+
+        assertEquals(requests, api.requests.get())
+    }
+
+    @Test
+    fun `cursor pages follow the cursor`() = runBlocking {
+        val firstPage = evmPages().first()
+        assertEquals(2, api.requests.get())
+        assertEquals(NFT_COUNT, firstPage.totalCount)
+
+        val pages = evmPages().toList()
+        assertEquals((0 until NFT_COUNT).toList(), pages.flatMap { it.items })
+    }
+
+    companion object {
+        private const val NFT_COUNT = 5000
+        private const val PAGE_SIZE = 50
+        private const val MAX_CONCURRENT = 10
+        private const val LATENCY = 20L
+    }
+}
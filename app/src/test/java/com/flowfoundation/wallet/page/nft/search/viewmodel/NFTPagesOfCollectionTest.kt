@@ -0,0 +1,116 @@
+package com.flowfoundation.wallet.page.nft.search.viewmodel
+
+import com.flowfoundation.wallet.network.ApiService
+import com.flowfoundation.wallet.utils.JsonCodec
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.runBlocking
+import okhttp3.mockwebserver.Dispatcher
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import okhttp3.mockwebserver.RecordedRequest
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Assert.fail
+import org.junit.Before
+import org.junit.Test
+import retrofit2.HttpException
+import retrofit2.Retrofit
+import retrofit2.converter.gson.GsonConverterFactory
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+class NFTPagesOfCollectionTest {
+
+    private val server = MockWebServer()
+    private val requests = AtomicInteger()
+
+    // offsets answered with a server error
+    private val failingOffsets = ConcurrentHashMap.newKeySet<Int>()
+
+    private lateinit var service: ApiService
+
+    @Before
+    fun setUp() {
+        server.dispatcher = object : Dispatcher() {
+            override fun dispatch(request: RecordedRequest): MockResponse {
+                requests.incrementAndGet()
+                val url = request.requestUrl ?: return MockResponse().setResponseCode(404)
+                if (url.encodedPath != "/api/v2/nft/collectionList") {
+                    return MockResponse().setResponseCode(404)
+                }
+                val offset = url.queryParameter("offset")?.toInt() ?: 0
+                val limit = url.queryParameter("limit")?.toInt() ?: 25
+                if (offset in failingOffsets) {
+                    return MockResponse().setResponseCode(500)
+                }
+                return MockResponse().setBody(nftListJson(offset, limit))
+            }
+        }
+        server.start()
+        service = Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .addConverterFactory(GsonConverterFactory.create(JsonCodec.gson))
+            .build()
+            .create(ApiService::class.java)
+    }
+
+    @After
+    fun tearDown() {
+        server.shutdown()
+    }
+
+    @Test
+    fun `all pages of the collection are loaded in order`() = runBlocking {
+        val pages = service.nftPagesOfCollection(ADDRESS, COLLECTION_ID).toList()
+
+        assertEquals(NFT_COUNT / PAGE_SIZE, pages.size)
+        assertEquals((0 until NFT_COUNT).map { "$it" }, pages.flatMap { page -> page.items.map { it.id } })
+        assertEquals(NFT_COUNT, pages.last().loadedCount)
+        assertEquals(NFT_COUNT, pages.last().totalCount)
+        assertEquals(NFT_COUNT / PAGE_SIZE, requests.get())
+    }
+
+    @Test
+    fun `failed first page aborts the load`() = runBlocking {
+        failingOffsets.add(0)
+
+        try {
+            service.nftPagesOfCollection(ADDRESS, COLLECTION_ID).toList()
+            fail("the load should fail with the first page")
+        } catch (e: HttpException) {
+            assertEquals(500, e.code())
+        }
+        assertEquals(1, requests.get())
+    }
+
+    @Test
+    fun `failed later pages are dropped`() = runBlocking {
+        val failing = listOf(3, 40, NFT_COUNT / PAGE_SIZE - 1).map { it * PAGE_SIZE }
+        failingOffsets.addAll(failing)
+
+        val pages = service.nftPagesOfCollection(ADDRESS, COLLECTION_ID).toList()
+        val ids = pages.flatMap { page -> page.items.map { it.id.toInt() } }
+
+        // every page is still emitted, the failed ones empty
+        assertEquals(NFT_COUNT / PAGE_SIZE, pages.size)
+        assertEquals(NFT_COUNT - failing.size * PAGE_SIZE, ids.size)
+        assertEquals(ids.sorted(), ids)
+        assertTrue(failing.none { offset -> (offset until offset + PAGE_SIZE).any { it in ids } })
+        assertEquals(NFT_COUNT - failing.size * PAGE_SIZE, pages.last().loadedCount)
+    }
+
+    companion object {
+        private const val ADDRESS = "0x0000000000000001"
+        private const val COLLECTION_ID = "TopShot"
+        private const val NFT_COUNT = 5000
+        private const val PAGE_SIZE = BaseNFTListViewModel.NFT_PAGE_SIZE
+
+        private fun nftListJson(offset: Int, limit: Int): String {
+            val nfts = (offset until minOf(offset + limit, NFT_COUNT)).joinToString(",") { index ->
+                """{"id":"$index","title":"$COLLECTION_ID #$index","collectionName":"$COLLECTION_ID","collectionContractName":"$COLLECTION_ID"}"""
+            }
+            return """{"status":200,"message":"","data":{"nftCount":$NFT_COUNT,"nfts":[$nfts],"offset":null}}"""
+        }
+    }
+}
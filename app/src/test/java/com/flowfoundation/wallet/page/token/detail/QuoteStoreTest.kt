@@ -0,0 +1,96 @@
+package com.flowfoundation.wallet.page.token.detail
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import kotlin.math.sin
+
+class QuoteStoreTest {
+
+    private fun quote(closeTime: Long, closePrice: Float) = Quote(
+        closeTime = closeTime,
+        openPrice = closePrice,
+        highPrice = closePrice,
+        lowPrice = closePrice,
+        closePrice = closePrice,
+        volume = 0f,
+        quoteVolume = 0f,
+    )
+
+    @Test
+    fun `merge appends newer candles in order`() {
+        val cached = listOf(quote(100, 1f), quote(200, 2f))
+        val fresh = listOf(quote(400, 4f), quote(300, 3f))
+
+        val merged = mergeQuotes(cached, fresh, windowStart = null)
+
+        assertEquals(listOf(100L, 200L, 300L, 400L), merged.map { it.closeTime })
+    }
+
+    @Test
+    fun `merge replaces the candle that was still open`() {
+        val cached = listOf(quote(100, 1f), quote(200, 2f))
+        val fresh = listOf(quote(200, 2.5f), quote(300, 3f))
+
+        val merged = mergeQuotes(cached, fresh, windowStart = null)
+
+        assertEquals(listOf(1f, 2.5f, 3f), merged.map { it.closePrice })
+    }
+
+    @Test
+    fun `merge drops candles outside the period`() {
+        val cached = listOf(quote(100, 1f), quote(200, 2f), quote(300, 3f))
+
+        val merged = mergeQuotes(cached, listOf(quote(400, 4f)), windowStart = 200)
+
+        assertEquals(listOf(200L, 300L, 400L), merged.map { it.closeTime })
+    }
+
+    @Test
+    fun `next fetch starts one candle before the last cached one`() {
+        assertNull(nextFetchAfter(emptyList(), 1800, windowStart = null))
+        assertEquals(1200L - 1800, nextFetchAfter(listOf(quote(600, 1f), quote(1200, 1f)), 1800, windowStart = null))
+        assertEquals(1200L - 1800, nextFetchAfter(listOf(quote(600, 1f), quote(1200, 1f)), 1800, windowStart = -1000))
+    }
+
+    @Test
+    fun `next fetch starts at the period when nothing is cached`() {
+        assertEquals(5000L, nextFetchAfter(emptyList(), 1800, windowStart = 5000))
+    }
+
+    @Test
+    fun `next fetch of a stale cache starts at the period`() {
+        // the last candle closed days before the start of the period
+        val cached = listOf(quote(600, 1f), quote(1200, 1f))
+
+        assertEquals(500_000L, nextFetchAfter(cached, 1800, windowStart = 500_000))
+        assertEquals(1200L - 1800, nextFetchAfter(cached, 1800, windowStart = null))
+    }
+
+    @Test
+    fun `downsample keeps small series untouched`() {
+        val quotes = (0L until 10L).map { quote(it, it.toFloat()) }
+
+        assertEquals(quotes, quotes.downsample(10))
+        assertEquals(quotes, quotes.downsample(100))
+        assertEquals(quotes, quotes.downsample(2))
+    }
+
+    @Test
+    fun `downsample keeps ends and extremes`() {
+        val quotes = (0L until 5000L).map { quote(it, sin(it / 100.0).toFloat() * 10) }
+            .toMutableList()
+        quotes[2500] = quote(2500, 1000f)
+        quotes[3700] = quote(3700, -1000f)
+
+        val sampled = quotes.downsample(300)
+
+        assertEquals(300, sampled.size)
+        assertEquals(quotes.first(), sampled.first())
+        assertEquals(quotes.last(), sampled.last())
+        assertTrue(sampled.zipWithNext().all { (a, b) -> a.closeTime < b.closeTime })
+        assertTrue(sampled.any { it.closePrice == 1000f })
+        assertTrue(sampled.any { it.closePrice == -1000f })
+    }
+}
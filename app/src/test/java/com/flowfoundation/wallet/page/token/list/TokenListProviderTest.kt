@@ -0,0 +1,92 @@
+package com.flowfoundation.wallet.page.token.list
+
+import com.flowfoundation.wallet.manager.token.TokenListPrefetcher
+import com.flowfoundation.wallet.network.ApiService
+import com.flowfoundation.wallet.utils.JsonCodec
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.runBlocking
+import okhttp3.mockwebserver.Dispatcher
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import okhttp3.mockwebserver.RecordedRequest
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Before
+import org.junit.Test
+import retrofit2.Retrofit
+import retrofit2.converter.gson.GsonConverterFactory
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class TokenListProviderTest {
+
+    private val server = MockWebServer()
+    private val requests = AtomicInteger()
+
+    @Before
+    fun setUp() {
+        server.dispatcher = object : Dispatcher() {
+            override fun dispatch(request: RecordedRequest): MockResponse {
+                // the first fetch is slow and returns more tokens than the second one
+                return if (requests.getAndIncrement() == 0) {
+                    MockResponse().setBody(tokenListJson(SLOW_COUNT)).setBodyDelay(SLOW_DELAY, TimeUnit.MILLISECONDS)
+                } else {
+                    MockResponse().setBody(tokenListJson(FAST_COUNT))
+                }
+            }
+        }
+        server.start()
+    }
+
+    @After
+    fun tearDown() {
+        server.shutdown()
+    }
+
+    @Test
+    fun `overlapping fetches through a pooled provider keep each caller's list`() = runBlocking {
+        val service = Retrofit.Builder()
+            .baseUrl(server.url("/"))
+            .addConverterFactory(GsonConverterFactory.create(JsonCodec.gson))
+            .build()
+            .create(ApiService::class.java)
+        val prefetcher = TokenListPrefetcher { address -> CadenceTokenListProvider(address, lazyOf(service)) }
+        val provider = prefetcher.provider(ADDRESS)
+
+        val slow = async(Dispatchers.IO) { provider.getTokenList(ADDRESS, null, null) }
+        delay(SLOW_DELAY / 3)
+        val fast = prefetcher.provider(ADDRESS).getTokenList(ADDRESS, null, null)
+        val snapshot = provider.getFungibleTokenListSnapshot()
+
+        // iterate while the slow fetch replaces the list
+        var iterated = 0
+        while (!slow.isCompleted) {
+            iterated += snapshot.count { it.symbol.isNotEmpty() }
+            delay(1)
+        }
+
+        assertEquals(FAST_COUNT, fast.size)
+        assertEquals(FAST_COUNT, snapshot.size)
+        assertEquals(SLOW_COUNT, slow.await().size)
+        assertSame(slow.await(), provider.getFungibleTokenListSnapshot())
+        assertEquals(0, iterated % FAST_COUNT)
+    }
+
+    companion object {
+        private const val ADDRESS = "0x0000000000000001"
+        private const val SLOW_COUNT = 30
+        private const val FAST_COUNT = 3
+        private const val SLOW_DELAY = 300L
+
+        private fun tokenListJson(count: Int): String {
+            val tokens = (0 until count).joinToString(",") { index ->
+                """{"name":"Token $index","symbol":"T$index","contractAddress":"0x%016x","contractName":"Token$index","balance":"1.0"}"""
+                    .format(index + 1)
+            }
+            return """{"status":200,"data":{"result":[$tokens]}}"""
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.flowfoundation.wallet.page.wallet
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class HomeListPublisherTest {
+
+    private val publisher = HomeListPublisher<String>()
+
+    @Test
+    fun `changed lists are published`() {
+        assertTrue(publisher.publish(listOf("FLOW"), isRevalidating = false))
+        assertTrue(publisher.publish(listOf("FLOW", "USDC"), isRevalidating = false))
+        assertEquals(listOf("FLOW", "USDC"), publisher.published)
+    }
+
+    @Test
+    fun `an equal list is skipped`() {
+        publisher.publish(listOf("FLOW", "USDC"), isRevalidating = false)
+
+        assertFalse(publisher.publish(listOf("FLOW", "USDC"), isRevalidating = false))
+    }
+
+    @Test
+    fun `first content is published while revalidating, later lists wait`() {
+        assertTrue(publisher.publish(listOf("FLOW"), isRevalidating = true))
+        assertFalse(publisher.publish(listOf("FLOW", "USDC"), isRevalidating = true))
+        assertEquals(listOf("FLOW"), publisher.published)
+
+        // the refresh is done
+        assertTrue(publisher.publish(listOf("FLOW", "USDC"), isRevalidating = false))
+    }
+}
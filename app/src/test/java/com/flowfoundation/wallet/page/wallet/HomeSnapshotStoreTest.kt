@@ -0,0 +1,79 @@
+package com.flowfoundation.wallet.page.wallet
+
+import com.flowfoundation.wallet.cache.CacheManager
+import com.flowfoundation.wallet.page.wallet.model.HomeSnapshot
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+class HomeSnapshotStoreTest {
+
+    @get:Rule
+    val folder = TemporaryFolder()
+
+    private lateinit var store: HomeSnapshots
+
+    @Before
+    fun setUp() {
+        store = HomeSnapshots(folder.root, ::cache)
+    }
+
+    private fun cache(key: String) = CacheManager<HomeSnapshot>("home_snapshot_$key", HomeSnapshot::class.java, folder.root)
+
+    private fun snapshot(version: Int = HomeSnapshot.VERSION, currencyFlag: String = "USD") = HomeSnapshot(
+        version = version, address = ADDRESS, wallet = null, tokens = emptyList(), currencyFlag = currencyFlag,
+        isStaked = false, stakingCount = 0f, isHideBalance = false, updateTime = 1000,
+    )
+
+    @Test
+    fun `snapshot on disk is read and kept in memory`() {
+        cache(ADDRESS.lowercase()).cacheSync(snapshot())
+
+        assertNull(store.peek(ADDRESS))
+        assertEquals(snapshot(), store.read(ADDRESS, "USD"))
+        assertEquals(snapshot(), store.peek(ADDRESS.uppercase()))
+    }
+
+    @Test
+    fun `snapshot of an older version is ignored`() {
+        cache(ADDRESS.lowercase()).cacheSync(snapshot(version = HomeSnapshot.VERSION - 1))
+
+        assertNull(store.read(ADDRESS, "USD"))
+        assertNull(store.peek(ADDRESS))
+    }
+
+    @Test
+    fun `snapshot in another currency is ignored and dropped from memory`() {
+        store.save(snapshot(currencyFlag = "EUR"))
+
+        assertNull(store.read(ADDRESS, "USD"))
+        assertNull(store.peek(ADDRESS))
+    }
+
+    @Test
+    fun `blank address has no snapshot`() {
+        assertNull(store.read("", "USD"))
+        assertNull(store.peek(""))
+    }
+
+    @Test
+    fun `clear deletes snapshots that were never read`() {
+        cache(ADDRESS.lowercase()).cacheSync(snapshot())
+        cache(OTHER_ADDRESS.lowercase()).cacheSync(snapshot().copy(address = OTHER_ADDRESS))
+        store.read(ADDRESS, "USD")
+
+        store.clear()
+
+        assertNull(store.peek(ADDRESS))
+        assertNull(store.read(OTHER_ADDRESS, "USD"))
+        assertEquals(0, folder.root.list()!!.size)
+    }
+
+    companion object {
+        private const val ADDRESS = "0x3C2a4Bd1e2c8b9fE"
+        private const val OTHER_ADDRESS = "0x8d5e1a7F02b4c3D9"
+    }
+}
@@ -0,0 +1,76 @@
+package com.flowfoundation.wallet.utils
+
+import com.flowfoundation.wallet.network.model.FlowTokenListResponse
+import com.flowfoundation.wallet.network.model.NFTListResponse
+import com.google.gson.Gson
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class JsonCodecTest {
+
+    @Test
+    fun `shared gson parses like a new instance`() {
+        val payload = nftListPayload(NFT_PAGE_SIZE)
+
+        val shared = JsonCodec.gson.fromJson(payload, NFTListResponse::class.java)
+        val fresh = Gson().fromJson(payload, NFTListResponse::class.java)
+
+        assertEquals(fresh, shared)
+        assertEquals(NFT_PAGE_SIZE, shared.data?.nfts?.size)
+        assertEquals("Flovatar #12", shared.data?.nfts?.get(12)?.title)
+        assertEquals(JsonCodec.gson.toJson(fresh), Gson().toJson(shared))
+    }
+
+    @Test
+    fun `nft list parse throughput`() {
+        benchmark("nft list", nftListPayload(NFT_PAGE_SIZE), NFTListResponse::class.java)
+    }
+
+    @Test
+    fun `token list parse throughput`() {
+        benchmark("token list", tokenListPayload(TOKEN_COUNT), FlowTokenListResponse::class.java)
+    }
+
+    private fun <T> benchmark(name: String, payload: String, type: Class<T>) {
+        // warm up the JIT on both paths before measuring
+        repeat(WARM_UP) {
+            Gson().fromJson(payload, type)
+            JsonCodec.gson.fromJson(payload, type)
+        }
+        val fresh = measure { Gson().fromJson(payload, type) }
+        val shared = measure { JsonCodec.gson.fromJson(payload, type) }
+        println(
+            "$name (${payload.length / 1024}KB): new Gson() ${ITERATIONS * 1000 / fresh} parses/s, " +
+                    "shared ${ITERATIONS * 1000 / shared} parses/s"
+        )
+    }
+
+    private fun measure(parse: () -> Any?): Long {
+        val start = System.nanoTime()
+        repeat(ITERATIONS) { parse() }
+        return ((System.nanoTime() - start) / 1_000_000).coerceAtLeast(1)
+    }
+
+    private fun nftListPayload(count: Int): String {
+        val nfts = (0 until count).joinToString(",") { NFT.replace("{id}", it.toString()) }
+        return """{"data":{"nftCount":$count,"nfts":[$nfts],"offset":null},"message":"success","status":200}"""
+    }
+
+    private fun tokenListPayload(count: Int): String {
+        val tokens = (0 until count).joinToString(",") { TOKEN.replace("{id}", it.toString()) }
+        return """{"data":{"result":[$tokens],"storage":{"storageUsedInMB":"0.04","storageAvailableInMB":"9.96","storageCapacityInMB":"10.00","lockedFLOWforStorage":"0.001","availableBalanceToUse":"12.3"}},"status":200}"""
+    }
+
+    companion object {
+        private const val NFT_PAGE_SIZE = 50
+        private const val TOKEN_COUNT = 40
+        private const val WARM_UP = 200
+        private const val ITERATIONS = 1000
+
+        // recorded from the NFT list endpoint, with the id templated
+        private const val NFT = """{"id":"{id}","title":"Flovatar #{id}","description":"Flovatar is inspired by the iconic characters of CryptoPunks","media":[{"uri":"https://images.flovatar.com/flovatar/svg/{id}.svg","mimeType":"image/svg+xml"}],"metadata":{"metadata":[{"name":"creator","value":"0x2a0eccae942667be"}]},"contract":{"name":"Flovatar","address":"0x921ea449dffec68a","externalDomain":"https://flovatar.com","contractMetadata":{"storagePath":"/storage/FlovatarCollection","publicPath":"/public/FlovatarCollection","publicCollectionName":"Flovatar.CollectionPublic"}},"postMedia":{"image":"https://images.flovatar.com/flovatar/png/{id}.png","isSvg":false,"description":"Flovatar is inspired by the iconic characters of CryptoPunks","title":"Flovatar #{id}"},"collectionName":"Flovatar","collectionContractName":"Flovatar","contractAddress":"0x921ea449dffec68a","collectionDescription":"Flovatar is pioneering a new way to unleash community creativity in Web3","collectionSquareImage":"https://images.flovatar.com/logo.svg","collectionBannerImage":"https://images.flovatar.com/banner.png","collectionExternalURL":"https://flovatar.com","traits":[{"name":"rarityscore","value":"{id}.5","displayType":"Number"},{"name":"color","value":"green","displayType":"String"}],"flowIdentifier":"A.921ea449dffec68a.Flovatar.NFT","evmAddress":null,"contractType":null,"amount":null}"""
+
+        // recorded from the Flow token list endpoint, with the id templated
+        private const val TOKEN = """{"name":"Token {id}","symbol":"TK{id}","description":"A fungible token","logos":{"file":{"url":"https://cdn.example.com/token/{id}.svg"}},"socials":{"website":{"url":"https://example.com"},"twitter":{"url":"https://x.com/example"}},"displayBalance":"12.34","contractAddress":"0x1654653399040a61","contractName":"Token{id}","storagePath":{"domain":"storage","identifier":"token{id}Vault"},"receiverPath":{"domain":"public","identifier":"token{id}Receiver"},"balancePath":{"domain":"public","identifier":"token{id}Balance"},"identifier":"A.1654653399040a61.Token{id}.Vault","logoURI":"https://cdn.example.com/token/{id}.png","isVerified":true,"priceInUSD":"0.74","balanceInUSD":"9.13","priceInFLOW":"1.0","balanceInFLOW":"12.34","currency":"USD","priceInCurrency":"0.74","balanceInCurrency":"9.13","evmAddress":null,"balance":"12.34"}"""
+    }
+}
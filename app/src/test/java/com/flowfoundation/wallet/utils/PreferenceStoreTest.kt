@@ -0,0 +1,144 @@
+package com.flowfoundation.wallet.utils
+
+import androidx.datastore.core.DataStore
+import androidx.datastore.preferences.core.Preferences
+import androidx.datastore.preferences.core.booleanPreferencesKey
+import androidx.datastore.preferences.core.emptyPreferences
+import androidx.datastore.preferences.core.stringPreferencesKey
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.take
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withTimeout
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.concurrent.atomic.AtomicInteger
+
+class PreferenceStoreTest {
+
+    private class FakeDataStore : DataStore<Preferences> {
+        private val mutex = Mutex()
+        private val state = MutableStateFlow(emptyPreferences())
+        val edits = AtomicInteger()
+        var writeDelay = 0L
+
+        override val data: Flow<Preferences> = state
+
+        override suspend fun updateData(transform: suspend (t: Preferences) -> Preferences): Preferences {
+            return mutex.withLock {
+                edits.incrementAndGet()
+                delay(writeDelay)
+                transform(state.value).also { state.value = it }
+            }
+        }
+    }
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    private val dataStore = FakeDataStore()
+    private val store = PreferenceStore(dataStore, scope)
+
+    @After
+    fun tearDown() {
+        scope.cancel()
+    }
+
+    @Test
+    fun `get returns the default until a value is stored`() = runBlocking {
+        assertFalse(store.get(KEY_HIDE_BALANCE, false))
+
+        store.edit { it[KEY_HIDE_BALANCE] = true }
+
+        assertTrue(store.get(KEY_HIDE_BALANCE, false))
+        assertTrue(store.peek(KEY_HIDE_BALANCE, false))
+    }
+
+    @Test
+    fun `set is visible right away and batched while a write runs`() = runBlocking {
+        store.get(KEY_HIDE_BALANCE, false)
+        dataStore.writeDelay = 100
+
+        store.set(KEY_HIDE_BALANCE, true)
+        delay(20)
+        // set while the first write runs
+        store.set(KEY_QUOTE_MARKET, "kraken")
+        store.set(KEY_QUOTE_MARKET, "huobi")
+        store.set(KEY_HIDE_BALANCE, false)
+
+        assertFalse(store.peek(KEY_HIDE_BALANCE, true))
+        assertEquals("huobi", store.peek(KEY_QUOTE_MARKET, "binance"))
+        withTimeout(1000) {
+            while (dataStore.edits.get() < 2 || dataStore.data.first()[KEY_QUOTE_MARKET] != "huobi") {
+                delay(10)
+            }
+        }
+        assertEquals(false, dataStore.data.first()[KEY_HIDE_BALANCE])
+        assertFalse(store.peek(KEY_HIDE_BALANCE, true))
+        assertEquals(2, dataStore.edits.get())
+    }
+
+    @Test
+    fun `writes made to the data store elsewhere reach the snapshot`() = runBlocking {
+        store.get(KEY_HIDE_BALANCE, false)
+
+        dataStore.updateData { emptyPreferences().toMutablePreferences().apply { this[KEY_QUOTE_MARKET] = "kraken" } }
+
+        withTimeout(1000) {
+            assertEquals("kraken", store.changes(KEY_QUOTE_MARKET, "binance").first { it == "kraken" })
+        }
+    }
+
+    @Test
+    fun `changes emit each new value once`() = runBlocking {
+        store.get(KEY_HIDE_BALANCE, false)
+        val values = scope.launch {
+            assertEquals(listOf(false, true, false), store.changes(KEY_HIDE_BALANCE, false).take(3).toList())
+        }
+        delay(50)
+
+        store.edit { it[KEY_HIDE_BALANCE] = true }
+        store.edit { it[KEY_QUOTE_MARKET] = "kraken" }
+        delay(50)
+        store.edit { it[KEY_HIDE_BALANCE] = false }
+
+        withTimeout(1000) { values.join() }
+    }
+
+    @Test
+    fun `read latency`() = runBlocking {
+        store.edit { it[KEY_HIDE_BALANCE] = true }
+
+        // what each getter did before: collect the data store flow for one value
+        val flow = measure { dataStore.data.map { it[KEY_HIDE_BALANCE] ?: false }.first() }
+        val snapshot = measure { store.get(KEY_HIDE_BALANCE, false) }
+        val peek = measure { store.peek(KEY_HIDE_BALANCE, false) }
+        println("$READS reads: flow first() ${flow}ns/read, snapshot get ${snapshot}ns/read, peek ${peek}ns/read")
+    }
+
+    private suspend fun measure(read: suspend () -> Boolean): Long {
+        repeat(READS) { read() }
+        val start = System.nanoTime()
+        repeat(READS) { read() }
+        return (System.nanoTime() - start) / READS
+    }
+
+    companion object {
+        private const val READS = 100_000
+
+        private val KEY_HIDE_BALANCE = booleanPreferencesKey("KEY_HIDE_WALLET_BALANCE")
+        private val KEY_QUOTE_MARKET = stringPreferencesKey("KEY_QUOTE_MARKET")
+    }
+}
@@ -0,0 +1,110 @@
+package com.flowfoundation.wallet.utils.debug.fragments.debugViewer
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicReference
+
+class LogRingBufferTest {
+
+    private data class Line(val writer: Int, val index: Int)
+
+    @Test
+    fun `keeps the latest items in order`() {
+        val buffer = LogRingBuffer<Int>(3)
+        assertEquals(emptyList<Int>(), buffer.snapshot())
+
+        (1..5).forEach { buffer.add(it) }
+
+        assertEquals(listOf(3, 4, 5), buffer.snapshot())
+        assertEquals(3, buffer.size())
+    }
+
+    @Test
+    fun `clear drops existing items only`() {
+        val buffer = LogRingBuffer<Int>(4)
+        (1..3).forEach { buffer.add(it) }
+
+        buffer.clear()
+        assertEquals(0, buffer.size())
+        buffer.add(4)
+
+        assertEquals(listOf(4), buffer.snapshot())
+    }
+
+    @Test
+    fun `concurrent writers and readers stay consistent`() {
+        val buffer = LogRingBuffer<Line>(CAPACITY)
+        val pool = Executors.newFixedThreadPool(WRITERS + 1)
+        val ready = CountDownLatch(WRITERS + 1)
+        val writersDone = CountDownLatch(WRITERS)
+        val stop = AtomicBoolean(false)
+        val failure = AtomicReference<String?>()
+
+        repeat(WRITERS) { writer ->
+            pool.execute {
+                ready.countDown()
+                ready.await()
+                repeat(LINES_PER_WRITER) { buffer.add(Line(writer, it)) }
+                writersDone.countDown()
+            }
+        }
+        pool.execute {
+            ready.countDown()
+            ready.await()
+            while (!stop.get()) {
+                val snapshot = buffer.snapshot()
+                if (snapshot.size > CAPACITY) {
+                    failure.set("snapshot of ${snapshot.size} items")
+                }
+                // lines of one writer must never appear out of order
+                snapshot.groupBy { it.writer }.values.forEach { lines ->
+                    if (lines.zipWithNext().any { (a, b) -> a.index >= b.index }) {
+                        failure.set("lines out of order: $lines")
+                    }
+                }
+            }
+        }
+
+        assertTrue(writersDone.await(30, TimeUnit.SECONDS))
+        stop.set(true)
+        pool.shutdown()
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS))
+
+        assertEquals(null, failure.get())
+        val snapshot = buffer.snapshot()
+        assertEquals(CAPACITY, snapshot.size)
+        assertEquals(CAPACITY, snapshot.toSet().size)
+    }
+
+    @Test
+    fun `append throughput`() {
+        val buffer = LogRingBuffer<String>(CAPACITY)
+        val pool = Executors.newFixedThreadPool(WRITERS)
+        val done = CountDownLatch(WRITERS)
+
+        val start = System.nanoTime()
+        repeat(WRITERS) { writer ->
+            pool.execute {
+                repeat(LINES_PER_WRITER) { buffer.add("writer $writer line $it") }
+                done.countDown()
+            }
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS))
+        val elapsed = (System.nanoTime() - start) / 1_000_000
+        pool.shutdown()
+
+        println("${WRITERS * LINES_PER_WRITER} appends from $WRITERS threads took ${elapsed}ms")
+        assertEquals(CAPACITY, buffer.size())
+    }
+
+    companion object {
+        private const val CAPACITY = 1000
+        private const val WRITERS = 8
+        private const val LINES_PER_WRITER = 50_000
+    }
+}
@@ -0,0 +1,86 @@
+package com.flowfoundation.wallet.utils.search
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class SearchIndexTest {
+
+    private data class Item(val title: String, val description: String = "")
+
+    private fun index(vararg items: Item) = SearchIndex<Item> { listOf(it.title, it.description) }.apply {
+        addAll(items.toList())
+    }
+
+    @Test
+    fun `matches word prefixes ignoring case`() {
+        val index = index(Item("Flow Punk #12"), Item("Dapper Ball"), Item("flowty"))
+
+        assertEquals(listOf("Flow Punk #12", "flowty"), index.search("FLO").map { it.title })
+        assertEquals(listOf("Flow Punk #12"), index.search("punk 12").map { it.title })
+        assertEquals(emptyList<Item>(), index.search("unk"))
+        assertEquals(emptyList<Item>(), index.search("!!"))
+    }
+
+    @Test
+    fun `ranks exact and title matches first`() {
+        val index = index(
+            Item("Cats forever", "a cat collection"),
+            Item("Dog", "cat"),
+            Item("Cat"),
+        )
+
+        assertEquals(listOf("Cat", "Cats forever", "Dog"), index.search("cat").map { it.title })
+    }
+
+    @Test
+    fun `items added later are searchable`() {
+        val index = index(Item("Moment 1"))
+        index.addAll(listOf(Item("Moment 2"), Item("Pack")))
+
+        assertEquals(3, index.size())
+        assertEquals(listOf("Moment 1", "Moment 2"), index.search("moment").map { it.title })
+
+        index.clear()
+        assertEquals(emptyList<Item>(), index.search("moment"))
+    }
+
+    @Test
+    fun `search 20k nft names`() {
+        val adjectives = listOf("Golden", "Rare", "Legendary", "Common", "Shiny", "Ancient", "Cosmic", "Pixel")
+        val nouns = listOf("Dragon", "Punk", "Moment", "Cat", "Ape", "Knight", "Wizard", "Robot")
+        val items = (0 until NFT_COUNT).map {
+            Item(
+                title = "${adjectives[it % adjectives.size]} ${nouns[it / adjectives.size % nouns.size]} #$it",
+                description = "Edition ${it % 100} of the ${nouns[it % nouns.size]} series",
+            )
+        }
+
+        val buildStart = System.nanoTime()
+        val index = SearchIndex<Item> { listOf(it.title, it.description) }
+        items.chunked(50).forEach { index.addAll(it) }
+        val buildTime = (System.nanoTime() - buildStart) / 1_000_000
+
+        // every prefix typed while entering the keyword
+        val keystrokes = "golden dragon".indices.map { "golden dragon".substring(0, it + 1) }
+        val queryStart = System.nanoTime()
+        val results = keystrokes.map { index.search(it) }
+        val queryTime = (System.nanoTime() - queryStart) / 1_000_000
+
+        val scanStart = System.nanoTime()
+        keystrokes.forEach { keyword ->
+            items.filter { "${it.title} ${it.description}".contains(keyword, ignoreCase = true) }
+        }
+        val scanTime = (System.nanoTime() - scanStart) / 1_000_000
+
+        println("indexed $NFT_COUNT nfts in ${buildTime}ms, ${keystrokes.size} keystrokes took ${queryTime}ms, linear scan took ${scanTime}ms")
+        val titleMatches = items.filter { it.title.startsWith("Golden Dragon") }
+        val descriptionMatches = items.filter { it.title.startsWith("Golden") && it.description.contains("Dragon") }
+        assertEquals(titleMatches + (descriptionMatches - titleMatches.toSet()), results.last())
+        assertTrue(results.first().size >= results.last().size)
+    }
+
+    companion object {
+        private const val NFT_COUNT = 20_000
+    }
+}